@@ -16,6 +16,7 @@
 
 package org.springframework.social.twitter.autoconfigure;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -37,8 +38,10 @@ import org.springframework.social.connect.ConnectionFactory;
 import org.springframework.social.connect.ConnectionRepository;
 import org.springframework.social.connect.web.GenericConnectionStatusView;
 import org.springframework.social.twitter.api.Twitter;
-import org.springframework.social.twitter.api.impl.TwitterTemplate;
+import org.springframework.social.twitter.api.impl.TwitterTemplateFactory;
 import org.springframework.social.twitter.connect.TwitterConnectionFactory;
+import org.springframework.social.twitter.http.HttpTransportOptions;
+import org.springframework.social.twitter.http.TwitterHttpTransport;
 import org.springframework.social.autoconfigure.SocialAutoConfigurerAdapter;
 import org.springframework.social.autoconfigure.SocialWebAutoConfiguration;
 
@@ -56,16 +59,72 @@ import org.springframework.social.autoconfigure.SocialWebAutoConfiguration;
 @AutoConfigureAfter(WebMvcAutoConfiguration.class)
 public class TwitterAutoConfiguration {
 
+	@Configuration
+	@EnableConfigurationProperties(TwitterProperties.class)
+	@ConditionalOnClass(name = "org.apache.http.impl.client.HttpClients")
+	@ConditionalOnProperty(prefix = "spring.social.twitter.http", name = "pooled", matchIfMissing = true)
+	protected static class TwitterHttpTransportConfiguration {
+
+		@Bean(destroyMethod = "close")
+		@ConditionalOnMissingBean
+		public TwitterHttpTransport twitterHttpTransport(TwitterProperties properties) {
+			TwitterProperties.Http http = properties.getHttp();
+			HttpTransportOptions options = new HttpTransportOptions();
+			if (http.getMaxConnections() != null) {
+				options.maxConnections(http.getMaxConnections());
+			}
+			if (http.getMaxConnectionsPerHost() != null) {
+				options.maxConnectionsPerHost(http.getMaxConnectionsPerHost());
+			}
+			if (http.getConnectTimeout() != null) {
+				options.connectTimeout((int) http.getConnectTimeout().toMillis());
+			}
+			if (http.getConnectionRequestTimeout() != null) {
+				options.connectionRequestTimeout((int) http.getConnectionRequestTimeout().toMillis());
+			}
+			if (http.getReadTimeout() != null) {
+				options.readTimeout((int) http.getReadTimeout().toMillis());
+			}
+			if (http.getStreamReadTimeout() != null) {
+				options.streamReadTimeout((int) http.getStreamReadTimeout().toMillis());
+			}
+			if (http.getIdleTimeout() != null) {
+				options.idleTimeout(http.getIdleTimeout().toMillis());
+			}
+			return new TwitterHttpTransport(options);
+		}
+
+	}
+
+	@Configuration
+	@EnableConfigurationProperties(TwitterProperties.class)
+	protected static class TwitterTemplateFactoryConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public TwitterTemplateFactory twitterTemplateFactory(TwitterProperties properties,
+				ObjectProvider<TwitterHttpTransport> httpTransport) {
+			TwitterTemplateFactory factory = new TwitterTemplateFactory(properties.getAppId(),
+					properties.getAppSecret());
+			TwitterHttpTransport transport = httpTransport.getIfAvailable();
+			if (transport != null) {
+				factory.setHttpTransport(transport);
+			}
+			return factory;
+		}
+
+	}
+
 	@Configuration
 	@EnableSocial
 	@EnableConfigurationProperties(TwitterProperties.class)
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	protected static class TwitterConfigurerAdapter extends SocialAutoConfigurerAdapter {
 
-		private final TwitterProperties properties;
+		private final ObjectProvider<TwitterTemplateFactory> templateFactory;
 
-		protected TwitterConfigurerAdapter(TwitterProperties properties) {
-			this.properties = properties;
+		protected TwitterConfigurerAdapter(ObjectProvider<TwitterTemplateFactory> templateFactory) {
+			this.templateFactory = templateFactory;
 		}
 
 		@Bean
@@ -77,8 +136,7 @@ public class TwitterAutoConfiguration {
 			if (connection != null) {
 				return connection.getApi();
 			}
-			return new TwitterTemplate(this.properties.getAppId(),
-					this.properties.getAppSecret());
+			return this.templateFactory.getObject().getAppTwitter();
 		}
 
 		@Bean(name = { "connect/twitterConnect", "connect/twitterConnected" })
@@ -89,8 +147,7 @@ public class TwitterAutoConfiguration {
 
 		@Override
 		protected ConnectionFactory<?> createConnectionFactory() {
-			return new TwitterConnectionFactory(this.properties.getAppId(),
-					this.properties.getAppSecret());
+			return new TwitterConnectionFactory(this.templateFactory.getObject());
 		}
 
 	}
@@ -16,6 +16,8 @@
 
 package org.springframework.social.twitter.autoconfigure;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.social.autoconfigure.SocialProperties;
 
@@ -28,4 +30,122 @@ import org.springframework.social.autoconfigure.SocialProperties;
 @ConfigurationProperties(prefix = "spring.social.twitter")
 public class TwitterProperties extends SocialProperties {
 
+	private final Http http = new Http();
+
+	public Http getHttp() {
+		return this.http;
+	}
+
+	/**
+	 * Pooled HTTP transport properties. Settings left unset keep the transport's defaults.
+	 */
+	public static class Http {
+
+		/**
+		 * Whether Twitter API calls and streams share a pool of keep-alive connections,
+		 * when Apache HttpClient is on the classpath.
+		 */
+		private boolean pooled = true;
+
+		/**
+		 * Maximum number of pooled connections.
+		 */
+		private Integer maxConnections;
+
+		/**
+		 * Maximum number of pooled connections to each host.
+		 */
+		private Integer maxConnectionsPerHost;
+
+		/**
+		 * Connect timeout.
+		 */
+		private Duration connectTimeout;
+
+		/**
+		 * Maximum time to wait for a connection from the pool.
+		 */
+		private Duration connectionRequestTimeout;
+
+		/**
+		 * Read timeout of REST API calls.
+		 */
+		private Duration readTimeout;
+
+		/**
+		 * Read timeout of streams, longer than the interval between keep-alive messages.
+		 */
+		private Duration streamReadTimeout;
+
+		/**
+		 * Time after which idle pooled connections are closed.
+		 */
+		private Duration idleTimeout;
+
+		public boolean isPooled() {
+			return this.pooled;
+		}
+
+		public void setPooled(boolean pooled) {
+			this.pooled = pooled;
+		}
+
+		public Integer getMaxConnections() {
+			return this.maxConnections;
+		}
+
+		public void setMaxConnections(Integer maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public Integer getMaxConnectionsPerHost() {
+			return this.maxConnectionsPerHost;
+		}
+
+		public void setMaxConnectionsPerHost(Integer maxConnectionsPerHost) {
+			this.maxConnectionsPerHost = maxConnectionsPerHost;
+		}
+
+		public Duration getConnectTimeout() {
+			return this.connectTimeout;
+		}
+
+		public void setConnectTimeout(Duration connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Duration getConnectionRequestTimeout() {
+			return this.connectionRequestTimeout;
+		}
+
+		public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+			this.connectionRequestTimeout = connectionRequestTimeout;
+		}
+
+		public Duration getReadTimeout() {
+			return this.readTimeout;
+		}
+
+		public void setReadTimeout(Duration readTimeout) {
+			this.readTimeout = readTimeout;
+		}
+
+		public Duration getStreamReadTimeout() {
+			return this.streamReadTimeout;
+		}
+
+		public void setStreamReadTimeout(Duration streamReadTimeout) {
+			this.streamReadTimeout = streamReadTimeout;
+		}
+
+		public Duration getIdleTimeout() {
+			return this.idleTimeout;
+		}
+
+		public void setIdleTimeout(Duration idleTimeout) {
+			this.idleTimeout = idleTimeout;
+		}
+
+	}
+
 }
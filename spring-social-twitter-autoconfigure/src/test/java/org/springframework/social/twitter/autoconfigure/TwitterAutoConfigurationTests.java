@@ -23,6 +23,8 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyS
 import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.social.autoconfigure.SocialWebAutoConfiguration;
 import org.springframework.social.twitter.api.Twitter;
+import org.springframework.social.twitter.api.impl.TwitterTemplateFactory;
+import org.springframework.social.twitter.http.TwitterHttpTransport;
 import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
 
 /*
@@ -54,6 +56,34 @@ public class TwitterAutoConfigurationTests extends AbstractSocialAutoConfigurati
 		this.context.refresh();
 		assertConnectionFrameworkBeans();
 		assertThat(this.context.getBean(Twitter.class)).isNotNull();
+		assertThat(this.context.getBean(TwitterTemplateFactory.class)).isNotNull();
+	}
+
+	@Test
+	public void pooledHttpTransportCreated() throws Exception {
+		this.context = new AnnotationConfigWebApplicationContext();
+		TestPropertyValues.of("spring.social.twitter.appId:12345",
+				"spring.social.twitter.appSecret:secret",
+				"spring.social.twitter.http.max-connections:20").applyTo(this.context);
+		ConfigurationPropertySources.attach(this.context.getEnvironment());
+		this.context.register(TwitterAutoConfiguration.class);
+		this.context.register(SocialWebAutoConfiguration.class);
+		this.context.refresh();
+		assertThat(this.context.getBean(TwitterHttpTransport.class)).isNotNull();
+	}
+
+	@Test
+	public void noHttpTransportCreatedWhenNotPooled() throws Exception {
+		this.context = new AnnotationConfigWebApplicationContext();
+		TestPropertyValues.of("spring.social.twitter.appId:12345",
+				"spring.social.twitter.appSecret:secret",
+				"spring.social.twitter.http.pooled:false").applyTo(this.context);
+		ConfigurationPropertySources.attach(this.context.getEnvironment());
+		this.context.register(TwitterAutoConfiguration.class);
+		this.context.register(SocialWebAutoConfiguration.class);
+		this.context.refresh();
+		assertMissingBean(TwitterHttpTransport.class);
+		assertThat(this.context.getBean(Twitter.class)).isNotNull();
 	}
 
 	@Test
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.social.twitter.api.Entities;
+
+/**
+ * Measures the heap retained by the entities of a million tweets, reported as the bytesPerTweet counter.
+ * The corpus mixes tweets without entities, with a hashtag, with a URL and mentions, and with media, as a sample stream does.
+ * Retained heap is taken from the used heap after full collections, so treat it as an estimate.
+ * Run with {@code ./gradlew :spring-social-twitter:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EntitiesFootprintBenchmark {
+
+	private static final int TWEETS = 1000000;
+
+	private byte[][] corpus;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Footprint {
+
+		public long bytesPerTweet;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytesPerTweet = 0;
+		}
+
+	}
+
+	@Setup
+	public void setUp() {
+		String[] entities = {
+				"{\"hashtags\":[],\"urls\":[],\"user_mentions\":[],\"symbols\":[]}",
+				"{\"hashtags\":[{\"text\":\"springsocial\",\"indices\":[27,40]}],\"urls\":[],\"user_mentions\":[],\"symbols\":[]}",
+				"{\"hashtags\":[],\"urls\":[{\"url\":\"http://t.co/x1\",\"expanded_url\":\"http://spring.io\",\"display_url\":\"spring.io\",\"indices\":[54,70]}],"
+						+ "\"user_mentions\":[{\"screen_name\":\"habuma\",\"name\":\"Craig Walls\",\"id\":112233,\"id_str\":\"112233\",\"indices\":[3,10]},"
+						+ "{\"screen_name\":\"springsocial\",\"name\":\"Spring Social\",\"id\":332211,\"id_str\":\"332211\",\"indices\":[12,25]}],\"symbols\":[]}",
+				"{\"hashtags\":[],\"urls\":[],\"user_mentions\":[],\"symbols\":[],\"media\":[{\"id\":9876,\"id_str\":\"9876\",\"indices\":[71,93],"
+						+ "\"media_url\":\"http://pbs.twimg.com/media/x.jpg\",\"media_url_https\":\"https://pbs.twimg.com/media/x.jpg\",\"url\":\"http://t.co/y\","
+						+ "\"display_url\":\"pic.twitter.com/y\",\"expanded_url\":\"http://twitter.com/habuma/status/9876/photo/1\",\"type\":\"photo\"}]}"
+		};
+		corpus = new byte[entities.length][];
+		for (int i = 0; i < entities.length; i++) {
+			corpus[i] = entities[i].getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+	@Benchmark
+	public Entities[] retainMillionTweets(Footprint footprint) throws IOException {
+		long before = usedHeap();
+		Entities[] retained = new Entities[TWEETS];
+		for (int i = 0; i < TWEETS; i++) {
+			// most tweets have no entities, so weight the corpus towards the first
+			byte[] json = corpus[i % 8 < 5 ? 0 : i % 8 - 4];
+			retained[i] = TwitterObjectReaders.ENTITIES.readValue(json);
+		}
+		footprint.bytesPerTweet = (usedHeap() - before) / TWEETS;
+		return retained;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
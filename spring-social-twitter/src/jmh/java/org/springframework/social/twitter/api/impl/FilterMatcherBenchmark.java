@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.social.twitter.api.FilterStreamParameters;
+import org.springframework.social.twitter.api.Tweet;
+
+/**
+ * Measures routing a tweet through a {@link FilterMatcher} as the number of subscriptions grows.
+ * Each subscription tracks a few phrases drawn from a fixed vocabulary, follows a few users and, for one in ten, watches a location box.
+ * Run with {@code ./gradlew :spring-social-twitter:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterMatcherBenchmark {
+
+	@Param({ "10", "1000", "10000" })
+	public int subscriptions;
+
+	private FilterMatcher<Integer> matcher;
+
+	private Tweet[] tweets;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		Map<Integer, FilterStreamParameters> filters = new LinkedHashMap<Integer, FilterStreamParameters>();
+		for (int i = 0; i < subscriptions; i++) {
+			FilterStreamParameters parameters = new FilterStreamParameters();
+			for (int phrase = 0; phrase < 3; phrase++) {
+				parameters.track(random.nextInt(4) == 0 ? word(random) + " " + word(random) : word(random));
+			}
+			for (int follow = 0; follow < 3; follow++) {
+				parameters.follow(1 + random.nextInt(1000000));
+			}
+			if (i % 10 == 0) {
+				float west = random.nextInt(340) - 170;
+				float south = random.nextInt(160) - 80;
+				parameters.addLocation(west, south, west + 2, south + 2);
+			}
+			filters.put(i, parameters);
+		}
+		matcher = new FilterMatcher<Integer>(filters);
+		tweets = new Tweet[1024];
+		for (int i = 0; i < tweets.length; i++) {
+			StringBuilder text = new StringBuilder();
+			for (int word = 0; word < 20; word++) {
+				text.append(word(random)).append(' ');
+			}
+			Tweet tweet = new Tweet(String.valueOf(i), text.toString(), new Date(), "someone", null, null, 1 + random.nextInt(1000000), "en", "web");
+			if (i % 4 == 0) {
+				tweet.setLongitude(random.nextDouble() * 360 - 180);
+				tweet.setLatitude(random.nextDouble() * 180 - 90);
+			}
+			tweets[i] = tweet;
+		}
+	}
+
+	@Benchmark
+	public List<Integer> match() {
+		return matcher.match(tweets[next++ & (tweets.length - 1)]);
+	}
+
+	private static String word(Random random) {
+		return "w" + Integer.toString(random.nextInt(VOCABULARY_SIZE), 36);
+	}
+
+	private static final int VOCABULARY_SIZE = 50000;
+
+}
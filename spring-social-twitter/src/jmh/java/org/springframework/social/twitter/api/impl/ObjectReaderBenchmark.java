@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.social.twitter.api.Tweet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Measures reading a timeline and a stream message through the shared {@link TwitterObjectReaders},
+ * against configuring a new ObjectMapper for each, as used to be done for every tweet.
+ * Run with {@code ./gradlew :spring-social-twitter:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectReaderBenchmark {
+
+	private static final ObjectReader TIMELINE = TwitterObjectReaders.readerFor(Tweet[].class);
+
+	private byte[] timeline;
+
+	private byte[] streamMessage;
+
+	private StreamMessageParser streamParser;
+
+	@Setup
+	public void setUp() {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 20; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append(TweetReaderBenchmark.tweet(1000 + i, i % 4 == 0));
+		}
+		timeline = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+		streamMessage = TweetReaderBenchmark.tweet(2000, true).getBytes(StandardCharsets.UTF_8);
+		streamParser = new StreamMessageParser();
+	}
+
+	@Benchmark
+	public Tweet[] timelineSharedReader() throws IOException {
+		return TIMELINE.readValue(timeline);
+	}
+
+	@Benchmark
+	public Tweet[] timelineNewMapper() throws IOException {
+		return new ObjectMapper().registerModule(new TwitterModule()).readValue(timeline, Tweet[].class);
+	}
+
+	@Benchmark
+	public Object streamMessageSharedReader() throws IOException {
+		return streamParser.parse(streamMessage);
+	}
+
+	@Benchmark
+	public Tweet streamMessageNewMapper() throws IOException {
+		return new ObjectMapper().registerModule(new TwitterModule()).readValue(streamMessage, Tweet.class);
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Measures reading tweets in a single pass over the tokens, against building the tree that tweets used to be read from.
+ * The payloads are a 20 tweet timeline and a single stream message, each tweet with a full user and entities, and one in four a retweet.
+ * Run with {@code ./gradlew :spring-social-twitter:jmh}, adding {@code -prof gc} to the JMH arguments to see the allocation rate of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TweetReaderBenchmark {
+
+	private byte[] timeline;
+
+	private byte[] streamMessage;
+
+	private StreamMessageParser streamParser;
+
+	@Setup
+	public void setUp() {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 20; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append(tweet(1000 + i, i % 4 == 0));
+		}
+		timeline = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+		streamMessage = tweet(2000, true).getBytes(StandardCharsets.UTF_8);
+		streamParser = new StreamMessageParser();
+	}
+
+	@Benchmark
+	public List<Tweet> timelineSinglePass() throws IOException {
+		JsonParser parser = TwitterObjectReaders.createParser(timeline, 0, timeline.length);
+		try {
+			parser.nextToken();
+			return TweetReader.readTweets(parser, TweetField.ALL);
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Benchmark
+	public JsonNode timelineTree() throws IOException {
+		return TwitterObjectReaders.READER.readTree(TwitterObjectReaders.createParser(timeline, 0, timeline.length));
+	}
+
+	@Benchmark
+	public Object streamMessageSinglePass() throws IOException {
+		return streamParser.parse(streamMessage);
+	}
+
+	@Benchmark
+	public JsonNode streamMessageTree() throws IOException {
+		return TwitterObjectReaders.READER.readTree(TwitterObjectReaders.createParser(streamMessage, 0, streamMessage.length));
+	}
+
+	static String tweet(long id, boolean retweet) {
+		String text = "Reading about $VMW and #springsocial with @habuma http://t.co/x" + id;
+		StringBuilder json = new StringBuilder();
+		json.append("{\"created_at\":\"Tue Jul 13 17:38:21 +0000 2010\",\"id\":").append(id).append(",\"id_str\":\"").append(id).append('"');
+		json.append(",\"text\":\"").append(retweet ? "RT @habuma: " + text : text).append('"');
+		json.append(",\"source\":\"<a href=\\\"http://twitter.com\\\" rel=\\\"nofollow\\\">Twitter Web Client</a>\",\"truncated\":false");
+		json.append(",\"in_reply_to_status_id\":null,\"in_reply_to_status_id_str\":null,\"in_reply_to_user_id\":null,\"in_reply_to_user_id_str\":null,\"in_reply_to_screen_name\":null");
+		json.append(",\"user\":").append(user(id % 1000));
+		json.append(",\"geo\":null,\"coordinates\":null,\"place\":null,\"contributors\":null");
+		if (retweet) {
+			json.append(",\"retweeted_status\":").append(tweet(id + 1000000, false));
+		}
+		json.append(",\"is_quote_status\":false,\"retweet_count\":12,\"favorite_count\":3");
+		json.append(",\"entities\":{\"hashtags\":[{\"text\":\"springsocial\",\"indices\":[27,40]}],\"urls\":[{\"url\":\"http://t.co/x").append(id);
+		json.append("\",\"expanded_url\":\"http://spring.io\",\"display_url\":\"spring.io\",\"indices\":[54,70]}],\"user_mentions\":[{\"screen_name\":\"habuma\",\"name\":\"Craig Walls\",\"id\":112233,\"id_str\":\"112233\",\"indices\":[46,53]}],\"symbols\":[]}");
+		json.append(",\"favorited\":false,\"retweeted\":false,\"filter_level\":\"low\",\"lang\":\"en\",\"timestamp_ms\":\"1279042701000\"}");
+		return json.toString();
+	}
+
+	private static String user(long id) {
+		return "{\"id\":" + id + ",\"id_str\":\"" + id + "\",\"name\":\"User " + id + "\",\"screen_name\":\"user" + id + "\",\"location\":\"Plano, TX\""
+				+ ",\"url\":\"http://spring.io\",\"description\":\"Writes code, mostly\",\"protected\":false,\"verified\":false"
+				+ ",\"followers_count\":1234,\"friends_count\":321,\"listed_count\":12,\"favourites_count\":99,\"statuses_count\":4567"
+				+ ",\"created_at\":\"Tue Jul 13 17:38:21 +0000 2010\",\"utc_offset\":-21600,\"time_zone\":\"Central Time (US & Canada)\""
+				+ ",\"geo_enabled\":true,\"lang\":\"en\",\"contributors_enabled\":false,\"is_translator\":false"
+				+ ",\"profile_background_color\":\"C0DEED\",\"profile_background_image_url\":\"http://a0.twimg.com/images/themes/theme1/bg.png\""
+				+ ",\"profile_background_tile\":false,\"profile_link_color\":\"0084B4\",\"profile_sidebar_border_color\":\"C0DEED\""
+				+ ",\"profile_sidebar_fill_color\":\"DDEEF6\",\"profile_text_color\":\"333333\",\"profile_use_background_image\":true"
+				+ ",\"profile_image_url\":\"http://a0.twimg.com/profile_images/" + id + "/me_normal.jpg\""
+				+ ",\"default_profile\":true,\"default_profile_image\":false,\"following\":null,\"follow_request_sent\":null,\"notifications\":null}";
+	}
+
+}
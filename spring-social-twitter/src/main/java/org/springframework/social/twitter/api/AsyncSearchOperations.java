@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of {@link SearchOperations}.
+ * Each method makes the same call on the {@link AsyncTwitter}'s executor and returns a future of its result;
+ * the exceptions documented on {@link SearchOperations} complete the future exceptionally.
+ */
+public interface AsyncSearchOperations {
+
+	/**
+	 * Searches Twitter, returning the first 50 matching {@link Tweet}s
+	 * Supports either user or application authorization.
+	 * @param query The search query string
+	 * @return a {@link SearchResults} containing the search results metadata and a list of matching {@link Tweet}s
+	 * @see SearchResults
+	 * @see Tweet
+	 */
+	CompletableFuture<SearchResults> search(String query);
+
+	/**
+	 * Searches Twitter, returning a specific page out of the complete set of results.
+	 * Supports either user or application authorization.
+	 * @param query The search query string
+	 * @param pageSize The number of {@link Tweet}s per query
+	 * @return a {@link SearchResults} containing the search results metadata and a list of matching {@link Tweet}s
+	 * @see SearchResults
+	 * @see Tweet
+	 */
+	CompletableFuture<SearchResults> search(String query, int pageSize);
+
+	/**
+	 * Searches Twitter, returning a specific page out of the complete set of
+	 * results. Results are filtered to those whose ID falls between sinceId and maxId.
+	 * Supports either user or application authorization.
+	 * @param query The search query string
+	 * @param pageSize The number of {@link Tweet}s per query
+	 * @param sinceId The minimum {@link Tweet} ID to return in the results
+	 * @param maxId The maximum {@link Tweet} ID to return in the results
+	 * @return a {@link SearchResults} containing the search results metadata and a list of matching {@link Tweet}s
+	 * @see SearchResults
+	 * @see Tweet
+	 */
+	CompletableFuture<SearchResults> search(String query, int pageSize, long sinceId, long maxId);
+
+	/**
+	 * Searches Twitter, returning a set of results
+	 * Supports either user or application authorization.
+	 * @param searchParameters The search parameters
+	 * @return a {@link SearchResults} containing the search results metadata and a list of matching {@link Tweet}s
+	 * @see SearchResults
+	 * @see Tweet
+	 */
+	CompletableFuture<SearchResults> search(SearchParameters searchParameters);
+
+	/**
+	 * Retrieves the authenticating user's saved searches.
+	 * @return a list of SavedSearch items
+	 */
+	CompletableFuture<List<SavedSearch>> getSavedSearches();
+
+	/**
+	 * Retrieves a single saved search by the saved search's ID.
+	 * @param searchId the ID of the saved search
+	 * @return a SavedSearch
+	 */
+	CompletableFuture<SavedSearch> getSavedSearch(long searchId);
+
+	/**
+	 * Creates a new saved search for the authenticating user.
+	 * @param query the search query to save
+	 * @return the SavedSearch
+	 */
+	CompletableFuture<SavedSearch> createSavedSearch(String query);
+
+	/**
+	 * Deletes a saved search
+	 * @param searchId the ID of the saved search
+	 */
+	CompletableFuture<Void> deleteSavedSearch(long searchId);
+
+	/**
+	 * Retrieves the top 10 trending topics for a given location, identified by its "Where on Earth" (WOE) ID.
+	 * This includes hashtagged topics.
+	 * See http://developer.yahoo.com/geo/geoplanet/guide/concepts.html for more information on WOE.
+	 * Supports either user or application authorization.
+	 * @param whereOnEarthId the Where on Earth ID for the location to retrieve trend data.
+	 * @return A Trends object with the top 10 trending topics for the location.
+	 */
+	CompletableFuture<Trends> getLocalTrends(long whereOnEarthId);
+
+	/**
+	 * Retrieves the top 10 trending topics for a given location, identified by its "Where on Earth" (WOE) ID.
+	 * See http://developer.yahoo.com/geo/geoplanet/guide/concepts.html for more information on WOE.
+	 * Supports either user or application authorization.
+	 * @param whereOnEarthId the Where on Earth ID for the location to retrieve trend data.
+	 * @param excludeHashtags if true, hashtagged topics will be excluded from the trends list.
+	 * @return A Trends object with the top 10 trending topics for the given location.
+	 */
+	CompletableFuture<Trends> getLocalTrends(long whereOnEarthId, boolean excludeHashtags);
+
+}
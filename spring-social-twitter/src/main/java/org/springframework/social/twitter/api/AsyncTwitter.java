@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import org.springframework.social.ApiBinding;
+
+/**
+ * Asynchronous counterpart of {@link Twitter}, for applications that want several calls to Twitter in flight at once without a reactive stack.
+ * Each call is made on an executor as soon as its method is invoked, and its result is returned as a CompletableFuture.
+ * Implemented by AsyncTwitterTemplate, which wraps a {@link Twitter}.
+ */
+public interface AsyncTwitter extends ApiBinding {
+
+	/**
+	 * @return the portion of the Twitter API containing the block operations.
+	 */
+	AsyncBlockOperations blockOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the direct message operations.
+	 */
+	AsyncDirectMessageOperations directMessageOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the friends and followers operations.
+	 */
+	AsyncFriendOperations friendOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the geo location operations.
+	 */
+	AsyncGeoOperations geoOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the user list operations.
+	 */
+	AsyncListOperations listOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the search operations.
+	 */
+	AsyncSearchOperations searchOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the tweet and timeline operations.
+	 */
+	AsyncTimelineOperations timelineOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the user operations.
+	 */
+	AsyncUserOperations userOperations();
+
+	/**
+	 * @return the blocking Twitter API binding that calls are made with.
+	 */
+	Twitter getTwitter();
+
+}
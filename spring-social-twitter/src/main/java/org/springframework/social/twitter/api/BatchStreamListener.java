@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link StreamListener} that receives tweets, deletes and limit notices in batches, for sinks that write in bulk.
+ * The stream dispatcher collects each kind of message into a batch and hands it over once it reaches the configured size
+ * or once its oldest message has waited for the configured maximum latency; see {@link StreamingOptions#batchListenerMaxSize(int)}
+ * and {@link StreamingOptions#batchListenerMaxLatency(long)}. All other message types are delivered one at a time as usual.
+ * Batches are delivered from a single thread per listener, in stream order.
+ */
+public interface BatchStreamListener extends StreamListener {
+
+	/**
+	 * Called with a batch of tweets from the stream.
+	 * @param tweets the tweets, in the order they arrived
+	 */
+	void onTweets(List<Tweet> tweets);
+
+	/**
+	 * Called with a batch of delete messages from the stream.
+	 * @param deleteEvents the delete events, in the order they arrived
+	 */
+	void onDeletes(List<StreamDeleteEvent> deleteEvents);
+
+	/**
+	 * Called with a batch of track limit notices from the stream.
+	 * @param numbersOfLimitedTweets the number of limited tweets reported by each notice, in the order they arrived
+	 */
+	void onLimits(List<Integer> numbersOfLimitedTweets);
+
+	default void onTweet(Tweet tweet) {
+		onTweets(Collections.singletonList(tweet));
+	}
+
+	default void onDelete(StreamDeleteEvent deleteEvent) {
+		onDeletes(Collections.singletonList(deleteEvent));
+	}
+
+	default void onLimit(int numberOfLimitedTweets) {
+		onLimits(Collections.singletonList(numberOfLimitedTweets));
+	}
+
+}
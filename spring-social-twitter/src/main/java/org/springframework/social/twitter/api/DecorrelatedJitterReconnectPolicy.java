@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * Backs off exponentially with "decorrelated jitter": each delay is drawn at random between the base delay and three times
+ * the previous delay, capped at a maximum. Streams that lose their connections at the same moment drift apart after
+ * the first attempt instead of hitting Twitter in lockstep.
+ */
+public class DecorrelatedJitterReconnectPolicy implements ReconnectPolicy {
+
+	private final long baseDelay;
+
+	private final long maxDelay;
+
+	private final int maxAttempts;
+
+	/**
+	 * Creates a policy that never gives up.
+	 * @param baseDelay the shortest delay in milliseconds
+	 * @param maxDelay the longest delay in milliseconds
+	 */
+	public DecorrelatedJitterReconnectPolicy(long baseDelay, long maxDelay) {
+		this(baseDelay, maxDelay, 0);
+	}
+
+	/**
+	 * @param baseDelay the shortest delay in milliseconds
+	 * @param maxDelay the longest delay in milliseconds
+	 * @param maxAttempts the number of consecutive failed attempts after which to give up, or 0 to never give up
+	 */
+	public DecorrelatedJitterReconnectPolicy(long baseDelay, long maxDelay, int maxAttempts) {
+		Assert.isTrue(baseDelay > 0, "Base delay must be greater than zero");
+		Assert.isTrue(maxDelay >= baseDelay, "Maximum delay may not be less than the base delay");
+		Assert.isTrue(maxAttempts >= 0, "Maximum attempts may not be negative");
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+		this.maxAttempts = maxAttempts;
+	}
+
+	public long reconnectDelay(HttpStatus httpStatus, int attempt, long previousDelay) {
+		if (maxAttempts > 0 && attempt > maxAttempts) {
+			return -1;
+		}
+		long upper = Math.min(maxDelay, Math.max(baseDelay, previousDelay) * 3);
+		return upper > baseDelay ? ThreadLocalRandom.current().nextLong(baseDelay, upper + 1) : baseDelay;
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Backs off as Twitter's streaming guidelines describe: linearly in 250ms steps up to 16 seconds after network errors,
+ * and exponentially from 5 seconds after HTTP errors, giving up once the delay would pass 320 seconds.
+ * Every client backs off on the same schedule, so a fleet of streams cut off together will reconnect together;
+ * {@link DecorrelatedJitterReconnectPolicy} spreads them out.
+ */
+public class DefaultReconnectPolicy implements ReconnectPolicy {
+
+	public long reconnectDelay(HttpStatus httpStatus, int attempt, long previousDelay) {
+		if (httpStatus != null) {
+			long delay = previousDelay < HTTP_ERROR_SLEEP_MIN ? HTTP_ERROR_SLEEP_MIN : previousDelay * 2;
+			return delay > HTTP_ERROR_SLEEP_MAX ? -1 : delay;
+		}
+		return Math.min(previousDelay + NETWORK_ERROR_SLEEP_STEP, NETWORK_ERROR_SLEEP_MAX);
+	}
+
+	public static final long HTTP_ERROR_SLEEP_MIN = 5000;
+
+	public static final long HTTP_ERROR_SLEEP_MAX = 320000;
+
+	public static final long NETWORK_ERROR_SLEEP_STEP = 250;
+
+	public static final long NETWORK_ERROR_SLEEP_MAX = 16000;
+
+}
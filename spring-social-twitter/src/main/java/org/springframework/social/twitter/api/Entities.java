@@ -16,99 +16,93 @@
 package org.springframework.social.twitter.api;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
  * <p>A json representation of entities found within twitter status objects.<p>
+ * <p>Empty entity lists all share the same empty, unmodifiable list, and the others are held in array-backed lists trimmed to size,
+ * since many tweets with their entities may be held in memory at once.</p>
  * @author bowen
  */
 public class Entities extends TwitterObject implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	
-	private List<UrlEntity> urls = new LinkedList<UrlEntity>();
+	private List<UrlEntity> urls;
 	
-	private List<HashTagEntity> tags = new LinkedList<HashTagEntity>();
+	private List<HashTagEntity> tags;
 	
-	private List<MentionEntity> mentions = new LinkedList<MentionEntity>();
+	private List<MentionEntity> mentions;
 	
-	private List<MediaEntity> media = new LinkedList<MediaEntity>();
+	private List<MediaEntity> media;
 
-	private List<TickerSymbolEntity> tickerSymbols = new LinkedList<TickerSymbolEntity>();
+	private List<TickerSymbolEntity> tickerSymbols;
 
 	public Entities(List<UrlEntity> urls, List<HashTagEntity> tags, List<MentionEntity> mentions, List<MediaEntity> media) {
-		this.urls = urls;
-		this.tags = tags;
-		this.mentions = mentions;
-		this.media = media;
+		this(urls, tags, mentions, media, null);
 	}
 	
 	public Entities(List<UrlEntity> urls, List<HashTagEntity> tags, List<MentionEntity> mentions, List<MediaEntity> media, List<TickerSymbolEntity> tickerSymbols) {
-		this(urls, tags, mentions, media);
-		this.tickerSymbols = tickerSymbols;
+		this.urls = compact(urls);
+		this.tags = compact(tags);
+		this.mentions = compact(mentions);
+		this.media = compact(media);
+		this.tickerSymbols = compact(tickerSymbols);
 	}
 
 	public List<UrlEntity> getUrls() {
-		if (this.urls == null) {
-			return Collections.emptyList();
-		}
 		return this.urls;
 	}
 	
 	
 	public List<HashTagEntity> getHashTags() {
-		if (this.tags == null) {
-			return Collections.emptyList();
-		}
 		return this.tags;
 	}
 	
 	
 	public List<MentionEntity> getMentions() {
-		if (this.mentions == null) {
-			return Collections.emptyList();
-		}
 		return this.mentions;
 	}
 	
 	
 	public List<MediaEntity> getMedia() {
-		if (this.media == null) {
-			return Collections.emptyList();
-		}
 		return this.media;
 	}
 	
 	public List<TickerSymbolEntity> getTickerSymbols() {
-		if (this.tickerSymbols == null) {
-			return Collections.emptyList();
-		}
 		return this.tickerSymbols;
 	}
-	
+
+	/**
+	 * Sets the ticker symbols, which Twitter doesn't include with the other entities but are found in the tweet's text.
+	 */
+	public void setTickerSymbols(List<TickerSymbolEntity> tickerSymbols) {
+		this.tickerSymbols = compact(tickerSymbols);
+	}
+
 	public boolean hasUrls() {
-		return this.urls != null && !this.urls.isEmpty();
+		return !this.urls.isEmpty();
 	}
 	
 	
 	public boolean hasTags() {
-		return this.tags != null && !this.tags.isEmpty();
+		return !this.tags.isEmpty();
 	}
 	
 	
 	public boolean hasMentions() {
-		return this.mentions != null && !this.mentions.isEmpty();
+		return !this.mentions.isEmpty();
 	}
 	
 	
 	public boolean hasMedia() {
-		return this.media != null && !this.media.isEmpty();
+		return !this.media.isEmpty();
 	}
 	
 	public boolean hasTickerSymbols() {
-		return this.tickerSymbols != null && !this.tickerSymbols.isEmpty();
+		return !this.tickerSymbols.isEmpty();
 	}
 	
 	@Override
@@ -121,19 +115,19 @@ public class Entities extends TwitterObject implements Serializable {
 		}
 		
 		Entities entities = (Entities) o;
-		if (media != null ? !media.equals(entities.media) : entities.media != null) {
+		if (!media.equals(entities.media)) {
 			return false;
 		}
-		if (mentions != null ? !mentions.equals(entities.mentions) : entities.mentions != null) {
+		if (!mentions.equals(entities.mentions)) {
 			return false;
 		}
-		if (tags != null ? !tags.equals(entities.tags) : entities.tags != null) {
+		if (!tags.equals(entities.tags)) {
 			return false;
 		}
-		if (urls != null ? !urls.equals(entities.urls) : entities.urls != null) {
+		if (!urls.equals(entities.urls)) {
 			return false;
 		}
-		if (tickerSymbols != null ? !tickerSymbols.equals(entities.tickerSymbols) : entities.tickerSymbols != null) {
+		if (!tickerSymbols.equals(entities.tickerSymbols)) {
 			return false;
 		}
 		
@@ -143,11 +137,22 @@ public class Entities extends TwitterObject implements Serializable {
 	
 	@Override
 	public int hashCode() {
-		int result = urls != null ? urls.hashCode() : 0;
-		result = 31 * result + (tags != null ? tags.hashCode() : 0);
-		result = 31 * result + (mentions != null ? mentions.hashCode() : 0);
-		result = 31 * result + (media != null ? media.hashCode() : 0);
-		result = 31 * result + (tickerSymbols != null ? tickerSymbols.hashCode() : 0);
+		int result = urls.hashCode();
+		result = 31 * result + tags.hashCode();
+		result = 31 * result + mentions.hashCode();
+		result = 31 * result + media.hashCode();
+		result = 31 * result + tickerSymbols.hashCode();
 		return result;
 	}
+
+	private static <T> List<T> compact(List<T> list) {
+		if (list == null || list.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (list instanceof ArrayList) {
+			((ArrayList<T>) list).trimToSize();
+			return list;
+		}
+		return new ArrayList<T>(list);
+	}
 }
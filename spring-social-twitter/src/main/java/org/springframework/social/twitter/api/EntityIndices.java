@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+/**
+ * Packs an entity's start and end indices into a single long, saving the entity an int[] of its own.
+ */
+final class EntityIndices {
+
+	/**
+	 * Packed value of missing indices. No entity starts and ends at -1.
+	 */
+	static final long NONE = -1L;
+
+	private EntityIndices() {
+	}
+
+	/**
+	 * @return the start and end indices packed together, or {@link #NONE} if there aren't both
+	 */
+	static long pack(int[] indices) {
+		if (indices == null || indices.length < 2) {
+			return NONE;
+		}
+		return ((long) indices[0] << 32) | (indices[1] & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return a new array of the start and end indices, or an empty array if there are none
+	 */
+	static int[] unpack(long indices) {
+		if (indices == NONE) {
+			return new int[0];
+		}
+		return new int[] { (int) (indices >>> 32), (int) indices };
+	}
+
+	static int hashCode(long indices) {
+		return (int) (indices ^ (indices >>> 32));
+	}
+
+}
@@ -15,8 +15,11 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Arrays;
 
 /**
  * <p>A representation of tweet hashtags.</p>
@@ -27,7 +30,7 @@ public class HashTagEntity extends TwitterObject implements Serializable {
 
 	private String text;
 
-	private int[] indices;
+	private long indices;
 
 	public String getText() {
 		return this.text;
@@ -35,14 +38,11 @@ public class HashTagEntity extends TwitterObject implements Serializable {
 
 	public HashTagEntity(String text, int[] indices) {
 		this.text = text;
-		this.indices = indices;
+		this.indices = EntityIndices.pack(indices);
 	}
 
 	public int[] getIndices() {
-		if (this.indices == null || this.indices.length <= 0) {
-			return new int[0];
-		}
-		return this.indices;
+		return EntityIndices.unpack(this.indices);
 	}
 
 
@@ -57,7 +57,7 @@ public class HashTagEntity extends TwitterObject implements Serializable {
 
 		HashTagEntity that = (HashTagEntity) o;
 
-		if (!Arrays.equals(indices, that.indices)) {
+		if (indices != that.indices) {
 			return false;
 		}
 		if (text != null ? !text.equals(that.text) : that.text != null) {
@@ -71,7 +71,27 @@ public class HashTagEntity extends TwitterObject implements Serializable {
 	@Override
 	public int hashCode() {
 		int result = text != null ? text.hashCode() : 0;
-		result = 31 * result + (indices != null ? Arrays.hashCode(indices) : 0);
+		result = 31 * result + EntityIndices.hashCode(indices);
 		return result;
 	}
+
+	// the indices are serialized as the int[] they were held in before they were packed, so that the serialized form doesn't change
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("text", String.class),
+		new ObjectStreamField("indices", int[].class)
+	};
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("text", text);
+		fields.put("indices", indices != EntityIndices.NONE ? EntityIndices.unpack(indices) : null);
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		text = (String) fields.get("text", null);
+		indices = EntityIndices.pack((int[]) fields.get("indices", null));
+	}
+
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+/**
+ * Enumeration of the ways stream messages can be handed to {@link StreamListener}s.
+ */
+public enum ListenerDispatchMode {
+
+	/**
+	 * Each message is delivered to each listener as a separate task on a shared thread pool.
+	 * A listener may be called from several threads at once and may see messages out of order.
+	 */
+	CONCURRENT,
+
+	/**
+	 * Each listener has its own bounded queue drained by a single thread, so a listener sees messages one at a time and in stream order.
+	 * When a listener's queue is full, dispatching waits for it, slowing the stream reader through the dispatch queue.
+	 */
+	ORDERED
+
+}
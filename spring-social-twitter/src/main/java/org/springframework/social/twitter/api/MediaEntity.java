@@ -15,8 +15,11 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Arrays;
 
 /**
  * <p>A representation of embedded media entity.</p>
@@ -40,7 +43,7 @@ public class MediaEntity extends TwitterObject implements Serializable {
 
 	private String type;
 
-	private int[] indices;
+	private long indices;
 
 	public MediaEntity(long id, String mediaHttp, String mediaHttps, String url, String display, String expanded, String type, int[] indices) {
 		this.id = id;
@@ -50,7 +53,7 @@ public class MediaEntity extends TwitterObject implements Serializable {
 		this.display = display;
 		this.expanded = expanded;
 		this.type = type;
-		this.indices = indices;
+		this.indices = EntityIndices.pack(indices);
 	}
 
 
@@ -90,10 +93,7 @@ public class MediaEntity extends TwitterObject implements Serializable {
 
 
 	public int[] getIndices() {
-		if (this.indices == null || this.indices.length <= 0) {
-			return new int[0];
-		}
-		return this.indices;
+		return EntityIndices.unpack(this.indices);
 	}
 
 
@@ -117,7 +117,7 @@ public class MediaEntity extends TwitterObject implements Serializable {
 		if (expanded != null ? !expanded.equals(that.expanded) : that.expanded != null) {
 			return false;
 		}
-		if (!Arrays.equals(indices, that.indices)) {
+		if (indices != that.indices) {
 			return false;
 		}
 		if (mediaHttp != null ? !mediaHttp.equals(that.mediaHttp) : that.mediaHttp != null) {
@@ -146,7 +146,45 @@ public class MediaEntity extends TwitterObject implements Serializable {
 		result = 31 * result + (display != null ? display.hashCode() : 0);
 		result = 31 * result + (expanded != null ? expanded.hashCode() : 0);
 		result = 31 * result + (type != null ? type.hashCode() : 0);
-		result = 31 * result + (indices != null ? Arrays.hashCode(indices) : 0);
+		result = 31 * result + EntityIndices.hashCode(indices);
 		return result;
 	}
+
+	// the serialized form still holds the indices as an int[]
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("id", long.class),
+		new ObjectStreamField("mediaHttp", String.class),
+		new ObjectStreamField("mediaHttps", String.class),
+		new ObjectStreamField("url", String.class),
+		new ObjectStreamField("display", String.class),
+		new ObjectStreamField("expanded", String.class),
+		new ObjectStreamField("type", String.class),
+		new ObjectStreamField("indices", int[].class)
+	};
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("id", id);
+		fields.put("mediaHttp", mediaHttp);
+		fields.put("mediaHttps", mediaHttps);
+		fields.put("url", url);
+		fields.put("display", display);
+		fields.put("expanded", expanded);
+		fields.put("type", type);
+		fields.put("indices", indices != EntityIndices.NONE ? EntityIndices.unpack(indices) : null);
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		id = fields.get("id", 0L);
+		mediaHttp = (String) fields.get("mediaHttp", null);
+		mediaHttps = (String) fields.get("mediaHttps", null);
+		url = (String) fields.get("url", null);
+		display = (String) fields.get("display", null);
+		expanded = (String) fields.get("expanded", null);
+		type = (String) fields.get("type", null);
+		indices = EntityIndices.pack((int[]) fields.get("indices", null));
+	}
+
 }
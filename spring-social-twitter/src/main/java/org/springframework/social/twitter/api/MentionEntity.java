@@ -15,8 +15,11 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Arrays;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -36,14 +39,13 @@ public class MentionEntity extends TwitterObject implements Serializable {
 	@JsonProperty("name")
 	private String name;
 
-	@JsonProperty("indices")
-	private int[] indices;
+	private long indices;
 
 	public MentionEntity(long id, String screenName, String name, int[] indices) {
 		this.id = id;
 		this.screenName = screenName;
 		this.name = name;
-		this.indices = indices;
+		this.indices = EntityIndices.pack(indices);
 	}
 
 
@@ -63,10 +65,7 @@ public class MentionEntity extends TwitterObject implements Serializable {
 
 
 	public int[] getIndices() {
-		if (this.indices == null || this.indices.length <= 0) {
-			return new int[0];
-		}
-		return this.indices;
+		return EntityIndices.unpack(this.indices);
 	}
 
 
@@ -87,7 +86,7 @@ public class MentionEntity extends TwitterObject implements Serializable {
 		if (name != null ? !name.equals(that.name) : that.name != null) {
 			return false;
 		}
-		if (!Arrays.equals(indices, that.indices)) {
+		if (indices != that.indices) {
 			return false;
 		}
 		if (screenName != null ? !screenName.equals(that.screenName) : that.screenName != null) {
@@ -103,7 +102,33 @@ public class MentionEntity extends TwitterObject implements Serializable {
 		int result = (int) (id ^ (id >>> 32));
 		result = 31 * result + (screenName != null ? screenName.hashCode() : 0);
 		result = 31 * result + (name != null ? name.hashCode() : 0);
-		result = 31 * result + (indices != null ? Arrays.hashCode(indices) : 0);
+		result = 31 * result + EntityIndices.hashCode(indices);
 		return result;
 	}
+
+	// keeps the serialized form the entity had when its indices were an int[]
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("id", long.class),
+		new ObjectStreamField("screenName", String.class),
+		new ObjectStreamField("name", String.class),
+		new ObjectStreamField("indices", int[].class)
+	};
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("id", id);
+		fields.put("screenName", screenName);
+		fields.put("name", name);
+		fields.put("indices", indices != EntityIndices.NONE ? EntityIndices.unpack(indices) : null);
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		id = fields.get("id", 0L);
+		screenName = (String) fields.get("screenName", null);
+		name = (String) fields.get("name", null);
+		indices = EntityIndices.pack((int[]) fields.get("indices", null));
+	}
+
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+/**
+ * Enumeration of strategies for REST API calls to an endpoint whose rate limit has been used up.
+ * The remaining calls to each endpoint are tracked from the x-rate-limit headers on Twitter's responses,
+ * separately for each Twitter template, and so for each access token.
+ */
+public enum RateLimitPolicy {
+
+	/**
+	 * Make the call anyway. Twitter will reject it, and a RateLimitExceededException is thrown.
+	 */
+	IGNORE,
+
+	/**
+	 * Wait for the endpoint's rate limit window to reset before making the call.
+	 */
+	PACE,
+
+	/**
+	 * Throw a RateLimitExceededException without making the call.
+	 */
+	REJECT
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import org.springframework.social.ApiBinding;
+
+/**
+ * Non-blocking counterpart of {@link Twitter}, for all but its streaming operations.
+ * Nothing is sent to Twitter until the returned Mono or Flux is subscribed to, and each subscription sends the request again.
+ * Implemented by ReactiveTwitterTemplate, which needs Spring WebFlux and Reactor on the classpath.
+ */
+public interface ReactiveTwitter extends ApiBinding {
+
+	/**
+	 * @return the portion of the Twitter API containing the block operations.
+	 */
+	ReactiveBlockOperations blockOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the direct message operations.
+	 */
+	ReactiveDirectMessageOperations directMessageOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the friends and followers operations.
+	 */
+	ReactiveFriendOperations friendOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the geo location operations.
+	 */
+	ReactiveGeoOperations geoOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the user list operations.
+	 */
+	ReactiveListOperations listOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the search operations.
+	 */
+	ReactiveSearchOperations searchOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the tweet and timeline operations.
+	 */
+	ReactiveTimelineOperations timelineOperations();
+
+	/**
+	 * @return the portion of the Twitter API containing the user operations.
+	 */
+	ReactiveUserOperations userOperations();
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.social.twitter.api.impl.AccountSettingsData;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserOperations}.
+ * Errors are signalled with the same exceptions that {@link UserOperations} throws, including a MissingAuthorizationException
+ * for an operation that the ReactiveTwitterTemplate isn't authorized for.
+ */
+public interface ReactiveUserOperations {
+
+	/**
+	 * Retrieves the authenticated user's Twitter ID.
+	 * @return the user's ID at Twitter
+	 */
+	Mono<Long> getProfileId();
+
+	/**
+	 * Retrieves the authenticated user's Twitter screen name
+	 * @return the user's screen name
+	 */
+	Mono<String> getScreenName();
+
+	/**
+	 * Retrieves the authenticated user's Twitter profile details.
+	 * @return a {@link TwitterProfile} object representing the user's profile.
+	 */
+	Mono<TwitterProfile> getUserProfile();
+
+	/**
+	 * Retrieves a specific user's Twitter profile details.
+	 * Supports either user or application authorization.
+	 * @param screenName the screen name for the user whose details are to be retrieved.
+	 * @return a {@link TwitterProfile} object representing the user's profile.
+	 */
+	Mono<TwitterProfile> getUserProfile(String screenName);
+
+	/**
+	 * Retrieves a specific user's Twitter profile details.
+	 * Supports either user or application authorization.
+	 * @param userId the user ID for the user whose details are to be retrieved.
+	 * @return a {@link TwitterProfile} object representing the user's profile.
+	 */
+	Mono<TwitterProfile> getUserProfile(long userId);
+
+	/**
+	 * Retrieves a list of Twitter profiles for the given list of user IDs.
+	 * Supports either user or application authorization.
+	 * @param userIds The user IDs to retrieve profiles for
+	 * @return a list of Twitter profiles
+	 */
+	Flux<TwitterProfile> getUsers(long... userIds);
+
+	/**
+	 * Retrieves a list of Twitter profiles for the given list of screen names.
+	 * Supports either user or application authorization.
+	 * @param screenNames The screen names to retrieve profiles for
+	 * @return a list of Twitter profiles
+	 */
+	Flux<TwitterProfile> getUsers(String... screenNames);
+
+	/**
+	 * Searches for up to 20 users that match a given query.
+	 * @param query The search query
+	 * @return a list of Twitter profiles
+	 */
+	Flux<TwitterProfile> searchForUsers(String query);
+
+	/**
+	 * Searches for users that match a given query.
+	 * @param query The search query
+	 * @param page the page of search results to return
+	 * @param pageSize the number of {@link TwitterProfile}s per page. Maximum of 20 per page.
+	 * @return a list of Twitter profiles
+	 */
+	Flux<TwitterProfile> searchForUsers(String query, int page, int pageSize);
+
+	/**
+	 * Retrieves a list of categories from which suggested users to follow may be found.
+	 * Supports either user or application authorization.
+	 * @return a list of categories of suggested users
+	 */
+	Flux<SuggestionCategory> getSuggestionCategories();
+
+	/**
+	 * Retrieves a list of suggestions of users to follow for a given category.
+	 * Supports either user or application authorization.
+	 * @param slug the category's slug
+	 * @return a list of Twitter profiles
+	 */
+	Flux<TwitterProfile> getSuggestions(String slug);
+
+	/**
+	 * Retrieves the rate limit statuses for each of the resource families passed as arguments
+	 * Supports either user or application authorization.
+	 * @param resources the list of resource families to inquire about
+	 * @return a Map of resource families to rate limit statuses
+	 */
+	Mono<Map<ResourceFamily, List<RateLimitStatus>>> getRateLimitStatus(ResourceFamily... resources);
+
+	/**
+	 * Retrives the authenticating user's account settings.
+	 * @return the authenticating user's account settings.
+	 */
+	Mono<AccountSettings> getAccountSettings();
+
+	/**
+	 * Updates the authenticating user's account settings.
+	 * @param accountSettingsData An AccountSettingsData with the settings to be changed.
+	 * @return The updated account settings.
+	 */
+	Mono<AccountSettings> updateAccountSettings(AccountSettingsData accountSettingsData);
+
+}
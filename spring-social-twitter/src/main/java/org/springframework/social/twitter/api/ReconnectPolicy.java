@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Decides how long a stream waits before trying to reconnect after a failed connection attempt.
+ * A stream whose established connection drops is reconnected at once; the policy is consulted only when opening
+ * the connection fails, and its count of attempts starts over once a connection succeeds.
+ * @see StreamingOptions#reconnectPolicy(ReconnectPolicy)
+ */
+public interface ReconnectPolicy {
+
+	/**
+	 * @param httpStatus the status Twitter rejected the connection with, or null if the connection failed at the network level
+	 * @param attempt the number of consecutive failed attempts, starting at 1
+	 * @param previousDelay the delay returned for the previous failed attempt, or 0 for the first
+	 * @return the time to wait in milliseconds before trying again, or a negative value to give up and close the stream
+	 */
+	long reconnectDelay(HttpStatus httpStatus, int attempt, long previousDelay);
+
+}
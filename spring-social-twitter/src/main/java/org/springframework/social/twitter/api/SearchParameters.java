@@ -16,6 +16,7 @@
 package org.springframework.social.twitter.api;
 
 import java.util.Date;
+import java.util.Set;
 
 /**
  * Twitter search parameters.
@@ -35,6 +36,7 @@ public class SearchParameters  {
 	private Long sinceId;
 	private Long maxId;
 	private boolean includeEntities = true;
+	private Set<TweetField> fields;
 
 	/**
 	 * Constructs SearchParameter object
@@ -149,6 +151,17 @@ public class SearchParameters  {
 		return this;
 	}
 
+	/**
+	 * Read only the given groups of properties of each tweet in the results; the others are skipped over without being decoded.
+	 *
+	 * @param fields The tweet properties to read, or null to read whole tweets
+	 * @return The same SearchParameters for additional configuration.
+	 */
+	public SearchParameters fields(Set<TweetField> fields) {
+		this.fields = fields;
+		return this;
+	}
+
 	/**
 	 * Returns query, <code>q</code> parameter
 	 *
@@ -239,6 +252,15 @@ public class SearchParameters  {
 		return this.includeEntities;
 	}
 
+	/**
+	 * Returns the tweet properties to read
+	 *
+	 * @return fields, or null to read whole tweets
+	 */
+	public Set<TweetField> getFields() {
+		return this.fields;
+	}
+
 	/**
 	 * ResultType enumeration. Used by setResultType/getResultType
 	 */
@@ -272,7 +294,8 @@ public class SearchParameters  {
 			&& bothNullOrEquals(other.maxId, this.maxId)
 			&& bothNullOrEquals(other.resultType, this.resultType)
 			&& bothNullOrEquals(other.sinceId, this.sinceId)
-			&& bothNullOrEquals(other.untilDate, this.untilDate);
+			&& bothNullOrEquals(other.untilDate, this.untilDate)
+			&& bothNullOrEquals(other.fields, this.fields);
 	}
 	
 	private boolean bothNullOrEquals(Object o1, Object o2) {
@@ -293,6 +316,7 @@ public class SearchParameters  {
 		result = prime * result + ((resultType == null) ? 0 : resultType.hashCode());
 		result = prime * result + ((untilDate == null) ? 0 : untilDate.hashCode());
 		result = prime * result + (includeEntities ? 0 : 1);
+		result = prime * result + ((fields == null) ? 0 : fields.hashCode());
 		return result;
 	}
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * Chooses a reconnect policy by the HTTP status a connection attempt was rejected with, falling back to a default policy
+ * for other statuses and for network errors.
+ * The no-argument constructor applies Twitter's guidelines with jitter added: rate limiting (420 and 429) backs off from a minute,
+ * 503 and other HTTP errors from 5 seconds, and network errors from 250ms.
+ */
+public class StatusCodeReconnectPolicy implements ReconnectPolicy {
+
+	private final Map<Integer, ReconnectPolicy> policies = new HashMap<Integer, ReconnectPolicy>();
+
+	private final ReconnectPolicy networkErrorPolicy;
+
+	private final ReconnectPolicy httpErrorPolicy;
+
+	public StatusCodeReconnectPolicy() {
+		this(new DecorrelatedJitterReconnectPolicy(250, 16000), new DecorrelatedJitterReconnectPolicy(5000, 320000));
+		ReconnectPolicy rateLimited = new DecorrelatedJitterReconnectPolicy(60000, 960000);
+		on(420, rateLimited);
+		on(429, rateLimited);
+		on(503, new DecorrelatedJitterReconnectPolicy(5000, 320000));
+	}
+
+	/**
+	 * @param networkErrorPolicy the policy for connections that fail without an HTTP status
+	 * @param httpErrorPolicy the policy for HTTP statuses that have no policy of their own
+	 */
+	public StatusCodeReconnectPolicy(ReconnectPolicy networkErrorPolicy, ReconnectPolicy httpErrorPolicy) {
+		Assert.notNull(networkErrorPolicy, "Network error policy may not be null");
+		Assert.notNull(httpErrorPolicy, "HTTP error policy may not be null");
+		this.networkErrorPolicy = networkErrorPolicy;
+		this.httpErrorPolicy = httpErrorPolicy;
+	}
+
+	/**
+	 * Use the given policy when a connection attempt is rejected with the given HTTP status.
+	 * @param statusCode the HTTP status code
+	 * @param policy the reconnect policy for that status
+	 * @return the same StatusCodeReconnectPolicy for additional configuration
+	 */
+	public StatusCodeReconnectPolicy on(int statusCode, ReconnectPolicy policy) {
+		Assert.notNull(policy, "Reconnect policy may not be null");
+		policies.put(statusCode, policy);
+		return this;
+	}
+
+	public long reconnectDelay(HttpStatus httpStatus, int attempt, long previousDelay) {
+		if (httpStatus == null) {
+			return networkErrorPolicy.reconnectDelay(null, attempt, previousDelay);
+		}
+		ReconnectPolicy policy = policies.get(httpStatus.value());
+		return (policy != null ? policy : httpErrorPolicy).reconnectDelay(httpStatus, attempt, previousDelay);
+	}
+
+}
@@ -24,5 +24,28 @@ public interface Stream {
 	void open();
 	
 	void close();
+
+	/**
+	 * @return the number of messages read from the stream that have not yet been dispatched to listeners, or 0 if not tracked
+	 */
+	default int getQueueDepth() {
+		return 0;
+	}
+
+	/**
+	 * How full Twitter's queue of messages waiting for this client was at the most recent stall warning.
+	 * Stall warnings are only sent to streams requested with stall_warnings enabled.
+	 * @return the percentage reported by the last stall warning on the current connection, or 0 if there has been none
+	 */
+	default double getPercentFull() {
+		return 0;
+	}
+
+	/**
+	 * @return a snapshot of the stream's throughput, latency and health since it was opened, all zero if not tracked
+	 */
+	default StreamStats getStats() {
+		return new StreamStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, getQueueDepth(), 0, getPercentFull());
+	}
 	
 }
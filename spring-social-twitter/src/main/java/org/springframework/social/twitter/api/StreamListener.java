@@ -15,8 +15,11 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.util.List;
+
 /**
  * Listener interface for clients consuming data from a Twitter stream.
+ * Callbacks for the less common message types have empty default implementations, so listeners only override those they care about.
  * @author Craig Walls
  */
 public interface StreamListener {
@@ -44,5 +47,48 @@ public interface StreamListener {
 	 * @param warningEvent a warning event
 	 */
 	void onWarning(StreamWarningEvent warningEvent);
+
+	/**
+	 * Called when geolocation data should be removed from a range of a user's tweets.
+	 * @param scrubGeoEvent a scrub geo event
+	 */
+	default void onScrubGeo(StreamScrubGeoEvent scrubGeoEvent) {}
+
+	/**
+	 * Called when a tweet has been withheld in certain countries.
+	 * @param withheldEvent a status withheld event
+	 */
+	default void onStatusWithheld(StreamStatusWithheldEvent withheldEvent) {}
+
+	/**
+	 * Called when a user has been withheld in certain countries.
+	 * @param withheldEvent a user withheld event
+	 */
+	default void onUserWithheld(StreamUserWithheldEvent withheldEvent) {}
+
+	/**
+	 * Called when Twitter is about to close the stream.
+	 * The stream will be reconnected automatically unless it has been closed by the client.
+	 * @param disconnectEvent a disconnect event
+	 */
+	default void onDisconnect(StreamDisconnectEvent disconnectEvent) {}
+
+	/**
+	 * Called at the start of a user stream with the IDs of the users the authenticated user follows.
+	 * @param friendIds the IDs of the authenticated user's friends
+	 */
+	default void onFriends(List<Long> friendIds) {}
+
+	/**
+	 * Called when a user stream event, such as a follow or a favorite, is available on the stream.
+	 * @param userEvent a user event
+	 */
+	default void onUserEvent(StreamUserEvent userEvent) {}
+
+	/**
+	 * Called when a direct message sent to or by the authenticated user is available on a user stream.
+	 * @param directMessage a direct message
+	 */
+	default void onDirectMessage(DirectMessage directMessage) {}
 	
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+/**
+ * Enumeration of strategies for handling stream messages that arrive while the dispatch queue is full.
+ */
+public enum StreamOverflowPolicy {
+
+	/**
+	 * Stop reading from the stream until the dispatcher has made room in the queue.
+	 * Twitter will eventually send stall warnings and disconnect a client that falls too far behind.
+	 */
+	BLOCK,
+
+	/**
+	 * Discard the oldest queued message to make room for the new one.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Discard the newly arrived message, leaving the queue as it is.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Append messages to a temporary file on disk until the dispatcher catches up.
+	 * Message order is preserved.
+	 */
+	SPILL_TO_DISK
+
+}
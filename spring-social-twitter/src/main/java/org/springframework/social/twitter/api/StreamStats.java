@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of a stream's throughput, latency and health, taken by {@link Stream#getStats()}.
+ * Counts are totals since the stream was opened, across all its reconnects, so rates over an interval can be
+ * had by subtracting two snapshots; queue depths and the stall warning level are as of the moment the snapshot was taken.
+ */
+public class StreamStats {
+
+	private final long uptime;
+
+	private final long messages;
+
+	private final long bytes;
+
+	private final long tweets;
+
+	private final long parseCount;
+
+	private final long parseTime;
+
+	private final long limitNotices;
+
+	private final long limitedTweets;
+
+	private final long reconnects;
+
+	private final long connectionFailures;
+
+	private final int queueDepth;
+
+	private final int listenerBacklog;
+
+	private final double percentFull;
+
+	public StreamStats(long uptime, long messages, long bytes, long tweets, long parseCount, long parseTime, long limitNotices,
+			long limitedTweets, long reconnects, long connectionFailures, int queueDepth, int listenerBacklog, double percentFull) {
+		this.uptime = uptime;
+		this.messages = messages;
+		this.bytes = bytes;
+		this.tweets = tweets;
+		this.parseCount = parseCount;
+		this.parseTime = parseTime;
+		this.limitNotices = limitNotices;
+		this.limitedTweets = limitedTweets;
+		this.reconnects = reconnects;
+		this.connectionFailures = connectionFailures;
+		this.queueDepth = queueDepth;
+		this.listenerBacklog = listenerBacklog;
+		this.percentFull = percentFull;
+	}
+
+	/**
+	 * @return the time since the stream was opened, in milliseconds
+	 */
+	public long getUptime() {
+		return uptime;
+	}
+
+	/**
+	 * @return the number of messages read from the stream, not counting keep-alives
+	 */
+	public long getMessages() {
+		return messages;
+	}
+
+	/**
+	 * @return the number of bytes in the messages read from the stream
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return the number of tweets handed to the stream's listeners
+	 */
+	public long getTweets() {
+		return tweets;
+	}
+
+	/**
+	 * @return the number of messages parsed
+	 */
+	public long getParseCount() {
+		return parseCount;
+	}
+
+	/**
+	 * @return the total time spent parsing messages, in nanoseconds
+	 */
+	public long getParseTime() {
+		return parseTime;
+	}
+
+	/**
+	 * @return the number of limit notices received
+	 */
+	public long getLimitNotices() {
+		return limitNotices;
+	}
+
+	/**
+	 * @return the number of tweets Twitter withheld for exceeding the track limit, as of the last limit notice on each connection, summed over connections
+	 */
+	public long getLimitedTweets() {
+		return limitedTweets;
+	}
+
+	/**
+	 * @return the number of connections made after the first
+	 */
+	public long getReconnects() {
+		return reconnects;
+	}
+
+	/**
+	 * @return the number of failed attempts to open a connection
+	 */
+	public long getConnectionFailures() {
+		return connectionFailures;
+	}
+
+	/**
+	 * @return the number of messages read but not yet dispatched
+	 */
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * @return the number of messages dispatched but waiting to be delivered to listeners with delivery queues of their own,
+	 * which is how far the slowest listeners lag behind the stream
+	 */
+	public int getListenerBacklog() {
+		return listenerBacklog;
+	}
+
+	/**
+	 * @return the percentage reported by the last stall warning on the current connection, or 0 if there has been none
+	 */
+	public double getPercentFull() {
+		return percentFull;
+	}
+
+	public double getMessagesPerSecond() {
+		return perSecond(messages);
+	}
+
+	public double getBytesPerSecond() {
+		return perSecond(bytes);
+	}
+
+	/**
+	 * @return the mean time taken to parse a message, in nanoseconds
+	 */
+	public double getMeanParseTime() {
+		return parseCount > 0 ? (double) parseTime / parseCount : 0;
+	}
+
+	private double perSecond(long count) {
+		return uptime > 0 ? count * (double) TimeUnit.SECONDS.toMillis(1) / uptime : 0;
+	}
+
+	@Override
+	public String toString() {
+		return "StreamStats[uptime=" + uptime + "ms, messages=" + messages + ", bytes=" + bytes + ", tweets=" + tweets
+				+ ", meanParseTime=" + Math.round(getMeanParseTime()) + "ns, limitNotices=" + limitNotices + ", limitedTweets=" + limitedTweets
+				+ ", reconnects=" + reconnects + ", connectionFailures=" + connectionFailures + ", queueDepth=" + queueDepth
+				+ ", listenerBacklog=" + listenerBacklog + ", percentFull=" + percentFull + "]";
+	}
+
+}
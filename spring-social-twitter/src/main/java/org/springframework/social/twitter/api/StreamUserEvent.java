@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.Date;
+
+/**
+ * A user stream event describing an action such as a follow, favorite or list membership change.
+ * Depending on the event, the target object is either a tweet or a list; the other is null.
+ */
+public class StreamUserEvent extends TwitterObject {
+
+	private final String event;
+
+	private final TwitterProfile source;
+
+	private final TwitterProfile target;
+
+	private final Tweet targetTweet;
+
+	private final UserList targetList;
+
+	private final Date createdAt;
+
+	public StreamUserEvent(String event, TwitterProfile source, TwitterProfile target, Tweet targetTweet, UserList targetList, Date createdAt) {
+		this.event = event;
+		this.source = source;
+		this.target = target;
+		this.targetTweet = targetTweet;
+		this.targetList = targetList;
+		this.createdAt = createdAt;
+	}
+
+	/**
+	 * @return the name of the event, for example "follow", "favorite" or "list_member_added"
+	 */
+	public String getEvent() {
+		return event;
+	}
+
+	/**
+	 * @return the user who performed the action
+	 */
+	public TwitterProfile getSource() {
+		return source;
+	}
+
+	/**
+	 * @return the user the action was performed on
+	 */
+	public TwitterProfile getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return the tweet the action was performed on, or null if the event does not concern a tweet
+	 */
+	public Tweet getTargetTweet() {
+		return targetTweet;
+	}
+
+	/**
+	 * @return the list the action was performed on, or null if the event does not concern a list
+	 */
+	public UserList getTargetList() {
+		return targetList;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+}
@@ -15,8 +15,12 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.io.File;
+import java.util.Date;
 import java.util.List;
 
+import org.reactivestreams.Publisher;
+
 /**
  * Defines operations for working with Twitter's streaming API
  * @author Craig Walls
@@ -30,6 +34,20 @@ public interface StreamingOperations {
 	 * @return the firehose stream
 	 */
 	Stream firehose(List<StreamListener> listeners);
+
+	/**
+	 * Monitor the firehose stream, given a set of listeners, journaling its messages to memory-mapped segment files in the given directory
+	 * between reading them and dispatching them.
+	 * Messages not yet dispatched when a connection drops or the process stops are dispatched when the stream reconnects, or when a stream
+	 * is next opened on the same directory, and journaled messages can be replayed with {@link #replay(File, Date, Date, List)}.
+	 * A journal takes the place of the in-memory queue, so the queue capacity and overflow policy don't apply.
+	 * The stream holds the journal until it's closed, so each open stream needs a directory of its own.
+	 * @param listeners the listeners to monitor the stream
+	 * @param journalDirectory the journal directory, or null for no journal
+	 * @return the firehose stream
+	 * @throws IllegalStateException if another open stream is journaled to the directory
+	 */
+	Stream firehose(List<StreamListener> listeners, File journalDirectory);
 	
 	/**
 	 * Monitor the firehose stream, given a set of listeners and a backfill value.
@@ -50,6 +68,15 @@ public interface StreamingOperations {
 	 * @return the sample stream
 	 */
 	Stream sample(List<StreamListener> listeners);
+
+	/**
+	 * Monitor the sample stream, given a set of listeners, journaling its messages as described for {@link #firehose(List, File)}.
+	 * @param listeners the listeners to monitor the stream
+	 * @param journalDirectory the journal directory, or null for no journal
+	 * @return the sample stream
+	 * @throws IllegalStateException if another open stream is journaled to the directory
+	 */
+	Stream sample(List<StreamListener> listeners, File journalDirectory);
 	
 	/**
 	 * Monitor a filtered stream, given a set of listeners.
@@ -67,8 +94,107 @@ public interface StreamingOperations {
 	 */
 	Stream filter(FilterStreamParameters parameters, List<StreamListener> listeners);
 
+	/**
+	 * Monitor a filtered stream, given a set of listeners, journaling its messages as described for {@link #firehose(List, File)}.
+	 * @param parameters the stream's filter parameters
+	 * @param listeners the listeners to monitor the stream
+	 * @param journalDirectory the journal directory, or null for no journal
+	 * @return the filtered stream
+	 * @throws IllegalStateException if another open stream is journaled to the directory
+	 */
+	Stream filter(FilterStreamParameters parameters, List<StreamListener> listeners, File journalDirectory);
+
+	/**
+	 * Monitor a filtered stream over a connection shared with every other shared filter subscription made through this StreamingOperations.
+	 * Twitter allows each account a single filter connection; the shared connection carries the union of all subscriptions' parameters,
+	 * and each tweet is routed only to the listeners of the subscriptions it matches. Other messages, such as deletes and limit notices,
+	 * go to every subscription. Closing the returned stream removes the subscription.
+	 * Adding or removing subscriptions reconnects the shared connection, no more often than {@link StreamingOptions#sharedFilterReconnectInterval(long)} allows.
+	 * @param parameters the stream's filter parameters
+	 * @param listeners the listeners to monitor the stream
+	 * @return the subscription's view of the shared stream
+	 * @throws IllegalStateException if the subscription would take the shared connection past Twitter's limits of 400 track terms,
+	 * 5000 follow ids or 25 location boxes
+	 */
+	Stream sharedFilter(FilterStreamParameters parameters, List<StreamListener> listeners);
+
 	Stream user(List<StreamListener> listeners);
 	
 	Stream user(UserStreamParameters parameters, List<StreamListener> listeners);
 
+	/**
+	 * Monitor the authenticated user's stream, given a set of listeners, journaling its messages as described for {@link #firehose(List, File)}.
+	 * @param parameters the user stream's parameters
+	 * @param listeners the listeners to monitor the stream
+	 * @param journalDirectory the journal directory, or null for no journal
+	 * @return the user stream
+	 * @throws IllegalStateException if another open stream is journaled to the directory
+	 */
+	Stream user(UserStreamParameters parameters, List<StreamListener> listeners, File journalDirectory);
+
+	/**
+	 * Re-drive the messages journaled within a time range through the given listeners, on the calling thread.
+	 * @param journalDirectory the directory of a journal written by a stream with {@link #firehose(List, File)} or another journaled stream
+	 * @param from the earliest time a message was read from the stream to replay
+	 * @param to the latest time a message was read from the stream to replay
+	 * @param listeners the listeners to replay the messages to
+	 * @return the number of messages replayed
+	 */
+	int replay(File journalDirectory, Date from, Date to, List<StreamListener> listeners);
+
+	/**
+	 * Re-drive the journaled tweets with ids within a range through the given listeners, on the calling thread.
+	 * Other messages are not replayed.
+	 * @param journalDirectory the directory of a journal written by a stream with {@link #firehose(List, File)} or another journaled stream
+	 * @param fromTweetId the lowest tweet id to replay
+	 * @param toTweetId the highest tweet id to replay
+	 * @param listeners the listeners to replay the tweets to
+	 * @return the number of tweets replayed
+	 */
+	int replay(File journalDirectory, String fromTweetId, String toTweetId, List<StreamListener> listeners);
+
+	/**
+	 * Publish the tweets from the firehose stream.
+	 * Each subscription opens its own connection, and the connection is only read while the subscriber has outstanding demand.
+	 * The publisher does not reconnect: a dropped connection ends the subscription with a {@link StreamingException}.
+	 * Per the documentation at https://dev.twitter.com/docs/api/1.1/get/statuses/firehose, the firehose stream requires special permission.
+	 * @return a publisher of the firehose stream's tweets
+	 */
+	Publisher<Tweet> firehose();
+
+	/**
+	 * Publish the tweets from the sample stream.
+	 * Each subscription opens its own connection, and the connection is only read while the subscriber has outstanding demand.
+	 * The publisher does not reconnect: a dropped connection ends the subscription with a {@link StreamingException}.
+	 * @return a publisher of the sample stream's tweets
+	 */
+	Publisher<Tweet> sample();
+
+	/**
+	 * Publish the tweets from a filtered stream.
+	 * Each subscription opens its own connection, and the connection is only read while the subscriber has outstanding demand.
+	 * The publisher does not reconnect: a dropped connection ends the subscription with a {@link StreamingException}.
+	 * @param trackKeywords the terms to track in the stream
+	 * @return a publisher of the filtered stream's tweets
+	 */
+	Publisher<Tweet> filter(String trackKeywords);
+
+	/**
+	 * Publish the tweets from a filtered stream.
+	 * Each subscription opens its own connection, and the connection is only read while the subscriber has outstanding demand.
+	 * The publisher does not reconnect: a dropped connection ends the subscription with a {@link StreamingException}.
+	 * @param parameters the stream's filter parameters
+	 * @return a publisher of the filtered stream's tweets
+	 */
+	Publisher<Tweet> filter(FilterStreamParameters parameters);
+
+	/**
+	 * Publish the tweets from the authenticated user's stream. Other user stream messages are not published.
+	 * Each subscription opens its own connection, and the connection is only read while the subscriber has outstanding demand.
+	 * The publisher does not reconnect: a dropped connection ends the subscription with a {@link StreamingException}.
+	 * @param parameters the user stream's parameters
+	 * @return a publisher of the user stream's tweets
+	 */
+	Publisher<Tweet> user(UserStreamParameters parameters);
+
 }
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Options controlling how Twitter streams are read and how their messages are buffered before being dispatched to listeners.
+ * Options are read each time a stream connects, so changes apply to streams opened (or reconnected) afterward.
+ */
+public class StreamingOptions {
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private StreamOverflowPolicy overflowPolicy = StreamOverflowPolicy.BLOCK;
+
+	private File spillDirectory;
+
+	private boolean delimitedByLength;
+
+	private ListenerDispatchMode listenerDispatchMode = ListenerDispatchMode.CONCURRENT;
+
+	private int listenerQueueCapacity = DEFAULT_LISTENER_QUEUE_CAPACITY;
+
+	private int listenerBatchSize = 1;
+
+	private int batchListenerMaxSize = DEFAULT_BATCH_LISTENER_MAX_SIZE;
+
+	private long batchListenerMaxLatency = DEFAULT_BATCH_LISTENER_MAX_LATENCY;
+
+	private long sharedFilterReconnectInterval = DEFAULT_SHARED_FILTER_RECONNECT_INTERVAL;
+
+	private ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+	private long stallTimeout = DEFAULT_STALL_TIMEOUT;
+
+	private ReconnectPolicy reconnectPolicy = new DefaultReconnectPolicy();
+
+	private int resumeBackfill;
+
+	private int journalSegmentSize = DEFAULT_JOURNAL_SEGMENT_SIZE;
+
+	private long journalRetention = DEFAULT_JOURNAL_RETENTION;
+
+	private boolean lazyTweets;
+
+	private Set<TweetField> tweetFields;
+
+	/**
+	 * Specify the maximum number of messages held in memory between the stream reader and the dispatcher.
+	 * @param queueCapacity the queue capacity. Defaults to 10000.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions queueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than zero");
+		this.queueCapacity = queueCapacity;
+		return this;
+	}
+
+	/**
+	 * Specify what to do with messages that arrive while the queue is full.
+	 * @param overflowPolicy the overflow policy. Defaults to {@link StreamOverflowPolicy#BLOCK}.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions overflowPolicy(StreamOverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "Overflow policy may not be null");
+		this.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	/**
+	 * Specify the directory in which spill files are created when the overflow policy is {@link StreamOverflowPolicy#SPILL_TO_DISK}.
+	 * @param spillDirectory the spill directory. Defaults to the system temporary directory.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions spillDirectory(File spillDirectory) {
+		this.spillDirectory = spillDirectory;
+		return this;
+	}
+
+	/**
+	 * Specify whether streams should be requested with delimited=length, so that each message is preceded by its length in bytes.
+	 * Length-delimited messages can be read without scanning for line endings.
+	 * @param delimitedByLength true to request length-delimited messages. Defaults to false.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions delimitedByLength(boolean delimitedByLength) {
+		this.delimitedByLength = delimitedByLength;
+		return this;
+	}
+
+	/**
+	 * Specify how messages are handed to listeners.
+	 * @param listenerDispatchMode the dispatch mode. Defaults to {@link ListenerDispatchMode#CONCURRENT}.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions listenerDispatchMode(ListenerDispatchMode listenerDispatchMode) {
+		Assert.notNull(listenerDispatchMode, "Listener dispatch mode may not be null");
+		this.listenerDispatchMode = listenerDispatchMode;
+		return this;
+	}
+
+	/**
+	 * Specify how many messages may wait for each listener that has its own delivery thread:
+	 * every listener in {@link ListenerDispatchMode#ORDERED} mode, and every {@link BatchStreamListener}.
+	 * @param listenerQueueCapacity the per-listener queue capacity. Defaults to 1000.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions listenerQueueCapacity(int listenerQueueCapacity) {
+		Assert.isTrue(listenerQueueCapacity > 0, "Listener queue capacity must be greater than zero");
+		this.listenerQueueCapacity = listenerQueueCapacity;
+		return this;
+	}
+
+	/**
+	 * Specify the most messages a listener's thread takes from its queue at once in {@link ListenerDispatchMode#ORDERED} mode.
+	 * Larger batches mean fewer queue hand-offs when a listener falls behind.
+	 * @param listenerBatchSize the batch size. Defaults to 1.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions listenerBatchSize(int listenerBatchSize) {
+		Assert.isTrue(listenerBatchSize > 0, "Listener batch size must be greater than zero");
+		this.listenerBatchSize = listenerBatchSize;
+		return this;
+	}
+
+	/**
+	 * Specify the largest batch handed to a {@link BatchStreamListener}.
+	 * @param batchListenerMaxSize the maximum number of messages in a batch. Defaults to 100.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions batchListenerMaxSize(int batchListenerMaxSize) {
+		Assert.isTrue(batchListenerMaxSize > 0, "Batch size must be greater than zero");
+		this.batchListenerMaxSize = batchListenerMaxSize;
+		return this;
+	}
+
+	/**
+	 * Specify how long a message may wait in a partly filled batch before the batch is handed to a {@link BatchStreamListener}.
+	 * @param batchListenerMaxLatency the maximum latency in milliseconds. Defaults to 1000.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions batchListenerMaxLatency(long batchListenerMaxLatency) {
+		Assert.isTrue(batchListenerMaxLatency > 0, "Batch latency must be greater than zero");
+		this.batchListenerMaxLatency = batchListenerMaxLatency;
+		return this;
+	}
+
+	/**
+	 * Specify the least time between reconnects of the shared filter connection used by {@link StreamingOperations#sharedFilter(FilterStreamParameters, java.util.List)}.
+	 * Subscriptions added or removed within this interval of the last reconnect are applied together by a single reconnect once it has passed.
+	 * @param sharedFilterReconnectInterval the minimum reconnect interval in milliseconds. Defaults to 10000.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions sharedFilterReconnectInterval(long sharedFilterReconnectInterval) {
+		Assert.isTrue(sharedFilterReconnectInterval >= 0, "Reconnect interval may not be negative");
+		this.sharedFilterReconnectInterval = sharedFilterReconnectInterval;
+		return this;
+	}
+
+	/**
+	 * Specify the factory for every thread the streaming support starts: the thread reading each stream, its dispatcher,
+	 * listener delivery threads, reactive publishers' reader threads and the shared filter connection's scheduler.
+	 * @param threadFactory the thread factory. Defaults to {@link Executors#defaultThreadFactory()}.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions threadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "Thread factory may not be null");
+		this.threadFactory = threadFactory;
+		return this;
+	}
+
+	/**
+	 * Run streams on virtual threads, so that thousands of streams can be held open without a platform thread for each.
+	 * Requires Java 21 or later; this library itself still runs on Java 8, so the virtual thread factory is looked up reflectively.
+	 * @return the same StreamingOptions for additional configuration
+	 * @throws IllegalStateException if the running JVM doesn't support virtual threads
+	 */
+	public StreamingOptions virtualThreads() {
+		try {
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "twitter-stream-", 0L);
+			return threadFactory((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+		}
+	}
+
+	/**
+	 * Specify how long a stream may go without receiving a single byte before it is considered stalled and reconnected.
+	 * Twitter sends a keep-alive newline every 30 seconds or so on an idle stream, and those count as data,
+	 * so a silent connection is a dead one, typically a half-open TCP connection that would otherwise block forever.
+	 * @param stallTimeout the stall timeout in milliseconds, or 0 to never check for stalls. Defaults to 90000.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions stallTimeout(long stallTimeout) {
+		Assert.isTrue(stallTimeout >= 0, "Stall timeout may not be negative");
+		this.stallTimeout = stallTimeout;
+		return this;
+	}
+
+	/**
+	 * Specify how long to wait before each attempt to reconnect a stream whose connection could not be opened.
+	 * @param reconnectPolicy the reconnect policy. Defaults to a {@link DefaultReconnectPolicy}.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions reconnectPolicy(ReconnectPolicy reconnectPolicy) {
+		Assert.notNull(reconnectPolicy, "Reconnect policy may not be null");
+		this.reconnectPolicy = reconnectPolicy;
+		return this;
+	}
+
+	/**
+	 * Ask Twitter to backfill messages missed while a filter or firehose stream was reconnecting.
+	 * Each reconnect after the first connection requests up to this many earlier messages with the count parameter,
+	 * and tweets among the last that many delivered before the reconnect are dropped as duplicates.
+	 * The count parameter requires elevated access; the sample and user streams don't support it and ignore this setting.
+	 * @param resumeBackfill the number of messages to backfill, from 1 to 150000, or 0 not to backfill. Defaults to 0.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions resumeBackfill(int resumeBackfill) {
+		Assert.isTrue(resumeBackfill >= 0 && resumeBackfill <= 150000, "Resume backfill must be a value between 0 and 150000");
+		this.resumeBackfill = resumeBackfill;
+		return this;
+	}
+
+	/**
+	 * Specify the size of each journal segment file, for streams journaled with the StreamingOperations methods that take a journal directory.
+	 * Applies to journals opened after it's set.
+	 * @param journalSegmentSize the segment size in bytes, at least 65536. Defaults to 64MB.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions journalSegmentSize(int journalSegmentSize) {
+		Assert.isTrue(journalSegmentSize >= 65536, "Journal segment size must be at least 65536 bytes");
+		this.journalSegmentSize = journalSegmentSize;
+		return this;
+	}
+
+	/**
+	 * Specify how long journal segments are kept after they were last written, as long as all their messages have been dispatched.
+	 * @param journalRetention the retention period in milliseconds. Defaults to 24 hours.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions journalRetention(long journalRetention) {
+		Assert.isTrue(journalRetention >= 0, "Journal retention may not be negative");
+		this.journalRetention = journalRetention;
+		return this;
+	}
+
+	/**
+	 * Hand listeners tweets that keep the message they were read from and only decode each property the first time it's asked for.
+	 * Listeners that look at a few properties of each tweet, or drop most tweets, then don't pay for deserializing the rest;
+	 * listeners that read every property pay a little more than for fully deserialized tweets.
+	 * @param lazyTweets whether to decode tweets lazily. Defaults to false.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions lazyTweets(boolean lazyTweets) {
+		this.lazyTweets = lazyTweets;
+		return this;
+	}
+
+	/**
+	 * Read only the given groups of properties of each tweet; the others are skipped over without being decoded.
+	 * Doesn't apply to lazy tweets, which only decode the properties that are asked for anyway.
+	 * @param tweetFields the tweet properties to read, or null to read whole tweets. Defaults to null.
+	 * @return the same StreamingOptions for additional configuration
+	 */
+	public StreamingOptions tweetFields(Set<TweetField> tweetFields) {
+		this.tweetFields = tweetFields;
+		return this;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public StreamOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public File getSpillDirectory() {
+		return spillDirectory;
+	}
+
+	public boolean isDelimitedByLength() {
+		return delimitedByLength;
+	}
+
+	public ListenerDispatchMode getListenerDispatchMode() {
+		return listenerDispatchMode;
+	}
+
+	public int getListenerQueueCapacity() {
+		return listenerQueueCapacity;
+	}
+
+	public int getListenerBatchSize() {
+		return listenerBatchSize;
+	}
+
+	public int getBatchListenerMaxSize() {
+		return batchListenerMaxSize;
+	}
+
+	public long getBatchListenerMaxLatency() {
+		return batchListenerMaxLatency;
+	}
+
+	public long getSharedFilterReconnectInterval() {
+		return sharedFilterReconnectInterval;
+	}
+
+	public ThreadFactory getThreadFactory() {
+		return threadFactory;
+	}
+
+	public long getStallTimeout() {
+		return stallTimeout;
+	}
+
+	public ReconnectPolicy getReconnectPolicy() {
+		return reconnectPolicy;
+	}
+
+	public int getResumeBackfill() {
+		return resumeBackfill;
+	}
+
+	public int getJournalSegmentSize() {
+		return journalSegmentSize;
+	}
+
+	public long getJournalRetention() {
+		return journalRetention;
+	}
+
+	public boolean isLazyTweets() {
+		return lazyTweets;
+	}
+
+	public Set<TweetField> getTweetFields() {
+		return tweetFields;
+	}
+
+	private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+	private static final int DEFAULT_LISTENER_QUEUE_CAPACITY = 1000;
+
+	private static final int DEFAULT_BATCH_LISTENER_MAX_SIZE = 100;
+
+	private static final long DEFAULT_BATCH_LISTENER_MAX_LATENCY = 1000;
+
+	private static final long DEFAULT_SHARED_FILTER_RECONNECT_INTERVAL = 10000;
+
+	private static final long DEFAULT_STALL_TIMEOUT = 90000;
+
+	private static final int DEFAULT_JOURNAL_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	private static final long DEFAULT_JOURNAL_RETENTION = 24 * 60 * 60 * 1000;
+
+}
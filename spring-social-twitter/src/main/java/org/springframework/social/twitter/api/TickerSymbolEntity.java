@@ -15,8 +15,11 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Arrays;
 
 /**
  * A representation of embedded ticker symbol entity.
@@ -30,12 +33,23 @@ public class TickerSymbolEntity implements Serializable {
 
 	private String url;
 
-	private int[] indices;
+	private long indices;
+
+	// whether url is the cashtag search, built on first use
+	private boolean searchUrl;
 
 	public TickerSymbolEntity(String tickerSymbol, String url, int[] indices) {
 		this.tickerSymbol = tickerSymbol;
 		this.url = url;
-		this.indices = indices;
+		this.indices = EntityIndices.pack(indices);
+	}
+
+	/**
+	 * Creates a ticker symbol entity whose URL, a Twitter search for the cashtag, is only built if it's asked for.
+	 */
+	public TickerSymbolEntity(String tickerSymbol, int[] indices) {
+		this(tickerSymbol, null, indices);
+		this.searchUrl = true;
 	}
 
 	public String getTickerSymbol() {
@@ -43,14 +57,14 @@ public class TickerSymbolEntity implements Serializable {
 	}
 	
 	public String getUrl() {
+		if (url == null && searchUrl) {
+			url = "https://twitter.com/search?q=%24" + tickerSymbol + "&src=ctag";
+		}
 		return url;
 	}
 
 	public int[] getIndices() {
-		if (this.indices == null || this.indices.length <= 0) {
-			return new int[0];
-		}
-		return this.indices;
+		return EntityIndices.unpack(this.indices);
 	}
 
 
@@ -69,7 +83,8 @@ public class TickerSymbolEntity implements Serializable {
 			return false;
 		}
 		
-		if (url != null ? !url.equals(that.url) : that.url != null) {
+		String url = getUrl();
+		if (url != null ? !url.equals(that.getUrl()) : that.getUrl() != null) {
 			return false;
 		}
 
@@ -80,8 +95,35 @@ public class TickerSymbolEntity implements Serializable {
 	@Override
 	public int hashCode() {
 		int result = tickerSymbol.hashCode() ^ (tickerSymbol.hashCode());
+		String url = getUrl();
 		result = 31 * result + (url != null ? url.hashCode() : 0);
-		result = 31 * result + (indices != null ? Arrays.hashCode(indices) : 0);
+		result = 31 * result + EntityIndices.hashCode(indices);
 		return result;
 	}
+
+	// indices are written as an int[], as they were before being packed
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("tickerSymbol", String.class),
+		new ObjectStreamField("url", String.class),
+		new ObjectStreamField("searchUrl", boolean.class),
+		new ObjectStreamField("indices", int[].class)
+	};
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("tickerSymbol", tickerSymbol);
+		fields.put("url", url);
+		fields.put("searchUrl", searchUrl);
+		fields.put("indices", indices != EntityIndices.NONE ? EntityIndices.unpack(indices) : null);
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		tickerSymbol = (String) fields.get("tickerSymbol", null);
+		url = (String) fields.get("url", null);
+		searchUrl = fields.get("searchUrl", false);
+		indices = EntityIndices.pack((int[]) fields.get("indices", null));
+	}
+
 }
@@ -16,6 +16,7 @@
 package org.springframework.social.twitter.api;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.social.ApiException;
 import org.springframework.social.DuplicateStatusException;
@@ -63,6 +64,18 @@ public interface TimelineOperations {
 	 */
 	List<Tweet> getHomeTimeline(int pageSize, long sinceId, long maxId);
 
+	/**
+	 * Retrieves tweets, including retweets, from the authenticating user's home timeline, reading only the requested properties of each tweet.
+	 * @param pageSize The number of {@link Tweet}s per page. Should be less than or equal to 200. (Will return at most 200 entries, even if pageSize is greater than 200.)
+	 * @param sinceId The minimum {@link Tweet} ID to return in the results
+	 * @param maxId The maximum {@link Tweet} ID to return in the results
+	 * @param fields The groups of {@link Tweet} properties to read; the others are skipped over without being decoded. Entities and full user profiles are only requested from Twitter if included.
+	 * @return a collection of {@link Tweet}s in the authenticating user's home timeline.
+	 * @throws ApiException if there is an error while communicating with Twitter.
+	 * @throws MissingAuthorizationException if TwitterTemplate was not created with OAuth credentials.
+	 */
+	List<Tweet> getHomeTimeline(int pageSize, long sinceId, long maxId, Set<TweetField> fields);
+
 	/**
 	 * Retrieves the 20 most recent tweets posted by the authenticating user.
 	 * @return a collection of {@link Tweet}s that have been posted by the authenticating user.
@@ -91,6 +104,18 @@ public interface TimelineOperations {
 	 */
 	List<Tweet> getUserTimeline(int pageSize, long sinceId, long maxId);
 
+	/**
+	 * Retrieves tweets posted by the authenticating user, reading only the requested properties of each tweet. The most recent tweets are listed first.
+	 * @param pageSize The number of {@link Tweet}s per page. Should be less than or equal to 200. (Will return at most 200 entries, even if pageSize is greater than 200.)
+	 * @param sinceId The minimum {@link Tweet} ID to return in the results
+	 * @param maxId The maximum {@link Tweet} ID to return in the results
+	 * @param fields The groups of {@link Tweet} properties to read; the others are skipped over without being decoded. Entities and full user profiles are only requested from Twitter if included.
+	 * @return a collection of {@link Tweet}s that have been posted by the authenticating user.
+	 * @throws ApiException if there is an error while communicating with Twitter.
+	 * @throws MissingAuthorizationException if TwitterTemplate was not created with OAuth credentials.
+	 */
+	List<Tweet> getUserTimeline(int pageSize, long sinceId, long maxId, Set<TweetField> fields);
+
 	/**
 	 * Retrieves the 20 most recent tweets posted by the given user.
 	 * Supports either user or application authorization.
@@ -125,6 +150,20 @@ public interface TimelineOperations {
 	 */
 	List<Tweet> getUserTimeline(String screenName, int pageSize, long sinceId, long maxId);
 
+	/**
+	 * Retrieves tweets posted by the given user, reading only the requested properties of each tweet. The most recent tweets are listed first.
+	 * Supports either user or application authorization.
+	 * @param screenName The screen name of the user whose timeline is being requested.
+	 * @param pageSize The number of {@link Tweet}s per page. Should be less than or equal to 200. (Will return at most 200 entries, even if pageSize is greater than 200.)
+	 * @param sinceId The minimum {@link Tweet} ID to return in the results
+	 * @param maxId The maximum {@link Tweet} ID to return in the results
+	 * @param fields The groups of {@link Tweet} properties to read; the others are skipped over without being decoded. Entities and full user profiles are only requested from Twitter if included.
+	 * @return a collection of {@link Tweet}s from the specified user's timeline.
+	 * @throws ApiException if there is an error while communicating with Twitter.
+	 * @throws MissingAuthorizationException if TwitterTemplate was not created with OAuth credentials or an application access token.
+	 */
+	List<Tweet> getUserTimeline(String screenName, int pageSize, long sinceId, long maxId, Set<TweetField> fields);
+
 	/**
 	 * Retrieves the 20 most recent tweets posted by the given user.
 	 * Supports either user or application authorization.
@@ -159,6 +198,20 @@ public interface TimelineOperations {
 	 */
 	List<Tweet> getUserTimeline(long userId, int pageSize, long sinceId, long maxId);
 
+	/**
+	 * Retrieves tweets posted by the given user, reading only the requested properties of each tweet. The most recent tweets are listed first.
+	 * Supports either user or application authorization.
+	 * @param userId The user ID of the user whose timeline is being requested.
+	 * @param pageSize The number of {@link Tweet}s per page. Should be less than or equal to 200. (Will return at most 200 entries, even if pageSize is greater than 200.)
+	 * @param sinceId The minimum {@link Tweet} ID to return in the results
+	 * @param maxId The maximum {@link Tweet} ID to return in the results
+	 * @param fields The groups of {@link Tweet} properties to read; the others are skipped over without being decoded. Entities and full user profiles are only requested from Twitter if included.
+	 * @return a collection of {@link Tweet}s from the specified user's timeline.
+	 * @throws ApiException if there is an error while communicating with Twitter.
+	 * @throws MissingAuthorizationException if TwitterTemplate was not created with OAuth credentials or an application access token.
+	 */
+	List<Tweet> getUserTimeline(long userId, int pageSize, long sinceId, long maxId, Set<TweetField> fields);
+
 	/**
 	 * Retrieve the 20 most recent tweets of the authenticated user that have been retweeted by others.
 	 * @return a list of Tweets
@@ -217,6 +270,18 @@ public interface TimelineOperations {
 	 */
 	List<Tweet> getMentions(int pageSize, long sinceId, long maxId);
 
+	/**
+	 * Retrieve tweets that mention the authenticated user, reading only the requested properties of each tweet. The most recent tweets are listed first.
+	 * @param pageSize The number of {@link Tweet}s per page. Should be less than or equal to 200. (Will return at most 200 entries, even if pageSize is greater than 200.)
+	 * @param sinceId The minimum {@link Tweet} ID to return in the results
+	 * @param maxId The maximum {@link Tweet} ID to return in the results
+	 * @param fields The groups of {@link Tweet} properties to read; the others are skipped over without being decoded. Entities and full user profiles are only requested from Twitter if included.
+	 * @return a collection of {@link Tweet} objects that mention the authenticated user.
+	 * @throws ApiException if there is an error while communicating with Twitter.
+	 * @throws MissingAuthorizationException if TwitterTemplate was not created with OAuth credentials.
+	 */
+	List<Tweet> getMentions(int pageSize, long sinceId, long maxId, Set<TweetField> fields);
+
 	/**
 	 * Returns a single tweet.
 	 * Supports either user or application authorization.
@@ -44,6 +44,8 @@ public class Tweet extends TwitterObject implements Serializable {
 	private Integer favoriteCount;
 	private Entities entities;
 	private TwitterProfile user;
+	private Double latitude;
+	private Double longitude;
 
 	/**
 	 * Constructs a Tweet
@@ -291,6 +293,28 @@ public class Tweet extends TwitterObject implements Serializable {
 		this.inReplyToScreenName = inReplyToScreenName;
 	}
 
+	/**
+	 * @return the latitude of the location the tweet was sent from, or null if the tweet isn't geotagged
+	 */
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	/**
+	 * @return the longitude of the location the tweet was sent from, or null if the tweet isn't geotagged
+	 */
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -305,7 +329,7 @@ public class Tweet extends TwitterObject implements Serializable {
 		if (fromUserId != tweet.fromUserId) {
 			return false;
 		}
-		if (id != tweet.id) {
+		if (id != null ? !id.equals(tweet.id) : tweet.id != null) {
 			return false;
 		}
 		if (retweeted != tweet.retweeted) {
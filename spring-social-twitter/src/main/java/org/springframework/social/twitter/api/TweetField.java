@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The groups of {@link Tweet} properties that can be requested when only part of each tweet is needed.
+ * Properties outside the requested set are skipped over in the response without being decoded, and keep their defaults.
+ * A tweet's id is always read.
+ */
+public enum TweetField {
+
+	/**
+	 * The text. Tweets with empty text are dropped only when the text is requested.
+	 */
+	TEXT,
+
+	/**
+	 * The creation date.
+	 */
+	CREATED_AT,
+
+	/**
+	 * The author's profile, screen name, user id and profile image URL.
+	 */
+	USER,
+
+	/**
+	 * The ids and screen name of the tweet and user being replied to.
+	 */
+	IN_REPLY_TO,
+
+	/**
+	 * The language code.
+	 */
+	LANGUAGE,
+
+	/**
+	 * The client the tweet was sent from.
+	 */
+	SOURCE,
+
+	/**
+	 * The retweet count, and whether the authenticating user retweeted the tweet.
+	 */
+	RETWEETS,
+
+	/**
+	 * The retweeted tweet, projected with the same fields.
+	 */
+	RETWEETED_STATUS,
+
+	/**
+	 * The favorite count, and whether the authenticating user favorited the tweet.
+	 */
+	FAVORITES,
+
+	/**
+	 * The entities. Ticker symbols are found in the text, so requesting entities also reads the text.
+	 */
+	ENTITIES,
+
+	/**
+	 * The latitude and longitude.
+	 */
+	COORDINATES;
+
+	/**
+	 * Every field; projecting to these is the same as not projecting at all.
+	 */
+	public static final Set<TweetField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TweetField.class));
+
+}
@@ -15,6 +15,7 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,16 +28,16 @@ import com.fasterxml.jackson.annotation.JsonAnySetter;
  */
 public class TwitterObject {
 
+	// only created once there's a field to put in it
 	private Map<String, Object> extraData;
 
-	public TwitterObject() {
-		this.extraData = new HashMap<String, Object>();
-	}
-	
 	/**
-	 * @return Any fields in response from Twitter that are otherwise not mapped to any properties.
+	 * @return Any fields in response from Twitter that are otherwise not mapped to any properties; an empty, unmodifiable map if there were none.
 	 */
 	public Map<String, Object> getExtraData() {
+		if (extraData == null) {
+			return Collections.emptyMap();
+		}
 		return extraData;
 	}
 	
@@ -46,6 +47,9 @@ public class TwitterObject {
 	 * @param value The property's value.
 	 */
 	protected void add(String key, Object value) {
+		if (extraData == null) {
+			extraData = new HashMap<String, Object>();
+		}
 		extraData.put(key, value);
 	}
 
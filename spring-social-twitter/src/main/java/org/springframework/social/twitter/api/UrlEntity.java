@@ -15,8 +15,11 @@
  */
 package org.springframework.social.twitter.api;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Arrays;
 
 /**
  * <p>A representation of a URL found within a tweet entity.</p>
@@ -32,13 +35,13 @@ public class UrlEntity extends TwitterObject implements Serializable {
 
 	private String url;
 
-	private int[] indices;
+	private long indices;
 
 	public UrlEntity(String display, String expanded, String url, int[] indices) {
 		this.display = display;
 		this.expanded = expanded;
 		this.url = url;
-		this.indices = indices;
+		this.indices = EntityIndices.pack(indices);
 	}
 
 
@@ -58,10 +61,7 @@ public class UrlEntity extends TwitterObject implements Serializable {
 
 
 	public int[] getIndices() {
-		if (this.indices == null || this.indices.length <= 0) {
-			return new int[0];
-		}
-		return this.indices;
+		return EntityIndices.unpack(this.indices);
 	}
 
 
@@ -81,7 +81,7 @@ public class UrlEntity extends TwitterObject implements Serializable {
 		if (expanded != null ? !expanded.equals(urlEntity.expanded) : urlEntity.expanded != null) {
 			return false;
 		}
-		if (!Arrays.equals(indices, urlEntity.indices)) {
+		if (indices != urlEntity.indices) {
 			return false;
 		}
 		if (url != null ? !url.equals(urlEntity.url) : urlEntity.url != null) {
@@ -96,7 +96,33 @@ public class UrlEntity extends TwitterObject implements Serializable {
 		int result = display != null ? display.hashCode() : 0;
 		result = 31 * result + (expanded != null ? expanded.hashCode() : 0);
 		result = 31 * result + (url != null ? url.hashCode() : 0);
-		result = 31 * result + (indices != null ? Arrays.hashCode(indices) : 0);
+		result = 31 * result + EntityIndices.hashCode(indices);
 		return result;
 	}
+
+	// serialized with int[] indices, as before they were packed
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("display", String.class),
+		new ObjectStreamField("expanded", String.class),
+		new ObjectStreamField("url", String.class),
+		new ObjectStreamField("indices", int[].class)
+	};
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("display", display);
+		fields.put("expanded", expanded);
+		fields.put("url", url);
+		fields.put("indices", indices != EntityIndices.NONE ? EntityIndices.unpack(indices) : null);
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		display = (String) fields.get("display", null);
+		expanded = (String) fields.get("expanded", null);
+		url = (String) fields.get("url", null);
+		indices = EntityIndices.pack((int[]) fields.get("indices", null));
+	}
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the asynchronous templates, which make each call of a blocking template on an executor.
+ */
+class AbstractAsyncTwitterOperations {
+
+	private final Executor executor;
+
+	AbstractAsyncTwitterOperations(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @return a future completed by the call, or failed with a RejectedExecutionException if the executor won't take it,
+	 * as after {@link AsyncTwitterTemplate#close()}
+	 */
+	<T> CompletableFuture<T> call(Supplier<T> call) {
+		try {
+			return CompletableFuture.supplyAsync(call, executor);
+		} catch (RejectedExecutionException e) {
+			CompletableFuture<T> rejected = new CompletableFuture<T>();
+			rejected.completeExceptionally(e);
+			return rejected;
+		}
+	}
+
+}
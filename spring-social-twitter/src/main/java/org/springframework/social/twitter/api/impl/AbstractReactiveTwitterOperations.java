@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.function.Supplier;
+
+import org.springframework.social.MissingAuthorizationException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Base class of the reactive templates, whose authorization is checked as each call is subscribed to rather than as it's made,
+ * so that a missing authorization reaches the subscriber as an error like any other.
+ */
+class AbstractReactiveTwitterOperations extends AbstractTwitterOperations {
+
+	final ReactiveTwitterClient client;
+
+	AbstractReactiveTwitterOperations(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(isAuthorizedForUser, isAuthorizedForApp);
+		this.client = client;
+	}
+
+	/**
+	 * @return the call, or a MissingAuthorizationException if the template isn't authorized for a user
+	 */
+	<T> Mono<T> withUserAuthorization(Mono<T> call) {
+		return authorized(call, false);
+	}
+
+	/**
+	 * @return the call, or a MissingAuthorizationException if the template is authorized for neither a user nor the application
+	 */
+	<T> Mono<T> withUserOrAppAuthorization(Mono<T> call) {
+		return authorized(call, true);
+	}
+
+	private <T> Mono<T> authorized(final Mono<T> call, final boolean appAuthorized) {
+		return Mono.defer(new Supplier<Mono<T>>() {
+			public Mono<T> get() {
+				try {
+					if (appAuthorized) {
+						requireEitherUserOrAppAuthorization();
+					} else {
+						requireUserAuthorization();
+					}
+				} catch (MissingAuthorizationException e) {
+					return Mono.error(e);
+				}
+				return call;
+			}
+		});
+	}
+
+}
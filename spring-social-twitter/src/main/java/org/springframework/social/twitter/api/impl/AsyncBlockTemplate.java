@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncBlockOperations;
+import org.springframework.social.twitter.api.BlockOperations;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.TwitterProfile;
+
+/**
+ * Implementation of {@link AsyncBlockOperations}, calling a {@link BlockOperations} on an executor.
+ */
+class AsyncBlockTemplate extends AbstractAsyncTwitterOperations implements AsyncBlockOperations {
+
+	private final BlockOperations blockOperations;
+
+	AsyncBlockTemplate(BlockOperations blockOperations, Executor executor) {
+		super(executor);
+		this.blockOperations = blockOperations;
+	}
+
+	public CompletableFuture<TwitterProfile> block(final long userId) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return blockOperations.block(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> block(final String screenName) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return blockOperations.block(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> unblock(final long userId) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return blockOperations.unblock(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> unblock(final String screenName) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return blockOperations.unblock(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getBlockedUsers() {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return blockOperations.getBlockedUsers();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getBlockedUsersInCursor(final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return blockOperations.getBlockedUsersInCursor(cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getBlockedUserIds() {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return blockOperations.getBlockedUserIds();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getBlockedUserIdsInCursor(final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return blockOperations.getBlockedUserIdsInCursor(cursor);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncDirectMessageOperations;
+import org.springframework.social.twitter.api.DirectMessage;
+import org.springframework.social.twitter.api.DirectMessageOperations;
+
+/**
+ * Implementation of {@link AsyncDirectMessageOperations}, calling a {@link DirectMessageOperations} on an executor.
+ */
+class AsyncDirectMessageTemplate extends AbstractAsyncTwitterOperations implements AsyncDirectMessageOperations {
+
+	private final DirectMessageOperations directMessageOperations;
+
+	AsyncDirectMessageTemplate(DirectMessageOperations directMessageOperations, Executor executor) {
+		super(executor);
+		this.directMessageOperations = directMessageOperations;
+	}
+
+	public CompletableFuture<List<DirectMessage>> getDirectMessagesReceived() {
+		return call(new Supplier<List<DirectMessage>>() {
+			public List<DirectMessage> get() {
+				return directMessageOperations.getDirectMessagesReceived();
+			}
+		});
+	}
+
+	public CompletableFuture<List<DirectMessage>> getDirectMessagesReceived(final int page, final int pageSize) {
+		return call(new Supplier<List<DirectMessage>>() {
+			public List<DirectMessage> get() {
+				return directMessageOperations.getDirectMessagesReceived(page, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<DirectMessage>> getDirectMessagesReceived(final int page, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<DirectMessage>>() {
+			public List<DirectMessage> get() {
+				return directMessageOperations.getDirectMessagesReceived(page, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<DirectMessage>> getDirectMessagesSent() {
+		return call(new Supplier<List<DirectMessage>>() {
+			public List<DirectMessage> get() {
+				return directMessageOperations.getDirectMessagesSent();
+			}
+		});
+	}
+
+	public CompletableFuture<List<DirectMessage>> getDirectMessagesSent(final int page, final int pageSize) {
+		return call(new Supplier<List<DirectMessage>>() {
+			public List<DirectMessage> get() {
+				return directMessageOperations.getDirectMessagesSent(page, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<DirectMessage>> getDirectMessagesSent(final int page, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<DirectMessage>>() {
+			public List<DirectMessage> get() {
+				return directMessageOperations.getDirectMessagesSent(page, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<DirectMessage> getDirectMessage(final long id) {
+		return call(new Supplier<DirectMessage>() {
+			public DirectMessage get() {
+				return directMessageOperations.getDirectMessage(id);
+			}
+		});
+	}
+
+	public CompletableFuture<DirectMessage> sendDirectMessage(final String toScreenName, final String text) {
+		return call(new Supplier<DirectMessage>() {
+			public DirectMessage get() {
+				return directMessageOperations.sendDirectMessage(toScreenName, text);
+			}
+		});
+	}
+
+	public CompletableFuture<DirectMessage> sendDirectMessage(final long toUserId, final String text) {
+		return call(new Supplier<DirectMessage>() {
+			public DirectMessage get() {
+				return directMessageOperations.sendDirectMessage(toUserId, text);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> deleteDirectMessage(final long messageId) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				directMessageOperations.deleteDirectMessage(messageId);
+			}
+		});
+	}
+
+}
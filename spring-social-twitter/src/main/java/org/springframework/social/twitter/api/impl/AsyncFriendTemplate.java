@@ -0,0 +1,327 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncFriendOperations;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.FriendOperations;
+import org.springframework.social.twitter.api.TwitterProfile;
+
+/**
+ * Implementation of {@link AsyncFriendOperations}, calling a {@link FriendOperations} on an executor.
+ */
+class AsyncFriendTemplate extends AbstractAsyncTwitterOperations implements AsyncFriendOperations {
+
+	private final FriendOperations friendOperations;
+
+	AsyncFriendTemplate(FriendOperations friendOperations, Executor executor) {
+		super(executor);
+		this.friendOperations = friendOperations;
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFriends() {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFriends();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFriendsInCursor(final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFriendsInCursor(cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFriends(final long userId) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFriends(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFriendsInCursor(final long userId, final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFriendsInCursor(userId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFriends(final String screenName) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFriends(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFriendsInCursor(final String screenName, final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFriendsInCursor(screenName, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFriendIds() {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFriendIds();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFriendIdsInCursor(final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFriendIdsInCursor(cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFriendIds(final long userId) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFriendIds(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFriendIdsInCursor(final long userId, final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFriendIdsInCursor(userId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFriendIds(final String screenName) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFriendIds(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFriendIdsInCursor(final String screenName, final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFriendIdsInCursor(screenName, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFollowers() {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFollowers();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFollowersInCursor(final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFollowersInCursor(cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFollowers(final long userId) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFollowers(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFollowersInCursor(final long userId, final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFollowersInCursor(userId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFollowers(final String screenName) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFollowers(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getFollowersInCursor(final String screenName, final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return friendOperations.getFollowersInCursor(screenName, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFollowerIds() {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFollowerIds();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFollowerIdsInCursor(final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFollowerIdsInCursor(cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFollowerIds(final long userId) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFollowerIds(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFollowerIdsInCursor(final long userId, final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFollowerIdsInCursor(userId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFollowerIds(final String screenName) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFollowerIds(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getFollowerIdsInCursor(final String screenName, final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getFollowerIdsInCursor(screenName, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<String> follow(final long userId) {
+		return call(new Supplier<String>() {
+			public String get() {
+				return friendOperations.follow(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<String> follow(final String screenName) {
+		return call(new Supplier<String>() {
+			public String get() {
+				return friendOperations.follow(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<String> unfollow(final long userId) {
+		return call(new Supplier<String>() {
+			public String get() {
+				return friendOperations.unfollow(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<String> unfollow(final String screenName) {
+		return call(new Supplier<String>() {
+			public String get() {
+				return friendOperations.unfollow(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> enableNotifications(final long userId) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return friendOperations.enableNotifications(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> enableNotifications(final String screenName) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return friendOperations.enableNotifications(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> disableNotifications(final long userId) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return friendOperations.disableNotifications(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> disableNotifications(final String screenName) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return friendOperations.disableNotifications(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getIncomingFriendships() {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getIncomingFriendships();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getIncomingFriendships(final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getIncomingFriendships(cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getOutgoingFriendships() {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getOutgoingFriendships();
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<Long>> getOutgoingFriendships(final long cursor) {
+		return call(new Supplier<CursoredList<Long>>() {
+			public CursoredList<Long> get() {
+				return friendOperations.getOutgoingFriendships(cursor);
+			}
+		});
+	}
+
+}
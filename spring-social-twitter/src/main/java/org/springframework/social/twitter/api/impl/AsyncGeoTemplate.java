@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncGeoOperations;
+import org.springframework.social.twitter.api.GeoOperations;
+import org.springframework.social.twitter.api.Place;
+import org.springframework.social.twitter.api.PlacePrototype;
+import org.springframework.social.twitter.api.PlaceType;
+import org.springframework.social.twitter.api.SimilarPlaces;
+
+/**
+ * Implementation of {@link AsyncGeoOperations}, calling a {@link GeoOperations} on an executor.
+ */
+class AsyncGeoTemplate extends AbstractAsyncTwitterOperations implements AsyncGeoOperations {
+
+	private final GeoOperations geoOperations;
+
+	AsyncGeoTemplate(GeoOperations geoOperations, Executor executor) {
+		super(executor);
+		this.geoOperations = geoOperations;
+	}
+
+	public CompletableFuture<Place> getPlace(final String id) {
+		return call(new Supplier<Place>() {
+			public Place get() {
+				return geoOperations.getPlace(id);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Place>> reverseGeoCode(final double latitude, final double longitude) {
+		return call(new Supplier<List<Place>>() {
+			public List<Place> get() {
+				return geoOperations.reverseGeoCode(latitude, longitude);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Place>> reverseGeoCode(final double latitude, final double longitude, final PlaceType granularity, final String accuracy) {
+		return call(new Supplier<List<Place>>() {
+			public List<Place> get() {
+				return geoOperations.reverseGeoCode(latitude, longitude, granularity, accuracy);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Place>> search(final double latitude, final double longitude) {
+		return call(new Supplier<List<Place>>() {
+			public List<Place> get() {
+				return geoOperations.search(latitude, longitude);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Place>> search(final double latitude, final double longitude, final PlaceType granularity, final String accuracy, final String query) {
+		return call(new Supplier<List<Place>>() {
+			public List<Place> get() {
+				return geoOperations.search(latitude, longitude, granularity, accuracy, query);
+			}
+		});
+	}
+
+	public CompletableFuture<SimilarPlaces> findSimilarPlaces(final double latitude, final double longitude, final String name) {
+		return call(new Supplier<SimilarPlaces>() {
+			public SimilarPlaces get() {
+				return geoOperations.findSimilarPlaces(latitude, longitude, name);
+			}
+		});
+	}
+
+	public CompletableFuture<SimilarPlaces> findSimilarPlaces(final double latitude, final double longitude, final String name, final String streetAddress, final String containedWithin) {
+		return call(new Supplier<SimilarPlaces>() {
+			public SimilarPlaces get() {
+				return geoOperations.findSimilarPlaces(latitude, longitude, name, streetAddress, containedWithin);
+			}
+		});
+	}
+
+	public CompletableFuture<Place> createPlace(final PlacePrototype placePrototype) {
+		return call(new Supplier<Place>() {
+			public Place get() {
+				return geoOperations.createPlace(placePrototype);
+			}
+		});
+	}
+
+}
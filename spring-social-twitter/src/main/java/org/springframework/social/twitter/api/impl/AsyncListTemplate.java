@@ -0,0 +1,362 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncListOperations;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.ListOperations;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.social.twitter.api.UserList;
+
+/**
+ * Implementation of {@link AsyncListOperations}, calling a {@link ListOperations} on an executor.
+ */
+class AsyncListTemplate extends AbstractAsyncTwitterOperations implements AsyncListOperations {
+
+	private final ListOperations listOperations;
+
+	AsyncListTemplate(ListOperations listOperations, Executor executor) {
+		super(executor);
+		this.listOperations = listOperations;
+	}
+
+	public CompletableFuture<List<UserList>> getLists() {
+		return call(new Supplier<List<UserList>>() {
+			public List<UserList> get() {
+				return listOperations.getLists();
+			}
+		});
+	}
+
+	public CompletableFuture<List<UserList>> getLists(final long userId) {
+		return call(new Supplier<List<UserList>>() {
+			public List<UserList> get() {
+				return listOperations.getLists(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<UserList>> getLists(final String screenName) {
+		return call(new Supplier<List<UserList>>() {
+			public List<UserList> get() {
+				return listOperations.getLists(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> getList(final long listId) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.getList(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> getList(final String screenName, final String listSlug) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.getList(screenName, listSlug);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getListStatuses(final long listId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return listOperations.getListStatuses(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getListStatuses(final long listId, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return listOperations.getListStatuses(listId, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getListStatuses(final long listId, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return listOperations.getListStatuses(listId, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getListStatuses(final String screenName, final String listSlug) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return listOperations.getListStatuses(screenName, listSlug);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getListStatuses(final String screenName, final String listSlug, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return listOperations.getListStatuses(screenName, listSlug, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getListStatuses(final String screenName, final String listSlug, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return listOperations.getListStatuses(screenName, listSlug, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> createList(final String name, final String description, final boolean isPublic) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.createList(name, description, isPublic);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> updateList(final long listId, final String name, final String description, final boolean isPublic) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.updateList(listId, name, description, isPublic);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> deleteList(final long listId) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				listOperations.deleteList(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getListMembers(final long listId) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return listOperations.getListMembers(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getListMembersInCursor(final long listId, final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return listOperations.getListMembersInCursor(listId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getListMembers(final String screenName, final String listSlug) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return listOperations.getListMembers(screenName, listSlug);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<TwitterProfile>> getListMembersInCursor(final String screenName, final String listSlug, final long cursor) {
+		return call(new Supplier<CursoredList<TwitterProfile>>() {
+			public CursoredList<TwitterProfile> get() {
+				return listOperations.getListMembersInCursor(screenName, listSlug, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> addToList(final long listId, final long... newMemberIds) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.addToList(listId, newMemberIds);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> addToList(final long listId, final String... newMemberScreenNames) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.addToList(listId, newMemberScreenNames);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> removeFromList(final long listId, final long memberId) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				listOperations.removeFromList(listId, memberId);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> removeFromList(final long listId, final String memberScreenName) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				listOperations.removeFromList(listId, memberScreenName);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> subscribe(final long listId) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.subscribe(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> subscribe(final String screenName, final String listSlug) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.subscribe(screenName, listSlug);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> unsubscribe(final long listId) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.unsubscribe(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<UserList> unsubscribe(final String screenName, final String listSlug) {
+		return call(new Supplier<UserList>() {
+			public UserList get() {
+				return listOperations.unsubscribe(screenName, listSlug);
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> getListSubscribers(final long listId) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return listOperations.getListSubscribers(listId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> getListSubscribers(final String screenName, final String listSlug) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return listOperations.getListSubscribers(screenName, listSlug);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getMemberships(final long userId) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getMemberships(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getMemberships(final String screenName) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getMemberships(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getMembershipsInCursor(final long userId, final long cursor) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getMembershipsInCursor(userId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getMembershipsInCursor(final String screenName, final long cursor) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getMembershipsInCursor(screenName, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getSubscriptions(final long userId) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getSubscriptions(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getSubscriptions(final String screenName) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getSubscriptions(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getSubscriptionsInCursor(final long userId, final long cursor) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getSubscriptionsInCursor(userId, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<CursoredList<UserList>> getSubscriptionsInCursor(final String screenName, final long cursor) {
+		return call(new Supplier<CursoredList<UserList>>() {
+			public CursoredList<UserList> get() {
+				return listOperations.getSubscriptionsInCursor(screenName, cursor);
+			}
+		});
+	}
+
+	public CompletableFuture<Boolean> isMember(final long listId, final long memberId) {
+		return call(new Supplier<Boolean>() {
+			public Boolean get() {
+				return listOperations.isMember(listId, memberId);
+			}
+		});
+	}
+
+	public CompletableFuture<Boolean> isMember(final String screenName, final String listSlug, final String memberScreenName) {
+		return call(new Supplier<Boolean>() {
+			public Boolean get() {
+				return listOperations.isMember(screenName, listSlug, memberScreenName);
+			}
+		});
+	}
+
+	public CompletableFuture<Boolean> isSubscriber(final long listId, final long subscriberId) {
+		return call(new Supplier<Boolean>() {
+			public Boolean get() {
+				return listOperations.isSubscriber(listId, subscriberId);
+			}
+		});
+	}
+
+	public CompletableFuture<Boolean> isSubscriber(final String screenName, final String listSlug, final String subscriberScreenName) {
+		return call(new Supplier<Boolean>() {
+			public Boolean get() {
+				return listOperations.isSubscriber(screenName, listSlug, subscriberScreenName);
+			}
+		});
+	}
+
+}
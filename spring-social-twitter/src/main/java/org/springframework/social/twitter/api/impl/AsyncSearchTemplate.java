@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncSearchOperations;
+import org.springframework.social.twitter.api.SavedSearch;
+import org.springframework.social.twitter.api.SearchOperations;
+import org.springframework.social.twitter.api.SearchParameters;
+import org.springframework.social.twitter.api.SearchResults;
+import org.springframework.social.twitter.api.Trends;
+
+/**
+ * Implementation of {@link AsyncSearchOperations}, calling a {@link SearchOperations} on an executor.
+ */
+class AsyncSearchTemplate extends AbstractAsyncTwitterOperations implements AsyncSearchOperations {
+
+	private final SearchOperations searchOperations;
+
+	AsyncSearchTemplate(SearchOperations searchOperations, Executor executor) {
+		super(executor);
+		this.searchOperations = searchOperations;
+	}
+
+	public CompletableFuture<SearchResults> search(final String query) {
+		return call(new Supplier<SearchResults>() {
+			public SearchResults get() {
+				return searchOperations.search(query);
+			}
+		});
+	}
+
+	public CompletableFuture<SearchResults> search(final String query, final int pageSize) {
+		return call(new Supplier<SearchResults>() {
+			public SearchResults get() {
+				return searchOperations.search(query, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<SearchResults> search(final String query, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<SearchResults>() {
+			public SearchResults get() {
+				return searchOperations.search(query, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<SearchResults> search(final SearchParameters searchParameters) {
+		return call(new Supplier<SearchResults>() {
+			public SearchResults get() {
+				return searchOperations.search(searchParameters);
+			}
+		});
+	}
+
+	public CompletableFuture<List<SavedSearch>> getSavedSearches() {
+		return call(new Supplier<List<SavedSearch>>() {
+			public List<SavedSearch> get() {
+				return searchOperations.getSavedSearches();
+			}
+		});
+	}
+
+	public CompletableFuture<SavedSearch> getSavedSearch(final long searchId) {
+		return call(new Supplier<SavedSearch>() {
+			public SavedSearch get() {
+				return searchOperations.getSavedSearch(searchId);
+			}
+		});
+	}
+
+	public CompletableFuture<SavedSearch> createSavedSearch(final String query) {
+		return call(new Supplier<SavedSearch>() {
+			public SavedSearch get() {
+				return searchOperations.createSavedSearch(query);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> deleteSavedSearch(final long searchId) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				searchOperations.deleteSavedSearch(searchId);
+			}
+		});
+	}
+
+	public CompletableFuture<Trends> getLocalTrends(final long whereOnEarthId) {
+		return call(new Supplier<Trends>() {
+			public Trends get() {
+				return searchOperations.getLocalTrends(whereOnEarthId);
+			}
+		});
+	}
+
+	public CompletableFuture<Trends> getLocalTrends(final long whereOnEarthId, final boolean excludeHashtags) {
+		return call(new Supplier<Trends>() {
+			public Trends get() {
+				return searchOperations.getLocalTrends(whereOnEarthId, excludeHashtags);
+			}
+		});
+	}
+
+}
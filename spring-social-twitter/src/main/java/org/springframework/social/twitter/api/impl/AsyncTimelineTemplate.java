@@ -0,0 +1,364 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AsyncTimelineOperations;
+import org.springframework.social.twitter.api.OEmbedOptions;
+import org.springframework.social.twitter.api.OEmbedTweet;
+import org.springframework.social.twitter.api.TimelineOperations;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetData;
+import org.springframework.social.twitter.api.TweetField;
+
+/**
+ * Implementation of {@link AsyncTimelineOperations}, calling a {@link TimelineOperations} on an executor.
+ */
+class AsyncTimelineTemplate extends AbstractAsyncTwitterOperations implements AsyncTimelineOperations {
+
+	private final TimelineOperations timelineOperations;
+
+	AsyncTimelineTemplate(TimelineOperations timelineOperations, Executor executor) {
+		super(executor);
+		this.timelineOperations = timelineOperations;
+	}
+
+	public CompletableFuture<List<Tweet>> getHomeTimeline() {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getHomeTimeline();
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getHomeTimeline(final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getHomeTimeline(pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getHomeTimeline(final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getHomeTimeline(pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getHomeTimeline(final int pageSize, final long sinceId, final long maxId, final Set<TweetField> fields) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getHomeTimeline(pageSize, sinceId, maxId, fields);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline() {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline();
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final int pageSize, final long sinceId, final long maxId, final Set<TweetField> fields) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(pageSize, sinceId, maxId, fields);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final String screenName) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final String screenName, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(screenName, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final String screenName, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(screenName, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final String screenName, final int pageSize, final long sinceId, final long maxId, final Set<TweetField> fields) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(screenName, pageSize, sinceId, maxId, fields);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final long userId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final long userId, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(userId, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final long userId, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(userId, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getUserTimeline(final long userId, final int pageSize, final long sinceId, final long maxId, final Set<TweetField> fields) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getUserTimeline(userId, pageSize, sinceId, maxId, fields);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getRetweetsOfMe() {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getRetweetsOfMe();
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getRetweetsOfMe(final int page, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getRetweetsOfMe(page, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getRetweetsOfMe(final int page, final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getRetweetsOfMe(page, pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getMentions() {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getMentions();
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getMentions(final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getMentions(pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getMentions(final int pageSize, final long sinceId, final long maxId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getMentions(pageSize, sinceId, maxId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getMentions(final int pageSize, final long sinceId, final long maxId, final Set<TweetField> fields) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getMentions(pageSize, sinceId, maxId, fields);
+			}
+		});
+	}
+
+	public CompletableFuture<Tweet> getStatus(final long tweetId) {
+		return call(new Supplier<Tweet>() {
+			public Tweet get() {
+				return timelineOperations.getStatus(tweetId);
+			}
+		});
+	}
+
+	public CompletableFuture<OEmbedTweet> getStatusOEmbed(final String tweetId) {
+		return call(new Supplier<OEmbedTweet>() {
+			public OEmbedTweet get() {
+				return timelineOperations.getStatusOEmbed(tweetId);
+			}
+		});
+	}
+
+	public CompletableFuture<OEmbedTweet> getStatusOEmbed(final String tweetId, final OEmbedOptions options) {
+		return call(new Supplier<OEmbedTweet>() {
+			public OEmbedTweet get() {
+				return timelineOperations.getStatusOEmbed(tweetId, options);
+			}
+		});
+	}
+
+	public CompletableFuture<Tweet> updateStatus(final String status) {
+		return call(new Supplier<Tweet>() {
+			public Tweet get() {
+				return timelineOperations.updateStatus(status);
+			}
+		});
+	}
+
+	public CompletableFuture<Tweet> updateStatus(final TweetData tweetData) {
+		return call(new Supplier<Tweet>() {
+			public Tweet get() {
+				return timelineOperations.updateStatus(tweetData);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> deleteStatus(final long tweetId) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				timelineOperations.deleteStatus(tweetId);
+			}
+		});
+	}
+
+	public CompletableFuture<Tweet> retweet(final long tweetId) {
+		return call(new Supplier<Tweet>() {
+			public Tweet get() {
+				return timelineOperations.retweet(tweetId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getRetweets(final long tweetId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getRetweets(tweetId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getRetweets(final long tweetId, final int count) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getRetweets(tweetId, count);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getFavorites() {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getFavorites();
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getFavorites(final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getFavorites(pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getFavorites(final long userId) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getFavorites(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getFavorites(final long userId, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getFavorites(userId, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getFavorites(final String screenName) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getFavorites(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<List<Tweet>> getFavorites(final String screenName, final int pageSize) {
+		return call(new Supplier<List<Tweet>>() {
+			public List<Tweet> get() {
+				return timelineOperations.getFavorites(screenName, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> addToFavorites(final long id) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				timelineOperations.addToFavorites(id);
+			}
+		});
+	}
+
+	public CompletableFuture<Void> removeFromFavorites(final long id) {
+		return CompletableFuture.runAsync(new Runnable() {
+			public void run() {
+				timelineOperations.removeFromFavorites(id);
+			}
+		});
+	}
+
+}
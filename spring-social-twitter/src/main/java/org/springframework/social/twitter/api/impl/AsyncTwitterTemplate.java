@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.social.twitter.api.AsyncBlockOperations;
+import org.springframework.social.twitter.api.AsyncDirectMessageOperations;
+import org.springframework.social.twitter.api.AsyncFriendOperations;
+import org.springframework.social.twitter.api.AsyncGeoOperations;
+import org.springframework.social.twitter.api.AsyncListOperations;
+import org.springframework.social.twitter.api.AsyncSearchOperations;
+import org.springframework.social.twitter.api.AsyncTimelineOperations;
+import org.springframework.social.twitter.api.AsyncTwitter;
+import org.springframework.social.twitter.api.AsyncUserOperations;
+import org.springframework.social.twitter.api.RateLimitPolicy;
+import org.springframework.social.twitter.api.Twitter;
+import org.springframework.util.Assert;
+
+/**
+ * Implementation of {@link AsyncTwitter}, making each call with a {@link Twitter} on an executor.
+ * Calls started together overlap, so a page needing a dozen of them waits about as long as for the slowest one:
+ * <pre>
+ * AsyncTwitter asyncTwitter = new AsyncTwitterTemplate(twitter, 12);
+ * CompletableFuture&lt;List&lt;Tweet&gt;&gt; timeline = asyncTwitter.timelineOperations().getHomeTimeline();
+ * CompletableFuture&lt;TwitterProfile&gt; profile = asyncTwitter.userOperations().getUserProfile();
+ * CompletableFuture.allOf(timeline, profile).join();
+ * </pre>
+ * The executor bounds how many calls are in flight at once, not how many may wait: calls beyond that wait in its queue,
+ * which for the template's own executor is unbounded. An application that may start calls faster than Twitter answers them
+ * should bound them itself, or give the template an executor with a bounded queue; a call the executor rejects
+ * fails its future with a RejectedExecutionException.
+ * An executor may be shared by the AsyncTwitterTemplates of many users, for instance those wrapping the bindings of a {@link TwitterTemplateFactory},
+ * to bound the calls made by all of them.
+ * <p>
+ * Rate limits are honoured by the wrapped Twitter, according to its {@link RateLimitPolicy}:
+ * with {@link RateLimitPolicy#REJECT} a future for an endpoint whose limit has been used up fails with a RateLimitExceededException,
+ * and with {@link RateLimitPolicy#PACE} the call waits for the limit to reset while holding one of the executor's threads.
+ */
+public class AsyncTwitterTemplate implements AsyncTwitter, Closeable {
+
+	private static final int DEFAULT_MAX_CONCURRENT_CALLS = 8;
+
+	private final Twitter twitter;
+
+	private final ExecutorService ownExecutor;
+
+	private final AsyncBlockOperations blockOperations;
+
+	private final AsyncDirectMessageOperations directMessageOperations;
+
+	private final AsyncFriendOperations friendOperations;
+
+	private final AsyncGeoOperations geoOperations;
+
+	private final AsyncListOperations listOperations;
+
+	private final AsyncSearchOperations searchOperations;
+
+	private final AsyncTimelineOperations timelineOperations;
+
+	private final AsyncUserOperations userOperations;
+
+	/**
+	 * Create a new instance of AsyncTwitterTemplate, making at most 8 calls at once on threads of its own.
+	 * @param twitter the Twitter API binding to make calls with
+	 */
+	public AsyncTwitterTemplate(Twitter twitter) {
+		this(twitter, DEFAULT_MAX_CONCURRENT_CALLS);
+	}
+
+	/**
+	 * Create a new instance of AsyncTwitterTemplate, making calls on threads of its own.
+	 * The threads are daemon threads, stopped after a minute without calls and by {@link #close()}.
+	 * @param twitter the Twitter API binding to make calls with
+	 * @param maxConcurrentCalls the most calls to make at once; any more wait in an unbounded queue
+	 */
+	public AsyncTwitterTemplate(Twitter twitter, int maxConcurrentCalls) {
+		this(twitter, createExecutor(maxConcurrentCalls), true);
+	}
+
+	/**
+	 * Create a new instance of AsyncTwitterTemplate, making calls on the given executor.
+	 * The executor isn't shut down by {@link #close()}.
+	 * @param twitter the Twitter API binding to make calls with
+	 * @param executor the executor to make calls on
+	 */
+	public AsyncTwitterTemplate(Twitter twitter, Executor executor) {
+		this(twitter, executor, false);
+	}
+
+	private AsyncTwitterTemplate(Twitter twitter, Executor executor, boolean ownExecutor) {
+		Assert.notNull(twitter, "Constructor argument 'twitter' cannot be null.");
+		Assert.notNull(executor, "Constructor argument 'executor' cannot be null.");
+		this.twitter = twitter;
+		this.ownExecutor = ownExecutor ? (ExecutorService) executor : null;
+		this.blockOperations = new AsyncBlockTemplate(twitter.blockOperations(), executor);
+		this.directMessageOperations = new AsyncDirectMessageTemplate(twitter.directMessageOperations(), executor);
+		this.friendOperations = new AsyncFriendTemplate(twitter.friendOperations(), executor);
+		this.geoOperations = new AsyncGeoTemplate(twitter.geoOperations(), executor);
+		this.listOperations = new AsyncListTemplate(twitter.listOperations(), executor);
+		this.searchOperations = new AsyncSearchTemplate(twitter.searchOperations(), executor);
+		this.timelineOperations = new AsyncTimelineTemplate(twitter.timelineOperations(), executor);
+		this.userOperations = new AsyncUserTemplate(twitter.userOperations(), executor);
+	}
+
+	public boolean isAuthorized() {
+		return twitter.isAuthorized();
+	}
+
+	public AsyncBlockOperations blockOperations() {
+		return blockOperations;
+	}
+
+	public AsyncDirectMessageOperations directMessageOperations() {
+		return directMessageOperations;
+	}
+
+	public AsyncFriendOperations friendOperations() {
+		return friendOperations;
+	}
+
+	public AsyncGeoOperations geoOperations() {
+		return geoOperations;
+	}
+
+	public AsyncListOperations listOperations() {
+		return listOperations;
+	}
+
+	public AsyncSearchOperations searchOperations() {
+		return searchOperations;
+	}
+
+	public AsyncTimelineOperations timelineOperations() {
+		return timelineOperations;
+	}
+
+	public AsyncUserOperations userOperations() {
+		return userOperations;
+	}
+
+	public Twitter getTwitter() {
+		return twitter;
+	}
+
+	/**
+	 * Stops the threads this template created for itself, once the calls already started have been made.
+	 * Calls started afterwards fail with a RejectedExecutionException.
+	 * Does nothing if the template was given an executor.
+	 */
+	public void close() {
+		if (ownExecutor != null) {
+			ownExecutor.shutdown();
+		}
+	}
+
+	private static ExecutorService createExecutor(int maxConcurrentCalls) {
+		Assert.isTrue(maxConcurrentCalls > 0, "Maximum concurrent calls must be greater than zero");
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+					private final AtomicInteger threadCount = new AtomicInteger();
+
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "twitter-async-" + threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.social.twitter.api.AccountSettings;
+import org.springframework.social.twitter.api.AsyncUserOperations;
+import org.springframework.social.twitter.api.RateLimitStatus;
+import org.springframework.social.twitter.api.ResourceFamily;
+import org.springframework.social.twitter.api.SuggestionCategory;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.social.twitter.api.UserOperations;
+
+/**
+ * Implementation of {@link AsyncUserOperations}, calling a {@link UserOperations} on an executor.
+ */
+class AsyncUserTemplate extends AbstractAsyncTwitterOperations implements AsyncUserOperations {
+
+	private final UserOperations userOperations;
+
+	AsyncUserTemplate(UserOperations userOperations, Executor executor) {
+		super(executor);
+		this.userOperations = userOperations;
+	}
+
+	public CompletableFuture<Long> getProfileId() {
+		return call(new Supplier<Long>() {
+			public Long get() {
+				return userOperations.getProfileId();
+			}
+		});
+	}
+
+	public CompletableFuture<String> getScreenName() {
+		return call(new Supplier<String>() {
+			public String get() {
+				return userOperations.getScreenName();
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> getUserProfile() {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return userOperations.getUserProfile();
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> getUserProfile(final String screenName) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return userOperations.getUserProfile(screenName);
+			}
+		});
+	}
+
+	public CompletableFuture<TwitterProfile> getUserProfile(final long userId) {
+		return call(new Supplier<TwitterProfile>() {
+			public TwitterProfile get() {
+				return userOperations.getUserProfile(userId);
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> getUsers(final long... userIds) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return userOperations.getUsers(userIds);
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> getUsers(final String... screenNames) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return userOperations.getUsers(screenNames);
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> searchForUsers(final String query) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return userOperations.searchForUsers(query);
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> searchForUsers(final String query, final int page, final int pageSize) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return userOperations.searchForUsers(query, page, pageSize);
+			}
+		});
+	}
+
+	public CompletableFuture<List<SuggestionCategory>> getSuggestionCategories() {
+		return call(new Supplier<List<SuggestionCategory>>() {
+			public List<SuggestionCategory> get() {
+				return userOperations.getSuggestionCategories();
+			}
+		});
+	}
+
+	public CompletableFuture<List<TwitterProfile>> getSuggestions(final String slug) {
+		return call(new Supplier<List<TwitterProfile>>() {
+			public List<TwitterProfile> get() {
+				return userOperations.getSuggestions(slug);
+			}
+		});
+	}
+
+	public CompletableFuture<Map<ResourceFamily, List<RateLimitStatus>>> getRateLimitStatus(final ResourceFamily... resources) {
+		return call(new Supplier<Map<ResourceFamily, List<RateLimitStatus>>>() {
+			public Map<ResourceFamily, List<RateLimitStatus>> get() {
+				return userOperations.getRateLimitStatus(resources);
+			}
+		});
+	}
+
+	public CompletableFuture<AccountSettings> getAccountSettings() {
+		return call(new Supplier<AccountSettings>() {
+			public AccountSettings get() {
+				return userOperations.getAccountSettings();
+			}
+		});
+	}
+
+	public CompletableFuture<AccountSettings> updateAccountSettings(final AccountSettingsData accountSettingsData) {
+		return call(new Supplier<AccountSettings>() {
+			public AccountSettings get() {
+				return userOperations.updateAccountSettings(accountSettingsData);
+			}
+		});
+	}
+
+}
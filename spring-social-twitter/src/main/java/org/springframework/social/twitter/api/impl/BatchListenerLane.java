@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.social.twitter.api.BatchStreamListener;
+import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.Tweet;
+
+/**
+ * A delivery lane for a {@link BatchStreamListener}.
+ * Tweets, deletes and limit notices are collected into batches that are handed over when one of them is full
+ * or when the oldest pending message has waited for the maximum latency. Any other message flushes the pending
+ * batches first, so the listener never sees a message ahead of one that arrived before it.
+ */
+class BatchListenerLane extends ListenerLane {
+
+	private final BatchStreamListener batchListener;
+
+	private final int maxSize;
+
+	private final long maxLatencyNanos;
+
+	private List<Tweet> tweets;
+
+	private List<StreamDeleteEvent> deletes;
+
+	private List<Integer> limits;
+
+	private int pending;
+
+	public BatchListenerLane(BatchStreamListener listener, int capacity, int maxSize, long maxLatency, ThreadFactory threadFactory) {
+		super(listener, capacity, maxSize, threadFactory);
+		this.batchListener = listener;
+		this.maxSize = maxSize;
+		this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatency);
+		this.tweets = new ArrayList<Tweet>(maxSize);
+		this.deletes = new ArrayList<StreamDeleteEvent>();
+		this.limits = new ArrayList<Integer>();
+	}
+
+	@Override
+	public void run() {
+		long deadline = 0;
+		while (active) {
+			Object message;
+			try {
+				if (pending == 0) {
+					message = queue.take();
+					deadline = System.nanoTime() + maxLatencyNanos;
+				} else {
+					long wait = deadline - System.nanoTime();
+					message = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+				}
+			} catch (InterruptedException e) {
+				flush();
+				return;
+			}
+			if (message == null) {
+				flush();
+			} else if (message instanceof Tweet) {
+				tweets.add((Tweet) message);
+				added(tweets.size());
+			} else if (message instanceof StreamDeleteEvent) {
+				deletes.add((StreamDeleteEvent) message);
+				added(deletes.size());
+			} else if (message instanceof TrackLimitEvent) {
+				limits.add(((TrackLimitEvent) message).getNumberOfLimitedTweets());
+				added(limits.size());
+			} else {
+				flush();
+				deliver(message);
+			}
+		}
+	}
+
+	private void added(int batchSize) {
+		pending++;
+		if (batchSize >= maxSize) {
+			flush();
+		}
+	}
+
+	private void flush() {
+		if (pending == 0) {
+			return;
+		}
+		pending = 0;
+		// each batch is handed over on its own, so that one the listener fails on doesn't hold back the others
+		if (!tweets.isEmpty()) {
+			List<Tweet> batch = tweets;
+			tweets = new ArrayList<Tweet>(maxSize);
+			try {
+				batchListener.onTweets(batch);
+			} catch (RuntimeException e) {
+				logger.warn("Batch stream listener threw an exception while handling a batch of tweets", e);
+			}
+		}
+		if (!deletes.isEmpty()) {
+			List<StreamDeleteEvent> batch = deletes;
+			deletes = new ArrayList<StreamDeleteEvent>();
+			try {
+				batchListener.onDeletes(batch);
+			} catch (RuntimeException e) {
+				logger.warn("Batch stream listener threw an exception while handling a batch of deletes", e);
+			}
+		}
+		if (!limits.isEmpty()) {
+			List<Integer> batch = limits;
+			limits = new ArrayList<Integer>();
+			try {
+				batchListener.onLimits(batch);
+			} catch (RuntimeException e) {
+				logger.warn("Batch stream listener threw an exception while handling a batch of limit notices", e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.social.twitter.api.Entities;
+import org.springframework.social.twitter.api.FilterStreamParameters;
+import org.springframework.social.twitter.api.MentionEntity;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.UrlEntity;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Decides locally which of many filter subscriptions a tweet belongs to, approximating Twitter's own matching rules
+ * closely enough to route tweets from a shared connection.
+ * A tweet matches a subscription if it matches any of its track phrases, follow ids or location boxes and, when the
+ * subscription names languages, is in one of them.
+ * A track phrase matches when every one of its space-separated terms appears, case-insensitively and on word boundaries,
+ * in the tweet's text, mentioned screen names or URLs. Only geotagged tweets are matched against locations.
+ * <p>
+ * All subscriptions are compiled into shared indexes: an Aho-Corasick automaton over every track term, a hash table of
+ * follow ids, and a one-degree grid of location boxes. The cost of matching a tweet depends on the tweet and on how many
+ * terms, ids and boxes it hits, not on how many subscriptions there are. Instances are immutable and thread-safe.
+ */
+class FilterMatcher<T> {
+
+	private final List<T> subscribers;
+
+	private final List<Set<String>> subscriberLanguages;
+
+	private final TermAutomaton terms;
+
+	private final int[][] termPhrases;
+
+	private final int[] phraseSizes;
+
+	private final int[] phraseSubscribers;
+
+	private final LongIntsMap follow;
+
+	private final LocationGrid locations;
+
+	private final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+		protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+
+	public FilterMatcher(Map<T, FilterStreamParameters> subscriptions) {
+		subscribers = new ArrayList<T>(subscriptions.size());
+		subscriberLanguages = new ArrayList<Set<String>>(subscriptions.size());
+		Map<String, Integer> termIds = new HashMap<String, Integer>();
+		List<List<Integer>> termPhraseLists = new ArrayList<List<Integer>>();
+		List<Integer> sizes = new ArrayList<Integer>();
+		List<Integer> phraseOwners = new ArrayList<Integer>();
+		Map<Long, List<Integer>> followIds = new HashMap<Long, List<Integer>>();
+		List<float[]> boxes = new ArrayList<float[]>();
+		List<Integer> boxOwners = new ArrayList<Integer>();
+		for (Map.Entry<T, FilterStreamParameters> subscription : subscriptions.entrySet()) {
+			int subscriber = subscribers.size();
+			subscribers.add(subscription.getKey());
+			MultiValueMap<String, String> parameterMap = subscription.getValue().toParameterMap();
+			for (String phrase : split(parameterMap.getFirst("track"))) {
+				Set<String> phraseTerms = new LinkedHashSet<String>(Arrays.asList(phrase.toLowerCase(Locale.ROOT).split("\\s+")));
+				int phraseId = sizes.size();
+				sizes.add(phraseTerms.size());
+				phraseOwners.add(subscriber);
+				for (String term : phraseTerms) {
+					Integer termId = termIds.get(term);
+					if (termId == null) {
+						termId = termIds.size();
+						termIds.put(term, termId);
+						termPhraseLists.add(new ArrayList<Integer>());
+					}
+					termPhraseLists.get(termId).add(phraseId);
+				}
+			}
+			for (String id : split(parameterMap.getFirst("follow"))) {
+				Long followId = Long.valueOf(id);
+				List<Integer> followers = followIds.get(followId);
+				if (followers == null) {
+					followers = new ArrayList<Integer>(1);
+					followIds.put(followId, followers);
+				}
+				followers.add(subscriber);
+			}
+			List<String> coordinates = split(parameterMap.getFirst("locations"));
+			for (int i = 0; i + 3 < coordinates.size(); i += 4) {
+				boxes.add(new float[] { Float.parseFloat(coordinates.get(i)), Float.parseFloat(coordinates.get(i + 1)),
+						Float.parseFloat(coordinates.get(i + 2)), Float.parseFloat(coordinates.get(i + 3)) });
+				boxOwners.add(subscriber);
+			}
+			List<String> languages = split(parameterMap.getFirst("language"));
+			subscriberLanguages.add(languages.isEmpty() ? null : new LinkedHashSet<String>(languages));
+		}
+		terms = termIds.isEmpty() ? null : new TermAutomaton(termIds);
+		termPhrases = new int[termPhraseLists.size()][];
+		for (int i = 0; i < termPhrases.length; i++) {
+			termPhrases[i] = toIntArray(termPhraseLists.get(i));
+		}
+		phraseSizes = toIntArray(sizes);
+		phraseSubscribers = toIntArray(phraseOwners);
+		follow = followIds.isEmpty() ? null : new LongIntsMap(followIds);
+		locations = boxes.isEmpty() ? null : new LocationGrid(boxes, toIntArray(boxOwners));
+	}
+
+	/**
+	 * @return the subscribers whose filters the tweet matches, in the order their subscriptions were given
+	 */
+	public List<T> match(Tweet tweet) {
+		Scratch scratch = this.scratch.get();
+		scratch.begin();
+		if (follow != null) {
+			matchFollow(tweet, scratch);
+		}
+		if (locations != null && tweet.getLatitude() != null && tweet.getLongitude() != null) {
+			locations.match(tweet.getLongitude(), tweet.getLatitude(), this, tweet, scratch);
+		}
+		if (terms != null) {
+			terms.match(searchText(tweet), this, tweet, scratch);
+		}
+		Arrays.sort(scratch.matched, 0, scratch.matchedCount);
+		List<T> matched = new ArrayList<T>(scratch.matchedCount);
+		for (int i = 0; i < scratch.matchedCount; i++) {
+			matched.add(subscribers.get(scratch.matched[i]));
+		}
+		return matched;
+	}
+
+	private void matchFollow(Tweet tweet, Scratch scratch) {
+		markAll(follow.get(tweet.getFromUserId()), tweet, scratch);
+		if (tweet.getInReplyToUserId() != null) {
+			markAll(follow.get(tweet.getInReplyToUserId()), tweet, scratch);
+		}
+		if (tweet.getRetweetedStatus() != null) {
+			markAll(follow.get(tweet.getRetweetedStatus().getFromUserId()), tweet, scratch);
+		}
+	}
+
+	private void termMatched(int term, Tweet tweet, Scratch scratch) {
+		if (scratch.termMarks[term] == scratch.epoch) {
+			return;
+		}
+		scratch.termMarks[term] = scratch.epoch;
+		for (int phrase : termPhrases[term]) {
+			if (scratch.phraseMarks[phrase] != scratch.epoch) {
+				scratch.phraseMarks[phrase] = scratch.epoch;
+				scratch.phraseCounts[phrase] = 0;
+			}
+			if (++scratch.phraseCounts[phrase] == phraseSizes[phrase]) {
+				mark(phraseSubscribers[phrase], tweet, scratch);
+			}
+		}
+	}
+
+	private void markAll(int[] subscribers, Tweet tweet, Scratch scratch) {
+		if (subscribers != null) {
+			for (int subscriber : subscribers) {
+				mark(subscriber, tweet, scratch);
+			}
+		}
+	}
+
+	private void mark(int subscriber, Tweet tweet, Scratch scratch) {
+		if (scratch.subscriberMarks[subscriber] == scratch.epoch) {
+			return;
+		}
+		Set<String> languages = subscriberLanguages.get(subscriber);
+		if (languages != null && !languages.contains(tweet.getLanguageCode())) {
+			return;
+		}
+		scratch.subscriberMarks[subscriber] = scratch.epoch;
+		scratch.matched[scratch.matchedCount++] = subscriber;
+	}
+
+	/**
+	 * Builds the lowercased text track terms are searched for in: the tweet's text followed by
+	 * its mentioned screen names and URLs, each on a line of its own. The text is missing from tweets read without it.
+	 */
+	static String searchText(Tweet tweet) {
+		String tweetText = tweet.getText() != null ? tweet.getText() : "";
+		StringBuilder text = new StringBuilder(tweetText.length() + 64);
+		text.append(tweetText);
+		Entities entities = tweet.getEntities();
+		if (entities != null) {
+			for (MentionEntity mention : entities.getMentions()) {
+				text.append('\n').append(mention.getScreenName());
+			}
+			for (UrlEntity url : entities.getUrls()) {
+				if (url.getExpandedUrl() != null) {
+					text.append('\n').append(url.getExpandedUrl());
+				}
+				if (url.getDisplayUrl() != null) {
+					text.append('\n').append(url.getDisplayUrl());
+				}
+			}
+		}
+		return text.toString().toLowerCase(Locale.ROOT);
+	}
+
+	static List<String> split(String value) {
+		List<String> values = new ArrayList<String>();
+		if (value != null) {
+			for (String element : value.split(",")) {
+				element = element.trim();
+				if (!element.isEmpty()) {
+					values.add(element);
+				}
+			}
+		}
+		return values;
+	}
+
+	private static int[] toIntArray(List<Integer> values) {
+		int[] array = new int[values.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = values.get(i);
+		}
+		return array;
+	}
+
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+	/**
+	 * Per-thread working state for one match. Entries are valid only where their mark equals the current epoch,
+	 * so nothing needs clearing between tweets.
+	 */
+	private class Scratch {
+
+		int epoch;
+
+		int matchedCount;
+
+		final int[] subscriberMarks = new int[subscribers.size()];
+
+		final int[] matched = new int[subscribers.size()];
+
+		final int[] termMarks = new int[termPhrases.length];
+
+		final int[] phraseMarks = new int[phraseSizes.length];
+
+		final int[] phraseCounts = new int[phraseSizes.length];
+
+		void begin() {
+			if (++epoch == 0) {
+				Arrays.fill(subscriberMarks, 0);
+				Arrays.fill(termMarks, 0);
+				Arrays.fill(phraseMarks, 0);
+				epoch = 1;
+			}
+			matchedCount = 0;
+		}
+
+	}
+
+	/**
+	 * Aho-Corasick automaton over the track terms. Each node's outgoing edges are kept as a sorted array of characters
+	 * searched by bisection, and each node links to the nearest node along its failure chain that ends a term.
+	 */
+	private static class TermAutomaton {
+
+		private final char[][] labels;
+
+		private final int[][] targets;
+
+		private final int[] failure;
+
+		private final int[] terms;
+
+		private final int[] termLengths;
+
+		private final int[] outputLinks;
+
+		TermAutomaton(Map<String, Integer> termIds) {
+			List<Map<Character, Integer>> edges = new ArrayList<Map<Character, Integer>>();
+			List<Integer> nodeTerms = new ArrayList<Integer>();
+			edges.add(new HashMap<Character, Integer>());
+			nodeTerms.add(-1);
+			termLengths = new int[termIds.size()];
+			for (Map.Entry<String, Integer> term : termIds.entrySet()) {
+				String text = term.getKey();
+				int node = 0;
+				for (int i = 0; i < text.length(); i++) {
+					Integer next = edges.get(node).get(text.charAt(i));
+					if (next == null) {
+						next = edges.size();
+						edges.add(new HashMap<Character, Integer>());
+						nodeTerms.add(-1);
+						edges.get(node).put(text.charAt(i), next);
+					}
+					node = next;
+				}
+				nodeTerms.set(node, term.getValue());
+				termLengths[term.getValue()] = text.length();
+			}
+			int size = edges.size();
+			labels = new char[size][];
+			targets = new int[size][];
+			terms = toIntArray(nodeTerms);
+			for (int node = 0; node < size; node++) {
+				Character[] chars = edges.get(node).keySet().toArray(new Character[0]);
+				Arrays.sort(chars);
+				labels[node] = new char[chars.length];
+				targets[node] = new int[chars.length];
+				for (int i = 0; i < chars.length; i++) {
+					labels[node][i] = chars[i];
+					targets[node][i] = edges.get(node).get(chars[i]);
+				}
+			}
+			failure = new int[size];
+			outputLinks = new int[size];
+			Arrays.fill(outputLinks, -1);
+			int[] queue = new int[size];
+			int head = 0;
+			int tail = 0;
+			for (int child : targets[0]) {
+				queue[tail++] = child;
+			}
+			while (head < tail) {
+				int node = queue[head++];
+				for (int i = 0; i < labels[node].length; i++) {
+					char c = labels[node][i];
+					int child = targets[node][i];
+					int fallback = failure[node];
+					int next = step(fallback, c);
+					while (next < 0 && fallback != 0) {
+						fallback = failure[fallback];
+						next = step(fallback, c);
+					}
+					failure[child] = next < 0 ? 0 : next;
+					outputLinks[child] = terms[failure[child]] >= 0 ? failure[child] : outputLinks[failure[child]];
+					queue[tail++] = child;
+				}
+			}
+		}
+
+		<T> void match(String text, FilterMatcher<T> matcher, Tweet tweet, FilterMatcher<T>.Scratch scratch) {
+			int node = 0;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				int next = step(node, c);
+				while (next < 0 && node != 0) {
+					node = failure[node];
+					next = step(node, c);
+				}
+				node = next < 0 ? 0 : next;
+				for (int output = terms[node] >= 0 ? node : outputLinks[node]; output >= 0; output = outputLinks[output]) {
+					int term = terms[output];
+					int start = i - termLengths[term] + 1;
+					if ((start == 0 || !isWordChar(text.charAt(start - 1))) && (i + 1 == text.length() || !isWordChar(text.charAt(i + 1)))) {
+						matcher.termMatched(term, tweet, scratch);
+					}
+				}
+			}
+		}
+
+		private int step(int node, char c) {
+			int index = Arrays.binarySearch(labels[node], c);
+			return index >= 0 ? targets[node][index] : -1;
+		}
+
+	}
+
+	/**
+	 * Open-addressing hash table from user ids to the subscribers following them, with no boxing on lookup.
+	 */
+	private static class LongIntsMap {
+
+		private final long[] keys;
+
+		private final int[][] values;
+
+		private final int mask;
+
+		private int[] zeroValue;
+
+		LongIntsMap(Map<Long, List<Integer>> entries) {
+			int capacity = Integer.highestOneBit(Math.max(entries.size() * 2, 2) - 1) << 1;
+			keys = new long[capacity];
+			values = new int[capacity][];
+			mask = capacity - 1;
+			for (Map.Entry<Long, List<Integer>> entry : entries.entrySet()) {
+				long key = entry.getKey();
+				if (key == 0) {
+					zeroValue = toIntArray(entry.getValue());
+					continue;
+				}
+				int slot = hash(key) & mask;
+				while (keys[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = toIntArray(entry.getValue());
+			}
+		}
+
+		int[] get(long key) {
+			if (key == 0) {
+				return zeroValue;
+			}
+			for (int slot = hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+				if (keys[slot] == key) {
+					return values[slot];
+				}
+			}
+			return null;
+		}
+
+		private static int hash(long key) {
+			key ^= key >>> 33;
+			key *= 0xff51afd7ed558ccdL;
+			key ^= key >>> 33;
+			return (int) key;
+		}
+
+	}
+
+	/**
+	 * Location boxes indexed by the one-degree cells of longitude and latitude they overlap.
+	 */
+	private static class LocationGrid {
+
+		private final float[][] boxes;
+
+		private final int[] boxSubscribers;
+
+		private final int[][] cells = new int[360 * 180][];
+
+		LocationGrid(List<float[]> boxes, int[] boxSubscribers) {
+			this.boxes = boxes.toArray(new float[boxes.size()][]);
+			this.boxSubscribers = boxSubscribers;
+			List<List<Integer>> cellBoxes = new ArrayList<List<Integer>>(cells.length);
+			for (int i = 0; i < cells.length; i++) {
+				cellBoxes.add(null);
+			}
+			for (int box = 0; box < this.boxes.length; box++) {
+				float[] bounds = this.boxes[box];
+				for (int column = column(bounds[0]); column <= column(bounds[2]); column++) {
+					for (int row = row(bounds[1]); row <= row(bounds[3]); row++) {
+						int cell = row * 360 + column;
+						if (cellBoxes.get(cell) == null) {
+							cellBoxes.set(cell, new ArrayList<Integer>(1));
+						}
+						cellBoxes.get(cell).add(box);
+					}
+				}
+			}
+			for (int i = 0; i < cells.length; i++) {
+				if (cellBoxes.get(i) != null) {
+					cells[i] = toIntArray(cellBoxes.get(i));
+				}
+			}
+		}
+
+		<T> void match(double longitude, double latitude, FilterMatcher<T> matcher, Tweet tweet, FilterMatcher<T>.Scratch scratch) {
+			int[] candidates = cells[row(latitude) * 360 + column(longitude)];
+			if (candidates == null) {
+				return;
+			}
+			for (int box : candidates) {
+				float[] bounds = boxes[box];
+				if (longitude >= bounds[0] && latitude >= bounds[1] && longitude <= bounds[2] && latitude <= bounds[3]) {
+					matcher.mark(boxSubscribers[box], tweet, scratch);
+				}
+			}
+		}
+
+		private static int column(double longitude) {
+			return Math.max(0, Math.min(359, (int) Math.floor(longitude) + 180));
+		}
+
+		private static int row(double latitude) {
+			return Math.max(0, Math.min(179, (int) Math.floor(latitude) + 90));
+		}
+
+	}
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.social.twitter.api.FilterStreamParameters;
+import org.springframework.social.twitter.api.Stream;
+import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.StreamDisconnectEvent;
+import org.springframework.social.twitter.api.StreamListener;
+import org.springframework.social.twitter.api.StreamScrubGeoEvent;
+import org.springframework.social.twitter.api.StreamStats;
+import org.springframework.social.twitter.api.StreamStatusWithheldEvent;
+import org.springframework.social.twitter.api.StreamUserWithheldEvent;
+import org.springframework.social.twitter.api.StreamWarningEvent;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Serves many logical filter subscriptions from one physical filter stream.
+ * The physical stream is opened with the union of all subscriptions' parameters, and a single listener on it routes each tweet
+ * to the subscriptions whose parameters match it, using a {@link FilterMatcher} compiled from every subscription.
+ * Changes to the set of subscriptions are coalesced: a reconnect is scheduled no sooner than the reconnect interval
+ * after the previous one, and picks up every change made in the meantime.
+ * As Twitter allows an account one filter connection at a time, a reconnect waits for the previous connection to be closed
+ * before opening the next, and a subscription that would take the union past the connection's limits on track terms,
+ * follow ids or location boxes is rejected.
+ */
+abstract class FilterStreamMultiplexer {
+
+	private final static Log logger = LogFactory.getLog(FilterStreamMultiplexer.class);
+
+	private static final long CLOSE_TIMEOUT = 10000;
+
+	// the most a filter connection accepts of each
+	static final int MAX_TRACK_TERMS = 400;
+
+	static final int MAX_FOLLOW_IDS = 5000;
+
+	static final int MAX_LOCATIONS = 25;
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+	private volatile FilterMatcher<Subscription> matcher = new FilterMatcher<Subscription>(Collections.<Subscription, FilterStreamParameters>emptyMap());
+
+	private final StreamListener router = new Router();
+
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	private final long reconnectInterval;
+
+	private Stream connection;
+
+	private ScheduledFuture<?> pendingReconnect;
+
+	private long lastConnected;
+
+	public FilterStreamMultiplexer(long reconnectInterval) {
+		this(reconnectInterval, Executors.defaultThreadFactory());
+	}
+
+	public FilterStreamMultiplexer(long reconnectInterval, ThreadFactory threadFactory) {
+		this.reconnectInterval = reconnectInterval;
+		this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+		this.scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+		this.scheduler.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Adds a subscription, to be included in the shared connection at the next reconnect.
+	 * @return a stream that removes the subscription when closed
+	 * @throws IllegalStateException if the subscription would take the shared connection past its limits
+	 */
+	public Stream subscribe(FilterStreamParameters parameters, List<StreamListener> listeners) {
+		Subscription subscription = new Subscription(parameters, listeners);
+		subscription.open();
+		return subscription;
+	}
+
+	/**
+	 * Opens the physical filter stream.
+	 */
+	protected abstract Stream connect(FilterStreamParameters parameters, StreamListener listener);
+
+	private synchronized void add(Subscription subscription) {
+		List<Subscription> merged = new ArrayList<Subscription>(subscriptions);
+		merged.add(subscription);
+		checkLimits(mergeParameters(merged));
+		subscriptions.add(subscription);
+		subscriptionsChanged();
+	}
+
+	private synchronized void remove(Subscription subscription) {
+		subscriptions.remove(subscription);
+		subscriptionsChanged();
+	}
+
+	private void subscriptionsChanged() {
+		// routing follows the change at once, while the connection catches up at the next reconnect
+		Map<Subscription, FilterStreamParameters> filters = new LinkedHashMap<Subscription, FilterStreamParameters>();
+		for (Subscription subscription : subscriptions) {
+			filters.put(subscription, subscription.parameters);
+		}
+		matcher = new FilterMatcher<Subscription>(filters);
+		scheduleReconnect();
+	}
+
+	private synchronized void scheduleReconnect() {
+		if (pendingReconnect != null) {
+			return;
+		}
+		long delay = Math.max(0, lastConnected + reconnectInterval - System.currentTimeMillis());
+		pendingReconnect = scheduler.schedule(new Runnable() {
+			public void run() {
+				reconnect();
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void reconnect() {
+		Stream previous;
+		synchronized (this) {
+			pendingReconnect = null;
+			previous = connection;
+			connection = null;
+		}
+		if (previous != null) {
+			// Twitter allows one filter connection per account, so the old one has to be gone before the new one is opened
+			previous.close();
+			if (previous instanceof ThreadedStreamConsumer && !((ThreadedStreamConsumer) previous).awaitTermination(CLOSE_TIMEOUT)) {
+				logger.warn("The shared filter stream's previous connection wasn't closed within " + CLOSE_TIMEOUT + "ms; reconnecting anyway");
+			}
+		}
+		synchronized (this) {
+			if (!subscriptions.isEmpty()) {
+				connection = connect(mergeParameters(subscriptions), router);
+				lastConnected = System.currentTimeMillis();
+			}
+		}
+	}
+
+	private synchronized int getQueueDepth() {
+		return connection != null ? connection.getQueueDepth() : 0;
+	}
+
+	private synchronized double getPercentFull() {
+		return connection != null ? connection.getPercentFull() : 0;
+	}
+
+	private synchronized StreamStats getStats() {
+		return connection != null ? connection.getStats() : new StreamStats(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+	}
+
+	private static void checkLimits(FilterStreamParameters merged) {
+		MultiValueMap<String, String> parameterMap = merged.toParameterMap();
+		checkLimit(FilterMatcher.split(parameterMap.getFirst("track")).size(), MAX_TRACK_TERMS, "track terms");
+		checkLimit(FilterMatcher.split(parameterMap.getFirst("follow")).size(), MAX_FOLLOW_IDS, "follow ids");
+		checkLimit(FilterMatcher.split(parameterMap.getFirst("locations")).size() / 4, MAX_LOCATIONS, "location boxes");
+	}
+
+	private static void checkLimit(int count, int limit, String what) {
+		if (count > limit) {
+			throw new IllegalStateException("The shared filter stream can't take this subscription, as it would have " + count + " " + what + " where Twitter allows " + limit);
+		}
+	}
+
+	static FilterStreamParameters mergeParameters(List<Subscription> subscriptions) {
+		Set<String> track = new LinkedHashSet<String>();
+		Set<String> follow = new LinkedHashSet<String>();
+		Set<String> locations = new LinkedHashSet<String>();
+		Set<String> languages = new LinkedHashSet<String>();
+		boolean anyLanguage = false;
+		boolean stallWarnings = false;
+		for (Subscription subscription : subscriptions) {
+			MultiValueMap<String, String> parameterMap = subscription.parameters.toParameterMap();
+			track.addAll(FilterMatcher.split(parameterMap.getFirst("track")));
+			follow.addAll(FilterMatcher.split(parameterMap.getFirst("follow")));
+			List<String> coordinates = FilterMatcher.split(parameterMap.getFirst("locations"));
+			for (int i = 0; i + 3 < coordinates.size(); i += 4) {
+				locations.add(StringUtils.collectionToCommaDelimitedString(coordinates.subList(i, i + 4)));
+			}
+			List<String> subscriptionLanguages = FilterMatcher.split(parameterMap.getFirst("language"));
+			anyLanguage |= subscriptionLanguages.isEmpty();
+			languages.addAll(subscriptionLanguages);
+			stallWarnings |= parameterMap.containsKey("stall_warnings");
+		}
+		FilterStreamParameters merged = new FilterStreamParameters();
+		for (String term : track) {
+			merged.track(term);
+		}
+		for (String id : follow) {
+			merged.follow(Long.parseLong(id));
+		}
+		for (String box : locations) {
+			String[] coordinates = box.split(",");
+			merged.addLocation(Float.parseFloat(coordinates[0]), Float.parseFloat(coordinates[1]),
+					Float.parseFloat(coordinates[2]), Float.parseFloat(coordinates[3]));
+		}
+		if (!anyLanguage) {
+			merged.language(StringUtils.collectionToCommaDelimitedString(languages));
+		}
+		merged.stallWarnings(stallWarnings);
+		return merged;
+	}
+
+	private class Subscription implements Stream {
+
+		private final FilterStreamParameters parameters;
+
+		private final List<StreamListener> listeners;
+
+		private boolean open;
+
+		Subscription(FilterStreamParameters parameters, List<StreamListener> listeners) {
+			this.parameters = parameters;
+			this.listeners = listeners;
+		}
+
+		public synchronized void open() {
+			if (!open) {
+				add(this);
+				open = true;
+			}
+		}
+
+		public synchronized void close() {
+			if (open) {
+				open = false;
+				remove(this);
+			}
+		}
+
+		public int getQueueDepth() {
+			return FilterStreamMultiplexer.this.getQueueDepth();
+		}
+
+		public double getPercentFull() {
+			return FilterStreamMultiplexer.this.getPercentFull();
+		}
+
+		/**
+		 * @return the statistics of the shared connection, which serves every subscription
+		 */
+		public StreamStats getStats() {
+			return FilterStreamMultiplexer.this.getStats();
+		}
+
+	}
+
+	/**
+	 * Routes tweets to the subscriptions they match, and everything else to every subscription.
+	 * A failing listener is logged and skipped so that it can't hold up the other subscriptions.
+	 */
+	private class Router implements StreamListener {
+
+		public void onTweet(final Tweet tweet) {
+			List<Subscription> matched;
+			try {
+				matched = matcher.match(tweet);
+			} catch (RuntimeException e) {
+				logger.warn("Couldn't route tweet " + tweet.getId() + " from the shared filter stream", e);
+				return;
+			}
+			forEachSubscriber(matched, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onTweet(tweet);
+				}
+			});
+		}
+
+		public void onDelete(final StreamDeleteEvent deleteEvent) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onDelete(deleteEvent);
+				}
+			});
+		}
+
+		public void onLimit(final int numberOfLimitedTweets) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onLimit(numberOfLimitedTweets);
+				}
+			});
+		}
+
+		public void onWarning(final StreamWarningEvent warningEvent) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onWarning(warningEvent);
+				}
+			});
+		}
+
+		public void onScrubGeo(final StreamScrubGeoEvent scrubGeoEvent) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onScrubGeo(scrubGeoEvent);
+				}
+			});
+		}
+
+		public void onStatusWithheld(final StreamStatusWithheldEvent withheldEvent) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onStatusWithheld(withheldEvent);
+				}
+			});
+		}
+
+		public void onUserWithheld(final StreamUserWithheldEvent withheldEvent) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onUserWithheld(withheldEvent);
+				}
+			});
+		}
+
+		public void onDisconnect(final StreamDisconnectEvent disconnectEvent) {
+			forEachSubscriber(subscriptions, new ListenerCallback() {
+				public void deliver(StreamListener listener) {
+					listener.onDisconnect(disconnectEvent);
+				}
+			});
+		}
+
+		private void forEachSubscriber(List<Subscription> subscribers, ListenerCallback callback) {
+			for (Subscription subscription : subscribers) {
+				for (StreamListener listener : subscription.listeners) {
+					try {
+						callback.deliver(listener);
+					} catch (RuntimeException e) {
+						logger.warn("Stream listener threw an exception while handling a message from the shared filter stream", e);
+					}
+				}
+			}
+		}
+
+	}
+
+	private interface ListenerCallback {
+
+		void deliver(StreamListener listener);
+
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.social.twitter.api.impl.FriendsListEvent.FriendsListEventDeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * The list of friend IDs sent at the start of a user stream.
+ * Reads both the numeric "friends" array and the "friends_str" array sent when stringify_friend_ids is set.
+ */
+@JsonDeserialize(using = FriendsListEventDeserializer.class)
+class FriendsListEvent {
+
+	private final List<Long> friendIds;
+
+	private FriendsListEvent(List<Long> friendIds) {
+		this.friendIds = friendIds;
+	}
+
+	public List<Long> getFriendIds() {
+		return friendIds;
+	}
+
+	static final class FriendsListEventDeserializer extends JsonDeserializer<FriendsListEvent> {
+		@Override
+		public FriendsListEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+			JsonNode friendsNode = jp.readValueAs(JsonNode.class);
+			List<Long> friendIds = new ArrayList<Long>(friendsNode.size());
+			for (JsonNode friendNode : friendsNode) {
+				friendIds.add(friendNode.asLong());
+			}
+			return new FriendsListEvent(friendIds);
+		}
+	}
+
+}
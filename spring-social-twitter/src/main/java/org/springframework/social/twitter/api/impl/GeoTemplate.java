@@ -79,9 +79,9 @@ public class GeoTemplate extends AbstractTwitterOperations implements GeoOperati
 		return restTemplate.postForObject("https://api.twitter.com/1.1/geo/place.json", request, Place.class);		
 	}
 	
-	// private helpers
+	// helpers, shared with ReactiveGeoTemplate
 	
-	private MultiValueMap<String, String> buildGeoParameters(double latitude, double longitude, PlaceType granularity, String accuracy, String query) {
+	static MultiValueMap<String, String> buildGeoParameters(double latitude, double longitude, PlaceType granularity, String accuracy, String query) {
 		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
 		parameters.set("lat", String.valueOf(latitude));
 		parameters.set("long", String.valueOf(longitude));
@@ -97,7 +97,7 @@ public class GeoTemplate extends AbstractTwitterOperations implements GeoOperati
 		return parameters;
 	}
 	
-	private MultiValueMap<String, String> buildPlaceParameters(double latitude, double longitude, String name, String streetAddress, String containedWithin) {
+	static MultiValueMap<String, String> buildPlaceParameters(double latitude, double longitude, String name, String streetAddress, String containedWithin) {
 		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
 		parameters.set("lat", String.valueOf(latitude));
 		parameters.set("long", String.valueOf(longitude));
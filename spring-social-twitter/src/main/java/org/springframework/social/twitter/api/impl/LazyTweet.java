@@ -0,0 +1,564 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.social.twitter.api.Entities;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * A tweet that keeps the raw JSON it was read from and decodes each property the first time it's asked for.
+ * Reading one only skims the top level of the message to note where each field's value starts; nested objects
+ * such as the user, entities and retweeted status are skipped over and only decoded if their getters are called.
+ * Decoded values are the same as {@link TweetDeserializer} would produce, and setters replace them as usual.
+ * Serializing a lazy tweet writes a fully decoded {@link Tweet} in its place.
+ */
+class LazyTweet extends Tweet {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient byte[] json;
+
+	private final transient int end;
+
+	// start and end of each known field's value, or -1 if the field is absent
+	private final transient int[] offsets;
+
+	// bit per field, set once the field has been decoded or set; guarded by this
+	private transient int decoded;
+
+	private transient String id;
+
+	private transient String text;
+
+	private transient Date createdAt;
+
+	private LazyTweet(byte[] json, int end, int[] offsets) {
+		super(null, null, null, null, null, null, 0, null, null);
+		this.json = json;
+		this.end = end;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * Skims the rest of a tweet object whose first field name the parser is positioned at.
+	 * The parser must have been created over json from offset 0, and the tweet keeps json, so it must not be modified afterwards.
+	 * @param events keeps the fields of a user stream event
+	 * @return the lazy tweet, or null if the object is a user stream event or has no id or text
+	 */
+	static LazyTweet read(JsonParser parser, byte[] json, int end, StreamUserEventReader events) throws IOException {
+		return read(parser, json, 0, end, events);
+	}
+
+	// the parser reports byte offsets relative to start
+	private static LazyTweet read(JsonParser parser, byte[] json, int start, int end, StreamUserEventReader events) throws IOException {
+		int[] offsets = new int[FIELD_COUNT * 2];
+		Arrays.fill(offsets, -1);
+		boolean event = false;
+		for (JsonToken token = parser.getCurrentToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+			String name = parser.getCurrentName();
+			parser.nextToken();
+			Integer field = FIELDS.get(name);
+			if (events != null && events.readField(name, parser)) {
+				// kept for a user stream event
+			} else if (field != null) {
+				offsets[field * 2] = start + (int) parser.getTokenLocation().getByteOffset();
+				// numbers are the only scalars that need a delimiter after them to be read on their own
+				offsets[field * 2 + 1] = parser.getCurrentToken().isNumeric() ? start + (int) parser.getCurrentLocation().getByteOffset() : end;
+			} else if ("event".equals(name)) {
+				event = true;
+			}
+			parser.skipChildren();
+		}
+		int text = offsets[TEXT * 2];
+		if (event || (events != null && events.isEvent()) || offsets[ID * 2] < 0 || text < 0 || (json[text] == '"' && json[text + 1] == '"')) {
+			return null;
+		}
+		return new LazyTweet(json, end, offsets);
+	}
+
+	private static LazyTweet read(byte[] json, int start, int end) throws IOException {
+		JsonParser parser = TwitterObjectReaders.createParser(json, start, end - start);
+		try {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			parser.nextToken();
+			return read(parser, json, start, end, null);
+		} finally {
+			parser.close();
+		}
+	}
+
+	@Override
+	public String getId() {
+		decode(ID);
+		return id;
+	}
+
+	@Override
+	public String getText() {
+		decode(TEXT);
+		return text;
+	}
+
+	@Override
+	public String getUnmodifiedText() {
+		return isRetweet() ? getRetweetedStatus().getText() : getText();
+	}
+
+	@Override
+	public Date getCreatedAt() {
+		decode(CREATED_AT);
+		return createdAt;
+	}
+
+	@Override
+	public String getFromUser() {
+		decode(USER);
+		return super.getFromUser();
+	}
+
+	@Override
+	public void setFromUser(String fromUser) {
+		decode(USER);
+		super.setFromUser(fromUser);
+	}
+
+	@Override
+	public String getProfileImageUrl() {
+		decode(USER);
+		return super.getProfileImageUrl();
+	}
+
+	@Override
+	public void setProfileImageUrl(String profileImageUrl) {
+		decode(USER);
+		super.setProfileImageUrl(profileImageUrl);
+	}
+
+	@Override
+	public long getFromUserId() {
+		decode(USER);
+		return super.getFromUserId();
+	}
+
+	@Override
+	public void setFromUserId(long fromUserId) {
+		decode(USER);
+		super.setFromUserId(fromUserId);
+	}
+
+	@Override
+	public TwitterProfile getUser() {
+		decode(USER);
+		return super.getUser();
+	}
+
+	@Override
+	public void setUser(TwitterProfile user) {
+		decode(USER);
+		super.setUser(user);
+	}
+
+	@Override
+	public Long getToUserId() {
+		decode(IN_REPLY_TO_USER_ID);
+		return super.getToUserId();
+	}
+
+	@Override
+	public void setToUserId(Long toUserId) {
+		decode(IN_REPLY_TO_USER_ID);
+		super.setToUserId(toUserId);
+	}
+
+	@Override
+	public Long getInReplyToUserId() {
+		decode(IN_REPLY_TO_USER_ID);
+		return super.getInReplyToUserId();
+	}
+
+	@Override
+	public void setInReplyToUserId(Long inReplyToUserId) {
+		decode(IN_REPLY_TO_USER_ID);
+		super.setInReplyToUserId(inReplyToUserId);
+	}
+
+	@Override
+	public Long getInReplyToStatusId() {
+		decode(IN_REPLY_TO_STATUS_ID);
+		return super.getInReplyToStatusId();
+	}
+
+	@Override
+	public void setInReplyToStatusId(Long inReplyToStatusId) {
+		decode(IN_REPLY_TO_STATUS_ID);
+		super.setInReplyToStatusId(inReplyToStatusId);
+	}
+
+	@Override
+	public String getInReplyToScreenName() {
+		decode(IN_REPLY_TO_SCREEN_NAME);
+		return super.getInReplyToScreenName();
+	}
+
+	@Override
+	public void setInReplyToScreenName(String inReplyToScreenName) {
+		decode(IN_REPLY_TO_SCREEN_NAME);
+		super.setInReplyToScreenName(inReplyToScreenName);
+	}
+
+	@Override
+	public String getLanguageCode() {
+		decode(LANG);
+		return super.getLanguageCode();
+	}
+
+	@Override
+	public void setLanguageCode(String languageCode) {
+		decode(LANG);
+		super.setLanguageCode(languageCode);
+	}
+
+	@Override
+	public String getSource() {
+		decode(SOURCE);
+		return super.getSource();
+	}
+
+	@Override
+	public void setSource(String source) {
+		decode(SOURCE);
+		super.setSource(source);
+	}
+
+	@Override
+	public Integer getRetweetCount() {
+		decode(RETWEET_COUNT);
+		return super.getRetweetCount();
+	}
+
+	@Override
+	public void setRetweetCount(Integer retweetCount) {
+		decode(RETWEET_COUNT);
+		super.setRetweetCount(retweetCount);
+	}
+
+	@Override
+	public boolean isRetweeted() {
+		decode(RETWEETED);
+		return super.isRetweeted();
+	}
+
+	@Override
+	public void setRetweeted(boolean retweeted) {
+		decode(RETWEETED);
+		super.setRetweeted(retweeted);
+	}
+
+	@Override
+	public Tweet getRetweetedStatus() {
+		decode(RETWEETED_STATUS);
+		return super.getRetweetedStatus();
+	}
+
+	@Override
+	public void setRetweetedStatus(Tweet retweetedStatus) {
+		decode(RETWEETED_STATUS);
+		super.setRetweetedStatus(retweetedStatus);
+	}
+
+	@Override
+	public boolean isRetweet() {
+		return getRetweetedStatus() != null;
+	}
+
+	@Override
+	public boolean isFavorited() {
+		decode(FAVORITED);
+		return super.isFavorited();
+	}
+
+	@Override
+	public void setFavorited(boolean favorited) {
+		decode(FAVORITED);
+		super.setFavorited(favorited);
+	}
+
+	@Override
+	public Integer getFavoriteCount() {
+		decode(FAVORITE_COUNT);
+		return super.getFavoriteCount();
+	}
+
+	@Override
+	public void setFavoriteCount(Integer favoriteCount) {
+		decode(FAVORITE_COUNT);
+		super.setFavoriteCount(favoriteCount);
+	}
+
+	@Override
+	public Entities getEntities() {
+		decode(ENTITIES);
+		return super.getEntities();
+	}
+
+	@Override
+	public void setEntities(Entities entities) {
+		decode(ENTITIES);
+		super.setEntities(entities);
+	}
+
+	@Override
+	public boolean hasMentions() {
+		Entities entities = getEntities();
+		return entities != null && !entities.getMentions().isEmpty();
+	}
+
+	@Override
+	public boolean hasMedia() {
+		Entities entities = getEntities();
+		return entities != null && !entities.getMedia().isEmpty();
+	}
+
+	@Override
+	public boolean hasUrls() {
+		Entities entities = getEntities();
+		return entities != null && !entities.getUrls().isEmpty();
+	}
+
+	@Override
+	public boolean hasTags() {
+		Entities entities = getEntities();
+		return entities != null && !entities.getHashTags().isEmpty();
+	}
+
+	@Override
+	public Double getLatitude() {
+		decode(COORDINATES);
+		return super.getLatitude();
+	}
+
+	@Override
+	public void setLatitude(Double latitude) {
+		decode(COORDINATES);
+		super.setLatitude(latitude);
+	}
+
+	@Override
+	public Double getLongitude() {
+		decode(COORDINATES);
+		return super.getLongitude();
+	}
+
+	@Override
+	public void setLongitude(Double longitude) {
+		decode(COORDINATES);
+		super.setLongitude(longitude);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof LazyTweet && toTweet().equals(((LazyTweet) o).toTweet());
+	}
+
+	@Override
+	public int hashCode() {
+		return toTweet().hashCode();
+	}
+
+	/**
+	 * @return a plain Tweet with every property of this one decoded
+	 */
+	Tweet toTweet() {
+		Tweet tweet = new Tweet(getId(), getText(), getCreatedAt(), getFromUser(), getProfileImageUrl(), getToUserId(), getFromUserId(), getLanguageCode(), getSource());
+		tweet.setInReplyToStatusId(getInReplyToStatusId());
+		tweet.setInReplyToUserId(getInReplyToUserId());
+		tweet.setInReplyToScreenName(getInReplyToScreenName());
+		tweet.setRetweetCount(getRetweetCount());
+		tweet.setRetweeted(isRetweeted());
+		Tweet retweetedStatus = getRetweetedStatus();
+		tweet.setRetweetedStatus(retweetedStatus instanceof LazyTweet ? ((LazyTweet) retweetedStatus).toTweet() : retweetedStatus);
+		tweet.setFavorited(isFavorited());
+		tweet.setFavoriteCount(getFavoriteCount());
+		tweet.setEntities(getEntities());
+		tweet.setUser(getUser());
+		tweet.setLatitude(getLatitude());
+		tweet.setLongitude(getLongitude());
+		return tweet;
+	}
+
+	private Object writeReplace() throws ObjectStreamException {
+		return toTweet();
+	}
+
+	private synchronized void decode(int field) {
+		int bit = 1 << field;
+		if ((decoded & bit) != 0) {
+			return;
+		}
+		try {
+			decode(field, node(field));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to decode the " + FIELD_NAMES[field] + " of a tweet", e);
+		}
+		decoded |= bit;
+	}
+
+	// the same conversions as TweetReader
+	private void decode(int field, JsonNode node) throws IOException {
+		switch (field) {
+		case ID:
+			id = node.asText();
+			break;
+		case TEXT:
+			text = node.asText();
+			break;
+		case CREATED_AT:
+			createdAt = node.isMissingNode() ? null : TwitterDates.parseTimelineDate(node.asText());
+			break;
+		case USER:
+			if (!node.isMissingNode()) {
+				super.setFromUser(node.path("screen_name").asText());
+				super.setFromUserId(node.path("id").asLong());
+				super.setProfileImageUrl(node.path("profile_image_url").asText());
+				super.setUser(node.isNull() ? null : TwitterObjectReaders.PROFILE.<TwitterProfile>readValue(node));
+			}
+			break;
+		case IN_REPLY_TO_USER_ID:
+			super.setToUserId(node.isMissingNode() ? null : node.asLong());
+			super.setInReplyToUserId(node.isMissingNode() || node.isNull() ? null : node.asLong());
+			break;
+		case IN_REPLY_TO_STATUS_ID:
+			super.setInReplyToStatusId(node.isMissingNode() || node.isNull() ? null : node.asLong());
+			break;
+		case IN_REPLY_TO_SCREEN_NAME:
+			super.setInReplyToScreenName(node.asText());
+			break;
+		case LANG:
+			super.setLanguageCode(node.isMissingNode() || node.isNull() ? null : node.asText());
+			break;
+		case SOURCE:
+			super.setSource(node.isMissingNode() ? null : node.asText());
+			break;
+		case RETWEET_COUNT:
+			super.setRetweetCount(node.isMissingNode() || node.isNull() ? null : node.asInt());
+			break;
+		case RETWEETED:
+			super.setRetweeted(node.asBoolean());
+			break;
+		case RETWEETED_STATUS:
+			int start = offsets[RETWEETED_STATUS * 2];
+			super.setRetweetedStatus(start < 0 ? null : read(json, start, end));
+			break;
+		case FAVORITED:
+			super.setFavorited(node.asBoolean());
+			break;
+		case FAVORITE_COUNT:
+			super.setFavoriteCount(node.isMissingNode() || node.isNull() ? null : node.asInt());
+			break;
+		case ENTITIES:
+			if (!node.isMissingNode() && !node.isNull()) {
+				Entities entities = TwitterObjectReaders.ENTITIES.readValue(node);
+				entities.setTickerSymbols(TickerSymbolScanner.findTickerSymbols(getText()));
+				super.setEntities(entities);
+			}
+			break;
+		case COORDINATES:
+			JsonNode coordinates = node.path("coordinates");
+			if (coordinates.size() == 2) {
+				// GeoJSON order: longitude first
+				super.setLongitude(coordinates.get(0).asDouble());
+				super.setLatitude(coordinates.get(1).asDouble());
+			}
+			break;
+		}
+	}
+
+	private JsonNode node(int field) throws IOException {
+		int start = offsets[field * 2];
+		if (start < 0 || field == RETWEETED_STATUS) {
+			return MissingNode.getInstance();
+		}
+		JsonParser parser = TwitterObjectReaders.createParser(json, start, offsets[field * 2 + 1] - start);
+		try {
+			return TwitterObjectReaders.READER.readTree(parser);
+		} finally {
+			parser.close();
+		}
+	}
+
+	private static final int ID = 0;
+
+	private static final int TEXT = 1;
+
+	private static final int CREATED_AT = 2;
+
+	private static final int USER = 3;
+
+	private static final int IN_REPLY_TO_USER_ID = 4;
+
+	private static final int IN_REPLY_TO_STATUS_ID = 5;
+
+	private static final int IN_REPLY_TO_SCREEN_NAME = 6;
+
+	private static final int LANG = 7;
+
+	private static final int SOURCE = 8;
+
+	private static final int RETWEET_COUNT = 9;
+
+	private static final int RETWEETED = 10;
+
+	private static final int RETWEETED_STATUS = 11;
+
+	private static final int FAVORITED = 12;
+
+	private static final int FAVORITE_COUNT = 13;
+
+	private static final int ENTITIES = 14;
+
+	private static final int COORDINATES = 15;
+
+	private static final String[] FIELD_NAMES = { "id", "text", "created_at", "user", "in_reply_to_user_id", "in_reply_to_status_id",
+			"in_reply_to_screen_name", "lang", "source", "retweet_count", "retweeted", "retweeted_status", "favorited", "favorite_count",
+			"entities", "coordinates" };
+
+	private static final int FIELD_COUNT = FIELD_NAMES.length;
+
+	private static final Map<String, Integer> FIELDS = new HashMap<String, Integer>();
+
+	static {
+		for (int i = 0; i < FIELD_COUNT; i++) {
+			FIELDS.put(FIELD_NAMES[i], i);
+		}
+	}
+
+}
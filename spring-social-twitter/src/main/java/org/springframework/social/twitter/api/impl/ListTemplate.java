@@ -325,7 +325,7 @@ class ListTemplate extends AbstractTwitterOperations implements ListOperations {
 		}
 	}
 
-	private MultiValueMap<String, Object> buildListDataMap(String name,
+	static MultiValueMap<String, Object> buildListDataMap(String name,
 			String description, boolean isPublic) {
 		MultiValueMap<String, Object> request = new LinkedMultiValueMap<String, Object>();
 		request.set("name", name);
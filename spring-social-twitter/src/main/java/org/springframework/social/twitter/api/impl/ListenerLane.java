@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.social.twitter.api.StreamListener;
+
+/**
+ * A serial delivery lane for a single {@link StreamListener}.
+ * Parsed messages are queued as they are and delivered in order by one long-lived thread, which drains up to a batch of messages at a time.
+ */
+class ListenerLane implements Runnable {
+
+	final static Log logger = LogFactory.getLog(ListenerLane.class);
+
+	final StreamListener listener;
+
+	final BlockingQueue<Object> queue;
+
+	private final int batchSize;
+
+	private final Thread thread;
+
+	volatile boolean active = true;
+
+	public ListenerLane(StreamListener listener, int capacity, int batchSize, ThreadFactory threadFactory) {
+		this.listener = listener;
+		this.queue = new ArrayBlockingQueue<Object>(capacity);
+		this.batchSize = batchSize;
+		this.thread = threadFactory.newThread(this);
+	}
+
+	public void start() {
+		thread.start();
+	}
+
+	/**
+	 * Queues a message for the listener, waiting for room if the lane is full.
+	 */
+	public void put(Object message) throws InterruptedException {
+		queue.put(message);
+	}
+
+	/**
+	 * @return the number of messages waiting to be delivered to the listener
+	 */
+	public int size() {
+		return queue.size();
+	}
+
+	public void run() {
+		List<Object> batch = new ArrayList<Object>(batchSize);
+		while (active) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			queue.drainTo(batch, batchSize - 1);
+			for (int i = 0; i < batch.size(); i++) {
+				deliver(batch.get(i));
+			}
+			batch.clear();
+		}
+	}
+
+	void deliver(Object message) {
+		try {
+			StreamDispatcher.deliver(listener, message);
+		} catch (RuntimeException e) {
+			// a failing listener must not stop delivery of the messages that follow
+			logger.warn("Stream listener threw an exception while handling a message", e);
+		}
+	}
+
+	public void stop() {
+		active = false;
+		thread.interrupt();
+	}
+
+}
@@ -16,8 +16,6 @@
 package org.springframework.social.twitter.api.impl;
 
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
@@ -46,7 +44,7 @@ class LocalTrendsDeserializer extends JsonDeserializer<LocalTrendsHolder> {
 		Iterator<JsonNode> dayIt = node.iterator();
 		if(dayIt.hasNext()) {
 			JsonNode day = dayIt.next();
-			Date createdAt = toDate(day.get("created_at").asText());
+			Date createdAt = TwitterDates.parseIsoDate(day.get("created_at").asText());
 			JsonNode trendNodes = day.get("trends");
 			List<Trend> trends = new ArrayList<Trend>();
 			for(Iterator<JsonNode> trendsIt = trendNodes.iterator(); trendsIt.hasNext(); ) {
@@ -59,14 +57,5 @@ class LocalTrendsDeserializer extends JsonDeserializer<LocalTrendsHolder> {
 		
 		throw new JsonMappingException(jp, "Processing " + LocalTrendsHolder.class.getName());
 	}
-	
-	private static final String LOCAL_TREND_DATE_FORMAT = "yyyy-mm-dd'T'HH:mm:ss'Z'";
 
-	private static Date toDate(String dateString) {
-		try {
-			return new SimpleDateFormat(LOCAL_TREND_DATE_FORMAT).parse(dateString);
-		} catch (ParseException e) {
-			return null;
-		}
-	}
 }
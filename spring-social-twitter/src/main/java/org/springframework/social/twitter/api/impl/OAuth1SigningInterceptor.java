@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Signs requests with an OAuth 1.0a HMAC-SHA1 Authorization header, as the OAuth1 RestTemplate of an AbstractOAuth1ApiBinding does,
+ * for the templates a {@link TwitterTemplateFactory} creates and for {@link ReactiveTwitterTemplate}.
+ * Query parameters and the parameters of a form-encoded body are signed.
+ * The interceptor holds nothing but the credentials and the signing key built from them.
+ */
+class OAuth1SigningInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private final String consumerKey;
+
+	private final String accessToken;
+
+	private final SecretKeySpec signingKey;
+
+	OAuth1SigningInterceptor(String consumerKey, String consumerSecret, String accessToken, String accessTokenSecret) {
+		this.consumerKey = consumerKey;
+		this.accessToken = accessToken;
+		this.signingKey = new SecretKeySpec((encode(consumerSecret) + "&" + encode(accessTokenSecret)).getBytes(StandardCharsets.UTF_8), HMAC_SHA1);
+	}
+
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		MediaType contentType = request.getHeaders().getContentType();
+		boolean form = body.length > 0 && contentType != null && MediaType.APPLICATION_FORM_URLENCODED.includes(contentType);
+		request.getHeaders().set("Authorization", authorizationHeader(request.getMethod(), request.getURI(), form ? body : null));
+		return execution.execute(request, body);
+	}
+
+	/**
+	 * @param form the form-encoded body, or null if the request doesn't have one
+	 * @return the Authorization header for a request, with a new nonce and the current time
+	 */
+	String authorizationHeader(HttpMethod method, URI uri, byte[] form) {
+		return authorizationHeader(method, uri, form, nonce(), System.currentTimeMillis() / 1000);
+	}
+
+	String authorizationHeader(HttpMethod method, URI uri, byte[] form, String nonce, long timestamp) {
+		List<String[]> oauthParameters = new ArrayList<String[]>(7);
+		oauthParameters.add(new String[] { "oauth_consumer_key", consumerKey });
+		oauthParameters.add(new String[] { "oauth_nonce", nonce });
+		oauthParameters.add(new String[] { "oauth_signature_method", "HMAC-SHA1" });
+		oauthParameters.add(new String[] { "oauth_timestamp", Long.toString(timestamp) });
+		oauthParameters.add(new String[] { "oauth_token", accessToken });
+		oauthParameters.add(new String[] { "oauth_version", "1.0" });
+
+		List<String[]> parameters = new ArrayList<String[]>();
+		for (String[] parameter : oauthParameters) {
+			parameters.add(new String[] { encode(parameter[0]), encode(parameter[1]) });
+		}
+		addFormParameters(uri.getRawQuery(), parameters);
+		if (form != null) {
+			addFormParameters(new String(form, StandardCharsets.UTF_8), parameters);
+		}
+		Collections.sort(parameters, PARAMETER_ORDER);
+		StringBuilder normalized = new StringBuilder();
+		for (String[] parameter : parameters) {
+			if (normalized.length() > 0) {
+				normalized.append('&');
+			}
+			normalized.append(parameter[0]).append('=').append(parameter[1]);
+		}
+		String baseString = method.name() + "&" + encode(baseStringUri(uri)) + "&" + encode(normalized.toString());
+		oauthParameters.add(new String[] { "oauth_signature", sign(baseString) });
+
+		StringBuilder header = new StringBuilder("OAuth ");
+		for (int i = 0; i < oauthParameters.size(); i++) {
+			if (i > 0) {
+				header.append(", ");
+			}
+			header.append(encode(oauthParameters.get(i)[0])).append("=\"").append(encode(oauthParameters.get(i)[1])).append('"');
+		}
+		return header.toString();
+	}
+
+	private String sign(String baseString) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_SHA1);
+			mac.init(signingKey);
+			return Base64.getEncoder().encodeToString(mac.doFinal(baseString.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to sign request with " + HMAC_SHA1, e);
+		}
+	}
+
+	private static void addFormParameters(String form, List<String[]> parameters) {
+		if (form == null || form.isEmpty()) {
+			return;
+		}
+		for (String pair : form.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int equals = pair.indexOf('=');
+			String name = equals < 0 ? pair : pair.substring(0, equals);
+			String value = equals < 0 ? "" : pair.substring(equals + 1);
+			parameters.add(new String[] { encode(decode(name)), encode(decode(value)) });
+		}
+	}
+
+	private static String baseStringUri(URI uri) {
+		String scheme = uri.getScheme().toLowerCase(Locale.ENGLISH);
+		StringBuilder builder = new StringBuilder(scheme).append("://").append(uri.getHost().toLowerCase(Locale.ENGLISH));
+		int port = uri.getPort();
+		if (port != -1 && !(scheme.equals("http") && port == 80) && !(scheme.equals("https") && port == 443)) {
+			builder.append(':').append(port);
+		}
+		return builder.append(uri.getRawPath()).toString();
+	}
+
+	private static String nonce() {
+		return Long.toHexString(RANDOM.nextLong()) + Long.toHexString(RANDOM.nextLong());
+	}
+
+	/**
+	 * Percent-encodes all but the RFC 3986 unreserved characters.
+	 */
+	static String encode(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		StringBuilder encoded = new StringBuilder(bytes.length + 16);
+		for (byte b : bytes) {
+			char c = (char) (b & 0xff);
+			if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '_' || c == '~') {
+				encoded.append(c);
+			} else {
+				encoded.append('%').append(HEX[c >> 4]).append(HEX[c & 0xf]);
+			}
+		}
+		return encoded.toString();
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final String HMAC_SHA1 = "HmacSHA1";
+
+	// encoded parameters, by name and then by value
+	private static final Comparator<String[]> PARAMETER_ORDER = new Comparator<String[]>() {
+		public int compare(String[] a, String[] b) {
+			int order = a[0].compareTo(b[0]);
+			return order != 0 ? order : a[1].compareTo(b[1]);
+		}
+	};
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+}
@@ -25,11 +25,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -50,11 +48,8 @@ class PlacesList {
 		@SuppressWarnings("unchecked")
 		@Override
 		public List<Place> deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-			ObjectMapper mapper = new ObjectMapper();
-			mapper.registerModule(new TwitterModule());
-			jp.setCodec(mapper);
-			JsonNode treeNode = jp.readValueAs(JsonNode.class).get("places");
-			return (List<Place>) mapper.readerFor(new TypeReference<List<Place>>() {}).readValue(treeNode);
+			JsonNode treeNode = TwitterObjectReaders.READER.<JsonNode>readTree(jp).get("places");
+			return (List<Place>) TwitterObjectReaders.PLACES.readValue(treeNode);
 		}
 	}
 }
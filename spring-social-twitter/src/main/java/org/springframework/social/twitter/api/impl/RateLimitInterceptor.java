@@ -0,0 +1,203 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.RateLimitExceededException;
+import org.springframework.social.twitter.api.RateLimitPolicy;
+import org.springframework.util.Assert;
+
+/**
+ * Tracks the calls remaining to each REST API endpoint from the x-rate-limit-remaining and x-rate-limit-reset headers on Twitter's responses,
+ * and applies a {@link RateLimitPolicy} to calls made to an endpoint whose limit has been used up.
+ * One interceptor is shared by a template's RestTemplates, so the budgets it keeps are those of the template's access token.
+ * Calls to the same endpoint from many threads each take one call from the budget as they're made, before Twitter's next count arrives.
+ * Budgets whose window has reset are dropped as new ones are added, so the budgets kept don't grow with the ids called.
+ */
+class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+	private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<String, Budget>();
+
+	private volatile RateLimitPolicy policy = RateLimitPolicy.IGNORE;
+
+	void setPolicy(RateLimitPolicy policy) {
+		Assert.notNull(policy, "Rate limit policy must not be null");
+		this.policy = policy;
+	}
+
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		String endpoint = endpoint(request.getURI());
+		Budget budget = budgets.get(endpoint);
+		if (budget != null) {
+			long wait = budget.take(System.currentTimeMillis());
+			if (wait > 0) {
+				RateLimitPolicy policy = this.policy;
+				if (policy == RateLimitPolicy.REJECT) {
+					throw new RateLimitExceededException("twitter");
+				} else if (policy == RateLimitPolicy.PACE) {
+					pause(wait);
+				}
+			}
+		}
+		ClientHttpResponse response = execution.execute(request, body);
+		HttpHeaders headers = response.getHeaders();
+		String remaining = headers.getFirst(REMAINING_HEADER);
+		String reset = headers.getFirst(RESET_HEADER);
+		if (remaining != null && reset != null) {
+			try {
+				if (budget == null) {
+					removeExpired(System.currentTimeMillis());
+					Budget created = new Budget();
+					budget = budgets.putIfAbsent(endpoint, created);
+					if (budget == null) {
+						budget = created;
+					}
+				}
+				budget.update(Integer.parseInt(remaining), Long.parseLong(reset));
+			} catch (NumberFormatException e) {
+				// leave the budget as it was
+			}
+		}
+		return response;
+	}
+
+	private void removeExpired(long now) {
+		for (Iterator<Budget> iterator = budgets.values().iterator(); iterator.hasNext(); ) {
+			if (iterator.next().isExpired(now)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * The endpoint as named in Twitter's rate limit status, such as "/statuses/show/:id" for /1.1/statuses/show/12345.json
+	 * or "/geo/id/:place_id" for /1.1/geo/id/df51dec6f4ee2b2c.json.
+	 */
+	static String endpoint(URI uri) {
+		String path = uri.getRawPath();
+		int start = path.startsWith(API_VERSION) ? API_VERSION.length() : 0;
+		int end = path.endsWith(".json") ? path.length() - 5 : path.length();
+		StringBuilder endpoint = new StringBuilder(end - start + 4);
+		int segment = start;
+		String parameter = null;
+		while (segment < end) {
+			int next = path.indexOf('/', segment + 1);
+			if (next < 0 || next > end) {
+				next = end;
+			}
+			if (parameter != null) {
+				endpoint.append(parameter);
+				parameter = null;
+			} else if (isNumeric(path, segment + 1, next)) {
+				endpoint.append("/:id");
+			} else {
+				endpoint.append(path, segment, next);
+				parameter = PATH_PARAMETERS.get(endpoint.toString());
+			}
+			segment = next;
+		}
+		return endpoint.toString();
+	}
+
+	private static boolean isNumeric(String path, int start, int end) {
+		if (start >= end) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			char c = path.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void pause(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RateLimitExceededException("twitter");
+		}
+	}
+
+	/**
+	 * An endpoint's calls remaining until its window resets, as Twitter last counted them less the calls made since.
+	 */
+	private static final class Budget {
+
+		private int remaining;
+
+		private long reset;
+
+		synchronized void update(int remaining, long reset) {
+			if (reset < this.reset) {
+				// a response from the previous window that was overtaken by one from this window
+				return;
+			}
+			this.remaining = reset == this.reset ? Math.min(this.remaining, remaining) : remaining;
+			this.reset = reset;
+		}
+
+		synchronized boolean isExpired(long now) {
+			return now >= reset * 1000;
+		}
+
+		/**
+		 * Takes a call from the budget.
+		 * @return 0 if the call may be made now, or the milliseconds until the window resets if the budget is used up
+		 */
+		synchronized long take(long now) {
+			long resetMillis = reset * 1000;
+			if (now >= resetMillis) {
+				return 0;
+			}
+			if (remaining > 0) {
+				remaining--;
+				return 0;
+			}
+			return resetMillis - now;
+		}
+
+	}
+
+	private static final String API_VERSION = "/1.1";
+
+	// resources whose next path segment is an id that isn't numeric, with the name Twitter gives it
+	private static final Map<String, String> PATH_PARAMETERS = new HashMap<String, String>();
+
+	static {
+		PATH_PARAMETERS.put("/geo/id", "/:place_id");
+		PATH_PARAMETERS.put("/users/suggestions", "/:slug");
+	}
+
+	private static final String REMAINING_HEADER = "x-rate-limit-remaining";
+
+	private static final String RESET_HEADER = "x-rate-limit-reset";
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.ReactiveBlockOperations;
+import org.springframework.social.twitter.api.TwitterProfile;
+
+import reactor.core.publisher.Mono;
+
+class ReactiveBlockTemplate extends AbstractReactiveTwitterOperations implements ReactiveBlockOperations {
+
+	public ReactiveBlockTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Mono<TwitterProfile> block(long userId) {
+		return withUserAuthorization(client.post(buildUri("blocks/create.json"), encodeForm("user_id", String.valueOf(userId)), objectOf(TwitterProfile.class)));
+	}
+
+	public Mono<TwitterProfile> block(String screenName) {
+		return withUserAuthorization(client.post(buildUri("blocks/create.json"), encodeForm("screen_name", screenName), objectOf(TwitterProfile.class)));
+	}
+
+	public Mono<TwitterProfile> unblock(long userId) {
+		return withUserAuthorization(client.post(buildUri("blocks/destroy.json"), encodeForm("user_id", String.valueOf(userId)), objectOf(TwitterProfile.class)));
+	}
+
+	public Mono<TwitterProfile> unblock(String screenName) {
+		return withUserAuthorization(client.post(buildUri("blocks/destroy.json"), encodeForm("screen_name", screenName), objectOf(TwitterProfile.class)));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getBlockedUsers() {
+		return getBlockedUsersInCursor(-1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getBlockedUsersInCursor(long cursor) {
+		return withUserAuthorization(client.get(buildUri("blocks/list.json", "cursor", String.valueOf(cursor)), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<Long>> getBlockedUserIds() {
+		return getBlockedUserIdsInCursor(-1);
+	}
+
+	public Mono<CursoredList<Long>> getBlockedUserIdsInCursor(long cursor) {
+		return withUserAuthorization(client.get(buildUri("blocks/ids.json", "cursor", String.valueOf(cursor)), CURSORED_IDS));
+	}
+
+}
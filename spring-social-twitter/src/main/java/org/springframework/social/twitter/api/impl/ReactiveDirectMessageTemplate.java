@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import org.springframework.social.twitter.api.DirectMessage;
+import org.springframework.social.twitter.api.ReactiveDirectMessageOperations;
+import org.springframework.util.MultiValueMap;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveDirectMessageTemplate extends AbstractReactiveTwitterOperations implements ReactiveDirectMessageOperations {
+
+	public ReactiveDirectMessageTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Flux<DirectMessage> getDirectMessagesReceived() {
+		return getDirectMessagesReceived(1, 20, 0, 0);
+	}
+
+	public Flux<DirectMessage> getDirectMessagesReceived(int page, int pageSize) {
+		return getDirectMessagesReceived(page, pageSize, 0, 0);
+	}
+
+	public Flux<DirectMessage> getDirectMessagesReceived(int page, int pageSize, long sinceId, long maxId) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(page, pageSize, sinceId, maxId);
+		return flux(withUserAuthorization(client.get(buildUri("direct_messages.json", parameters), objectOf(DirectMessageList.class))));
+	}
+
+	public Flux<DirectMessage> getDirectMessagesSent() {
+		return getDirectMessagesSent(1, 20, 0, 0);
+	}
+
+	public Flux<DirectMessage> getDirectMessagesSent(int page, int pageSize) {
+		return getDirectMessagesSent(page, pageSize, 0, 0);
+	}
+
+	public Flux<DirectMessage> getDirectMessagesSent(int page, int pageSize, long sinceId, long maxId) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(page, pageSize, sinceId, maxId);
+		return flux(withUserAuthorization(client.get(buildUri("direct_messages/sent.json", parameters), objectOf(DirectMessageList.class))));
+	}
+
+	public Mono<DirectMessage> getDirectMessage(long id) {
+		return withUserAuthorization(client.get(buildUri("direct_messages/show.json", "id", String.valueOf(id)), objectOf(DirectMessage.class)));
+	}
+
+	public Mono<DirectMessage> sendDirectMessage(String toScreenName, String text) {
+		byte[] form = encodeForm("screen_name", toScreenName, "text", text);
+		return withUserAuthorization(client.post(buildUri("direct_messages/new.json"), form, objectOf(DirectMessage.class)));
+	}
+
+	public Mono<DirectMessage> sendDirectMessage(long toUserId, String text) {
+		byte[] form = encodeForm("user_id", String.valueOf(toUserId), "text", text);
+		return withUserAuthorization(client.post(buildUri("direct_messages/new.json"), form, objectOf(DirectMessage.class)));
+	}
+
+	public Mono<Void> deleteDirectMessage(long messageId) {
+		return withUserAuthorization(client.post(buildUri("direct_messages/destroy.json"), encodeForm("id", String.valueOf(messageId)), NO_CONTENT));
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.ReactiveFriendOperations;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+
+import reactor.core.publisher.Mono;
+
+class ReactiveFriendTemplate extends AbstractReactiveTwitterOperations implements ReactiveFriendOperations {
+
+	public ReactiveFriendTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFriends() {
+		return getFriendsInCursor(-1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFriendsInCursor(long cursor) {
+		return withUserAuthorization(client.get(buildUri("friends/list.json", "cursor", String.valueOf(cursor)), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFriends(long userId) {
+		return getFriendsInCursor(userId, -1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFriendsInCursor(long userId, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("user_id", String.valueOf(userId));
+		return withUserOrAppAuthorization(client.get(buildUri("friends/list.json", parameters), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFriends(String screenName) {
+		return getFriendsInCursor(screenName, -1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFriendsInCursor(String screenName, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("screen_name", screenName);
+		return withUserOrAppAuthorization(client.get(buildUri("friends/list.json", parameters), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<Long>> getFriendIds() {
+		return getFriendIdsInCursor(-1);
+	}
+
+	public Mono<CursoredList<Long>> getFriendIdsInCursor(long cursor) {
+		return withUserAuthorization(client.get(buildUri("friends/ids.json", "cursor", String.valueOf(cursor)), CURSORED_IDS));
+	}
+
+	public Mono<CursoredList<Long>> getFriendIds(long userId) {
+		return getFriendIdsInCursor(userId, -1);
+	}
+
+	public Mono<CursoredList<Long>> getFriendIdsInCursor(long userId, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("user_id", String.valueOf(userId));
+		return withUserOrAppAuthorization(client.get(buildUri("friends/ids.json", parameters), CURSORED_IDS));
+	}
+
+	public Mono<CursoredList<Long>> getFriendIds(String screenName) {
+		return getFriendIdsInCursor(screenName, -1);
+	}
+
+	public Mono<CursoredList<Long>> getFriendIdsInCursor(String screenName, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("screen_name", screenName);
+		return withUserOrAppAuthorization(client.get(buildUri("friends/ids.json", parameters), CURSORED_IDS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFollowers() {
+		return getFollowersInCursor(-1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFollowersInCursor(long cursor) {
+		return withUserAuthorization(client.get(buildUri("followers/list.json", "cursor", String.valueOf(cursor)), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFollowers(long userId) {
+		return getFollowersInCursor(userId, -1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFollowersInCursor(long userId, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("user_id", String.valueOf(userId));
+		return withUserOrAppAuthorization(client.get(buildUri("followers/list.json", parameters), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFollowers(String screenName) {
+		return getFollowersInCursor(screenName, -1);
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getFollowersInCursor(String screenName, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("screen_name", screenName);
+		return withUserOrAppAuthorization(client.get(buildUri("followers/list.json", parameters), CURSORED_USERS));
+	}
+
+	public Mono<CursoredList<Long>> getFollowerIds() {
+		return getFollowerIdsInCursor(-1);
+	}
+
+	public Mono<CursoredList<Long>> getFollowerIdsInCursor(long cursor) {
+		return withUserAuthorization(client.get(buildUri("followers/ids.json", "cursor", String.valueOf(cursor)), CURSORED_IDS));
+	}
+
+	public Mono<CursoredList<Long>> getFollowerIds(long userId) {
+		return getFollowerIdsInCursor(userId, -1);
+	}
+
+	public Mono<CursoredList<Long>> getFollowerIdsInCursor(long userId, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("user_id", String.valueOf(userId));
+		return withUserOrAppAuthorization(client.get(buildUri("followers/ids.json", parameters), CURSORED_IDS));
+	}
+
+	public Mono<CursoredList<Long>> getFollowerIds(String screenName) {
+		return getFollowerIdsInCursor(screenName, -1);
+	}
+
+	public Mono<CursoredList<Long>> getFollowerIdsInCursor(String screenName, long cursor) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("cursor", String.valueOf(cursor));
+		parameters.set("screen_name", screenName);
+		return withUserOrAppAuthorization(client.get(buildUri("followers/ids.json", parameters), CURSORED_IDS));
+	}
+
+	public Mono<String> follow(long userId) {
+		return withUserAuthorization(client.post(buildUri("friendships/create.json", "user_id", String.valueOf(userId)), encodeForm(), SCREEN_NAME));
+	}
+
+	public Mono<String> follow(String screenName) {
+		return withUserAuthorization(client.post(buildUri("friendships/create.json", "screen_name", screenName), encodeForm(), SCREEN_NAME));
+	}
+
+	public Mono<String> unfollow(long userId) {
+		return withUserAuthorization(client.post(buildUri("friendships/destroy.json", "user_id", String.valueOf(userId)), encodeForm(), SCREEN_NAME));
+	}
+
+	public Mono<String> unfollow(String screenName) {
+		return withUserAuthorization(client.post(buildUri("friendships/destroy.json", "screen_name", screenName), encodeForm(), SCREEN_NAME));
+	}
+
+	public Mono<TwitterProfile> enableNotifications(long userId) {
+		return updateNotifications("user_id", String.valueOf(userId), "true");
+	}
+
+	public Mono<TwitterProfile> enableNotifications(String screenName) {
+		return updateNotifications("screen_name", screenName, "true");
+	}
+
+	public Mono<TwitterProfile> disableNotifications(long userId) {
+		return updateNotifications("user_id", String.valueOf(userId), "false");
+	}
+
+	public Mono<TwitterProfile> disableNotifications(String screenName) {
+		return updateNotifications("screen_name", screenName, "false");
+	}
+
+	public Mono<CursoredList<Long>> getIncomingFriendships() {
+		return getIncomingFriendships(-1);
+	}
+
+	public Mono<CursoredList<Long>> getIncomingFriendships(long cursor) {
+		return withUserAuthorization(client.get(buildUri("friendships/incoming.json", "cursor", String.valueOf(cursor)), CURSORED_IDS));
+	}
+
+	public Mono<CursoredList<Long>> getOutgoingFriendships() {
+		return getOutgoingFriendships(-1);
+	}
+
+	public Mono<CursoredList<Long>> getOutgoingFriendships(long cursor) {
+		return withUserAuthorization(client.get(buildUri("friendships/outgoing.json", "cursor", String.valueOf(cursor)), CURSORED_IDS));
+	}
+
+	private Mono<TwitterProfile> updateNotifications(String userParameter, String user, String device) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set(userParameter, user);
+		parameters.set("device", device);
+		return withUserAuthorization(client.post(buildUri("friendships/update.json", parameters), encodeForm(), objectOf(TwitterProfile.class)));
+	}
+
+	private static final ResponseExtractor<String> SCREEN_NAME = new ResponseExtractor<String>() {
+		public String extractData(ClientHttpResponse response) throws IOException {
+			return (String) TwitterObjectReaders.readerFor(Map.class).<Map<?, ?>>readValue(response.getBody()).get("screen_name");
+		}
+	};
+
+}
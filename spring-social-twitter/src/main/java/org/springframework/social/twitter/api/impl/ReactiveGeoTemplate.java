@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.GeoTemplate.*;
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.twitter.api.Place;
+import org.springframework.social.twitter.api.PlacePrototype;
+import org.springframework.social.twitter.api.PlaceType;
+import org.springframework.social.twitter.api.ReactiveGeoOperations;
+import org.springframework.social.twitter.api.SimilarPlaces;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveGeoTemplate extends AbstractReactiveTwitterOperations implements ReactiveGeoOperations {
+
+	public ReactiveGeoTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Mono<Place> getPlace(String placeId) {
+		return withUserAuthorization(client.get(buildUri("geo/id/" + placeId + ".json"), objectOf(Place.class)));
+	}
+
+	public Flux<Place> reverseGeoCode(double latitude, double longitude) {
+		return reverseGeoCode(latitude, longitude, null, null);
+	}
+
+	public Flux<Place> reverseGeoCode(double latitude, double longitude, PlaceType granularity, String accuracy) {
+		MultiValueMap<String, String> parameters = buildGeoParameters(latitude, longitude, granularity, accuracy, null);
+		return flux(withUserAuthorization(client.get(buildUri("geo/reverse_geocode.json", parameters), PLACES)));
+	}
+
+	public Flux<Place> search(double latitude, double longitude) {
+		return search(latitude, longitude, null, null, null);
+	}
+
+	public Flux<Place> search(double latitude, double longitude, PlaceType granularity, String accuracy, String query) {
+		MultiValueMap<String, String> parameters = buildGeoParameters(latitude, longitude, granularity, accuracy, query);
+		return flux(withUserAuthorization(client.get(buildUri("geo/search.json", parameters), PLACES)));
+	}
+
+	public Mono<SimilarPlaces> findSimilarPlaces(double latitude, double longitude, String name) {
+		return findSimilarPlaces(latitude, longitude, name, null, null);
+	}
+
+	public Mono<SimilarPlaces> findSimilarPlaces(final double latitude, final double longitude, final String name, final String streetAddress, final String containedWithin) {
+		MultiValueMap<String, String> parameters = buildPlaceParameters(latitude, longitude, name, streetAddress, containedWithin);
+		Mono<SimilarPlacesResponse> response = client.get(buildUri("geo/similar_places.json", parameters), objectOf(SimilarPlacesResponse.class));
+		return withUserAuthorization(response.map(new Function<SimilarPlacesResponse, SimilarPlaces>() {
+			public SimilarPlaces apply(SimilarPlacesResponse response) {
+				PlacePrototype placePrototype = new PlacePrototype(response.getToken(), latitude, longitude, name, streetAddress, containedWithin);
+				return new SimilarPlaces(response.getPlaces(), placePrototype);
+			}
+		}));
+	}
+
+	public Mono<Place> createPlace(PlacePrototype placePrototype) {
+		MultiValueMap<String, String> request = buildPlaceParameters(placePrototype.getLatitude(), placePrototype.getLongitude(), placePrototype.getName(), placePrototype.getStreetAddress(), placePrototype.getContainedWithin());
+		request.set("token", placePrototype.getCreateToken());
+		return withUserAuthorization(client.post(buildUri("geo/place.json"), request, objectOf(Place.class)));
+	}
+
+	private static final ResponseExtractor<List<Place>> PLACES = new ResponseExtractor<List<Place>>() {
+		public List<Place> extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(PlacesList.class).<PlacesList>readValue(response.getBody()).getList();
+		}
+	};
+
+}
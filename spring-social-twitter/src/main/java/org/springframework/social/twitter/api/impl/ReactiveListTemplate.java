@@ -0,0 +1,270 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.ResourceNotFoundException;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.ReactiveListOperations;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.social.twitter.api.UserList;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveListTemplate extends AbstractReactiveTwitterOperations implements ReactiveListOperations {
+
+	public ReactiveListTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Flux<UserList> getLists() {
+		return flux(withUserAuthorization(client.get(buildUri("lists/list.json"), objectOf(UserSubscriptionList.class))));
+	}
+
+	public Flux<UserList> getLists(long userId) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("lists/list.json", "user_id", String.valueOf(userId)), objectOf(UserSubscriptionList.class))));
+	}
+
+	public Flux<UserList> getLists(String screenName) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("lists/list.json", "screen_name", screenName), objectOf(UserSubscriptionList.class))));
+	}
+
+	public Mono<UserList> getList(long listId) {
+		return withUserAuthorization(client.get(buildUri("lists/show.json", "list_id", String.valueOf(listId)), objectOf(UserList.class)));
+	}
+
+	public Mono<UserList> getList(String screenName, String listSlug) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/show.json", listParameters(screenName, listSlug)), objectOf(UserList.class)));
+	}
+
+	public Flux<Tweet> getListStatuses(long listId) {
+		return getListStatuses(listId, 20, 0, 0);
+	}
+
+	public Flux<Tweet> getListStatuses(long listId, int pageSize) {
+		return getListStatuses(listId, pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getListStatuses(long listId, int pageSize, long sinceId, long maxId) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		parameters.set("list_id", String.valueOf(listId));
+		parameters.set("include_entities", "true");
+		return flux(withUserOrAppAuthorization(client.get(buildUri("lists/statuses.json", parameters), TWEETS)));
+	}
+
+	public Flux<Tweet> getListStatuses(String screenName, String listSlug) {
+		return getListStatuses(screenName, listSlug, 20, 0, 0);
+	}
+
+	public Flux<Tweet> getListStatuses(String screenName, String listSlug, int pageSize) {
+		return getListStatuses(screenName, listSlug, pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getListStatuses(String screenName, String listSlug, int pageSize, long sinceId, long maxId) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		parameters.set("owner_screen_name", screenName);
+		parameters.set("slug", listSlug);
+		parameters.set("include_entities", "true");
+		return flux(withUserOrAppAuthorization(client.get(buildUri("lists/statuses.json", parameters), TWEETS)));
+	}
+
+	public Mono<UserList> createList(String name, String description, boolean isPublic) {
+		MultiValueMap<String, Object> request = ListTemplate.buildListDataMap(name, description, isPublic);
+		return withUserAuthorization(client.post(buildUri("lists/create.json"), request, objectOf(UserList.class)));
+	}
+
+	public Mono<UserList> updateList(long listId, String name, String description, boolean isPublic) {
+		MultiValueMap<String, Object> request = ListTemplate.buildListDataMap(name, description, isPublic);
+		request.set("list_id", String.valueOf(listId));
+		return withUserAuthorization(client.post(buildUri("lists/update.json"), request, objectOf(UserList.class)));
+	}
+
+	public Mono<Void> deleteList(long listId) {
+		return withUserAuthorization(client.post(buildUri("lists/destroy.json"), encodeForm("list_id", String.valueOf(listId)), NO_CONTENT));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getListMembers(long listId) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/members.json", "list_id", String.valueOf(listId)), USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getListMembersInCursor(long listId, long cursor) {
+		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("list_id", String.valueOf(listId));
+		parameters.set("cursor", String.valueOf(cursor));
+		return withUserOrAppAuthorization(client.get(buildUri("lists/members.json", parameters), USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getListMembers(String screenName, String listSlug) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/members.json", listParameters(screenName, listSlug)), USERS));
+	}
+
+	public Mono<CursoredList<TwitterProfile>> getListMembersInCursor(String screenName, String listSlug, long cursor) {
+		MultiValueMap<String, String> parameters = listParameters(screenName, listSlug);
+		parameters.set("cursor", String.valueOf(cursor));
+		return withUserOrAppAuthorization(client.get(buildUri("lists/members.json", parameters), USERS));
+	}
+
+	public Mono<UserList> addToList(long listId, long... newMemberIds) {
+		byte[] form = encodeForm("user_id", ArrayUtils.join(newMemberIds), "list_id", String.valueOf(listId));
+		return withUserAuthorization(client.post(buildUri("lists/members/create_all.json"), form, objectOf(UserList.class)));
+	}
+
+	public Mono<UserList> addToList(long listId, String... newMemberScreenNames) {
+		byte[] form = encodeForm("screen_name", ArrayUtils.join(newMemberScreenNames), "list_id", String.valueOf(listId));
+		return withUserAuthorization(client.post(buildUri("lists/members/create_all.json"), form, objectOf(UserList.class)));
+	}
+
+	public Mono<Void> removeFromList(long listId, long memberId) {
+		byte[] form = encodeForm("user_id", String.valueOf(memberId), "list_id", String.valueOf(listId));
+		return withUserAuthorization(client.post(buildUri("lists/members/destroy.json"), form, NO_CONTENT));
+	}
+
+	public Mono<Void> removeFromList(long listId, String memberScreenName) {
+		byte[] form = encodeForm("screen_name", memberScreenName, "list_id", String.valueOf(listId));
+		return withUserAuthorization(client.post(buildUri("lists/members/destroy.json"), form, NO_CONTENT));
+	}
+
+	public Mono<UserList> subscribe(long listId) {
+		return withUserAuthorization(client.post(buildUri("lists/subscribers/create.json"), encodeForm("list_id", String.valueOf(listId)), objectOf(UserList.class)));
+	}
+
+	public Mono<UserList> subscribe(String ownerScreenName, String listSlug) {
+		byte[] form = encodeForm("owner_screen_name", ownerScreenName, "slug", listSlug);
+		return withUserAuthorization(client.post(buildUri("lists/subscribers/create.json"), form, objectOf(UserList.class)));
+	}
+
+	public Mono<UserList> unsubscribe(long listId) {
+		return withUserAuthorization(client.post(buildUri("lists/subscribers/destroy.json"), encodeForm("list_id", String.valueOf(listId)), objectOf(UserList.class)));
+	}
+
+	public Mono<UserList> unsubscribe(String ownerScreenName, String listSlug) {
+		byte[] form = encodeForm("owner_screen_name", ownerScreenName, "slug", listSlug);
+		return withUserAuthorization(client.post(buildUri("lists/subscribers/destroy.json"), form, objectOf(UserList.class)));
+	}
+
+	public Flux<TwitterProfile> getListSubscribers(long listId) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("lists/subscribers.json", "list_id", String.valueOf(listId)), USERS)));
+	}
+
+	public Flux<TwitterProfile> getListSubscribers(String screenName, String listSlug) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("lists/subscribers.json", listParameters(screenName, listSlug)), USERS)));
+	}
+
+	public Mono<CursoredList<UserList>> getMemberships(long userId) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/memberships.json", "user_id", String.valueOf(userId)), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getMemberships(String screenName) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/memberships.json", "screen_name", screenName), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getMembershipsInCursor(long userId, long cursor) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/memberships.json", cursorParameters("user_id", String.valueOf(userId), cursor)), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getMembershipsInCursor(String screenName, long cursor) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/memberships.json", cursorParameters("screen_name", screenName, cursor)), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getSubscriptions(long userId) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/subscriptions.json", "user_id", String.valueOf(userId)), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getSubscriptions(String screenName) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/subscriptions.json", "screen_name", screenName), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getSubscriptionsInCursor(long userId, long cursor) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/subscriptions.json", cursorParameters("user_id", String.valueOf(userId), cursor)), CURSORED_LISTS));
+	}
+
+	public Mono<CursoredList<UserList>> getSubscriptionsInCursor(String screenName, long cursor) {
+		return withUserOrAppAuthorization(client.get(buildUri("lists/subscriptions.json", cursorParameters("screen_name", screenName, cursor)), CURSORED_LISTS));
+	}
+
+	public Mono<Boolean> isMember(long listId, long memberId) {
+		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("list_id", String.valueOf(listId));
+		parameters.set("user_id", String.valueOf(memberId));
+		return withUserOrAppAuthorization(checkListConnection(buildUri("lists/members/show.json", parameters)));
+	}
+
+	public Mono<Boolean> isMember(String screenName, String listSlug, String memberScreenName) {
+		MultiValueMap<String, String> parameters = listParameters(screenName, listSlug);
+		parameters.set("screen_name", memberScreenName);
+		return withUserOrAppAuthorization(checkListConnection(buildUri("lists/members/show.json", parameters)));
+	}
+
+	public Mono<Boolean> isSubscriber(long listId, long subscriberId) {
+		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("list_id", String.valueOf(listId));
+		parameters.set("user_id", String.valueOf(subscriberId));
+		return withUserOrAppAuthorization(checkListConnection(buildUri("lists/subscribers/show.json", parameters)));
+	}
+
+	public Mono<Boolean> isSubscriber(String screenName, String listSlug, String subscriberScreenName) {
+		MultiValueMap<String, String> parameters = listParameters(screenName, listSlug);
+		parameters.set("screen_name", subscriberScreenName);
+		return withUserOrAppAuthorization(checkListConnection(buildUri("lists/subscribers/show.json", parameters)));
+	}
+
+	// private helpers
+
+	private Mono<Boolean> checkListConnection(URI uri) {
+		return client.get(uri, CONNECTED).onErrorReturn(ResourceNotFoundException.class, false);
+	}
+
+	private MultiValueMap<String, String> listParameters(String ownerScreenName, String listSlug) {
+		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("owner_screen_name", ownerScreenName);
+		parameters.set("slug", listSlug);
+		return parameters;
+	}
+
+	private MultiValueMap<String, String> cursorParameters(String userParameter, String user, long cursor) {
+		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set(userParameter, user);
+		parameters.set("cursor", String.valueOf(cursor));
+		return parameters;
+	}
+
+	@SuppressWarnings("serial")
+	private static class UserSubscriptionList extends ArrayList<UserList> {}
+
+	private static final ResponseExtractor<CursoredList<UserList>> CURSORED_LISTS = new ResponseExtractor<CursoredList<UserList>>() {
+		public CursoredList<UserList> extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(UserListList.class).<UserListList>readValue(response.getBody()).getList();
+		}
+	};
+
+	private static final ResponseExtractor<Boolean> CONNECTED = new ResponseExtractor<Boolean>() {
+		public Boolean extractData(ClientHttpResponse response) {
+			return true;
+		}
+	};
+
+}
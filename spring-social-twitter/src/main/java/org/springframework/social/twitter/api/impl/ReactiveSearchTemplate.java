@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+import static org.springframework.social.twitter.api.impl.SearchParametersUtil.*;
+
+import java.io.IOException;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.twitter.api.ReactiveSearchOperations;
+import org.springframework.social.twitter.api.SavedSearch;
+import org.springframework.social.twitter.api.SearchParameters;
+import org.springframework.social.twitter.api.SearchResults;
+import org.springframework.social.twitter.api.Trends;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveSearchTemplate extends AbstractReactiveTwitterOperations implements ReactiveSearchOperations {
+
+	public ReactiveSearchTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Mono<SearchResults> search(String query) {
+		return search(new SearchParameters(query));
+	}
+
+	public Mono<SearchResults> search(String query, int resultsPerPage) {
+		return search(new SearchParameters(query).count(resultsPerPage));
+	}
+
+	public Mono<SearchResults> search(String query, int resultsPerPage, long sinceId, long maxId) {
+		SearchParameters p = new SearchParameters(query).count(resultsPerPage).sinceId(sinceId);
+		if (maxId > 0) {
+			p.maxId(maxId);
+		}
+		return search(p);
+	}
+
+	public Mono<SearchResults> search(SearchParameters searchParameters) {
+		Assert.notNull(searchParameters, "Search parameters must not be null");
+		MultiValueMap<String, String> parameters = buildQueryParametersFromSearchParameters(searchParameters);
+		if (searchParameters.getFields() != null) {
+			return withUserOrAppAuthorization(client.get(buildUri("search/tweets.json", parameters), TweetReader.searchResults(searchParameters.getFields())));
+		}
+		return withUserOrAppAuthorization(client.get(buildUri("search/tweets.json", parameters), objectOf(SearchResults.class)));
+	}
+
+	public Flux<SavedSearch> getSavedSearches() {
+		return flux(withUserAuthorization(client.get(buildUri("saved_searches/list.json"), objectOf(SavedSearchList.class))));
+	}
+
+	public Mono<SavedSearch> getSavedSearch(long searchId) {
+		return withUserAuthorization(client.get(buildUri("saved_searches/show/" + searchId + ".json"), objectOf(SavedSearch.class)));
+	}
+
+	public Mono<SavedSearch> createSavedSearch(String query) {
+		return withUserAuthorization(client.post(buildUri("saved_searches/create.json"), encodeForm("query", query), objectOf(SavedSearch.class)));
+	}
+
+	public Mono<Void> deleteSavedSearch(long searchId) {
+		return withUserAuthorization(client.post(buildUri("saved_searches/destroy/" + searchId + ".json"), encodeForm(), NO_CONTENT));
+	}
+
+	public Mono<Trends> getLocalTrends(long whereOnEarthId) {
+		return getLocalTrends(whereOnEarthId, false);
+	}
+
+	public Mono<Trends> getLocalTrends(long whereOnEarthId, boolean excludeHashtags) {
+		LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("id", String.valueOf(whereOnEarthId));
+		if (excludeHashtags) {
+			parameters.set("exclude", "hashtags");
+		}
+		return withUserOrAppAuthorization(client.get(buildUri("trends/place.json", parameters), LOCAL_TRENDS));
+	}
+
+	private static final ResponseExtractor<Trends> LOCAL_TRENDS = new ResponseExtractor<Trends>() {
+		public Trends extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(LocalTrendsHolder.class).<LocalTrendsHolder>readValue(response.getBody()).getTrends();
+		}
+	};
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.social.twitter.api.OEmbedOptions;
+import org.springframework.social.twitter.api.OEmbedTweet;
+import org.springframework.social.twitter.api.ReactiveTimelineOperations;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetData;
+import org.springframework.social.twitter.api.TweetField;
+import org.springframework.social.twitter.api.impl.TimelineTemplate.MediaUploadResponse;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveTimelineTemplate extends AbstractReactiveTwitterOperations implements ReactiveTimelineOperations {
+
+	public ReactiveTimelineTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Flux<Tweet> getHomeTimeline() {
+		return getHomeTimeline(20, 0, 0);
+	}
+
+	public Flux<Tweet> getHomeTimeline(int pageSize) {
+		return getHomeTimeline(pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getHomeTimeline(int pageSize, long sinceId, long maxId) {
+		return getHomeTimeline(pageSize, sinceId, maxId, null);
+	}
+
+	public Flux<Tweet> getHomeTimeline(int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		return flux(withUserAuthorization(getTweets("statuses/home_timeline.json", parameters, fields)));
+	}
+
+	public Flux<Tweet> getUserTimeline() {
+		return getUserTimeline(20, 0, 0);
+	}
+
+	public Flux<Tweet> getUserTimeline(int pageSize) {
+		return getUserTimeline(pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getUserTimeline(int pageSize, long sinceId, long maxId) {
+		return getUserTimeline(pageSize, sinceId, maxId, null);
+	}
+
+	public Flux<Tweet> getUserTimeline(int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		return flux(withUserAuthorization(getTweets("statuses/user_timeline.json", parameters, fields)));
+	}
+
+	public Flux<Tweet> getUserTimeline(String screenName) {
+		return getUserTimeline(screenName, 20, 0, 0);
+	}
+
+	public Flux<Tweet> getUserTimeline(String screenName, int pageSize) {
+		return getUserTimeline(screenName, pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getUserTimeline(String screenName, int pageSize, long sinceId, long maxId) {
+		return getUserTimeline(screenName, pageSize, sinceId, maxId, null);
+	}
+
+	public Flux<Tweet> getUserTimeline(String screenName, int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		parameters.set("screen_name", screenName);
+		return flux(withUserOrAppAuthorization(getTweets("statuses/user_timeline.json", parameters, fields)));
+	}
+
+	public Flux<Tweet> getUserTimeline(long userId) {
+		return getUserTimeline(userId, 20, 0, 0);
+	}
+
+	public Flux<Tweet> getUserTimeline(long userId, int pageSize) {
+		return getUserTimeline(userId, pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getUserTimeline(long userId, int pageSize, long sinceId, long maxId) {
+		return getUserTimeline(userId, pageSize, sinceId, maxId, null);
+	}
+
+	public Flux<Tweet> getUserTimeline(long userId, int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		parameters.set("user_id", String.valueOf(userId));
+		return flux(withUserOrAppAuthorization(getTweets("statuses/user_timeline.json", parameters, fields)));
+	}
+
+	public Flux<Tweet> getMentions() {
+		return getMentions(20, 0, 0);
+	}
+
+	public Flux<Tweet> getMentions(int pageSize) {
+		return getMentions(pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getMentions(int pageSize, long sinceId, long maxId) {
+		return getMentions(pageSize, sinceId, maxId, null);
+	}
+
+	public Flux<Tweet> getMentions(int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
+		return flux(withUserAuthorization(getTweets("statuses/mentions_timeline.json", parameters, fields)));
+	}
+
+	public Flux<Tweet> getRetweetsOfMe() {
+		return getRetweetsOfMe(1, 20, 0, 0);
+	}
+
+	public Flux<Tweet> getRetweetsOfMe(int page, int pageSize) {
+		return getRetweetsOfMe(page, pageSize, 0, 0);
+	}
+
+	public Flux<Tweet> getRetweetsOfMe(int page, int pageSize, long sinceId, long maxId) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(page, pageSize, sinceId, maxId);
+		parameters.set("include_entities", "true");
+		return flux(withUserAuthorization(client.get(buildUri("statuses/retweets_of_me.json", parameters), TWEETS)));
+	}
+
+	public Mono<Tweet> getStatus(long tweetId) {
+		return withUserOrAppAuthorization(client.get(buildUri("statuses/show/" + tweetId + ".json", "include_entities", "true"), objectOf(Tweet.class)));
+	}
+
+	public Mono<OEmbedTweet> getStatusOEmbed(String tweetId) {
+		return getStatusOEmbed(tweetId, new OEmbedOptions());
+	}
+
+	public Mono<OEmbedTweet> getStatusOEmbed(String tweetId, OEmbedOptions options) {
+		MultiValueMap<String, String> parameters = options.toRequestParameters();
+		parameters.set("id", String.valueOf(tweetId));
+		return withUserOrAppAuthorization(client.get(buildUri("statuses/oembed.json", parameters), objectOf(OEmbedTweet.class)));
+	}
+
+	public Mono<Tweet> updateStatus(String status) {
+		return updateStatus(new TweetData(status));
+	}
+
+	public Mono<Tweet> updateStatus(TweetData tweetData) {
+		final MultiValueMap<String, Object> postParameters = tweetData.toTweetParameters();
+		if (!tweetData.hasMedia()) {
+			return withUserAuthorization(client.post(buildUri("statuses/update.json"), postParameters, objectOf(Tweet.class)));
+		}
+		Mono<MediaUploadResponse> upload = client.postMultipart(MEDIA_UPLOAD_URI, tweetData.toUploadMediaParameters(), objectOf(MediaUploadResponse.class));
+		return withUserAuthorization(upload.flatMap(new Function<MediaUploadResponse, Mono<Tweet>>() {
+			public Mono<Tweet> apply(MediaUploadResponse response) {
+				MultiValueMap<String, Object> parameters = new LinkedMultiValueMap<String, Object>(postParameters);
+				parameters.set("media_ids", response.getMediaId());
+				return client.post(buildUri("statuses/update.json"), parameters, objectOf(Tweet.class));
+			}
+		}));
+	}
+
+	public Mono<Void> deleteStatus(long tweetId) {
+		return withUserAuthorization(client.post(buildUri("statuses/destroy/" + tweetId + ".json"), encodeForm(), NO_CONTENT));
+	}
+
+	public Mono<Tweet> retweet(long tweetId) {
+		return withUserAuthorization(client.post(buildUri("statuses/retweet/" + tweetId + ".json"), encodeForm(), objectOf(Tweet.class)));
+	}
+
+	public Flux<Tweet> getRetweets(long tweetId) {
+		return getRetweets(tweetId, 100);
+	}
+
+	public Flux<Tweet> getRetweets(long tweetId, int count) {
+		MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>();
+		parameters.set("count", String.valueOf(count));
+		parameters.set("include_entities", "true");
+		return flux(withUserOrAppAuthorization(client.get(buildUri("statuses/retweets/" + tweetId + ".json", parameters), TWEETS)));
+	}
+
+	public Flux<Tweet> getFavorites() {
+		return getFavorites(20);
+	}
+
+	public Flux<Tweet> getFavorites(int pageSize) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, 0, 0);
+		parameters.set("include_entities", "true");
+		return flux(withUserOrAppAuthorization(client.get(buildUri("favorites/list.json", parameters), TWEETS)));
+	}
+
+	public Flux<Tweet> getFavorites(long userId) {
+		return getFavorites(userId, 20);
+	}
+
+	public Flux<Tweet> getFavorites(long userId, int pageSize) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, 0, 0);
+		parameters.set("user_id", String.valueOf(userId));
+		parameters.set("include_entities", "true");
+		return flux(withUserOrAppAuthorization(client.get(buildUri("favorites/list.json", parameters), TWEETS)));
+	}
+
+	public Flux<Tweet> getFavorites(String screenName) {
+		return getFavorites(screenName, 20);
+	}
+
+	public Flux<Tweet> getFavorites(String screenName, int pageSize) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, 0, 0);
+		parameters.set("screen_name", screenName);
+		parameters.set("include_entities", "true");
+		return flux(withUserOrAppAuthorization(client.get(buildUri("favorites/list.json", parameters), TWEETS)));
+	}
+
+	public Mono<Void> addToFavorites(long tweetId) {
+		return withUserAuthorization(client.post(buildUri("favorites/create.json"), encodeForm("id", String.valueOf(tweetId)), NO_CONTENT));
+	}
+
+	public Mono<Void> removeFromFavorites(long tweetId) {
+		return withUserAuthorization(client.post(buildUri("favorites/destroy.json"), encodeForm("id", String.valueOf(tweetId)), NO_CONTENT));
+	}
+
+	// fields are null for a timeline of whole tweets
+	private Mono<List<Tweet>> getTweets(String path, MultiValueMap<String, String> parameters, Set<TweetField> fields) {
+		if (fields == null) {
+			parameters.set("include_entities", "true");
+			return client.get(buildUri(path, parameters), TWEETS);
+		}
+		parameters.set("include_entities", String.valueOf(fields.contains(TweetField.ENTITIES)));
+		if (!fields.contains(TweetField.USER)) {
+			parameters.set("trim_user", "true");
+		}
+		return client.get(buildUri(path, parameters), TweetReader.tweetList(fields));
+	}
+
+	private static final URI MEDIA_UPLOAD_URI = URI.create("https://upload.twitter.com/1.1/media/upload.json");
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.UncategorizedApiException;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends the requests of a {@link ReactiveTwitterTemplate} through a WebClient, as the RestTemplate of a {@link TwitterTemplate} does.
+ * Each response body is buffered and then read by the same {@link ResponseExtractor}s and {@link TwitterErrorHandler} that TwitterTemplate uses,
+ * so that errors are signalled with the same exceptions and tweets are read with the same model classes and mixins.
+ */
+class ReactiveTwitterClient {
+
+	private final WebClient webClient;
+
+	private final OAuth1SigningInterceptor signer;
+
+	private final String clientToken;
+
+	private final TwitterErrorHandler errorHandler = new TwitterErrorHandler();
+
+	ReactiveTwitterClient(WebClient webClient, OAuth1SigningInterceptor signer, String clientToken) {
+		this.webClient = webClient;
+		this.signer = signer;
+		this.clientToken = clientToken;
+	}
+
+	<T> Mono<T> get(final URI uri, final ResponseExtractor<T> extractor) {
+		return Mono.defer(new Supplier<Mono<T>>() {
+			public Mono<T> get() {
+				return read(webClient.get().uri(uri)
+						.header(HttpHeaders.AUTHORIZATION, authorization(HttpMethod.GET, uri, null))
+						.accept(MediaType.APPLICATION_JSON)
+						.exchange(), extractor);
+			}
+		});
+	}
+
+	/**
+	 * @param form the form-encoded body, encoded as {@link #encodeForm(String...)} does
+	 */
+	<T> Mono<T> post(final URI uri, final byte[] form, final ResponseExtractor<T> extractor) {
+		return Mono.defer(new Supplier<Mono<T>>() {
+			public Mono<T> get() {
+				return read(webClient.post().uri(uri)
+						.header(HttpHeaders.AUTHORIZATION, authorization(HttpMethod.POST, uri, form))
+						.accept(MediaType.APPLICATION_JSON)
+						.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+						.syncBody(form)
+						.exchange(), extractor);
+			}
+		});
+	}
+
+	/**
+	 * @param data the form fields, sent as their strings
+	 */
+	<T> Mono<T> post(URI uri, MultiValueMap<String, ?> data, ResponseExtractor<T> extractor) {
+		return post(uri, encodeForm(data), extractor);
+	}
+
+	/**
+	 * Posts a multipart form, such as a media upload, whose parts aren't signed.
+	 */
+	<T> Mono<T> postMultipart(final URI uri, final MultiValueMap<String, ?> parts, final ResponseExtractor<T> extractor) {
+		return Mono.defer(new Supplier<Mono<T>>() {
+			public Mono<T> get() {
+				return read(webClient.post().uri(uri)
+						.header(HttpHeaders.AUTHORIZATION, authorization(HttpMethod.POST, uri, null))
+						.accept(MediaType.APPLICATION_JSON)
+						.contentType(MediaType.MULTIPART_FORM_DATA)
+						.syncBody(parts)
+						.exchange(), extractor);
+			}
+		});
+	}
+
+	/**
+	 * Encodes name and value pairs as {@link TwitterEscapingFormHttpMessageConverter} does.
+	 */
+	static byte[] encodeForm(String... namesAndValues) {
+		StringBuilder form = new StringBuilder();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			if (form.length() > 0) {
+				form.append('&');
+			}
+			form.append(encodeFormComponent(namesAndValues[i])).append('=').append(encodeFormComponent(namesAndValues[i + 1]));
+		}
+		return form.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Encodes form fields as {@link TwitterEscapingFormHttpMessageConverter} does, leaving the = out of a field with a null value.
+	 */
+	static byte[] encodeForm(MultiValueMap<String, ?> data) {
+		StringBuilder form = new StringBuilder();
+		for (Map.Entry<String, ? extends List<?>> field : data.entrySet()) {
+			for (Object value : field.getValue()) {
+				if (form.length() > 0) {
+					form.append('&');
+				}
+				form.append(encodeFormComponent(field.getKey()));
+				if (value != null) {
+					form.append('=').append(encodeFormComponent(value.toString()));
+				}
+			}
+		}
+		return form.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return an extractor reading the body as the given type, with the {@link TwitterModule}
+	 */
+	static <T> ResponseExtractor<T> objectOf(final Class<T> type) {
+		return new ResponseExtractor<T>() {
+			public T extractData(ClientHttpResponse response) throws IOException {
+				return TwitterObjectReaders.readerFor(type).readValue(response.getBody());
+			}
+		};
+	}
+
+	/**
+	 * @return the elements of the list, in order
+	 */
+	static <T> Flux<T> flux(Mono<? extends List<T>> list) {
+		return list.flatMapIterable(new Function<List<T>, Iterable<T>>() {
+			public Iterable<T> apply(List<T> elements) {
+				return elements;
+			}
+		});
+	}
+
+	private String authorization(HttpMethod method, URI uri, byte[] form) {
+		if (signer != null) {
+			return signer.authorizationHeader(method, uri, form);
+		}
+		return "Bearer " + clientToken;
+	}
+
+	private <T> Mono<T> read(Mono<ClientResponse> exchange, final ResponseExtractor<T> extractor) {
+		return exchange.flatMap(new Function<ClientResponse, Mono<T>>() {
+			public Mono<T> apply(final ClientResponse response) {
+				return response.bodyToMono(byte[].class).defaultIfEmpty(EMPTY_BODY).flatMap(new Function<byte[], Mono<T>>() {
+					public Mono<T> apply(byte[] body) {
+						BufferedResponse buffered = new BufferedResponse(response.statusCode(), response.headers().asHttpHeaders(), body);
+						try {
+							if (errorHandler.hasError(buffered)) {
+								errorHandler.handleError(buffered);
+							}
+							return Mono.justOrEmpty(extractor.extractData(buffered));
+						} catch (RuntimeException e) {
+							return Mono.error(e);
+						} catch (IOException e) {
+							return Mono.error(new UncategorizedApiException("twitter", "Unable to read the response from Twitter", e));
+						}
+					}
+				});
+			}
+		});
+	}
+
+	private static String encodeFormComponent(String value) {
+		try {
+			return URLEncoder.encode(value, "UTF-8").replace("*", "%2A");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class BufferedResponse implements ClientHttpResponse {
+
+		private final HttpStatus status;
+
+		private final HttpHeaders headers;
+
+		private final byte[] body;
+
+		BufferedResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+			this.status = status;
+			this.headers = headers;
+			this.body = body;
+		}
+
+		public HttpStatus getStatusCode() {
+			return status;
+		}
+
+		public int getRawStatusCode() {
+			return status.value();
+		}
+
+		public String getStatusText() {
+			return status.getReasonPhrase();
+		}
+
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		public InputStream getBody() {
+			return new ByteArrayInputStream(body);
+		}
+
+		public void close() {
+		}
+
+	}
+
+	static final ResponseExtractor<List<Tweet>> TWEETS = TweetReader.tweetList(TweetField.ALL);
+
+	static final ResponseExtractor<CursoredList<Long>> CURSORED_IDS = new ResponseExtractor<CursoredList<Long>>() {
+		public CursoredList<Long> extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(CursoredLongList.class).<CursoredLongList>readValue(response.getBody()).getList();
+		}
+	};
+
+	static final ResponseExtractor<CursoredList<TwitterProfile>> CURSORED_USERS = new ResponseExtractor<CursoredList<TwitterProfile>>() {
+		public CursoredList<TwitterProfile> extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(CursoredTwitterProfileUsersList.class).<CursoredTwitterProfileUsersList>readValue(response.getBody()).getList();
+		}
+	};
+
+	static final ResponseExtractor<CursoredList<TwitterProfile>> USERS = new ResponseExtractor<CursoredList<TwitterProfile>>() {
+		public CursoredList<TwitterProfile> extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(TwitterProfileUsersList.class).<TwitterProfileUsersList>readValue(response.getBody()).getList();
+		}
+	};
+
+	static final ResponseExtractor<Void> NO_CONTENT = new ResponseExtractor<Void>() {
+		public Void extractData(ClientHttpResponse response) {
+			return null;
+		}
+	};
+
+	private static final byte[] EMPTY_BODY = new byte[0];
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import org.springframework.social.twitter.api.ReactiveBlockOperations;
+import org.springframework.social.twitter.api.ReactiveDirectMessageOperations;
+import org.springframework.social.twitter.api.ReactiveFriendOperations;
+import org.springframework.social.twitter.api.ReactiveGeoOperations;
+import org.springframework.social.twitter.api.ReactiveListOperations;
+import org.springframework.social.twitter.api.ReactiveSearchOperations;
+import org.springframework.social.twitter.api.ReactiveTimelineOperations;
+import org.springframework.social.twitter.api.ReactiveTwitter;
+import org.springframework.social.twitter.api.ReactiveUserOperations;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Non-blocking implementation of {@link ReactiveTwitter}, making its calls through a Spring WebFlux {@link WebClient}
+ * so that a few event loop threads can have many calls to Twitter in flight at once.
+ * Responses are read into the same model classes, with the same exceptions for errors, as {@link TwitterTemplate}'s.
+ * <p>
+ * The WebClient may be shared by the templates of many users; each template only holds its credentials.
+ * Spring WebFlux, Reactor and an HTTP connector such as Reactor Netty are optional dependencies, needed only by applications that use this class.
+ * Rate limits aren't tracked, as they are by {@link TwitterTemplate#setRateLimitPolicy(org.springframework.social.twitter.api.RateLimitPolicy)}.
+ */
+public class ReactiveTwitterTemplate implements ReactiveTwitter {
+
+	private final boolean authorizedForUser;
+
+	private ReactiveTimelineOperations timelineOperations;
+
+	private ReactiveUserOperations userOperations;
+
+	private ReactiveFriendOperations friendOperations;
+
+	private ReactiveSearchOperations searchOperations;
+
+	private ReactiveListOperations listOperations;
+
+	private ReactiveDirectMessageOperations directMessageOperations;
+
+	private ReactiveGeoOperations geoOperations;
+
+	private ReactiveBlockOperations blockOperations;
+
+	/**
+	 * Create a new instance of ReactiveTwitterTemplate, with a WebClient of its own.
+	 * @param consumerKey the application's API key
+	 * @param consumerSecret the application's API secret
+	 * @param accessToken an access token acquired through OAuth authentication with Twitter
+	 * @param accessTokenSecret an access token secret acquired through OAuth authentication with Twitter
+	 */
+	public ReactiveTwitterTemplate(String consumerKey, String consumerSecret, String accessToken, String accessTokenSecret) {
+		this(WebClient.create(), consumerKey, consumerSecret, accessToken, accessTokenSecret);
+	}
+
+	/**
+	 * Create a new instance of ReactiveTwitterTemplate.
+	 * @param webClient the WebClient to make calls through
+	 * @param consumerKey the application's API key
+	 * @param consumerSecret the application's API secret
+	 * @param accessToken an access token acquired through OAuth authentication with Twitter
+	 * @param accessTokenSecret an access token secret acquired through OAuth authentication with Twitter
+	 */
+	public ReactiveTwitterTemplate(WebClient webClient, String consumerKey, String consumerSecret, String accessToken, String accessTokenSecret) {
+		Assert.notNull(webClient, "Constructor argument 'webClient' cannot be null.");
+		Assert.notNull(consumerKey, "Constructor argument 'consumerKey' cannot be null.");
+		Assert.notNull(consumerSecret, "Constructor argument 'consumerSecret' cannot be null.");
+		Assert.notNull(accessToken, "Constructor argument 'accessToken' cannot be null.");
+		Assert.notNull(accessTokenSecret, "Constructor argument 'accessTokenSecret' cannot be null.");
+		this.authorizedForUser = true;
+		ReactiveTwitterClient client = new ReactiveTwitterClient(webClient,
+				new OAuth1SigningInterceptor(consumerKey, consumerSecret, accessToken, accessTokenSecret), null);
+		initSubApis(client, true, false);
+	}
+
+	/**
+	 * Create a new instance of ReactiveTwitterTemplate, limited to only performing operations requiring client authorization.
+	 * @param webClient the WebClient to make calls through
+	 * @param clientToken an access token obtained through OAuth 2 client credentials grant with Twitter.
+	 */
+	public ReactiveTwitterTemplate(WebClient webClient, String clientToken) {
+		Assert.notNull(webClient, "Constructor argument 'webClient' cannot be null.");
+		Assert.notNull(clientToken, "Constructor argument 'clientToken' cannot be null.");
+		this.authorizedForUser = false;
+		ReactiveTwitterClient client = new ReactiveTwitterClient(webClient, null, clientToken);
+		initSubApis(client, false, true);
+	}
+
+	public boolean isAuthorized() {
+		return authorizedForUser;
+	}
+
+	public ReactiveTimelineOperations timelineOperations() {
+		return timelineOperations;
+	}
+
+	public ReactiveUserOperations userOperations() {
+		return userOperations;
+	}
+
+	public ReactiveFriendOperations friendOperations() {
+		return friendOperations;
+	}
+
+	public ReactiveSearchOperations searchOperations() {
+		return searchOperations;
+	}
+
+	public ReactiveListOperations listOperations() {
+		return listOperations;
+	}
+
+	public ReactiveDirectMessageOperations directMessageOperations() {
+		return directMessageOperations;
+	}
+
+	public ReactiveGeoOperations geoOperations() {
+		return geoOperations;
+	}
+
+	public ReactiveBlockOperations blockOperations() {
+		return blockOperations;
+	}
+
+	private void initSubApis(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		this.userOperations = new ReactiveUserTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.directMessageOperations = new ReactiveDirectMessageTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.friendOperations = new ReactiveFriendTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.listOperations = new ReactiveListTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.timelineOperations = new ReactiveTimelineTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.searchOperations = new ReactiveSearchTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.blockOperations = new ReactiveBlockTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+		this.geoOperations = new ReactiveGeoTemplate(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+}
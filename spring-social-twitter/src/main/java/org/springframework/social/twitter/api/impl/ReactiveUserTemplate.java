@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.springframework.social.twitter.api.impl.ReactiveTwitterClient.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.twitter.api.AccountSettings;
+import org.springframework.social.twitter.api.RateLimitStatus;
+import org.springframework.social.twitter.api.ReactiveUserOperations;
+import org.springframework.social.twitter.api.ResourceFamily;
+import org.springframework.social.twitter.api.SuggestionCategory;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveUserTemplate extends AbstractReactiveTwitterOperations implements ReactiveUserOperations {
+
+	public ReactiveUserTemplate(ReactiveTwitterClient client, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
+		super(client, isAuthorizedForUser, isAuthorizedForApp);
+	}
+
+	public Mono<Long> getProfileId() {
+		return getUserProfile().map(new Function<TwitterProfile, Long>() {
+			public Long apply(TwitterProfile profile) {
+				return profile.getId();
+			}
+		});
+	}
+
+	public Mono<String> getScreenName() {
+		return getUserProfile().map(new Function<TwitterProfile, String>() {
+			public String apply(TwitterProfile profile) {
+				return profile.getScreenName();
+			}
+		});
+	}
+
+	public Mono<TwitterProfile> getUserProfile() {
+		return withUserAuthorization(client.get(buildUri("account/verify_credentials.json"), objectOf(TwitterProfile.class)));
+	}
+
+	public Mono<TwitterProfile> getUserProfile(String screenName) {
+		return withUserOrAppAuthorization(client.get(buildUri("users/show.json", "screen_name", screenName), objectOf(TwitterProfile.class)));
+	}
+
+	public Mono<TwitterProfile> getUserProfile(long userId) {
+		return withUserOrAppAuthorization(client.get(buildUri("users/show.json", "user_id", String.valueOf(userId)), objectOf(TwitterProfile.class)));
+	}
+
+	public Flux<TwitterProfile> getUsers(long... userIds) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("users/lookup.json", "user_id", ArrayUtils.join(userIds)), objectOf(TwitterProfileList.class))));
+	}
+
+	public Flux<TwitterProfile> getUsers(String... screenNames) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("users/lookup.json", "screen_name", ArrayUtils.join(screenNames)), objectOf(TwitterProfileList.class))));
+	}
+
+	public Flux<TwitterProfile> searchForUsers(String query) {
+		return searchForUsers(query, 1, 20);
+	}
+
+	public Flux<TwitterProfile> searchForUsers(String query, int page, int pageSize) {
+		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(page, pageSize, 0, 0);
+		parameters.set("q", query);
+		return flux(withUserAuthorization(client.get(buildUri("users/search.json", parameters), objectOf(TwitterProfileList.class))));
+	}
+
+	public Flux<SuggestionCategory> getSuggestionCategories() {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("users/suggestions.json"), objectOf(SuggestionCategoryList.class))));
+	}
+
+	public Flux<TwitterProfile> getSuggestions(String slug) {
+		return flux(withUserOrAppAuthorization(client.get(buildUri("users/suggestions/" + slug + ".json"), USERS)));
+	}
+
+	public Mono<Map<ResourceFamily, List<RateLimitStatus>>> getRateLimitStatus(ResourceFamily... resources) {
+		return withUserOrAppAuthorization(client.get(buildUri("application/rate_limit_status.json", "resources", ArrayUtils.join(resources)), RATE_LIMITS));
+	}
+
+	public Mono<AccountSettings> getAccountSettings() {
+		return withUserAuthorization(client.get(buildUri("account/settings.json"), objectOf(AccountSettings.class)));
+	}
+
+	public Mono<AccountSettings> updateAccountSettings(AccountSettingsData accountSettingsData) {
+		return withUserAuthorization(client.post(buildUri("account/settings.json"), accountSettingsData.toRequestParameters(), objectOf(AccountSettings.class)));
+	}
+
+	private static final ResponseExtractor<Map<ResourceFamily, List<RateLimitStatus>>> RATE_LIMITS = new ResponseExtractor<Map<ResourceFamily, List<RateLimitStatus>>>() {
+		public Map<ResourceFamily, List<RateLimitStatus>> extractData(ClientHttpResponse response) throws IOException {
+			return TwitterObjectReaders.readerFor(RateLimitStatusHolder.class).<RateLimitStatusHolder>readValue(response.getBody()).getRateLimits();
+		}
+	};
+
+}
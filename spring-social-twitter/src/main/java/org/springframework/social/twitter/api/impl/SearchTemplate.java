@@ -19,6 +19,7 @@ import static org.springframework.social.twitter.api.impl.SearchParametersUtil.*
 
 import java.util.List;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.social.twitter.api.SavedSearch;
 import org.springframework.social.twitter.api.SearchOperations;
 import org.springframework.social.twitter.api.SearchParameters;
@@ -63,6 +64,9 @@ class SearchTemplate extends AbstractTwitterOperations implements SearchOperatio
 		requireEitherUserOrAppAuthorization();
 		Assert.notNull(searchParameters, "Search parameters must not be null");
 		MultiValueMap<String, String> parameters = buildQueryParametersFromSearchParameters(searchParameters);
+		if (searchParameters.getFields() != null) {
+			return restTemplate.execute(buildUri("search/tweets.json", parameters), HttpMethod.GET, null, TweetReader.searchResults(searchParameters.getFields()));
+		}
 		return restTemplate.getForObject(buildUri("search/tweets.json", parameters),SearchResults.class);
 	}
 
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.social.twitter.api.StreamingException;
+
+/**
+ * Append-only log of raw stream messages, kept in a directory of memory-mapped segment files so that messages survive
+ * a slow listener or a restart of the process.
+ * <p>
+ * Every message is stored as its length, the time it was written and its bytes, at an offset that increases for the life of the journal.
+ * Segments are named after the offset they start at. When a message doesn't fit in what is left of the current segment, a new
+ * segment is started, and older segments that have been fully consumed and were last written before the retention period are deleted.
+ * <p>
+ * The journal has one consumer, the dispatcher of the stream writing to it, whose offset is persisted in a small mapped file as
+ * each message is dispatched. Messages are delivered at least once: one taken but not yet dispatched when the stream
+ * stopped is delivered again, whether the stream reconnects or the process restarts. Any thread may {@link #read(long, long, RecordHandler) read} the journal by time, for replays.
+ * A journal can only be used by one process at a time, which holds a lock on the offset file.
+ */
+class SegmentJournal {
+
+	private final File directory;
+
+	private final int segmentSize;
+
+	private final long retention;
+
+	private final RandomAccessFile offsetFile;
+
+	private final FileLock fileLock;
+
+	private final MappedByteBuffer offsetBuffer;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition appended = lock.newCondition();
+
+	private final TreeMap<Long, Segment> segments = new TreeMap<Long, Segment>();
+
+	private Segment writeSegment;
+
+	private volatile long writeOffset;
+
+	private long readOffset;
+
+	private int backlog;
+
+	private boolean attached;
+
+	public SegmentJournal(File directory, int segmentSize, long retention) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Unable to create journal directory " + directory);
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.retention = retention;
+		this.offsetFile = new RandomAccessFile(new File(directory, OFFSET_FILE), "rw");
+		this.fileLock = tryLock(offsetFile);
+		if (fileLock == null) {
+			offsetFile.close();
+			throw new IOException("The journal in " + directory + " is in use by another process");
+		}
+		this.offsetBuffer = offsetFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 8);
+		recover(offsetBuffer.getLong(0));
+	}
+
+	/**
+	 * Claims the journal for a stream, so that two streams can't consume the same journal.
+	 * A stream holds its journal across reconnects, until it's closed.
+	 * @throws IllegalStateException if another stream has the journal
+	 */
+	public void attach() {
+		lock.lock();
+		try {
+			if (attached) {
+				throw new IllegalStateException("The journal in " + directory + " is already in use by another stream");
+			}
+			attached = true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Starts the consumer again from the committed offset, when a stream connects, so that a message taken by the previous
+	 * connection's dispatcher but perhaps not dispatched is taken again.
+	 */
+	public void rewind() {
+		lock.lock();
+		try {
+			long committed = offsetBuffer.getLong(0);
+			if (readOffset != committed && segments.floorEntry(committed) != null) {
+				readOffset = committed;
+				backlog++;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public void detach() {
+		lock.lock();
+		try {
+			attached = false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void append(byte[] message) {
+		int recordSize = HEADER_SIZE + message.length;
+		lock.lock();
+		try {
+			long offset = writeOffset;
+			if (offset - writeSegment.base + recordSize > writeSegment.size) {
+				roll(recordSize);
+				offset = writeSegment.base;
+			}
+			int position = (int) (offset - writeSegment.base);
+			ByteBuffer buffer = writeSegment.buffer.duplicate();
+			buffer.position(position + HEADER_SIZE);
+			buffer.put(message);
+			buffer.putLong(position + 4, System.currentTimeMillis());
+			// the length goes in last, so that a record torn by a crash reads as the end of the journal
+			buffer.putInt(position, message.length);
+			writeOffset = offset + recordSize;
+			backlog++;
+			appended.signal();
+		} catch (IOException e) {
+			throw new StreamingException("Unable to write stream message to the journal", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes the next message for the consumer, waiting for one to be appended if need be.
+	 * Taking a message commits the one taken before it, which has been dispatched by the time the consumer comes back.
+	 */
+	public byte[] take() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			offsetBuffer.putLong(0, readOffset);
+			while (true) {
+				while (readOffset == writeOffset) {
+					appended.await();
+				}
+				Segment segment = segmentAt(readOffset);
+				int length = segment.lengthAt(readOffset);
+				if (length == 0) {
+					readOffset = segment.base + segment.size;
+					continue;
+				}
+				byte[] message = segment.read(readOffset, length);
+				readOffset += HEADER_SIZE + length;
+				backlog--;
+				return message;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of messages appended but not yet taken
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return backlog;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Reads the messages written within a time range, oldest first, as far as the journal had been written when the read began.
+	 * @param from the earliest write time to include, in milliseconds since the epoch
+	 * @param to the latest write time to include, in milliseconds since the epoch
+	 */
+	public void read(long from, long to, RecordHandler handler) {
+		List<Segment> snapshot;
+		long end;
+		lock.lock();
+		try {
+			snapshot = new ArrayList<Segment>(segments.values());
+			end = writeOffset;
+		} finally {
+			lock.unlock();
+		}
+		for (int i = 0; i < snapshot.size(); i++) {
+			if (i + 1 < snapshot.size() && snapshot.get(i + 1).firstTimestamp() < from) {
+				continue; // everything in this segment was written before the next one started
+			}
+			Segment segment = snapshot.get(i);
+			long offset = segment.base;
+			while (offset < end && offset < segment.base + segment.size) {
+				int length = segment.lengthAt(offset);
+				if (length == 0) {
+					break;
+				}
+				long timestamp = segment.timestampAt(offset);
+				if (timestamp > to) {
+					return;
+				}
+				if (timestamp >= from) {
+					handler.handle(segment.read(offset, length), timestamp);
+				}
+				offset += HEADER_SIZE + length;
+			}
+		}
+	}
+
+	/**
+	 * Releases the journal's files and its lock on the directory, so that the journal can be opened again.
+	 * The segments are forced to disk and dropped, staying mapped only until they are garbage collected.
+	 */
+	public void close() {
+		lock.lock();
+		try {
+			for (Segment segment : segments.values()) {
+				segment.buffer.force();
+			}
+			segments.clear();
+			writeSegment = null;
+			offsetBuffer.force();
+			fileLock.release();
+			offsetFile.close();
+		} catch (IOException ignore) {
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static FileLock tryLock(RandomAccessFile file) throws IOException {
+		try {
+			return file.getChannel().tryLock();
+		} catch (OverlappingFileLockException e) {
+			return null; // locked by this process
+		}
+	}
+
+	private void recover(long committed) throws IOException {
+		File[] files = directory.listFiles(new FileFilter() {
+			public boolean accept(File file) {
+				return file.getName().endsWith(SEGMENT_SUFFIX);
+			}
+		});
+		Arrays.sort(files);
+		for (File file : files) {
+			long base = Long.parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_SUFFIX.length()));
+			segments.put(base, new Segment(file, base, (int) file.length()));
+		}
+		if (segments.isEmpty()) {
+			writeSegment = createSegment(committed, segmentSize);
+		} else {
+			writeSegment = segments.lastEntry().getValue();
+		}
+		// the end of the journal is the first empty record in the last segment
+		long offset = writeSegment.base;
+		int length;
+		while ((length = writeSegment.lengthAt(offset)) > 0) {
+			offset += HEADER_SIZE + length;
+		}
+		writeOffset = offset;
+		readOffset = Math.min(Math.max(committed, segments.firstKey()), writeOffset);
+		for (offset = readOffset; offset < writeOffset; ) {
+			Segment segment = segmentAt(offset);
+			length = segment.lengthAt(offset);
+			if (length == 0) {
+				offset = segment.base + segment.size;
+			} else {
+				offset += HEADER_SIZE + length;
+				backlog++;
+			}
+		}
+	}
+
+	private void roll(int recordSize) throws IOException {
+		writeSegment.file.setLastModified(System.currentTimeMillis());
+		writeSegment = createSegment(writeSegment.base + writeSegment.size, Math.max(segmentSize, recordSize));
+		long expiry = System.currentTimeMillis() - retention;
+		for (Iterator<Map.Entry<Long, Segment>> entries = segments.entrySet().iterator(); entries.hasNext(); ) {
+			Segment segment = entries.next().getValue();
+			if (segment == writeSegment || segment.base + segment.size > readOffset || (retention > 0 && segment.file.lastModified() >= expiry)) {
+				break;
+			}
+			entries.remove();
+			segment.file.delete();
+		}
+	}
+
+	private Segment createSegment(long base, int size) throws IOException {
+		Segment segment = new Segment(new File(directory, String.format("%020d", base) + SEGMENT_SUFFIX), base, size);
+		segments.put(base, segment);
+		return segment;
+	}
+
+	private Segment segmentAt(long offset) {
+		Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+		if (entry == null) {
+			// the segment was deleted by retention
+			entry = segments.firstEntry();
+			readOffset = entry.getKey();
+		}
+		return entry.getValue();
+	}
+
+	/**
+	 * Receives messages read from the journal.
+	 */
+	interface RecordHandler {
+
+		void handle(byte[] message, long timestamp);
+
+	}
+
+	private static class Segment {
+
+		final File file;
+
+		final long base;
+
+		final int size;
+
+		final MappedByteBuffer buffer;
+
+		Segment(File file, long base, int size) throws IOException {
+			this.file = file;
+			this.base = base;
+			this.size = size;
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try {
+				this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			} finally {
+				raf.close();
+			}
+		}
+
+		int lengthAt(long offset) {
+			int position = (int) (offset - base);
+			return position + HEADER_SIZE <= size ? buffer.getInt(position) : 0;
+		}
+
+		long timestampAt(long offset) {
+			return buffer.getLong((int) (offset - base) + 4);
+		}
+
+		long firstTimestamp() {
+			return lengthAt(base) > 0 ? timestampAt(base) : Long.MAX_VALUE;
+		}
+
+		byte[] read(long offset, int length) {
+			byte[] message = new byte[length];
+			ByteBuffer source = buffer.duplicate();
+			source.position((int) (offset - base) + HEADER_SIZE);
+			source.get(message);
+			return message;
+		}
+
+	}
+
+	private static final int HEADER_SIZE = 12;
+
+	private static final String SEGMENT_SUFFIX = ".segment";
+
+	private static final String OFFSET_FILE = "consumer.offset";
+
+}
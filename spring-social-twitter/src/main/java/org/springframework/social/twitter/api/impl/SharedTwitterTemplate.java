@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import org.springframework.social.twitter.api.BlockOperations;
+import org.springframework.social.twitter.api.DirectMessageOperations;
+import org.springframework.social.twitter.api.FriendOperations;
+import org.springframework.social.twitter.api.GeoOperations;
+import org.springframework.social.twitter.api.ListOperations;
+import org.springframework.social.twitter.api.SearchOperations;
+import org.springframework.social.twitter.api.StreamingOperations;
+import org.springframework.social.twitter.api.TimelineOperations;
+import org.springframework.social.twitter.api.Twitter;
+import org.springframework.social.twitter.api.UserOperations;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * A Twitter API binding for one user's access token, created by a {@link TwitterTemplateFactory}.
+ * Its RestTemplate signs requests with the user's credentials but shares the factory's message converters, error handler and request factory.
+ */
+class SharedTwitterTemplate implements Twitter {
+
+	private final RestTemplate restTemplate;
+
+	private final TimelineOperations timelineOperations;
+
+	private final UserOperations userOperations;
+
+	private final FriendOperations friendOperations;
+
+	private final ListOperations listOperations;
+
+	private final SearchOperations searchOperations;
+
+	private final DirectMessageOperations directMessageOperations;
+
+	private final BlockOperations blockOperations;
+
+	private final GeoOperations geoOperations;
+
+	private final StreamingTemplate streamOperations;
+
+	SharedTwitterTemplate(RestTemplate restTemplate) {
+		this.restTemplate = restTemplate;
+		this.userOperations = new UserTemplate(restTemplate, true, false);
+		this.directMessageOperations = new DirectMessageTemplate(restTemplate, true, false);
+		this.friendOperations = new FriendTemplate(restTemplate, true, false);
+		this.listOperations = new ListTemplate(restTemplate, true, false);
+		this.timelineOperations = new TimelineTemplate(restTemplate, true, false);
+		this.searchOperations = new SearchTemplate(restTemplate, true, false);
+		this.blockOperations = new BlockTemplate(restTemplate, true, false);
+		this.geoOperations = new GeoTemplate(restTemplate, true, false);
+		this.streamOperations = new StreamingTemplate(restTemplate, true, false);
+	}
+
+	public boolean isAuthorized() {
+		return true;
+	}
+
+	public TimelineOperations timelineOperations() {
+		return timelineOperations;
+	}
+
+	public FriendOperations friendOperations() {
+		return friendOperations;
+	}
+
+	public ListOperations listOperations() {
+		return listOperations;
+	}
+
+	public SearchOperations searchOperations() {
+		return searchOperations;
+	}
+
+	public DirectMessageOperations directMessageOperations() {
+		return directMessageOperations;
+	}
+
+	public UserOperations userOperations() {
+		return userOperations;
+	}
+
+	public BlockOperations blockOperations() {
+		return blockOperations;
+	}
+
+	public GeoOperations geoOperations() {
+		return geoOperations;
+	}
+
+	public StreamingOperations streamingOperations() {
+		return streamOperations;
+	}
+
+	public RestOperations restOperations() {
+		return restTemplate;
+	}
+
+	StreamingTemplate getStreamingTemplate() {
+		return streamOperations;
+	}
+
+}
@@ -22,24 +22,19 @@ import org.springframework.social.twitter.api.Place;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 class SimilarPlacesDeserializer extends JsonDeserializer<SimilarPlacesResponse> {
 	@Override
 	public SimilarPlacesResponse deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-		ObjectMapper mapper = new ObjectMapper();
-		mapper.registerModule(new TwitterModule());
-		jp.setCodec(mapper);				
-		JsonNode node = jp.readValueAs(JsonNode.class);
+		JsonNode node = TwitterObjectReaders.READER.readTree(jp);
 		JsonNode resultNode = node.get("result");
 		String token = resultNode.get("token").textValue();
 		JsonNode placesNode = resultNode.get("places");
 		@SuppressWarnings("unchecked")
-		List<Place> places = (List<Place>) mapper.readerFor(new TypeReference<List<Place>>() {}).readValue(placesNode);
+		List<Place> places = (List<Place>) TwitterObjectReaders.PLACES.readValue(placesNode);
 		return new SimilarPlacesResponse(places, token);
 	}
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically asks every open stream reader whether it has gone quiet for longer than its stall timeout.
+ * One watchdog thread serves all the streams of a StreamingTemplate, and only runs while at least one stream is being watched.
+ */
+class StallWatchdog {
+
+	private final Set<StreamReaderImpl> readers = ConcurrentHashMap.newKeySet();
+
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	private final long checkInterval;
+
+	private ScheduledFuture<?> check;
+
+	public StallWatchdog(ThreadFactory threadFactory, long checkInterval) {
+		this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+		this.scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+		this.scheduler.allowCoreThreadTimeOut(true);
+		this.checkInterval = checkInterval;
+	}
+
+	public synchronized void watch(StreamReaderImpl reader) {
+		readers.add(reader);
+		if (check == null) {
+			check = scheduler.scheduleWithFixedDelay(new Runnable() {
+				public void run() {
+					long now = System.nanoTime();
+					for (StreamReaderImpl reader : readers) {
+						reader.checkStall(now);
+					}
+				}
+			}, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public synchronized void unwatch(StreamReaderImpl reader) {
+		readers.remove(reader);
+		if (readers.isEmpty() && check != null) {
+			check.cancel(false);
+			check = null;
+		}
+	}
+
+}
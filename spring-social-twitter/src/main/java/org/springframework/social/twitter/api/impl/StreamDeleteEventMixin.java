@@ -35,7 +35,7 @@ abstract class StreamDeleteEventMixin extends TwitterObjectMixin {
 	static final class DeleteTweetEventDeserializer extends JsonDeserializer<StreamDeleteEvent> {
 		@Override
 		public StreamDeleteEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-			JsonNode deleteNode = jp.readValueAs(JsonNode.class).get("delete").get("status");
+			JsonNode deleteNode = jp.readValueAs(JsonNode.class).get("status");
 			return new StreamDeleteEvent(deleteNode.get("id").asLong(), deleteNode.get("user_id").asLong());
 		}
 	}
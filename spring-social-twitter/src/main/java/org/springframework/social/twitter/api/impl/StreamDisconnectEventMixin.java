@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+
+import org.springframework.social.twitter.api.StreamDisconnectEvent;
+import org.springframework.social.twitter.api.impl.StreamDisconnectEventMixin.StreamDisconnectEventDeserializer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = StreamDisconnectEventDeserializer.class)
+abstract class StreamDisconnectEventMixin extends TwitterObjectMixin {
+
+	static final class StreamDisconnectEventDeserializer extends JsonDeserializer<StreamDisconnectEvent> {
+		@Override
+		public StreamDisconnectEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+			JsonNode disconnectNode = jp.readValueAs(JsonNode.class);
+			return new StreamDisconnectEvent(disconnectNode.path("code").asInt(), disconnectNode.path("stream_name").asText(), disconnectNode.path("reason").asText());
+		}
+	}
+
+}
@@ -16,112 +16,184 @@
 package org.springframework.social.twitter.api.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.springframework.social.twitter.api.BatchStreamListener;
+import org.springframework.social.twitter.api.DirectMessage;
+import org.springframework.social.twitter.api.ListenerDispatchMode;
 import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.StreamDisconnectEvent;
 import org.springframework.social.twitter.api.StreamListener;
+import org.springframework.social.twitter.api.StreamScrubGeoEvent;
+import org.springframework.social.twitter.api.StreamStatusWithheldEvent;
+import org.springframework.social.twitter.api.StreamUserEvent;
+import org.springframework.social.twitter.api.StreamUserWithheldEvent;
 import org.springframework.social.twitter.api.StreamWarningEvent;
+import org.springframework.social.twitter.api.StreamingOptions;
 import org.springframework.social.twitter.api.Tweet;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
+/**
+ * Reads raw UTF-8 messages off the stream's queue, parses them with a {@link StreamMessageParser}, and hands the result to each listener.
+ * {@link BatchStreamListener}s always get a lane of their own, so that their batches can be collected off the dispatching thread.
+ */
 class StreamDispatcher implements Runnable {
 
-	private final List<StreamListener> listeners;
+	private final List<StreamListener> pooledListeners;
 
-	private ObjectMapper objectMapper;
+	private final StreamMessageParser parser;
 	
 	private AtomicBoolean active;
 
-	private final Queue<String> queue;
+	private final StreamMessageQueue queue;
 	
 	private final ExecutorService pool;
 
-	public StreamDispatcher(Queue<String> queue, List<StreamListener> listeners) {
+	private final List<ListenerLane> lanes;
+
+	private volatile double percentFull;
+
+	private final StreamPosition position;
+
+	private final StreamMetrics metrics;
+
+	public StreamDispatcher(StreamMessageQueue queue, List<StreamListener> listeners) {
+		this(queue, listeners, new StreamingOptions());
+	}
+
+	public StreamDispatcher(StreamMessageQueue queue, List<StreamListener> listeners, StreamingOptions options) {
+		this(queue, listeners, options, null, new StreamMetrics());
+	}
+
+	public StreamDispatcher(StreamMessageQueue queue, List<StreamListener> listeners, StreamingOptions options, StreamPosition position, StreamMetrics metrics) {
 		this.queue = queue;
-		this.listeners = listeners;
-		pool = Executors.newCachedThreadPool();
-		objectMapper = new ObjectMapper();
-		objectMapper.addMixIn(Tweet.class, TweetMixin.class);
-		objectMapper.addMixIn(StreamDeleteEvent.class, StreamDeleteEventMixin.class);
-		objectMapper.addMixIn(StreamWarningEvent.class, StreamWarningEventMixin.class);
+		this.position = position;
+		this.metrics = metrics;
+		this.pooledListeners = new ArrayList<StreamListener>(listeners.size());
+		this.lanes = new ArrayList<ListenerLane>();
+		boolean ordered = options.getListenerDispatchMode() == ListenerDispatchMode.ORDERED;
+		for (StreamListener listener : listeners) {
+			if (listener instanceof BatchStreamListener) {
+				lanes.add(new BatchListenerLane((BatchStreamListener) listener, options.getListenerQueueCapacity(),
+						options.getBatchListenerMaxSize(), options.getBatchListenerMaxLatency(), options.getThreadFactory()));
+			} else if (ordered) {
+				lanes.add(new ListenerLane(listener, options.getListenerQueueCapacity(), options.getListenerBatchSize(), options.getThreadFactory()));
+			} else {
+				pooledListeners.add(listener);
+			}
+		}
+		for (ListenerLane lane : lanes) {
+			lane.start();
+		}
+		pool = pooledListeners.isEmpty() ? null : Executors.newCachedThreadPool(options.getThreadFactory());
+		parser = new StreamMessageParser(options.isLazyTweets(), options.getTweetFields());
 		active = new AtomicBoolean(true);
 	}
 
 	public void run() {
 		while(active.get()) {
-			String line = queue.poll();
-			if(line == null || line.length() == 0) return;
-			
-			// TODO: handle scrub_geo, status_withheld, user_withheld, disconnect, friends, events, 
+			byte[] raw;
+			try {
+				raw = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
 			
 			try {
-				if (line.contains("in_reply_to_status_id_str")) { // TODO: This is kinda hacky
-					handleTweet(line);
-				} else if (line.startsWith("{\"limit")) {
-					handleLimit(line);
-				} else if (line.startsWith("{\"delete")) {
-					handleDelete(line);
-				} else if (line.startsWith("{\"warning")) {
-					handleWarning(line);
+				long start = System.nanoTime();
+				Object message = parser.parse(raw);
+				metrics.messageParsed(System.nanoTime() - start);
+				if (message instanceof Tweet) {
+					if (position != null && !position.advance((Tweet) message)) {
+						continue; // backfilled after a reconnect, but already delivered
+					}
+					metrics.tweetDispatched();
+				} else if (message instanceof StreamWarningEvent) {
+					percentFull = ((StreamWarningEvent) message).getPercentFull();
+				} else if (message instanceof TrackLimitEvent) {
+					metrics.limitNotice(((TrackLimitEvent) message).getNumberOfLimitedTweets());
+				}
+				if (message != null) {
+					handleMessage(message);
 				}
 			} catch (IOException e) {
 				// TODO: Should only happen if Jackson doesn't know how to map the line
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
 			}
 		}
 	}
 	
 	public void stop() {
 		active.set(false);
-		pool.shutdown();
-	}
-	
-	private void handleDelete(String line) throws IOException {
-		final StreamDeleteEvent deleteEvent = objectMapper.readValue(line, StreamDeleteEvent.class);
-		for (final StreamListener listener : listeners) {
-			pool.submit((new Runnable() {
-				public void run() {
-					listener.onDelete(deleteEvent);
-				}
-			}));
+		if (pool != null) {
+			pool.shutdown();
+		}
+		for (ListenerLane lane : lanes) {
+			lane.stop();
 		}
 	}
 
-	private void handleLimit(String line) throws IOException {
-		final TrackLimitEvent limitEvent = objectMapper.readValue(line, TrackLimitEvent.class);
-		for (final StreamListener listener : listeners) {
-			pool.submit((new Runnable() {
-				public void run() {
-					listener.onLimit(limitEvent.getNumberOfLimitedTweets());
-				}
-			}));
+	/**
+	 * @return the percent_full of the most recent stall warning, or 0 if there has been none
+	 */
+	public double getPercentFull() {
+		return percentFull;
+	}
+
+	/**
+	 * @return the number of messages waiting in listener lanes
+	 */
+	public int getListenerBacklog() {
+		int backlog = 0;
+		for (int i = 0; i < lanes.size(); i++) {
+			backlog += lanes.get(i).size();
 		}
+		return backlog;
 	}
 
-	private void handleTweet(String line) throws IOException {
-		final Tweet tweet = objectMapper.readValue(line, Tweet.class);
-		for (final StreamListener listener : listeners) {
+	private void handleMessage(final Object message) throws InterruptedException {
+		for (int i = 0; i < lanes.size(); i++) {
+			lanes.get(i).put(message);
+		}
+		for (final StreamListener listener : pooledListeners) {
 			pool.submit((new Runnable() {
 				public void run() {
-					listener.onTweet(tweet);
+					deliver(listener, message);
 				}
 			}));
 		}
 	}
-	
-	private void handleWarning(String line) throws IOException {
-		final StreamWarningEvent warningEvent = objectMapper.readValue(line, StreamWarningEvent.class);
-		for (final StreamListener listener : listeners) {
-			pool.submit((new Runnable() {
-				public void run() {
-					listener.onWarning(warningEvent);
-				}
-			}));
+
+	static void deliver(StreamListener listener, Object message) {
+		if (message instanceof Tweet) {
+			listener.onTweet((Tweet) message);
+		} else if (message instanceof StreamDeleteEvent) {
+			listener.onDelete((StreamDeleteEvent) message);
+		} else if (message instanceof TrackLimitEvent) {
+			listener.onLimit(((TrackLimitEvent) message).getNumberOfLimitedTweets());
+		} else if (message instanceof StreamWarningEvent) {
+			listener.onWarning((StreamWarningEvent) message);
+		} else if (message instanceof StreamScrubGeoEvent) {
+			listener.onScrubGeo((StreamScrubGeoEvent) message);
+		} else if (message instanceof StreamStatusWithheldEvent) {
+			listener.onStatusWithheld((StreamStatusWithheldEvent) message);
+		} else if (message instanceof StreamUserWithheldEvent) {
+			listener.onUserWithheld((StreamUserWithheldEvent) message);
+		} else if (message instanceof StreamDisconnectEvent) {
+			listener.onDisconnect((StreamDisconnectEvent) message);
+		} else if (message instanceof FriendsListEvent) {
+			listener.onFriends(((FriendsListEvent) message).getFriendIds());
+		} else if (message instanceof StreamUserEvent) {
+			listener.onUserEvent((StreamUserEvent) message);
+		} else if (message instanceof DirectMessage) {
+			listener.onDirectMessage((DirectMessage) message);
 		}
 	}
-	
+
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.social.twitter.api.DirectMessage;
+import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.StreamDisconnectEvent;
+import org.springframework.social.twitter.api.StreamScrubGeoEvent;
+import org.springframework.social.twitter.api.StreamStatusWithheldEvent;
+import org.springframework.social.twitter.api.StreamUserWithheldEvent;
+import org.springframework.social.twitter.api.StreamWarningEvent;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Classifies and parses raw UTF-8 stream messages.
+ * Envelope messages (delete, limit, warning and so on) are recognized by their single top-level field name and
+ * the parser is passed, positioned at the envelope's value, straight to the matching shared {@link ObjectReader}.
+ * Anything else is most likely a tweet, and is read token by token with a {@link TweetReader}, or only skimmed into a {@link LazyTweet}
+ * if the parser was asked for lazy tweets. User stream events are recognized by their event field in the same pass,
+ * which keeps the fields an event is bound from.
+ * Instances are thread-safe.
+ */
+class StreamMessageParser {
+
+	private final boolean lazyTweets;
+
+	private final Set<TweetField> tweetFields;
+
+	public StreamMessageParser() {
+		this(false, null);
+	}
+
+	/**
+	 * @param lazyTweets whether to return tweets that decode each property on first use rather than fully deserialized tweets
+	 * @param tweetFields the tweet properties to read when not returning lazy tweets, or null to read whole tweets
+	 */
+	public StreamMessageParser(boolean lazyTweets, Set<TweetField> tweetFields) {
+		this.lazyTweets = lazyTweets;
+		this.tweetFields = tweetFields;
+	}
+
+	/**
+	 * @return the parsed message, or null if the message is not a JSON object
+	 */
+	public Object parse(byte[] raw) throws IOException {
+		return parse(raw, raw.length);
+	}
+
+	/**
+	 * Parses a message held in the first length bytes of a buffer.
+	 * A lazy tweet keeps the bytes it was read from, so they're copied unless they fill the whole buffer.
+	 * @return the parsed message, or null if the message is not a JSON object
+	 */
+	public Object parse(byte[] buffer, int length) throws IOException {
+		JsonParser parser = TwitterObjectReaders.createParser(buffer, 0, length);
+		try {
+			if (parser.nextToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+				return null;
+			}
+			ObjectReader envelopeReader = ENVELOPE_READERS.get(parser.getCurrentName());
+			if (envelopeReader != null) {
+				parser.nextToken();
+				return envelopeReader.readValue(parser);
+			}
+			StreamUserEventReader events = new StreamUserEventReader();
+			Tweet tweet;
+			if (lazyTweets) {
+				byte[] json = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+				tweet = LazyTweet.read(parser, json, length, events);
+			} else {
+				tweet = TweetReader.readTweet(parser, tweetFields != null ? tweetFields : TweetField.ALL, events);
+			}
+			if (tweet != null) {
+				return tweet;
+			}
+			return events.isEvent() ? events.getEvent(parser) : null;
+		} finally {
+			parser.close();
+		}
+	}
+
+	private static final Map<String, ObjectReader> ENVELOPE_READERS = new HashMap<String, ObjectReader>();
+
+	static {
+		ENVELOPE_READERS.put("delete", TwitterObjectReaders.readerFor(StreamDeleteEvent.class));
+		ENVELOPE_READERS.put("limit", TwitterObjectReaders.readerFor(TrackLimitEvent.class));
+		ENVELOPE_READERS.put("warning", TwitterObjectReaders.readerFor(StreamWarningEvent.class));
+		ENVELOPE_READERS.put("scrub_geo", TwitterObjectReaders.readerFor(StreamScrubGeoEvent.class));
+		ENVELOPE_READERS.put("status_withheld", TwitterObjectReaders.readerFor(StreamStatusWithheldEvent.class));
+		ENVELOPE_READERS.put("user_withheld", TwitterObjectReaders.readerFor(StreamUserWithheldEvent.class));
+		ENVELOPE_READERS.put("disconnect", TwitterObjectReaders.readerFor(StreamDisconnectEvent.class));
+		ENVELOPE_READERS.put("friends", TwitterObjectReaders.readerFor(FriendsListEvent.class));
+		ENVELOPE_READERS.put("friends_str", TwitterObjectReaders.readerFor(FriendsListEvent.class));
+		ENVELOPE_READERS.put("direct_message", TwitterObjectReaders.readerFor(DirectMessage.class));
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.social.twitter.api.StreamOverflowPolicy;
+import org.springframework.social.twitter.api.StreamingException;
+
+/**
+ * Bounded hand-off between the thread reading a stream and the thread dispatching its messages.
+ * The consumer blocks while the queue is empty; what the producer does when the queue is full is decided by the {@link StreamOverflowPolicy}.
+ * A queue backed by a {@link SegmentJournal} keeps every message on disk instead, and never blocks the producer or drops a message.
+ */
+class StreamMessageQueue {
+
+	private final BlockingQueue<byte[]> queue;
+
+	private final StreamOverflowPolicy overflowPolicy;
+
+	private final SpillFile spill;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final SegmentJournal journal;
+
+	public StreamMessageQueue(int capacity, StreamOverflowPolicy overflowPolicy) {
+		this(capacity, overflowPolicy, null);
+	}
+
+	public StreamMessageQueue(int capacity, StreamOverflowPolicy overflowPolicy, File spillDirectory) {
+		this(capacity, overflowPolicy, spillDirectory, null);
+	}
+
+	public StreamMessageQueue(int capacity, StreamOverflowPolicy overflowPolicy, File spillDirectory, SegmentJournal journal) {
+		this.queue = new ArrayBlockingQueue<byte[]>(journal != null ? 1 : capacity);
+		this.overflowPolicy = overflowPolicy;
+		this.spill = overflowPolicy == StreamOverflowPolicy.SPILL_TO_DISK && journal == null ? new SpillFile(spillDirectory) : null;
+		this.journal = journal;
+		if (journal != null) {
+			journal.rewind();
+		}
+	}
+
+	public void put(byte[] message) throws InterruptedException {
+		if (journal != null) {
+			journal.append(message);
+			return;
+		}
+		switch (overflowPolicy) {
+			case BLOCK:
+				queue.put(message);
+				break;
+			case DROP_NEWEST:
+				if (!queue.offer(message)) {
+					dropped.incrementAndGet();
+				}
+				break;
+			case DROP_OLDEST:
+				while (!queue.offer(message)) {
+					if (queue.poll() != null) {
+						dropped.incrementAndGet();
+					}
+				}
+				break;
+			case SPILL_TO_DISK:
+				synchronized (spill) {
+					// once spilling has started, everything goes to disk until the spill is drained so that order is kept
+					if (spill.isEmpty() && queue.offer(message)) {
+						return;
+					}
+					spill.append(message);
+				}
+				break;
+		}
+	}
+
+	public byte[] take() throws InterruptedException {
+		if (journal != null) {
+			return journal.take();
+		}
+		if (spill != null) {
+			synchronized (spill) {
+				byte[] message = queue.poll();
+				if (message != null) {
+					return message;
+				}
+				if (!spill.isEmpty()) {
+					return spill.next();
+				}
+			}
+		}
+		return queue.take();
+	}
+
+	/**
+	 * @return the number of messages waiting to be dispatched, including any spilled to disk
+	 */
+	public int size() {
+		if (journal != null) {
+			return journal.size();
+		}
+		if (spill != null) {
+			synchronized (spill) {
+				return queue.size() + spill.size();
+			}
+		}
+		return queue.size();
+	}
+
+	/**
+	 * @return the number of messages discarded because the queue was full
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	public void close() {
+		// journaled messages are kept for the next connection
+		queue.clear();
+		if (spill != null) {
+			synchronized (spill) {
+				spill.delete();
+			}
+		}
+	}
+
+	/**
+	 * Append-only file of length-prefixed messages, read back in the order they were written.
+	 * The file is truncated whenever the reader catches up with the writer.
+	 */
+	private static class SpillFile {
+
+		private final File directory;
+
+		private File file;
+
+		private RandomAccessFile raf;
+
+		private long readPosition;
+
+		private long writePosition;
+
+		private int count;
+
+		SpillFile(File directory) {
+			this.directory = directory;
+		}
+
+		boolean isEmpty() {
+			return count == 0;
+		}
+
+		int size() {
+			return count;
+		}
+
+		void append(byte[] message) {
+			try {
+				if (raf == null) {
+					file = File.createTempFile("twitter-stream-", ".spill", directory);
+					file.deleteOnExit();
+					raf = new RandomAccessFile(file, "rw");
+				}
+				raf.seek(writePosition);
+				raf.writeInt(message.length);
+				raf.write(message);
+				writePosition = raf.getFilePointer();
+				count++;
+			} catch (IOException e) {
+				throw new StreamingException("Unable to spill stream message to disk", e);
+			}
+		}
+
+		byte[] next() {
+			try {
+				raf.seek(readPosition);
+				byte[] bytes = new byte[raf.readInt()];
+				raf.readFully(bytes);
+				readPosition = raf.getFilePointer();
+				if (--count == 0) {
+					readPosition = 0;
+					writePosition = 0;
+					raf.setLength(0);
+				}
+				return bytes;
+			} catch (IOException e) {
+				throw new StreamingException("Unable to read spilled stream message from disk", e);
+			}
+		}
+
+		void delete() {
+			count = 0;
+			if (raf != null) {
+				try {
+					raf.close();
+				} catch (IOException ignore) {}
+				raf = null;
+				file.delete();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits the raw bytes of a stream into messages without decoding them to characters.
+ * Supports both newline-delimited messages and Twitter's delimited=length framing, in which each message
+ * is preceded by a line holding its length in bytes. Blank keep-alive lines are skipped in either mode.
+ * The message buffer is reused from one message to the next, so callers must copy what they need before calling {@link #next()} again.
+ */
+class StreamMessageReader {
+
+	private final InputStream inputStream;
+
+	private final boolean lengthDelimited;
+
+	private final byte[] chunk = new byte[CHUNK_SIZE];
+
+	private int chunkPosition;
+
+	private int chunkLimit;
+
+	private byte[] message = new byte[INITIAL_MESSAGE_SIZE];
+
+	private int messageLength;
+
+	private volatile long lastReadTime = System.nanoTime();
+
+	public StreamMessageReader(InputStream inputStream, boolean lengthDelimited) {
+		this.inputStream = inputStream;
+		this.lengthDelimited = lengthDelimited;
+	}
+
+	/**
+	 * Reads the next message into the message buffer.
+	 * @return false if the stream ended before another message could be read
+	 */
+	public boolean next() throws IOException {
+		while (readLine()) {
+			if (messageLength == 0) {
+				continue; // keep-alive
+			}
+			if (!lengthDelimited) {
+				return true;
+			}
+			int length = parseLength();
+			if (!readFully(length)) {
+				return false;
+			}
+			trimLineEnding();
+			if (messageLength > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the {@link System#nanoTime()} at which bytes were last read from the stream, keep-alives included
+	 */
+	public long getLastReadTime() {
+		return lastReadTime;
+	}
+
+	/**
+	 * @return the buffer holding the current message, starting at offset 0
+	 */
+	public byte[] getBuffer() {
+		return message;
+	}
+
+	/**
+	 * @return the length in bytes of the current message
+	 */
+	public int getLength() {
+		return messageLength;
+	}
+
+	/**
+	 * @return a copy of the current message, sized to fit
+	 */
+	public byte[] copyMessage() {
+		return Arrays.copyOf(message, messageLength);
+	}
+
+	private boolean readLine() throws IOException {
+		messageLength = 0;
+		while (true) {
+			if (chunkPosition == chunkLimit && !fill()) {
+				// like BufferedReader.readLine(), an unterminated last line still counts
+				trimLineEnding();
+				return messageLength > 0;
+			}
+			int start = chunkPosition;
+			while (chunkPosition < chunkLimit) {
+				if (chunk[chunkPosition++] == '\n') {
+					append(start, chunkPosition - start - 1);
+					trimLineEnding();
+					return true;
+				}
+			}
+			append(start, chunkPosition - start);
+		}
+	}
+
+	private boolean readFully(int length) throws IOException {
+		messageLength = 0;
+		while (messageLength < length) {
+			if (chunkPosition == chunkLimit && !fill()) {
+				return false;
+			}
+			int count = Math.min(length - messageLength, chunkLimit - chunkPosition);
+			append(chunkPosition, count);
+			chunkPosition += count;
+		}
+		return true;
+	}
+
+	private int parseLength() throws IOException {
+		int length = 0;
+		for (int i = 0; i < messageLength; i++) {
+			byte b = message[i];
+			if (b < '0' || b > '9') {
+				throw new IOException("Invalid length delimiter in stream: " + new String(message, 0, messageLength, "US-ASCII"));
+			}
+			length = length * 10 + (b - '0');
+		}
+		return length;
+	}
+
+	private void append(int offset, int length) {
+		if (messageLength + length > message.length) {
+			message = Arrays.copyOf(message, Math.max(message.length * 2, messageLength + length));
+		}
+		System.arraycopy(chunk, offset, message, messageLength, length);
+		messageLength += length;
+	}
+
+	private void trimLineEnding() {
+		while (messageLength > 0 && (message[messageLength - 1] == '\r' || message[messageLength - 1] == '\n')) {
+			messageLength--;
+		}
+	}
+
+	private boolean fill() throws IOException {
+		int count = inputStream.read(chunk);
+		if (count < 0) {
+			return false;
+		}
+		if (count > 0) {
+			lastReadTime = System.nanoTime();
+		}
+		chunkPosition = 0;
+		chunkLimit = count;
+		return true;
+	}
+
+	private static final int CHUNK_SIZE = 8192;
+
+	private static final int INITIAL_MESSAGE_SIZE = 8192;
+
+}
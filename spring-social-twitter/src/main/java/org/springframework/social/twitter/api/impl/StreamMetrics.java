@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.social.twitter.api.StreamStats;
+
+/**
+ * Counts what a stream does over its lifetime, across the connections a {@link ThreadedStreamConsumer} makes.
+ * Each counter is written by one of the stream's threads and read by whoever asks for the stream's {@link StreamStats}.
+ */
+class StreamMetrics {
+
+	private final long started = System.nanoTime();
+
+	private final LongAdder messages = new LongAdder();
+
+	private final LongAdder bytes = new LongAdder();
+
+	private final LongAdder tweets = new LongAdder();
+
+	private final LongAdder parseCount = new LongAdder();
+
+	private final LongAdder parseTime = new LongAdder();
+
+	private final LongAdder limitNotices = new LongAdder();
+
+	private final LongAdder limitedTweets = new LongAdder();
+
+	private final LongAdder reconnects = new LongAdder();
+
+	private final LongAdder connectionFailures = new LongAdder();
+
+	private volatile int lastLimitedTweets;
+
+	public void messageRead(int length) {
+		messages.increment();
+		bytes.add(length);
+	}
+
+	public void messageParsed(long nanos) {
+		parseCount.increment();
+		parseTime.add(nanos);
+	}
+
+	public void tweetDispatched() {
+		tweets.increment();
+	}
+
+	/**
+	 * Limit notices carry a running total for the connection, so only the increase since the previous notice is counted.
+	 */
+	public void limitNotice(int numberOfLimitedTweets) {
+		limitNotices.increment();
+		limitedTweets.add(Math.max(0, numberOfLimitedTweets - lastLimitedTweets));
+		lastLimitedTweets = numberOfLimitedTweets;
+	}
+
+	public void connected(boolean reconnect) {
+		lastLimitedTweets = 0;
+		if (reconnect) {
+			reconnects.increment();
+		}
+	}
+
+	public void connectionFailed() {
+		connectionFailures.increment();
+	}
+
+	public StreamStats snapshot(StreamReader reader) {
+		return new StreamStats(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), messages.sum(), bytes.sum(), tweets.sum(),
+				parseCount.sum(), parseTime.sum(), limitNotices.sum(), limitedTweets.sum(), reconnects.sum(), connectionFailures.sum(),
+				reader != null ? reader.getQueueDepth() : 0, reader != null ? reader.getListenerBacklog() : 0,
+				reader != null ? reader.getPercentFull() : 0);
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.social.twitter.api.Tweet;
+
+/**
+ * Remembers the tweets a stream delivered, across the connections a {@link ThreadedStreamConsumer} makes, so that
+ * a reconnect can ask for a backfill and the tweets delivered before the reconnect can be told apart from those that were missed.
+ * A backfill goes back no further than its count, so the ids of that many of the latest tweets delivered are kept and a tweet
+ * read again is dropped. Tweets aren't assumed to arrive in id order, so one delivered late isn't taken for a duplicate.
+ */
+class StreamPosition {
+
+	private final Set<Long> deliveredTweetIds;
+
+	private volatile long lastTweetId = -1;
+
+	/**
+	 * @param backfill the number of tweets a reconnect may backfill, and so the number of tweet ids to keep
+	 */
+	public StreamPosition(final int backfill) {
+		this.deliveredTweetIds = Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>() {
+			protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+				return size() > backfill;
+			}
+		});
+	}
+
+	/**
+	 * @return whether a tweet has been delivered, and so whether a reconnect has anything to resume from
+	 */
+	public boolean hasDelivered() {
+		return lastTweetId >= 0;
+	}
+
+	/**
+	 * Called by the dispatcher for each tweet read.
+	 * @return false if the tweet is one of those already delivered
+	 */
+	public synchronized boolean advance(Tweet tweet) {
+		long id;
+		try {
+			id = Long.parseLong(tweet.getId());
+		} catch (NumberFormatException e) {
+			return true;
+		}
+		if (!deliveredTweetIds.add(id)) {
+			return false;
+		}
+		if (id > lastTweetId) {
+			lastTweetId = id;
+		}
+		return true;
+	}
+
+	public long getLastTweetId() {
+		return lastTweetId;
+	}
+
+}
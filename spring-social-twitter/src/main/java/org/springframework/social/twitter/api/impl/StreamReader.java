@@ -19,6 +19,12 @@ interface StreamReader {
 
 	void next();
 
+	int getQueueDepth();
+
+	double getPercentFull();
+
+	int getListenerBacklog();
+
 	void close();
 
 }
@@ -15,20 +15,17 @@
  */
 package org.springframework.social.twitter.api.impl;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.social.twitter.api.StreamListener;
 import org.springframework.social.twitter.api.StreamingException;
+import org.springframework.social.twitter.api.StreamingOptions;
 
 class StreamReaderImpl implements StreamReader {
 	
@@ -36,47 +33,111 @@ class StreamReaderImpl implements StreamReader {
 		
 	private final InputStream inputStream;
 
-	private final BufferedReader reader;
+	private final StreamMessageReader reader;
 	
-	private final Queue<String> queue;
+	private final StreamMessageQueue queue;
 
 	private final StreamDispatcher dispatcher;
 
-	private final ScheduledFuture<?> future;
-	
-	private final ScheduledThreadPoolExecutor executor;
+	private final ExecutorService executor;
+
+	private final StallWatchdog watchdog;
+
+	private final long stallTimeout;
+
+	private volatile boolean stalled;
+
+	private final StreamMetrics metrics;
 	
 	public StreamReaderImpl(InputStream inputStream, List<StreamListener> listeners) {
+		this(inputStream, listeners, new StreamingOptions());
+	}
+
+	public StreamReaderImpl(InputStream inputStream, List<StreamListener> listeners, StreamingOptions options) {
+		this(inputStream, listeners, options, null);
+	}
+
+	public StreamReaderImpl(InputStream inputStream, List<StreamListener> listeners, StreamingOptions options, StallWatchdog watchdog) {
+		this(inputStream, listeners, options, watchdog, null, new StreamMetrics(), null);
+	}
+
+	public StreamReaderImpl(InputStream inputStream, List<StreamListener> listeners, StreamingOptions options, StallWatchdog watchdog,
+			StreamPosition position, StreamMetrics metrics, SegmentJournal journal) {
 		this.inputStream = inputStream;
-		this.reader = new BufferedReader(new InputStreamReader(inputStream));
-		queue = new ConcurrentLinkedQueue<String>();
-		dispatcher = new StreamDispatcher(queue, listeners);
-		executor = new ScheduledThreadPoolExecutor(10);
-		future = executor.scheduleAtFixedRate(dispatcher, 0, 10, TimeUnit.MILLISECONDS);
+		this.metrics = metrics;
+		this.reader = new StreamMessageReader(inputStream, options.isDelimitedByLength());
+		queue = new StreamMessageQueue(options.getQueueCapacity(), options.getOverflowPolicy(), options.getSpillDirectory(), journal);
+		dispatcher = new StreamDispatcher(queue, listeners, options, position, metrics);
+		executor = Executors.newSingleThreadExecutor(options.getThreadFactory());
+		executor.execute(dispatcher);
 		open = new AtomicBoolean(true);
+		this.stallTimeout = TimeUnit.MILLISECONDS.toNanos(options.getStallTimeout());
+		this.watchdog = stallTimeout > 0 ? watchdog : null;
+		if (this.watchdog != null) {
+			this.watchdog.watch(this);
+		}
 	}
 	
 	public void next() {
 		try {
-			String line = reader.readLine();
-			if(line == null) {
+			if(!reader.next()) {
 				throw new IOException("Stream closed");
-			}			
-			queue.add(line);
+			}
+			metrics.messageRead(reader.getLength());
+			queue.put(reader.copyMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if(open.get()) {
+				close();
+				throw new StreamingException("Interrupted while queueing a stream message", e);
+			}
 		} catch (IOException e) {
 			if(open.get()) {
 				close();
+				if (stalled) {
+					throw new StreamingException("The stream stalled; nothing was received for " + TimeUnit.NANOSECONDS.toMillis(stallTimeout) + "ms", e);
+				}
 				throw new StreamingException("The Stream is closed", e);
 			}
 		}
 	}
 
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	public double getPercentFull() {
+		return dispatcher.getPercentFull();
+	}
+
+	public int getListenerBacklog() {
+		return dispatcher.getListenerBacklog();
+	}
+
+	/**
+	 * Called by the {@link StallWatchdog}. Closing the input stream of a stalled stream fails the blocked read,
+	 * so that {@link #next()} throws and the stream is reconnected.
+	 */
+	void checkStall(long now) {
+		if (open.get() && !stalled && now - reader.getLastReadTime() > stallTimeout) {
+			stalled = true;
+			try {
+				inputStream.close();
+			} catch (IOException ignore) {}
+		}
+	}
+
 	public void close() {
+		if (!open.getAndSet(false)) {
+			return;
+		}
 		try {
-			open.set(false);
-			future.cancel(true);
-			executor.shutdown();
+			if (watchdog != null) {
+				watchdog.unwatch(this);
+			}
 			dispatcher.stop();
+			executor.shutdownNow();
+			queue.close();
 			inputStream.close();
 		} catch(IOException ignore) {}
 	}
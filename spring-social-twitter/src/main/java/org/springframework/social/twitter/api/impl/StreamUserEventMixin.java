@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.springframework.social.twitter.api.StreamUserEvent;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.social.twitter.api.UserList;
+import org.springframework.social.twitter.api.impl.StreamUserEventMixin.StreamUserEventDeserializer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = StreamUserEventDeserializer.class)
+abstract class StreamUserEventMixin extends TwitterObjectMixin {
+
+	static final class StreamUserEventDeserializer extends JsonDeserializer<StreamUserEvent> {
+		@Override
+		public StreamUserEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+			return toEvent(jp.readValueAs(JsonNode.class), jp.getCodec());
+		}
+
+		static StreamUserEvent toEvent(JsonNode eventNode, ObjectCodec codec) throws IOException, JsonProcessingException {
+			String event = eventNode.path("event").asText();
+			TwitterProfile source = toValue(eventNode.get("source"), TwitterProfile.class, codec);
+			TwitterProfile target = toValue(eventNode.get("target"), TwitterProfile.class, codec);
+			JsonNode targetObjectNode = eventNode.get("target_object");
+			Tweet targetTweet = null;
+			UserList targetList = null;
+			if (event.startsWith("list_")) {
+				targetList = toValue(targetObjectNode, UserList.class, codec);
+			} else {
+				targetTweet = toValue(targetObjectNode, Tweet.class, codec);
+			}
+			Date createdAt = TwitterDates.parseTimelineDate(eventNode.path("created_at").asText(null));
+			return new StreamUserEvent(event, source, target, targetTweet, targetList, createdAt);
+		}
+
+		private static <T> T toValue(JsonNode node, Class<T> type, ObjectCodec codec) throws IOException, JsonProcessingException {
+			if (node == null || node.isNull() || node.isMissingNode()) {
+				return null;
+			}
+			return codec.treeToValue(node, type);
+		}
+	}
+
+}
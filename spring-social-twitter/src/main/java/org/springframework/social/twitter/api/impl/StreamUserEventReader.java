@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+
+import org.springframework.social.twitter.api.StreamUserEvent;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Keeps the top-level fields of a user stream event as a stream message is read as a tweet, so that a message
+ * recognized as an event by its event field is bound from them rather than read again.
+ * Tweets have none of the fields but a created_at, and a source that's a string rather than a user.
+ */
+final class StreamUserEventReader {
+
+	private ObjectNode fields;
+
+	private boolean event;
+
+	/**
+	 * Keeps the value of a top-level field if an event needs it.
+	 * @param parser a parser positioned at the field's value
+	 * @return true if the value was read, leaving the parser at its end
+	 */
+	public boolean readField(String name, JsonParser parser) throws IOException {
+		if ("event".equals(name)) {
+			event = true;
+			fields().put(name, parser.getValueAsString());
+		} else if ("created_at".equals(name)) {
+			// a tweet reads it too
+			fields().put(name, parser.getValueAsString());
+			return false;
+		} else if ("target".equals(name) || "target_object".equals(name) || ("source".equals(name) && parser.getCurrentToken() == JsonToken.START_OBJECT)) {
+			fields().set(name, parser.readValueAsTree());
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	public boolean isEvent() {
+		return event;
+	}
+
+	/**
+	 * Binds the event, once the whole message has been read.
+	 */
+	public StreamUserEvent getEvent(JsonParser parser) throws IOException {
+		return StreamUserEventMixin.StreamUserEventDeserializer.toEvent(fields(), parser.getCodec());
+	}
+
+	private ObjectNode fields() {
+		if (fields == null) {
+			fields = JsonNodeFactory.instance.objectNode();
+		}
+		return fields;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.social.twitter.api.StreamUserWithheldEvent;
+import org.springframework.social.twitter.api.impl.StreamUserWithheldEventMixin.StreamUserWithheldEventDeserializer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = StreamUserWithheldEventDeserializer.class)
+abstract class StreamUserWithheldEventMixin extends TwitterObjectMixin {
+
+	static List<String> toCountryList(JsonNode countriesNode) {
+		if (countriesNode == null || !countriesNode.isArray()) {
+			return Collections.emptyList();
+		}
+		List<String> countries = new ArrayList<String>(countriesNode.size());
+		for (JsonNode countryNode : countriesNode) {
+			countries.add(countryNode.asText());
+		}
+		return countries;
+	}
+
+	static final class StreamUserWithheldEventDeserializer extends JsonDeserializer<StreamUserWithheldEvent> {
+		@Override
+		public StreamUserWithheldEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+			JsonNode withheldNode = jp.readValueAs(JsonNode.class);
+			return new StreamUserWithheldEvent(withheldNode.get("id").asLong(), toCountryList(withheldNode.get("withheld_in_countries")));
+		}
+	}
+
+}
@@ -35,7 +35,7 @@ abstract class StreamWarningEventMixin extends TwitterObjectMixin {
 	static final class StreamWarningEventDeserializer extends JsonDeserializer<StreamWarningEvent> {
 		@Override
 		public StreamWarningEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-			JsonNode warningNode = jp.readValueAs(JsonNode.class).get("warning");
+			JsonNode warningNode = jp.readValueAs(JsonNode.class);
 			return new StreamWarningEvent(warningNode.get("code").asText(), warningNode.get("message").asText(), warningNode.get("percent_full").asDouble());
 		}
 	}
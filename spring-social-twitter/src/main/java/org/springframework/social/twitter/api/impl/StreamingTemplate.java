@@ -15,24 +15,35 @@
  */
 package org.springframework.social.twitter.api.impl;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
+import org.reactivestreams.Publisher;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.springframework.social.twitter.api.FilterStreamParameters;
 import org.springframework.social.twitter.api.Stream;
 import org.springframework.social.twitter.api.StreamListener;
+import org.springframework.social.twitter.api.StreamingException;
 import org.springframework.social.twitter.api.StreamingOperations;
+import org.springframework.social.twitter.api.StreamingOptions;
+import org.springframework.social.twitter.api.Tweet;
 import org.springframework.social.twitter.api.UserStreamParameters;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
@@ -45,17 +56,41 @@ import org.springframework.web.client.RestTemplate;
 class StreamingTemplate extends AbstractTwitterOperations implements StreamingOperations {
 	
 	private final RestTemplate restTemplate;
+
+	private StreamingOptions options = new StreamingOptions();
+
+	private FilterStreamMultiplexer filterMultiplexer;
+
+	private StallWatchdog stallWatchdog;
+
+	private final Map<File, SegmentJournal> journals = new HashMap<File, SegmentJournal>();
+
+	// how many streams and replays are using each open journal
+	private final Map<File, Integer> journalUsers = new HashMap<File, Integer>();
+
+	private volatile ClientHttpRequestFactory requestFactory;
 					
 	public StreamingTemplate(RestTemplate restTemplate, boolean isAuthorizedForUser, boolean isAuthorizedForApp) {
 		super(isAuthorizedForUser, isAuthorizedForApp);
 		this.restTemplate = restTemplate;
 	}
 
-	public Stream firehose(final List<StreamListener> listeners) {
+	void setOptions(StreamingOptions options) {
+		Assert.notNull(options, "StreamingOptions may not be null");
+		this.options = options;
+	}
+
+	public Stream firehose(List<StreamListener> listeners) {
+		return firehose(listeners, null);
+	}
+
+	public Stream firehose(final List<StreamListener> listeners, File journalDirectory) {
 		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
-		Stream stream = new ThreadedStreamConsumer() {
+		Stream stream = new JournaledStreamConsumer(attachJournal(journalDirectory)) {
+			private final StreamPosition position = new StreamPosition(options.getResumeBackfill());
+
 			protected StreamReader getStreamReader() throws StreamCreationException {
-				return createStream(HttpMethod.GET, FIREHOSE_STREAM_URL, EMPTY_BODY, listeners);
+				return createStream(HttpMethod.GET, FIREHOSE_STREAM_URL, EMPTY_BODY, listeners, position, metrics, journal);
 			}
 		};
 		stream.open();
@@ -65,22 +100,28 @@ class StreamingTemplate extends AbstractTwitterOperations implements StreamingOp
 	public Stream firehose(final int backfill, final List<StreamListener> listeners) {
 		Assert.isTrue(Math.abs(backfill) >= -1 && Math.abs(backfill) <= 150000, "'backfill' must be a value between 1 to 150000 or -1 to -150000");
 		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
-		Stream stream = new ThreadedStreamConsumer() {
+		Stream stream = new ThreadedStreamConsumer(options.getThreadFactory(), options.getReconnectPolicy()) {
+			private final StreamPosition position = new StreamPosition(Math.abs(backfill));
+
 			protected StreamReader getStreamReader() throws StreamCreationException {				
 				MultiValueMap<String, String> parameters = new LinkedMultiValueMap<String, String>(1);
 				parameters.set("count", String.valueOf(backfill));
-				return createStream(HttpMethod.GET, FIREHOSE_STREAM_URL, parameters, listeners);
+				return createStream(HttpMethod.GET, FIREHOSE_STREAM_URL, parameters, listeners, position, metrics, null);
 			}
 		};
 		stream.open();
 		return stream;
 	}
 	
-	public Stream sample(final List<StreamListener> listeners) {
+	public Stream sample(List<StreamListener> listeners) {
+		return sample(listeners, null);
+	}
+
+	public Stream sample(final List<StreamListener> listeners, File journalDirectory) {
 		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
-		Stream stream = new ThreadedStreamConsumer() {
+		Stream stream = new JournaledStreamConsumer(attachJournal(journalDirectory)) {
 			protected StreamReader getStreamReader() throws StreamCreationException {
-				return createStream(HttpMethod.GET, SAMPLE_STREAM_URL, EMPTY_BODY, listeners);
+				return createStream(HttpMethod.GET, SAMPLE_STREAM_URL, EMPTY_BODY, listeners, null, metrics, journal);
 			}
 		};
 		stream.open();
@@ -91,52 +132,292 @@ class StreamingTemplate extends AbstractTwitterOperations implements StreamingOp
 		return filter((FilterStreamParameters) new FilterStreamParameters().track(trackKeywords), listeners);
 	}
 
-	public Stream filter(final FilterStreamParameters parameters, final List<StreamListener> listeners) {
+	public Stream filter(FilterStreamParameters parameters, List<StreamListener> listeners) {
+		return filter(parameters, listeners, null);
+	}
+
+	public Stream filter(final FilterStreamParameters parameters, final List<StreamListener> listeners, File journalDirectory) {
 		Assert.notNull(parameters, "StreamFilter may not be null");
 		Assert.isTrue(parameters.isValid(), "At least one of follow, track, or location must be specified in StreamFilter");
 		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
-		Stream stream = new ThreadedStreamConsumer() {
+		Stream stream = new JournaledStreamConsumer(attachJournal(journalDirectory)) {
+			private final StreamPosition position = new StreamPosition(options.getResumeBackfill());
+
 			protected StreamReader getStreamReader() throws StreamCreationException {
-				return createStream(HttpMethod.POST, FILTERED_STREAM_URL, parameters.toParameterMap(), listeners);
+				return createStream(HttpMethod.POST, FILTERED_STREAM_URL, parameters.toParameterMap(), listeners, position, metrics, journal);
 			}
 		};
 		stream.open();
 		return stream;
 	}
 	
+	public Stream sharedFilter(FilterStreamParameters parameters, List<StreamListener> listeners) {
+		Assert.notNull(parameters, "StreamFilter may not be null");
+		Assert.isTrue(parameters.isValid(), "At least one of follow, track, or location must be specified in StreamFilter");
+		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
+		return getFilterMultiplexer().subscribe(parameters, listeners);
+	}
+
 	public Stream user(List<StreamListener> listeners) {
 		return user(new UserStreamParameters(), listeners);
 	}
 	
-	public Stream user(final UserStreamParameters parameters, final List<StreamListener> listeners) {
+	public Stream user(UserStreamParameters parameters, List<StreamListener> listeners) {
+		return user(parameters, listeners, null);
+	}
+
+	public Stream user(final UserStreamParameters parameters, final List<StreamListener> listeners, File journalDirectory) {
 		Assert.notNull(parameters, "StreamFilter may not be null");
 		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
-		Stream stream = new ThreadedStreamConsumer() {
+		Stream stream = new JournaledStreamConsumer(attachJournal(journalDirectory)) {
 			protected StreamReader getStreamReader() throws StreamCreationException {
-				return createStream(HttpMethod.POST, USER_STREAM_URL, parameters.toParameterMap(), listeners);
+				return createStream(HttpMethod.POST, USER_STREAM_URL, parameters.toParameterMap(), listeners, null, metrics, journal);
 			}
 		};
 		stream.open();
 		return stream;
 	}
 	
-	private StreamReader createStream(HttpMethod method, String streamUrl, MultiValueMap<String, String> body, List<StreamListener> listeners) throws StreamCreationException {
+	public int replay(File journalDirectory, Date from, Date to, List<StreamListener> listeners) {
+		Assert.notNull(from, "From may not be null");
+		Assert.notNull(to, "To may not be null");
+		return replay(journalDirectory, from.getTime(), to.getTime(), Long.MIN_VALUE, Long.MAX_VALUE, listeners);
+	}
+
+	public int replay(File journalDirectory, String fromTweetId, String toTweetId, List<StreamListener> listeners) {
+		long fromId = Long.parseLong(fromTweetId);
+		long toId = Long.parseLong(toTweetId);
+		// a tweet can only have been journaled after it was created, and its id tells when that was
+		return replay(journalDirectory, tweetIdTime(fromId), Long.MAX_VALUE, fromId, toId, listeners);
+	}
+
+	public Publisher<Tweet> firehose() {
+		return createPublisher(HttpMethod.GET, FIREHOSE_STREAM_URL, EMPTY_BODY);
+	}
+
+	public Publisher<Tweet> sample() {
+		return createPublisher(HttpMethod.GET, SAMPLE_STREAM_URL, EMPTY_BODY);
+	}
+
+	public Publisher<Tweet> filter(String trackKeywords) {
+		return filter((FilterStreamParameters) new FilterStreamParameters().track(trackKeywords));
+	}
+
+	public Publisher<Tweet> filter(FilterStreamParameters parameters) {
+		Assert.notNull(parameters, "StreamFilter may not be null");
+		Assert.isTrue(parameters.isValid(), "At least one of follow, track, or location must be specified in StreamFilter");
+		return createPublisher(HttpMethod.POST, FILTERED_STREAM_URL, parameters.toParameterMap());
+	}
+
+	public Publisher<Tweet> user(UserStreamParameters parameters) {
+		Assert.notNull(parameters, "StreamFilter may not be null");
+		return createPublisher(HttpMethod.POST, USER_STREAM_URL, parameters.toParameterMap());
+	}
+
+	private synchronized FilterStreamMultiplexer getFilterMultiplexer() {
+		if (filterMultiplexer == null) {
+			filterMultiplexer = new FilterStreamMultiplexer(options.getSharedFilterReconnectInterval(), options.getThreadFactory()) {
+				protected Stream connect(FilterStreamParameters parameters, StreamListener listener) {
+					return filter(parameters, Collections.singletonList(listener));
+				}
+			};
+		}
+		return filterMultiplexer;
+	}
+
+	private int replay(File journalDirectory, long from, long to, final long fromId, final long toId, final List<StreamListener> listeners) {
+		Assert.notNull(journalDirectory, "Journal directory may not be null");
+		Assert.notEmpty(listeners, "Listeners collection may not be null or empty");
+		SegmentJournal journal = openJournal(journalDirectory);
 		try {
-			ClientHttpResponse response = executeRequest(method, streamUrl, body);
-			if (response.getStatusCode().value() > 200) {
-				throw new StreamCreationException("Unable to create stream", response.getStatusCode());
+			return replay(journal, from, to, fromId, toId, listeners);
+		} finally {
+			releaseJournal(journal);
+		}
+	}
+
+	private int replay(SegmentJournal journal, long from, long to, final long fromId, final long toId, final List<StreamListener> listeners) {
+		final StreamMessageParser messageParser = createMessageParser(options);
+		final boolean tweetsOnly = fromId != Long.MIN_VALUE || toId != Long.MAX_VALUE;
+		final int[] replayed = new int[1];
+		journal.read(from, to, new SegmentJournal.RecordHandler() {
+			public void handle(byte[] raw, long timestamp) {
+				Object message;
+				try {
+					message = messageParser.parse(raw);
+				} catch (IOException e) {
+					return;
+				}
+				if (message == null) {
+					return;
+				}
+				if (tweetsOnly) {
+					if (!(message instanceof Tweet)) {
+						return;
+					}
+					long id = Long.parseLong(((Tweet) message).getId());
+					if (id < fromId || id > toId) {
+						return;
+					}
+				}
+				for (StreamListener listener : listeners) {
+					StreamDispatcher.deliver(listener, message);
+				}
+				replayed[0]++;
+			}
+		});
+		return replayed[0];
+	}
+
+	/**
+	 * Claims the journal in the given directory for a new stream, before it connects.
+	 * @return the journal, or null if the directory is null
+	 */
+	private SegmentJournal attachJournal(File directory) {
+		if (directory == null) {
+			return null;
+		}
+		SegmentJournal journal = openJournal(directory);
+		try {
+			journal.attach();
+		} catch (IllegalStateException e) {
+			releaseJournal(journal);
+			throw e;
+		}
+		return journal;
+	}
+
+	/**
+	 * Opens the journal in the given directory, or shares the one already open there, until {@link #releaseJournal(SegmentJournal)}.
+	 */
+	private synchronized SegmentJournal openJournal(File directory) {
+		File key = directory.getAbsoluteFile();
+		SegmentJournal journal = journals.get(key);
+		if (journal == null) {
+			try {
+				journal = new SegmentJournal(key, options.getJournalSegmentSize(), options.getJournalRetention());
+			} catch (IOException e) {
+				throw new StreamingException("Unable to open stream journal in " + directory, e);
+			}
+			journals.put(key, journal);
+		}
+		Integer users = journalUsers.get(key);
+		journalUsers.put(key, users != null ? users + 1 : 1);
+		return journal;
+	}
+
+	/**
+	 * Closes the journal once the last stream or replay using it is done with it, unlocking its directory.
+	 */
+	private synchronized void releaseJournal(SegmentJournal journal) {
+		File key = journal.getDirectory();
+		int users = journalUsers.get(key) - 1;
+		if (users > 0) {
+			journalUsers.put(key, users);
+			return;
+		}
+		journalUsers.remove(key);
+		journals.remove(key);
+		journal.close();
+	}
+
+	private static long tweetIdTime(long id) {
+		return (id >> 22) + TWEET_ID_EPOCH;
+	}
+
+	private synchronized StallWatchdog getStallWatchdog() {
+		if (stallWatchdog == null) {
+			stallWatchdog = new StallWatchdog(options.getThreadFactory(), STALL_CHECK_INTERVAL);
+		}
+		return stallWatchdog;
+	}
+
+	/**
+	 * Creates a stream that resumes from the given position, if there is one, for the endpoints that accept a count parameter.
+	 * On a reconnect, a backfill is requested if the options ask for one, and tweets it backfills that were already delivered are dropped.
+	 * Messages go through the stream's journal, if it has one.
+	 */
+	private StreamReader createStream(HttpMethod method, String streamUrl, MultiValueMap<String, String> parameters, List<StreamListener> listeners, StreamPosition position, StreamMetrics metrics, SegmentJournal journal) throws StreamCreationException {
+		StreamingOptions options = this.options;
+		if (position != null && position.hasDelivered() && options.getResumeBackfill() > 0 && !parameters.containsKey("count")) {
+			parameters = new LinkedMultiValueMap<String, String>(parameters);
+			parameters.set("count", String.valueOf(options.getResumeBackfill()));
+		}
+		InputStream inputStream = openStream(method, streamUrl, parameters, options);
+		try {
+			return new StreamReaderImpl(inputStream, listeners, options, getStallWatchdog(), position, metrics, journal);
+		} catch (RuntimeException e) {
+			closeQuietly(inputStream);
+			throw new StreamCreationException("Unable to create stream.", e);
+		}
+	}
+
+	private Publisher<Tweet> createPublisher(final HttpMethod method, final String streamUrl, final MultiValueMap<String, String> parameters) {
+		final StreamingOptions options = this.options;
+		TweetPublisher.Connector connector = new TweetPublisher.Connector() {
+			public InputStream connect() throws StreamCreationException {
+				return openStream(method, streamUrl, parameters, options);
+			}
+		};
+		return new TweetPublisher(connector, options.isDelimitedByLength(), createMessageParser(options), options.getThreadFactory());
+	}
+
+	private static StreamMessageParser createMessageParser(StreamingOptions options) {
+		return new StreamMessageParser(options.isLazyTweets(), options.getTweetFields());
+	}
+
+	private InputStream openStream(HttpMethod method, String streamUrl, MultiValueMap<String, String> parameters, StreamingOptions options) throws StreamCreationException {
+		try {
+			if (options.isDelimitedByLength()) {
+				parameters = new LinkedMultiValueMap<String, String>(parameters);
+				parameters.set("delimited", "length");
+			}
+			ClientHttpResponse response = executeRequest(method, streamUrl, parameters);
+			boolean opened = false;
+			try {
+				if (response.getStatusCode().value() > 200) {
+					throw new StreamCreationException("Unable to create stream", response.getStatusCode());
+				}
+				InputStream body = response.getBody();
+				opened = true;
+				return body;
+			} finally {
+				if (!opened) {
+					response.close();
+				}
 			}
-			return new StreamReaderImpl(response.getBody(), listeners);
 		} catch (IOException e) {
 			throw new StreamCreationException("Unable to create stream.", e);
 		}
 	}
+
+	private static void closeQuietly(InputStream inputStream) {
+		try {
+			inputStream.close();
+		} catch (IOException e) {
+		}
+	}
 	
-	private ClientHttpResponse executeRequest(HttpMethod method, String url, MultiValueMap<String, String> body) throws IOException {
-		ClientHttpRequestFactory requestFactory = restTemplate.getRequestFactory();
+	/**
+	 * Opens streams with requests from the given factory rather than from the RestTemplate's own.
+	 * They're still authorized by the RestTemplate's interceptors.
+	 */
+	void setRequestFactory(ClientHttpRequestFactory requestFactory) {
+		this.requestFactory = requestFactory;
+	}
+
+	private ClientHttpResponse executeRequest(HttpMethod method, String url, MultiValueMap<String, String> parameters) throws IOException {
+		ClientHttpRequestFactory requestFactory = this.requestFactory != null
+				? new InterceptingClientHttpRequestFactory(this.requestFactory, restTemplate.getInterceptors())
+				: restTemplate.getRequestFactory();
+		if (method == HttpMethod.GET) {
+			// GET streams take their parameters on the query string
+			String query = createFormUrlEncodedBodyString(parameters);
+			return requestFactory.createRequest(URI.create(query.isEmpty() ? url : url + "?" + query), method).execute();
+		}
 		ClientHttpRequest request = requestFactory.createRequest(URI.create(url), method);
 		OutputStreamWriter writer = new OutputStreamWriter(request.getBody());
-		writer.write(createFormUrlEncodedBodyString(body));
+		writer.write(createFormUrlEncodedBodyString(parameters));
 		writer.flush();
 		request.getHeaders().setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 		return request.execute();
@@ -170,12 +451,37 @@ class StreamingTemplate extends AbstractTwitterOperations implements StreamingOp
 		}
 	}
 
+	/**
+	 * A stream that holds its journal, if it has one, until its thread has closed its last connection.
+	 */
+	private abstract class JournaledStreamConsumer extends ThreadedStreamConsumer {
+
+		final SegmentJournal journal;
+
+		JournaledStreamConsumer(SegmentJournal journal) {
+			super(options.getThreadFactory(), options.getReconnectPolicy());
+			this.journal = journal;
+		}
+
+		protected void terminated() {
+			if (journal != null) {
+				journal.detach();
+				releaseJournal(journal);
+			}
+		}
+
+	}
+
 	private static final String SAMPLE_STREAM_URL = "https://stream.twitter.com/1.1/statuses/sample.json";
 	private static final String FIREHOSE_STREAM_URL = "https://stream.twitter.com/1.1/statuses/firehose.json";
 	private static final String FILTERED_STREAM_URL = "https://stream.twitter.com/1.1/statuses/filter.json";
 	private static final String USER_STREAM_URL = "https://userstream.twitter.com/1.1/user.json";
 	
-	private static final LinkedMultiValueMap<String, String> EMPTY_BODY = new LinkedMultiValueMap<String, String>();
+	private static final long STALL_CHECK_INTERVAL = 1000;
+
+	// the time that tweet ids count milliseconds from
+	private static final long TWEET_ID_EPOCH = 1288834974657L;
 
+	private static final LinkedMultiValueMap<String, String> EMPTY_BODY = new LinkedMultiValueMap<String, String>();
 
 }
@@ -15,86 +15,157 @@
  */
 package org.springframework.social.twitter.api.impl;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.springframework.social.twitter.api.DefaultReconnectPolicy;
+import org.springframework.social.twitter.api.ReconnectPolicy;
 import org.springframework.social.twitter.api.Stream;
+import org.springframework.social.twitter.api.StreamStats;
 import org.springframework.social.twitter.api.StreamingException;
 
-abstract class ThreadedStreamConsumer extends Thread implements Stream {
+/**
+ * Reads a stream on a thread of its own, reconnecting when the connection drops.
+ * The thread comes from a {@link ThreadFactory}, so streams can be run on virtual threads where the JVM offers them.
+ * A dropped connection is reopened at once; when opening it fails, the {@link ReconnectPolicy} decides how long to wait before trying again.
+ */
+abstract class ThreadedStreamConsumer implements Stream, Runnable {
 		
 	private AtomicBoolean open;
 
-	private StreamReader streamReader;
+	private volatile StreamReader streamReader;
+
+	private final ThreadFactory threadFactory;
+
+	private final ReconnectPolicy reconnectPolicy;
+
+	private final CountDownLatch closing = new CountDownLatch(1);
+
+	private final CountDownLatch terminated = new CountDownLatch(1);
+
+	private volatile boolean started;
+
+	final StreamMetrics metrics = new StreamMetrics();
 
 	public ThreadedStreamConsumer() {
-		this.open = new AtomicBoolean(true);		
+		this(Executors.defaultThreadFactory(), new DefaultReconnectPolicy());
+	}
+
+	public ThreadedStreamConsumer(ThreadFactory threadFactory, ReconnectPolicy reconnectPolicy) {
+		this.open = new AtomicBoolean(true);
+		this.threadFactory = threadFactory;
+		this.reconnectPolicy = reconnectPolicy;
 	}
 	
-	@Override
 	public void run() {
-		long timeToSleep = 250;
 		streamReader = null;
-		
+		try {
+			consume();
+		} finally {
+			// a connection opened while the stream was being closed is closed here
+			StreamReader streamReader = this.streamReader;
+			if(streamReader != null) {
+				streamReader.close();
+			}
+			terminated();
+			terminated.countDown();
+		}
+	}
+
+	private void consume() {
+		boolean connected = false;
+		int attempt = 0;
+		long timeToSleep = 0;
 		while(open.get()) {
 			try {
 				if(streamReader == null) {
 					streamReader = getStreamReader();
-					timeToSleep = MIN_WAIT;
+					metrics.connected(connected);
+					connected = true;
+					attempt = 0;
+					timeToSleep = 0;
 				}
 				streamReader.next();
 			} catch (StreamingException e) {
 				// if a valid connection drops, reconnect immediately
 				streamReader = null;
 			} catch (StreamCreationException e) {
-				if(e.getHttpStatus() != null) {
-					// Back off exponentially
-					if(timeToSleep == MIN_WAIT) {
-						timeToSleep = 5000;
-					}
-					sleepBeforeRetry(timeToSleep);
-					timeToSleep = timeToSleep * 2;				
-					// TODO: Should eventually fail...repeated tries could cause ban
-					if(timeToSleep > HTTP_ERROR_SLEEP_MAX) {
+				metrics.connectionFailed();
+				if(open.get()) {
+					timeToSleep = reconnectPolicy.reconnectDelay(e.getHttpStatus(), ++attempt, timeToSleep);
+					if(timeToSleep < 0) {
 						close();
-					}
-				} else {
-					if(open.get()) {
-						// Back off linearly
-						if(timeToSleep == MIN_WAIT) {
-							timeToSleep = 250;
-						}
+					} else {
 						sleepBeforeRetry(timeToSleep);
-						timeToSleep = Math.min(timeToSleep + 250, NETWORK_ERROR_SLEEP_MAX);
 					}
 				}
 			}
-		}		
+		}
 	}
 	
 	public void open() {
-		this.start();
+		started = true;
+		threadFactory.newThread(this).start();
 	}
 
 	public void close() {
 		open.set(false);
+		closing.countDown();
+		StreamReader streamReader = this.streamReader;
 		if(streamReader != null) {
 			streamReader.close();
 		}
 	}
 
+	public int getQueueDepth() {
+		StreamReader streamReader = this.streamReader;
+		return streamReader != null ? streamReader.getQueueDepth() : 0;
+	}
+
+	public double getPercentFull() {
+		StreamReader streamReader = this.streamReader;
+		return streamReader != null ? streamReader.getPercentFull() : 0;
+	}
+
+	public StreamStats getStats() {
+		return metrics.snapshot(streamReader);
+	}
+
+	/**
+	 * Waits for a closed stream's thread to finish, and so for its connection to be closed.
+	 * @return false if the thread was still running after the timeout
+	 */
+	boolean awaitTermination(long timeout) {
+		if (!started) {
+			return true;
+		}
+		try {
+			return terminated.await(timeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
 	// subclass hook
 	protected abstract StreamReader getStreamReader() throws StreamCreationException;
 
+	// subclass hook, called on the stream's thread once its last connection has been closed
+	protected void terminated() {
+	}
+
 	protected void sleepBeforeRetry(long timeToSleep) {
+		// cut short by close()
 		try {
-			Thread.sleep(timeToSleep);
+			closing.await(timeToSleep, TimeUnit.MILLISECONDS);
 		} catch (InterruptedException e1) {}
 	}
 
-	static final long HTTP_ERROR_SLEEP_MAX = 320000;
-
-	static final long NETWORK_ERROR_SLEEP_MAX = 16000;
+	static final long HTTP_ERROR_SLEEP_MAX = DefaultReconnectPolicy.HTTP_ERROR_SLEEP_MAX;
 
-	private static final long MIN_WAIT = 250;
+	static final long NETWORK_ERROR_SLEEP_MAX = DefaultReconnectPolicy.NETWORK_ERROR_SLEEP_MAX;
 
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.social.twitter.api.TickerSymbolEntity;
+
+/**
+ * Finds cashtags, a $ followed by one or more ASCII letters, in tweet text.
+ * Scans the text's characters directly rather than matching a regular expression, and only allocates for the cashtags it finds;
+ * their search URLs are built if and when they're asked for.
+ */
+final class TickerSymbolScanner {
+
+	private TickerSymbolScanner() {
+	}
+
+	/**
+	 * Finds a ticker symbol entity for each cashtag in the text.
+	 * Indices are of UTF-16 chars, with the end index just past the symbol's last letter.
+	 * @return the ticker symbols, or an empty, unmodifiable list if there are none
+	 */
+	static List<TickerSymbolEntity> findTickerSymbols(String text) {
+		if (text == null) {
+			return Collections.emptyList();
+		}
+		List<TickerSymbolEntity> tickerSymbols = null;
+		int length = text.length();
+		int dollar = text.indexOf('$');
+		while (dollar >= 0) {
+			int end = dollar + 1;
+			while (end < length && isAsciiLetter(text.charAt(end))) {
+				end++;
+			}
+			if (end > dollar + 1) {
+				if (tickerSymbols == null) {
+					tickerSymbols = new ArrayList<TickerSymbolEntity>(2);
+				}
+				tickerSymbols.add(new TickerSymbolEntity(text.substring(dollar + 1, end), new int[] { dollar, end }));
+			}
+			dollar = text.indexOf('$', end);
+		}
+		if (tickerSymbols == null) {
+			return Collections.emptyList();
+		}
+		return tickerSymbols;
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+	}
+
+}
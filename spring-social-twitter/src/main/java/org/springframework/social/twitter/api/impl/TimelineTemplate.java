@@ -17,13 +17,16 @@ package org.springframework.social.twitter.api.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
 import org.springframework.social.twitter.api.OEmbedOptions;
 import org.springframework.social.twitter.api.OEmbedTweet;
 import org.springframework.social.twitter.api.TimelineOperations;
 import org.springframework.social.twitter.api.Tweet;
 import org.springframework.social.twitter.api.TweetData;
+import org.springframework.social.twitter.api.TweetField;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
@@ -53,10 +56,13 @@ class TimelineTemplate extends AbstractTwitterOperations implements TimelineOper
 	}
 	
 	public List<Tweet> getHomeTimeline(int pageSize, long sinceId, long maxId) {
+		return getHomeTimeline(pageSize, sinceId, maxId, null);
+	}
+
+	public List<Tweet> getHomeTimeline(int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
 		requireUserAuthorization();
 		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
-		parameters.set("include_entities", "true");
-		return restTemplate.getForObject(buildUri("statuses/home_timeline.json", parameters), TweetList.class);
+		return getTweets("statuses/home_timeline.json", parameters, fields);
 	}
 	
 	public List<Tweet> getUserTimeline() {
@@ -68,10 +74,13 @@ class TimelineTemplate extends AbstractTwitterOperations implements TimelineOper
 	}
 
 	public List<Tweet> getUserTimeline(int pageSize, long sinceId, long maxId) {
+		return getUserTimeline(pageSize, sinceId, maxId, null);
+	}
+
+	public List<Tweet> getUserTimeline(int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
 		requireUserAuthorization();
 		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
-		parameters.set("include_entities", "true");
-		return restTemplate.getForObject(buildUri("statuses/user_timeline.json", parameters), TweetList.class);
+		return getTweets("statuses/user_timeline.json", parameters, fields);
 	}
 
 	public List<Tweet> getUserTimeline(String screenName) {
@@ -83,11 +92,14 @@ class TimelineTemplate extends AbstractTwitterOperations implements TimelineOper
 	}
 
 	public List<Tweet> getUserTimeline(String screenName, int pageSize, long sinceId, long maxId) {
+		return getUserTimeline(screenName, pageSize, sinceId, maxId, null);
+	}
+
+	public List<Tweet> getUserTimeline(String screenName, int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
 		requireEitherUserOrAppAuthorization();
 		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
 		parameters.set("screen_name", screenName);
-		parameters.set("include_entities", "true");
-		return restTemplate.getForObject(buildUri("statuses/user_timeline.json", parameters), TweetList.class);
+		return getTweets("statuses/user_timeline.json", parameters, fields);
 	}
 
 	public List<Tweet> getUserTimeline(long userId) {
@@ -99,11 +111,14 @@ class TimelineTemplate extends AbstractTwitterOperations implements TimelineOper
 	}
 
 	public List<Tweet> getUserTimeline(long userId, int pageSize, long sinceId, long maxId) {
+		return getUserTimeline(userId, pageSize, sinceId, maxId, null);
+	}
+
+	public List<Tweet> getUserTimeline(long userId, int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
 		requireEitherUserOrAppAuthorization();
 		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
 		parameters.set("user_id", String.valueOf(userId));
-		parameters.set("include_entities", "true");
-		return restTemplate.getForObject(buildUri("statuses/user_timeline.json", parameters), TweetList.class);
+		return getTweets("statuses/user_timeline.json", parameters, fields);
 	}
 
 	public List<Tweet> getMentions() {
@@ -115,10 +130,13 @@ class TimelineTemplate extends AbstractTwitterOperations implements TimelineOper
 	}
 
 	public List<Tweet> getMentions(int pageSize, long sinceId, long maxId) {
+		return getMentions(pageSize, sinceId, maxId, null);
+	}
+
+	public List<Tweet> getMentions(int pageSize, long sinceId, long maxId, Set<TweetField> fields) {
 		requireUserAuthorization();
 		MultiValueMap<String, String> parameters = PagingUtils.buildPagingParametersWithCount(pageSize, sinceId, maxId);
-		parameters.set("include_entities", "true");
-		return restTemplate.getForObject(buildUri("statuses/mentions_timeline.json", parameters), TweetList.class);
+		return getTweets("statuses/mentions_timeline.json", parameters, fields);
 	}
 	
 	public List<Tweet> getRetweetsOfMe() {
@@ -249,10 +267,23 @@ class TimelineTemplate extends AbstractTwitterOperations implements TimelineOper
 	}
 
 	@SuppressWarnings("serial")
+	// fields are null for a timeline of whole tweets
+	private List<Tweet> getTweets(String path, MultiValueMap<String, String> parameters, Set<TweetField> fields) {
+		if (fields == null) {
+			parameters.set("include_entities", "true");
+			return restTemplate.getForObject(buildUri(path, parameters), TweetList.class);
+		}
+		parameters.set("include_entities", String.valueOf(fields.contains(TweetField.ENTITIES)));
+		if (!fields.contains(TweetField.USER)) {
+			parameters.set("trim_user", "true");
+		}
+		return restTemplate.execute(buildUri(path, parameters), HttpMethod.GET, null, TweetReader.tweetList(fields));
+	}
+
 	private static class TweetList extends ArrayList<Tweet> {}
 	
 	@JsonIgnoreProperties(ignoreUnknown=true)
-	private static class MediaUploadResponse {
+	static class MediaUploadResponse {
 		
 		@JsonProperty("media_id")
 		private String mediaId;
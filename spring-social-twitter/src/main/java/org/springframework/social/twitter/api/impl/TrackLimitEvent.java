@@ -52,7 +52,7 @@ class TrackLimitEvent {
 	static final class StreamingLimitationEventDeserializer extends JsonDeserializer<TrackLimitEvent> {
 		@Override
 		public TrackLimitEvent deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-			JsonNode trackNode = jp.readValueAs(JsonNode.class).get("limit").get("track");
+			JsonNode trackNode = jp.readValueAs(JsonNode.class).get("track");
 			return new TrackLimitEvent(trackNode.asInt());
 		}
 	}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ThreadFactory;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.social.twitter.api.StreamingException;
+import org.springframework.social.twitter.api.Tweet;
+
+/**
+ * Publishes the tweets read from a Twitter stream.
+ * Each subscription opens its own connection and reads it on a single thread, one message at a time and only while
+ * the subscriber has outstanding demand. A subscriber that stops requesting stops the socket from being read, so
+ * backpressure reaches the connection itself rather than piling up in a queue.
+ * Messages other than tweets are read and discarded without using up demand.
+ * The end of the stream completes the subscription; connection and read failures end it with an error, and are not retried.
+ */
+class TweetPublisher implements Publisher<Tweet> {
+
+	private final Connector connector;
+
+	private final boolean lengthDelimited;
+
+	private final StreamMessageParser parser;
+
+	private final ThreadFactory threadFactory;
+
+	public TweetPublisher(Connector connector, boolean lengthDelimited, StreamMessageParser parser, ThreadFactory threadFactory) {
+		this.connector = connector;
+		this.lengthDelimited = lengthDelimited;
+		this.parser = parser;
+		this.threadFactory = threadFactory;
+	}
+
+	public void subscribe(Subscriber<? super Tweet> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("Subscriber may not be null");
+		}
+		subscriber.onSubscribe(new TweetSubscription(subscriber));
+	}
+
+	/**
+	 * Opens the connection to the stream for a new subscription.
+	 */
+	interface Connector {
+
+		InputStream connect() throws StreamCreationException;
+
+	}
+
+	private class TweetSubscription implements Subscription, Runnable {
+
+		private final Subscriber<? super Tweet> subscriber;
+
+		private long demand;
+
+		private boolean started;
+
+		private volatile IllegalArgumentException invalidRequest;
+
+		private volatile boolean cancelled;
+
+		private volatile InputStream inputStream;
+
+		TweetSubscription(Subscriber<? super Tweet> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		public synchronized void request(long n) {
+			if (cancelled) {
+				return;
+			}
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("Requested number of tweets must be greater than zero, but was " + n);
+			} else {
+				demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+			}
+			if (!started) {
+				started = true;
+				threadFactory.newThread(this).start();
+			}
+			notifyAll();
+		}
+
+		public void cancel() {
+			cancelled = true;
+			synchronized (this) {
+				notifyAll();
+			}
+			closeQuietly(inputStream);
+		}
+
+		public void run() {
+			InputStream inputStream = null;
+			try {
+				inputStream = connector.connect();
+				this.inputStream = inputStream;
+				if (cancelled) {
+					return;
+				}
+				StreamMessageReader reader = new StreamMessageReader(inputStream, lengthDelimited);
+				while (awaitDemand()) {
+					if (!reader.next()) {
+						if (!cancelled) {
+							subscriber.onComplete();
+						}
+						return;
+					}
+					Object message;
+					try {
+						message = parser.parse(reader.getBuffer(), reader.getLength());
+					} catch (IOException e) {
+						continue; // as with listeners, a message Jackson can't map is skipped
+					}
+					if (message instanceof Tweet && !cancelled) {
+						consumeDemand();
+						subscriber.onNext((Tweet) message);
+					}
+				}
+				if (invalidRequest != null) {
+					signalError(invalidRequest);
+				}
+			} catch (StreamCreationException e) {
+				signalError(new StreamingException("Unable to create stream", e));
+			} catch (IOException e) {
+				signalError(new StreamingException("The stream was disconnected", e));
+			} catch (InterruptedException e) {
+				cancelled = true;
+			} finally {
+				closeQuietly(inputStream);
+			}
+		}
+
+		private synchronized boolean awaitDemand() throws InterruptedException {
+			while (demand == 0 && !cancelled && invalidRequest == null) {
+				wait();
+			}
+			return !cancelled && invalidRequest == null;
+		}
+
+		private synchronized void consumeDemand() {
+			if (demand != Long.MAX_VALUE) {
+				demand--;
+			}
+		}
+
+		private void signalError(Throwable error) {
+			if (!cancelled) {
+				cancelled = true;
+				subscriber.onError(error);
+			}
+		}
+
+		private void closeQuietly(InputStream inputStream) {
+			if (inputStream != null) {
+				try {
+					inputStream.close();
+				} catch (IOException ignore) {}
+			}
+		}
+
+	}
+
+}
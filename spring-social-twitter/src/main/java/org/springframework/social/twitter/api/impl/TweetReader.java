@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.social.twitter.api.Entities;
+import org.springframework.social.twitter.api.SearchMetadata;
+import org.springframework.social.twitter.api.SearchResults;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.web.client.ResponseExtractor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Reads tweets token by token, straight into the model objects, decoding only the requested {@link TweetField}s.
+ * The values of other fields, including whole subtrees such as the user and entities, are skipped with {@link JsonParser#skipChildren()}
+ * so that no tree or model object is built for them.
+ * Nested users and entities are read with the parser's codec, which must be an ObjectMapper or ObjectReader with the {@link TwitterModule}.
+ * Reading {@link TweetField#ALL} is how {@link TweetDeserializer} reads whole tweets.
+ */
+final class TweetReader {
+
+	private TweetReader() {
+	}
+
+	/**
+	 * Reads a JSON array of tweets.
+	 */
+	public static ResponseExtractor<List<Tweet>> tweetList(final Set<TweetField> fields) {
+		return new ResponseExtractor<List<Tweet>>() {
+			public List<Tweet> extractData(ClientHttpResponse response) throws IOException {
+				JsonParser parser = TwitterObjectReaders.createParser(response.getBody());
+				try {
+					parser.nextToken();
+					return readTweets(parser, fields);
+				} finally {
+					parser.close();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Reads search results, projecting their statuses.
+	 */
+	public static ResponseExtractor<SearchResults> searchResults(final Set<TweetField> fields) {
+		return new ResponseExtractor<SearchResults>() {
+			public SearchResults extractData(ClientHttpResponse response) throws IOException {
+				JsonParser parser = TwitterObjectReaders.createParser(response.getBody());
+				try {
+					List<Tweet> tweets = null;
+					SearchMetadata metadata = null;
+					if (parser.nextToken() == JsonToken.START_OBJECT) {
+						while (parser.nextToken() == JsonToken.FIELD_NAME) {
+							String name = parser.getCurrentName();
+							parser.nextToken();
+							if ("statuses".equals(name)) {
+								tweets = readTweets(parser, fields);
+							} else if ("search_metadata".equals(name) && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+								JsonNode node = parser.readValueAsTree();
+								metadata = new SearchMetadata(node.path("max_id").asLong(), node.path("since_id").asLong());
+							} else {
+								parser.skipChildren();
+							}
+						}
+					}
+					return new SearchResults(tweets, metadata);
+				} finally {
+					parser.close();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Reads an array of tweets, leaving out any that {@link #readTweet(JsonParser, Set)} doesn't return.
+	 * @param parser a parser positioned at the start of the array
+	 * @return the tweets, or null if the parser was positioned at a JSON null
+	 */
+	public static List<Tweet> readTweets(JsonParser parser, Set<TweetField> fields) throws IOException {
+		if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return null;
+		}
+		List<Tweet> tweets = new ArrayList<Tweet>();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			Tweet tweet = readTweet(parser, fields);
+			if (tweet != null) {
+				tweets.add(tweet);
+			}
+		}
+		return tweets;
+	}
+
+	/**
+	 * Reads a tweet object, leaving the parser at its end.
+	 * @param parser a parser positioned at the start of the object, or at its first field name
+	 * @return the tweet, or null if the value isn't an object, has empty text when the text was requested, or is a user stream event
+	 */
+	public static Tweet readTweet(JsonParser parser, Set<TweetField> fields) throws IOException {
+		return readTweet(parser, fields, null);
+	}
+
+	/**
+	 * Reads a tweet object, leaving the parser at its end, and keeping the fields of a user stream event as it goes.
+	 * @param events keeps the fields of a user stream event, or null if the object can't be one
+	 */
+	public static Tweet readTweet(JsonParser parser, Set<TweetField> fields, StreamUserEventReader events) throws IOException {
+		JsonToken token = parser.getCurrentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = parser.nextToken();
+		} else if (token != JsonToken.FIELD_NAME) {
+			parser.skipChildren();
+			return null;
+		}
+		boolean readText = fields.contains(TweetField.TEXT) || fields.contains(TweetField.ENTITIES);
+		boolean readInReplyTo = fields.contains(TweetField.IN_REPLY_TO);
+		String id = null;
+		String text = null;
+		Date createdAt = null;
+		TwitterProfile user = null;
+		JsonToken toUserId = null;
+		Long inReplyToUserId = null;
+		Long inReplyToStatusId = null;
+		// an absent screen name is empty and a null one "null", as they always have been
+		String inReplyToScreenName = readInReplyTo ? "" : null;
+		String languageCode = null;
+		String source = null;
+		Integer retweetCount = null;
+		boolean retweeted = false;
+		Tweet retweetedStatus = null;
+		boolean favorited = false;
+		Integer favoriteCount = null;
+		Entities entities = null;
+		Double longitude = null;
+		Double latitude = null;
+		boolean event = false;
+		for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+			String name = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			boolean isNull = value == JsonToken.VALUE_NULL;
+			if (events != null && events.readField(name, parser)) {
+				// kept for a user stream event
+			} else if ("id".equals(name)) {
+				id = isNull ? "null" : parser.getValueAsString();
+			} else if ("text".equals(name) && readText) {
+				text = isNull ? "null" : parser.getValueAsString();
+			} else if ("created_at".equals(name) && fields.contains(TweetField.CREATED_AT)) {
+				createdAt = TwitterDates.parseTimelineDate(isNull ? "null" : parser.getValueAsString());
+			} else if ("user".equals(name) && fields.contains(TweetField.USER)) {
+				user = isNull ? null : parser.readValueAs(TwitterProfile.class);
+			} else if (readInReplyTo && name.startsWith("in_reply_to_")) {
+				if ("in_reply_to_user_id".equals(name)) {
+					toUserId = value;
+					inReplyToUserId = isNull ? null : parser.getValueAsLong();
+				} else if ("in_reply_to_status_id".equals(name)) {
+					inReplyToStatusId = isNull ? null : parser.getValueAsLong();
+				} else if ("in_reply_to_screen_name".equals(name)) {
+					inReplyToScreenName = isNull ? "null" : parser.getValueAsString();
+				}
+			} else if ("lang".equals(name) && fields.contains(TweetField.LANGUAGE)) {
+				languageCode = isNull ? null : parser.getValueAsString();
+			} else if ("source".equals(name) && fields.contains(TweetField.SOURCE)) {
+				source = isNull ? "null" : parser.getValueAsString();
+			} else if ("retweet_count".equals(name) && fields.contains(TweetField.RETWEETS)) {
+				retweetCount = isNull ? null : parser.getValueAsInt();
+			} else if ("retweeted".equals(name) && fields.contains(TweetField.RETWEETS)) {
+				retweeted = parser.getValueAsBoolean();
+			} else if ("retweeted_status".equals(name) && fields.contains(TweetField.RETWEETED_STATUS)) {
+				retweetedStatus = readTweet(parser, fields);
+			} else if ("favorited".equals(name) && fields.contains(TweetField.FAVORITES)) {
+				favorited = parser.getValueAsBoolean();
+			} else if ("favorite_count".equals(name) && fields.contains(TweetField.FAVORITES)) {
+				favoriteCount = isNull ? null : parser.getValueAsInt();
+			} else if ("entities".equals(name) && fields.contains(TweetField.ENTITIES)) {
+				entities = isNull ? null : parser.readValueAs(Entities.class);
+			} else if ("coordinates".equals(name) && fields.contains(TweetField.COORDINATES)) {
+				JsonNode node = parser.readValueAsTree();
+				JsonNode coordinates = node.path("coordinates");
+				if (coordinates.size() == 2) {
+					// GeoJSON order: longitude first
+					longitude = coordinates.get(0).asDouble();
+					latitude = coordinates.get(1).asDouble();
+				}
+			} else if ("event".equals(name)) {
+				event = true;
+			}
+			// skips unrequested subtrees, and objects found where a scalar was expected
+			parser.skipChildren();
+		}
+		if (event || (events != null && events.isEvent()) || id == null || (readText && (text == null || text.isEmpty()))) {
+			return null;
+		}
+		if (entities != null) {
+			entities.setTickerSymbols(TickerSymbolScanner.findTickerSymbols(text));
+		}
+		Tweet tweet = new Tweet(id, fields.contains(TweetField.TEXT) ? text : null, createdAt, null, null, null, 0, languageCode, source);
+		if (user != null) {
+			tweet.setFromUser(user.getScreenName());
+			tweet.setFromUserId(user.getId());
+			tweet.setProfileImageUrl(user.getProfileImageUrl());
+			tweet.setUser(user);
+		}
+		if (toUserId != null) {
+			// a null in_reply_to_user_id still gives a toUserId of 0
+			tweet.setToUserId(inReplyToUserId != null ? inReplyToUserId : 0L);
+		}
+		tweet.setInReplyToUserId(inReplyToUserId);
+		tweet.setInReplyToStatusId(inReplyToStatusId);
+		tweet.setInReplyToScreenName(inReplyToScreenName);
+		tweet.setRetweetCount(retweetCount);
+		tweet.setRetweeted(retweeted);
+		tweet.setRetweetedStatus(retweetedStatus);
+		tweet.setFavorited(favorited);
+		tweet.setFavoriteCount(favoriteCount);
+		tweet.setEntities(entities);
+		tweet.setLongitude(longitude);
+		tweet.setLatitude(latitude);
+		return tweet;
+	}
+
+}
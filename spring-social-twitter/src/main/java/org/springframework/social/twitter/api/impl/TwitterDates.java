@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static java.time.temporal.ChronoField.*;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Parses the dates found in Twitter's JSON.
+ * The formatters are immutable and shared, and recently parsed timeline dates are cached,
+ * since a stream delivers many tweets created within the same second.
+ */
+final class TwitterDates {
+
+	/**
+	 * Twitter's timeline date format, e.g. "Tue Jul 13 17:38:21 +0000 2010".
+	 * The day of the week isn't checked against the date, as SimpleDateFormat didn't check it either.
+	 */
+	private static final DateTimeFormatter TIMELINE_FORMAT = DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss Z uuuu", Locale.ENGLISH)
+			.withResolverFields(YEAR, MONTH_OF_YEAR, DAY_OF_MONTH, HOUR_OF_DAY, MINUTE_OF_HOUR, SECOND_OF_MINUTE, OFFSET_SECONDS);
+
+	private static final int CACHE_SIZE = 64;
+
+	/*
+	 * Direct-mapped on the date string's hash. Entries are immutable, so threads racing on a slot can only
+	 * cost each other a cache hit, never see a half-built entry.
+	 */
+	private static final CachedDate[] CACHE = new CachedDate[CACHE_SIZE];
+
+	private TwitterDates() {
+	}
+
+	/**
+	 * @return the date, or null if the string is null or not in Twitter's timeline date format
+	 */
+	static Date parseTimelineDate(String dateString) {
+		if (dateString == null) {
+			return null;
+		}
+		int slot = dateString.hashCode() & (CACHE_SIZE - 1);
+		CachedDate cached = CACHE[slot];
+		if (cached == null || !cached.dateString.equals(dateString)) {
+			Instant instant;
+			try {
+				instant = Instant.from(TIMELINE_FORMAT.parse(dateString));
+			} catch (DateTimeException e) {
+				return null;
+			}
+			cached = new CachedDate(dateString, instant);
+			CACHE[slot] = cached;
+		}
+		return Date.from(cached.instant);
+	}
+
+	/**
+	 * @return the date, or null if the string is null or not an ISO-8601 UTC instant such as "2011-03-18T16:45:33Z"
+	 */
+	static Date parseIsoDate(String dateString) {
+		if (dateString == null) {
+			return null;
+		}
+		try {
+			return Date.from(Instant.parse(dateString));
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	private static final class CachedDate {
+
+		private final String dateString;
+
+		private final Instant instant;
+
+		CachedDate(String dateString, Instant instant) {
+			this.dateString = dateString;
+			this.instant = instant;
+		}
+
+	}
+
+}
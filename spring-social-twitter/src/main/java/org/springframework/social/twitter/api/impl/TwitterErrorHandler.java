@@ -39,10 +39,7 @@ import org.springframework.social.twitter.api.InvalidMessageRecipientException;
 import org.springframework.social.twitter.api.MessageTooLongException;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Subclass of {@link DefaultResponseErrorHandler} that handles errors from Twitter's
@@ -136,9 +133,8 @@ class TwitterErrorHandler extends DefaultResponseErrorHandler {
 	}
 
 	private Map<String, Object> extractErrorDetailsFromResponse(ClientHttpResponse response) throws IOException {
-		ObjectMapper mapper = new ObjectMapper(new JsonFactory());
 		try {
-			return mapper.<Map<String, Object>>readValue(response.getBody(), new TypeReference<Map<String, Object>>() {});
+			return TwitterObjectReaders.ERROR_DETAILS.readValue(response.getBody());
 		} catch (JsonParseException e) {
 			return Collections.emptyMap();
 		}
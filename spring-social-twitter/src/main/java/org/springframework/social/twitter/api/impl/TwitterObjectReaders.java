@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.social.twitter.api.Entities;
+import org.springframework.social.twitter.api.Place;
+import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.StreamDisconnectEvent;
+import org.springframework.social.twitter.api.StreamScrubGeoEvent;
+import org.springframework.social.twitter.api.StreamStatusWithheldEvent;
+import org.springframework.social.twitter.api.StreamUserEvent;
+import org.springframework.social.twitter.api.StreamUserWithheldEvent;
+import org.springframework.social.twitter.api.StreamWarningEvent;
+import org.springframework.social.twitter.api.TwitterProfile;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Jackson infrastructure shared by everything that reads Twitter JSON outside of a RestTemplate's message converter.
+ * A single ObjectMapper is configured with the {@link TwitterModule} and the stream message mixins once, and is never changed afterwards;
+ * the ObjectReaders handed out are immutable and share its deserializer caches, so none of them are rebuilt per message.
+ */
+final class TwitterObjectReaders {
+
+	private static final ObjectMapper MAPPER = createMapper();
+
+	/**
+	 * Reads trees and, given a type, any Twitter model object.
+	 */
+	static final ObjectReader READER = MAPPER.reader();
+
+	static final ObjectReader PROFILE = MAPPER.readerFor(TwitterProfile.class);
+
+	static final ObjectReader ENTITIES = MAPPER.readerFor(Entities.class);
+
+	static final ObjectReader PLACES = MAPPER.readerFor(new TypeReference<List<Place>>() {});
+
+	static final ObjectReader STREAM_USER_EVENT = MAPPER.readerFor(StreamUserEvent.class);
+
+	static final ObjectReader ERROR_DETAILS = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {});
+
+	private TwitterObjectReaders() {
+	}
+
+	/**
+	 * @return a reader for the given type
+	 */
+	static ObjectReader readerFor(Class<?> type) {
+		return MAPPER.readerFor(type);
+	}
+
+	/**
+	 * Creates a parser whose codec reads Twitter model objects, as {@link TweetReader} needs.
+	 */
+	static JsonParser createParser(byte[] data, int offset, int length) throws IOException {
+		return MAPPER.getFactory().createParser(data, offset, length);
+	}
+
+	/**
+	 * Creates a parser whose codec reads Twitter model objects, as {@link TweetReader} needs.
+	 */
+	static JsonParser createParser(InputStream in) throws IOException {
+		return MAPPER.getFactory().createParser(in);
+	}
+
+	private static ObjectMapper createMapper() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(new TwitterModule());
+		mapper.addMixIn(StreamDeleteEvent.class, StreamDeleteEventMixin.class);
+		mapper.addMixIn(StreamWarningEvent.class, StreamWarningEventMixin.class);
+		mapper.addMixIn(StreamScrubGeoEvent.class, StreamScrubGeoEventMixin.class);
+		mapper.addMixIn(StreamStatusWithheldEvent.class, StreamStatusWithheldEventMixin.class);
+		mapper.addMixIn(StreamUserWithheldEvent.class, StreamUserWithheldEventMixin.class);
+		mapper.addMixIn(StreamDisconnectEvent.class, StreamDisconnectEventMixin.class);
+		mapper.addMixIn(StreamUserEvent.class, StreamUserEventMixin.class);
+		return mapper;
+	}
+
+}
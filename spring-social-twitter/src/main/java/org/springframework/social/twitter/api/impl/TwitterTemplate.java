@@ -15,6 +15,7 @@
  */
 package org.springframework.social.twitter.api.impl;
 
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.social.oauth1.AbstractOAuth1ApiBinding;
@@ -25,11 +26,14 @@ import org.springframework.social.twitter.api.DirectMessageOperations;
 import org.springframework.social.twitter.api.FriendOperations;
 import org.springframework.social.twitter.api.GeoOperations;
 import org.springframework.social.twitter.api.ListOperations;
+import org.springframework.social.twitter.api.RateLimitPolicy;
 import org.springframework.social.twitter.api.SearchOperations;
 import org.springframework.social.twitter.api.StreamingOperations;
+import org.springframework.social.twitter.api.StreamingOptions;
 import org.springframework.social.twitter.api.TimelineOperations;
 import org.springframework.social.twitter.api.Twitter;
 import org.springframework.social.twitter.api.UserOperations;
+import org.springframework.social.twitter.http.TwitterHttpTransport;
 import org.springframework.util.Assert;
 import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
@@ -64,9 +68,12 @@ public class TwitterTemplate extends AbstractOAuth1ApiBinding implements Twitter
 	
 	private GeoOperations geoOperations;
 
-	private StreamingOperations streamOperations;
+	private StreamingTemplate streamOperations;
 	
 	private RestTemplate clientRestTemplate = null;
+
+	// set by configureRestTemplate(), which the superclass constructor calls before this class's field initializers run
+	private RateLimitInterceptor rateLimitInterceptor;
 	
 	/**
 	 * Create a new instance of TwitterTemplate.
@@ -145,6 +152,43 @@ public class TwitterTemplate extends AbstractOAuth1ApiBinding implements Twitter
 	public RestOperations restOperations() {
 		return getRestTemplate();
 	}
+
+	/**
+	 * Configures how messages read from streams are buffered before being dispatched to listeners.
+	 * Applies to streams opened or reconnected after this method is called.
+	 * @param streamingOptions the streaming options
+	 */
+	public void setStreamingOptions(StreamingOptions streamingOptions) {
+		streamOperations.setOptions(streamingOptions);
+	}
+
+	/**
+	 * Configures what's done with REST API calls to an endpoint whose rate limit, as reported by Twitter's last response from it, has been used up.
+	 * Defaults to {@link RateLimitPolicy#IGNORE}.
+	 * @param rateLimitPolicy the rate limit policy
+	 */
+	public void setRateLimitPolicy(RateLimitPolicy rateLimitPolicy) {
+		rateLimitInterceptor.setPolicy(rateLimitPolicy);
+	}
+
+	/**
+	 * Makes this template's REST API calls and streams through the pooled connections of the given transport,
+	 * using its REST and streaming timeouts. The transport may be shared with other templates, and isn't closed by this one.
+	 * @param httpTransport the HTTP transport
+	 */
+	public void setHttpTransport(TwitterHttpTransport httpTransport) {
+		Assert.notNull(httpTransport, "HTTP transport may not be null");
+		setRequestFactory(httpTransport.getRestRequestFactory());
+		streamOperations.setRequestFactory(httpTransport.getStreamRequestFactory());
+	}
+
+	@Override
+	public void setRequestFactory(ClientHttpRequestFactory requestFactory) {
+		super.setRequestFactory(requestFactory);
+		if (clientRestTemplate != null) {
+			clientRestTemplate.setRequestFactory(requestFactory);
+		}
+	}
 	
 	// Override getRestTemplate() to return an app-authorized RestTemplate if a client token is available.
 	@Override
@@ -172,6 +216,10 @@ public class TwitterTemplate extends AbstractOAuth1ApiBinding implements Twitter
 	@Override
 	protected void configureRestTemplate(RestTemplate restTemplate) {
 		restTemplate.setErrorHandler(new TwitterErrorHandler());
+		if (rateLimitInterceptor == null) {
+			rateLimitInterceptor = new RateLimitInterceptor();
+		}
+		restTemplate.getInterceptors().add(rateLimitInterceptor);
 	}
 	
 	// private helper 
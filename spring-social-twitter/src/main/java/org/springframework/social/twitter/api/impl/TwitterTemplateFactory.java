@@ -0,0 +1,233 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.social.support.ClientHttpRequestFactorySelector;
+import org.springframework.social.twitter.api.RateLimitPolicy;
+import org.springframework.social.twitter.api.StreamingOptions;
+import org.springframework.social.twitter.api.Twitter;
+import org.springframework.social.twitter.http.TwitterHttpTransport;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Creates Twitter API bindings for the users of one application, all of them sharing what a {@link TwitterTemplate} builds for itself:
+ * the message converters and their ObjectMapper, the error handler and the HTTP client.
+ * A binding from {@link #getTwitter(String, String)} carries only the user's credentials and is cheap enough to create per web request.
+ * <pre>
+ * TwitterTemplateFactory factory = new TwitterTemplateFactory(consumerKey, consumerSecret);
+ * factory.setHttpTransport(transport);
+ * Twitter twitter = factory.getTwitter(accessToken, accessTokenSecret);
+ * </pre>
+ * Settings apply to bindings created after they're changed. A factory is thread-safe.
+ */
+public class TwitterTemplateFactory {
+
+	private final String consumerKey;
+
+	private final String consumerSecret;
+
+	private final List<HttpMessageConverter<?>> messageConverters;
+
+	private final TwitterErrorHandler errorHandler = new TwitterErrorHandler();
+
+	private volatile ClientHttpRequestFactory requestFactory;
+
+	private volatile ClientHttpRequestFactory restRequestFactory;
+
+	private volatile ClientHttpRequestFactory streamRequestFactory;
+
+	private volatile RateLimitPolicy rateLimitPolicy = RateLimitPolicy.IGNORE;
+
+	private volatile StreamingOptions streamingOptions;
+
+	private final AtomicReference<TwitterTemplate> appTwitter = new AtomicReference<TwitterTemplate>();
+
+	/**
+	 * Create a new TwitterTemplateFactory.
+	 * @param consumerKey the application's API key
+	 * @param consumerSecret the application's API secret
+	 */
+	public TwitterTemplateFactory(String consumerKey, String consumerSecret) {
+		Assert.notNull(consumerKey, "Constructor argument 'consumerKey' cannot be null.");
+		Assert.notNull(consumerSecret, "Constructor argument 'consumerSecret' cannot be null.");
+		this.consumerKey = consumerKey;
+		this.consumerSecret = consumerSecret;
+		this.messageConverters = createMessageConverters();
+		setRequestFactory(ClientHttpRequestFactorySelector.getRequestFactory());
+	}
+
+	public String getConsumerKey() {
+		return consumerKey;
+	}
+
+	public String getConsumerSecret() {
+		return consumerSecret;
+	}
+
+	/**
+	 * Creates a Twitter API binding for a user.
+	 * @param accessToken an access token acquired through OAuth authentication with Twitter
+	 * @param accessTokenSecret an access token secret acquired through OAuth authentication with Twitter
+	 */
+	public Twitter getTwitter(String accessToken, String accessTokenSecret) {
+		Assert.notNull(accessToken, "Argument 'accessToken' cannot be null.");
+		Assert.notNull(accessTokenSecret, "Argument 'accessTokenSecret' cannot be null.");
+		RestTemplate restTemplate = new RestTemplate(messageConverters);
+		restTemplate.setRequestFactory(restRequestFactory);
+		restTemplate.setErrorHandler(errorHandler);
+		RateLimitInterceptor rateLimitInterceptor = new RateLimitInterceptor();
+		rateLimitInterceptor.setPolicy(rateLimitPolicy);
+		restTemplate.setInterceptors(Arrays.<ClientHttpRequestInterceptor>asList(
+				new OAuth1SigningInterceptor(consumerKey, consumerSecret, accessToken, accessTokenSecret), rateLimitInterceptor));
+		SharedTwitterTemplate twitter = new SharedTwitterTemplate(restTemplate);
+		configureStreams(twitter.getStreamingTemplate());
+		return twitter;
+	}
+
+	/**
+	 * Returns the application's own Twitter API binding, limited to operations requiring client authorization, as a {@link TwitterTemplate}
+	 * created with the consumer key and secret would be.
+	 * The binding is created, and a client access token obtained for it, on the first call; later calls return the same binding
+	 * until Twitter rejects its token, or until it's evicted with {@link #evictAppTwitter()}. The call that Twitter rejected still fails
+	 * with a NotAuthorizedException, and the next call to this method obtains a new token.
+	 * No lock is held while the token is obtained, so concurrent first calls may each obtain one; only one of the bindings is kept.
+	 */
+	public Twitter getAppTwitter() {
+		TwitterTemplate twitter = appTwitter.get();
+		if (twitter != null) {
+			return twitter;
+		}
+		final TwitterTemplate created = createAppTwitter();
+		created.getRestTemplate().getInterceptors().add(new ClientHttpRequestInterceptor() {
+			public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+				ClientHttpResponse response = execution.execute(request, body);
+				if (response.getRawStatusCode() == HttpStatus.UNAUTHORIZED.value()) {
+					appTwitter.compareAndSet(created, null);
+				}
+				return response;
+			}
+		});
+		created.setRequestFactory(requestFactory);
+		created.setRateLimitPolicy(rateLimitPolicy);
+		configureStreams((StreamingTemplate) created.streamingOperations());
+		if (appTwitter.compareAndSet(null, created)) {
+			return created;
+		}
+		twitter = appTwitter.get();
+		return twitter != null ? twitter : created;
+	}
+
+	/**
+	 * Discards the application's own Twitter API binding, so that the next call to {@link #getAppTwitter()} creates a new one with a new client access token.
+	 * Bindings already handed out keep working with the old token for as long as Twitter accepts it.
+	 */
+	public void evictAppTwitter() {
+		appTwitter.set(null);
+	}
+
+	// obtains the client access token
+	TwitterTemplate createAppTwitter() {
+		return new TwitterTemplate(consumerKey, consumerSecret);
+	}
+
+	/**
+	 * Makes REST API calls and streams through the pooled connections of the given transport, using its REST and streaming timeouts.
+	 * @param httpTransport the HTTP transport
+	 */
+	public void setHttpTransport(TwitterHttpTransport httpTransport) {
+		Assert.notNull(httpTransport, "HTTP transport may not be null");
+		setRequestFactory(httpTransport.getRestRequestFactory(), httpTransport.getStreamRequestFactory());
+	}
+
+	/**
+	 * Makes REST API calls and streams through the given request factory.
+	 * @param requestFactory the request factory
+	 */
+	public void setRequestFactory(ClientHttpRequestFactory requestFactory) {
+		Assert.notNull(requestFactory, "Request factory may not be null");
+		setRequestFactory(requestFactory, requestFactory);
+	}
+
+	/**
+	 * Configures what's done with REST API calls to an endpoint whose rate limit has been used up.
+	 * Each binding tracks the rate limits of its own access token.
+	 * @param rateLimitPolicy the rate limit policy
+	 * @see TwitterTemplate#setRateLimitPolicy(RateLimitPolicy)
+	 */
+	public void setRateLimitPolicy(RateLimitPolicy rateLimitPolicy) {
+		Assert.notNull(rateLimitPolicy, "Rate limit policy must not be null");
+		this.rateLimitPolicy = rateLimitPolicy;
+	}
+
+	/**
+	 * Configures how messages read from streams are buffered before being dispatched to listeners.
+	 * @param streamingOptions the streaming options
+	 * @see TwitterTemplate#setStreamingOptions(StreamingOptions)
+	 */
+	public void setStreamingOptions(StreamingOptions streamingOptions) {
+		this.streamingOptions = streamingOptions;
+	}
+
+	private void setRequestFactory(ClientHttpRequestFactory requestFactory, ClientHttpRequestFactory streamRequestFactory) {
+		this.requestFactory = requestFactory;
+		// responses are buffered so that the error handler can read them, but streams mustn't be
+		this.restRequestFactory = ClientHttpRequestFactorySelector.bufferRequests(requestFactory);
+		this.streamRequestFactory = streamRequestFactory;
+	}
+
+	private void configureStreams(StreamingTemplate streamingTemplate) {
+		streamingTemplate.setRequestFactory(streamRequestFactory);
+		StreamingOptions streamingOptions = this.streamingOptions;
+		if (streamingOptions != null) {
+			streamingTemplate.setOptions(streamingOptions);
+		}
+	}
+
+	private static List<HttpMessageConverter<?>> createMessageConverters() {
+		List<HttpMessageConverter<?>> messageConverters = new ArrayList<HttpMessageConverter<?>>(4);
+		messageConverters.add(new StringHttpMessageConverter());
+		messageConverters.add(new TwitterEscapingFormHttpMessageConverter());
+		MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter();
+		jsonConverter.setObjectMapper(new ObjectMapper().registerModule(new TwitterModule()));
+		messageConverters.add(jsonConverter);
+		ByteArrayHttpMessageConverter byteArrayConverter = new ByteArrayHttpMessageConverter();
+		byteArrayConverter.setSupportedMediaTypes(Arrays.asList(MediaType.IMAGE_JPEG, MediaType.IMAGE_GIF, MediaType.IMAGE_PNG));
+		messageConverters.add(byteArrayConverter);
+		return Collections.unmodifiableList(messageConverters);
+	}
+
+}
@@ -17,6 +17,8 @@ package org.springframework.social.twitter.connect;
 
 import org.springframework.social.connect.support.OAuth1ConnectionFactory;
 import org.springframework.social.twitter.api.Twitter;
+import org.springframework.social.twitter.api.impl.TwitterTemplateFactory;
+import org.springframework.social.twitter.http.TwitterHttpTransport;
 
 /**
  * Twitter ConnectionFactory implementation.
@@ -27,5 +29,23 @@ public class TwitterConnectionFactory extends OAuth1ConnectionFactory<Twitter> {
 	public TwitterConnectionFactory(String consumerKey, String consumerSecret) {
 		super("twitter", new TwitterServiceProvider(consumerKey, consumerSecret), new TwitterAdapter());
 	}
+
+	/**
+	 * Creates a connection factory whose connections' Twitter API bindings make their calls through the given transport.
+	 * @param httpTransport the HTTP transport shared by the API bindings
+	 */
+	public TwitterConnectionFactory(String consumerKey, String consumerSecret, TwitterHttpTransport httpTransport) {
+		super("twitter", new TwitterServiceProvider(consumerKey, consumerSecret, httpTransport), new TwitterAdapter());
+	}
+
+	/**
+	 * Creates a connection factory whose connections' Twitter API bindings are created by the given factory, sharing its infrastructure.
+	 * The bindings implement {@link Twitter} but are not {@link org.springframework.social.twitter.api.impl.TwitterTemplate} instances,
+	 * so code that casts a connection's API to TwitterTemplate, or calls its setters, must use the factory's settings instead.
+	 * @param templateFactory the factory of the application's Twitter API bindings
+	 */
+	public TwitterConnectionFactory(TwitterTemplateFactory templateFactory) {
+		super("twitter", new TwitterServiceProvider(templateFactory), new TwitterAdapter());
+	}
 	
 }
@@ -19,6 +19,8 @@ import org.springframework.social.oauth1.AbstractOAuth1ServiceProvider;
 import org.springframework.social.oauth1.OAuth1Template;
 import org.springframework.social.twitter.api.Twitter;
 import org.springframework.social.twitter.api.impl.TwitterTemplate;
+import org.springframework.social.twitter.api.impl.TwitterTemplateFactory;
+import org.springframework.social.twitter.http.TwitterHttpTransport;
 
 /**
  * Twitter ServiceProvider implementation.
@@ -27,16 +29,51 @@ import org.springframework.social.twitter.api.impl.TwitterTemplate;
  */
 public class TwitterServiceProvider extends AbstractOAuth1ServiceProvider<Twitter> {
 
+	private final TwitterHttpTransport httpTransport;
+
+	private final TwitterTemplateFactory templateFactory;
+
 	public TwitterServiceProvider(String consumerKey, String consumerSecret) {
+		this(consumerKey, consumerSecret, null);
+	}
+
+	/**
+	 * Creates a service provider whose Twitter API bindings make their calls through the given transport.
+	 * @param httpTransport the HTTP transport shared by the API bindings, or null for each to use its own default request factory
+	 */
+	public TwitterServiceProvider(String consumerKey, String consumerSecret, TwitterHttpTransport httpTransport) {
+		this(consumerKey, consumerSecret, httpTransport, null);
+	}
+
+	/**
+	 * Creates a service provider whose Twitter API bindings are created by the given factory, sharing its infrastructure.
+	 * The bindings implement {@link Twitter} but are not {@link TwitterTemplate} instances,
+	 * so code that casts a connection's API to TwitterTemplate, or calls its setters, must use the factory's settings instead.
+	 * @param templateFactory the factory of the application's Twitter API bindings
+	 */
+	public TwitterServiceProvider(TwitterTemplateFactory templateFactory) {
+		this(templateFactory.getConsumerKey(), templateFactory.getConsumerSecret(), null, templateFactory);
+	}
+
+	private TwitterServiceProvider(String consumerKey, String consumerSecret, TwitterHttpTransport httpTransport, TwitterTemplateFactory templateFactory) {
 		super(consumerKey, consumerSecret, new OAuth1Template(consumerKey, consumerSecret,
 			"https://api.twitter.com/oauth/request_token",
 			"https://api.twitter.com/oauth/authorize",
 			"https://api.twitter.com/oauth/authenticate",			
 			"https://api.twitter.com/oauth/access_token"));
+		this.httpTransport = httpTransport;
+		this.templateFactory = templateFactory;
 	}
 
 	public Twitter getApi(String accessToken, String secret) {
-		return new TwitterTemplate(getConsumerKey(), getConsumerSecret(), accessToken, secret);
+		if (templateFactory != null) {
+			return templateFactory.getTwitter(accessToken, secret);
+		}
+		TwitterTemplate twitter = new TwitterTemplate(getConsumerKey(), getConsumerSecret(), accessToken, secret);
+		if (httpTransport != null) {
+			twitter.setHttpTransport(httpTransport);
+		}
+		return twitter;
 	}
 
 }
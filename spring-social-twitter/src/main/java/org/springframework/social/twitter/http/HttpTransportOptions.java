@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.http;
+
+import org.springframework.util.Assert;
+
+/**
+ * Options for the connection pool and timeouts of a {@link TwitterHttpTransport}.
+ * REST calls and streams share the pool but have their own read timeouts, since a stream's connection is held open for as long as it's read.
+ * All times are in milliseconds.
+ */
+public class HttpTransportOptions {
+
+	private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+	private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+
+	private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+
+	private int connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+
+	private int readTimeout = DEFAULT_READ_TIMEOUT;
+
+	private int streamReadTimeout = DEFAULT_STREAM_READ_TIMEOUT;
+
+	private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+
+	/**
+	 * Specify the most connections that may be open at once, to all of Twitter's hosts together.
+	 * @param maxConnections the maximum number of connections. Defaults to 200.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions maxConnections(int maxConnections) {
+		Assert.isTrue(maxConnections > 0, "Max connections must be positive");
+		this.maxConnections = maxConnections;
+		return this;
+	}
+
+	/**
+	 * Specify the most connections that may be open at once to any one host, such as api.twitter.com or stream.twitter.com.
+	 * Calls beyond this wait for a connection to be returned to the pool.
+	 * @param maxConnectionsPerHost the maximum number of connections per host. Defaults to 50.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions maxConnectionsPerHost(int maxConnectionsPerHost) {
+		Assert.isTrue(maxConnectionsPerHost > 0, "Max connections per host must be positive");
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		return this;
+	}
+
+	/**
+	 * Specify how long to wait for a new connection to be established.
+	 * @param connectTimeout the connect timeout, or 0 to wait indefinitely. Defaults to 5000.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions connectTimeout(int connectTimeout) {
+		Assert.isTrue(connectTimeout >= 0, "Connect timeout may not be negative");
+		this.connectTimeout = connectTimeout;
+		return this;
+	}
+
+	/**
+	 * Specify how long a call may wait for a connection from the pool when its host's connections are all in use.
+	 * @param connectionRequestTimeout the connection request timeout, or 0 to wait indefinitely. Defaults to 10000.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions connectionRequestTimeout(int connectionRequestTimeout) {
+		Assert.isTrue(connectionRequestTimeout >= 0, "Connection request timeout may not be negative");
+		this.connectionRequestTimeout = connectionRequestTimeout;
+		return this;
+	}
+
+	/**
+	 * Specify how long a REST API call may wait for data from Twitter.
+	 * @param readTimeout the read timeout, or 0 to wait indefinitely. Defaults to 30000.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions readTimeout(int readTimeout) {
+		Assert.isTrue(readTimeout >= 0, "Read timeout may not be negative");
+		this.readTimeout = readTimeout;
+		return this;
+	}
+
+	/**
+	 * Specify how long a stream may wait for data from Twitter before its connection is dropped.
+	 * Twitter sends a keep-alive newline on an idle stream every 30 seconds or so, so this should be well above that.
+	 * @param streamReadTimeout the stream read timeout, or 0 to wait indefinitely. Defaults to 90000.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions streamReadTimeout(int streamReadTimeout) {
+		Assert.isTrue(streamReadTimeout >= 0, "Stream read timeout may not be negative");
+		this.streamReadTimeout = streamReadTimeout;
+		return this;
+	}
+
+	/**
+	 * Specify how long a connection may sit unused in the pool, kept alive for the next call to its host, before it's closed.
+	 * @param idleTimeout the idle timeout. Defaults to 60000.
+	 * @return the same HttpTransportOptions for additional configuration
+	 */
+	public HttpTransportOptions idleTimeout(long idleTimeout) {
+		Assert.isTrue(idleTimeout > 0, "Idle timeout must be positive");
+		this.idleTimeout = idleTimeout;
+		return this;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public int getMaxConnectionsPerHost() {
+		return maxConnectionsPerHost;
+	}
+
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public int getConnectionRequestTimeout() {
+		return connectionRequestTimeout;
+	}
+
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	public int getStreamReadTimeout() {
+		return streamReadTimeout;
+	}
+
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	private static final int DEFAULT_MAX_CONNECTIONS = 200;
+
+	private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 50;
+
+	private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+
+	private static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 10000;
+
+	private static final int DEFAULT_READ_TIMEOUT = 30000;
+
+	private static final int DEFAULT_STREAM_READ_TIMEOUT = 90000;
+
+	private static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
+}
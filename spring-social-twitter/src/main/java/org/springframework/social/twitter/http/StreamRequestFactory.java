@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Request factory for streams, whose responses abort their connection when closed.
+ * HttpClient would otherwise read a closed response to its end so that the connection can be reused,
+ * which for an endless stream never happens. A stream read to its end still gives its connection back to the pool.
+ */
+class StreamRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+	// createRequest() hands the request it builds to postProcessHttpRequest() on the same thread
+	private final ThreadLocal<HttpUriRequest> createdRequest = new ThreadLocal<HttpUriRequest>();
+
+	StreamRequestFactory(HttpClient httpClient) {
+		super(httpClient);
+	}
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+		try {
+			return new StreamRequest(super.createRequest(uri, httpMethod), createdRequest.get());
+		} finally {
+			createdRequest.remove();
+		}
+	}
+
+	@Override
+	protected void postProcessHttpRequest(HttpUriRequest request) {
+		createdRequest.set(request);
+	}
+
+	private static class StreamRequest implements ClientHttpRequest {
+
+		private final ClientHttpRequest request;
+
+		private final HttpUriRequest httpRequest;
+
+		StreamRequest(ClientHttpRequest request, HttpUriRequest httpRequest) {
+			this.request = request;
+			this.httpRequest = httpRequest;
+		}
+
+		public ClientHttpResponse execute() throws IOException {
+			return new StreamResponse(request.execute(), httpRequest);
+		}
+
+		public OutputStream getBody() throws IOException {
+			return request.getBody();
+		}
+
+		public HttpHeaders getHeaders() {
+			return request.getHeaders();
+		}
+
+		public String getMethodValue() {
+			return request.getMethodValue();
+		}
+
+		public URI getURI() {
+			return request.getURI();
+		}
+
+	}
+
+	private static class StreamResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+
+		private final HttpUriRequest httpRequest;
+
+		private InputStream body;
+
+		StreamResponse(ClientHttpResponse response, HttpUriRequest httpRequest) {
+			this.response = response;
+			this.httpRequest = httpRequest;
+		}
+
+		public synchronized InputStream getBody() throws IOException {
+			if (body == null) {
+				body = new FilterInputStream(response.getBody()) {
+					@Override
+					public void close() throws IOException {
+						abort();
+						try {
+							super.close();
+						} catch (IOException e) {
+							// the aborted connection can't be read to its end, and needn't be
+						}
+					}
+				};
+			}
+			return body;
+		}
+
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		public void close() {
+			abort();
+			response.close();
+		}
+
+		private void abort() {
+			// a no-op when the response has been read to its end, and its connection released
+			httpRequest.abort();
+		}
+
+	}
+
+}
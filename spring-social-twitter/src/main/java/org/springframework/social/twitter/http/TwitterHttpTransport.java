@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.Assert;
+
+/**
+ * A pooled, keep-alive HTTP client for Twitter's REST API and streams, to be shared by any number of
+ * {@link org.springframework.social.twitter.api.impl.TwitterTemplate}s.
+ * Connections to each host are kept open between calls and reused, and all of them are made through one SSL context,
+ * so calls after the first skip the TCP and, mostly, the TLS handshakes.
+ * REST calls and streams are made through separate request factories with their own read timeouts.
+ * Apache HttpComponents HttpClient is an optional dependency, needed only by applications that use this class.
+ * <pre>
+ * TwitterHttpTransport transport = new TwitterHttpTransport(new HttpTransportOptions().maxConnectionsPerHost(20));
+ * twitter.setHttpTransport(transport);
+ * </pre>
+ * The transport should be closed when it's no longer used, which closes its pooled connections.
+ */
+public class TwitterHttpTransport implements Closeable {
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+
+	private final CloseableHttpClient httpClient;
+
+	private final ClientHttpRequestFactory restRequestFactory;
+
+	private final ClientHttpRequestFactory streamRequestFactory;
+
+	public TwitterHttpTransport() {
+		this(new HttpTransportOptions());
+	}
+
+	public TwitterHttpTransport(HttpTransportOptions options) {
+		Assert.notNull(options, "Options may not be null");
+		connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(options.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(options.getMaxConnectionsPerHost());
+		connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+		httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.evictIdleConnections(options.getIdleTimeout(), TimeUnit.MILLISECONDS)
+				// the client is shared between users, who mustn't see each other's cookies
+				.disableCookieManagement()
+				.build();
+		restRequestFactory = configure(new HttpComponentsClientHttpRequestFactory(httpClient), options, options.getReadTimeout());
+		streamRequestFactory = configure(new StreamRequestFactory(httpClient), options, options.getStreamReadTimeout());
+	}
+
+	/**
+	 * @return the request factory for REST API calls
+	 */
+	public ClientHttpRequestFactory getRestRequestFactory() {
+		return restRequestFactory;
+	}
+
+	/**
+	 * @return the request factory for streams. Closing a stream's response, or its body, closes its connection rather than reading the stream to its end.
+	 */
+	public ClientHttpRequestFactory getStreamRequestFactory() {
+		return streamRequestFactory;
+	}
+
+	/**
+	 * Closes the pooled connections. Calls made through the transport afterwards fail.
+	 */
+	public void close() throws IOException {
+		httpClient.close();
+	}
+
+	PoolingHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	private static ClientHttpRequestFactory configure(HttpComponentsClientHttpRequestFactory requestFactory, HttpTransportOptions options, int readTimeout) {
+		requestFactory.setConnectTimeout(options.getConnectTimeout());
+		requestFactory.setConnectionRequestTimeout(options.getConnectionRequestTimeout());
+		requestFactory.setReadTimeout(readTimeout);
+		return requestFactory;
+	}
+
+	private static final int VALIDATE_AFTER_INACTIVITY = 2000;
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Pooled HTTP transport for Twitter's REST API and streams.
+ */
+package org.springframework.social.twitter.http;
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.social.twitter.api.Stream;
+import org.springframework.social.twitter.api.StreamStats;
+import org.springframework.util.Assert;
+
+/**
+ * Publishes the {@link StreamStats} of a {@link Stream} to a Micrometer {@link MeterRegistry}.
+ * Totals are published as function counters and the parse time as a function timer, so the registry computes rates
+ * itself; queue depths and the stall warning level are published as gauges. Every meter reads the stream when
+ * the registry polls it, so binding adds nothing to the stream's own threads.
+ * Micrometer is an optional dependency, needed only by applications that use this class.
+ * <pre>
+ * new StreamMeterBinder(stream, Tags.of("stream", "mentions")).bindTo(meterRegistry);
+ * </pre>
+ */
+public class StreamMeterBinder implements MeterBinder {
+
+	private final Stream stream;
+
+	private final Iterable<Tag> tags;
+
+	public StreamMeterBinder(Stream stream) {
+		this(stream, Tags.empty());
+	}
+
+	/**
+	 * @param stream the stream to publish statistics for
+	 * @param tags tags to add to every meter, to tell several streams apart
+	 */
+	public StreamMeterBinder(Stream stream, Iterable<Tag> tags) {
+		Assert.notNull(stream, "Stream may not be null");
+		Assert.notNull(tags, "Tags may not be null");
+		this.stream = stream;
+		this.tags = tags;
+	}
+
+	public void bindTo(MeterRegistry registry) {
+		counter(registry, "twitter.stream.messages", "Messages read from the stream", null, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getMessages();
+			}
+		});
+		counter(registry, "twitter.stream.bytes", "Bytes in the messages read from the stream", "bytes", new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getBytes();
+			}
+		});
+		counter(registry, "twitter.stream.tweets", "Tweets handed to the stream's listeners", null, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getTweets();
+			}
+		});
+		counter(registry, "twitter.stream.limit.notices", "Limit notices received", null, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getLimitNotices();
+			}
+		});
+		counter(registry, "twitter.stream.limited.tweets", "Tweets withheld for exceeding the track limit", null, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getLimitedTweets();
+			}
+		});
+		counter(registry, "twitter.stream.reconnects", "Connections made after the first", null, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getReconnects();
+			}
+		});
+		counter(registry, "twitter.stream.connection.failures", "Failed attempts to open a connection", null, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getConnectionFailures();
+			}
+		});
+		FunctionTimer.builder("twitter.stream.parse", stream, new ToLongFunction<Stream>() {
+			public long applyAsLong(Stream stream) {
+				return stream.getStats().getParseCount();
+			}
+		}, new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getParseTime();
+			}
+		}, TimeUnit.NANOSECONDS).tags(tags).description("Time spent parsing messages").register(registry);
+		gauge(registry, "twitter.stream.queue.depth", "Messages read but not yet dispatched", new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getQueueDepth();
+			}
+		});
+		gauge(registry, "twitter.stream.listener.backlog", "Messages waiting to be delivered to listeners", new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getStats().getListenerBacklog();
+			}
+		});
+		gauge(registry, "twitter.stream.percent.full", "Fullness of Twitter's queue for the stream at the last stall warning", new ToDoubleFunction<Stream>() {
+			public double applyAsDouble(Stream stream) {
+				return stream.getPercentFull();
+			}
+		});
+	}
+
+	private void counter(MeterRegistry registry, String name, String description, String baseUnit, ToDoubleFunction<Stream> count) {
+		FunctionCounter.builder(name, stream, count).tags(tags).description(description).baseUnit(baseUnit).register(registry);
+	}
+
+	private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<Stream> value) {
+		Gauge.builder(name, stream, value).tags(tags).description(description).register(registry);
+	}
+
+}
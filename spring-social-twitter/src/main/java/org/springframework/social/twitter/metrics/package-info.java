@@ -0,0 +1,4 @@
+/**
+ * Micrometer support for Twitter streams.
+ */
+package org.springframework.social.twitter.metrics;
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpMethod.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.social.NotAuthorizedException;
+import org.springframework.social.RateLimitExceededException;
+import org.springframework.social.twitter.api.AsyncTwitter;
+import org.springframework.social.twitter.api.RateLimitPolicy;
+import org.springframework.social.twitter.api.TimelineOperations;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.Twitter;
+import org.springframework.social.twitter.api.TwitterProfile;
+
+public class AsyncTwitterTemplateTest extends AbstractTwitterApiTest {
+
+	private static final String HOME_TIMELINE = "https://api.twitter.com/1.1/statuses/home_timeline.json?count=20&include_entities=true";
+
+	private AsyncTwitterTemplate asyncTwitter;
+
+	@Before
+	public void setupAsyncTwitter() {
+		asyncTwitter = new AsyncTwitterTemplate(twitter, 4);
+	}
+
+	@After
+	public void closeAsyncTwitter() {
+		asyncTwitter.close();
+	}
+
+	@Test
+	public void getHomeTimeline() throws Exception {
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON));
+		List<Tweet> timeline = asyncTwitter.timelineOperations().getHomeTimeline().get();
+		assertEquals(2, timeline.size());
+		assertSingleTweet(timeline.get(0));
+		mockServer.verify();
+	}
+
+	@Test
+	public void getUserProfile() throws Exception {
+		mockServer.expect(requestTo("https://api.twitter.com/1.1/users/show.json?screen_name=artnames"))
+				.andExpect(method(GET)).andRespond(withSuccess(jsonResource("twitter-profile"), APPLICATION_JSON));
+		TwitterProfile profile = asyncTwitter.userOperations().getUserProfile("artnames").get();
+		assertEquals("artnames", profile.getScreenName());
+		mockServer.verify();
+	}
+
+	@Test
+	public void deleteStatus() throws Exception {
+		mockServer.expect(requestTo("https://api.twitter.com/1.1/statuses/destroy/12345.json"))
+				.andExpect(method(POST)).andRespond(withSuccess("{}", APPLICATION_JSON));
+		assertNull(asyncTwitter.timelineOperations().deleteStatus(12345L).get());
+		mockServer.verify();
+	}
+
+	@Test
+	public void error_completesExceptionally() throws Exception {
+		mockServer.expect(requestTo(HOME_TIMELINE))
+				.andRespond(withStatus(HttpStatus.UNAUTHORIZED).body("{\"errors\":[{\"code\":89,\"message\":\"Invalid or expired token\"}]}").contentType(APPLICATION_JSON));
+		try {
+			asyncTwitter.timelineOperations().getHomeTimeline().get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof NotAuthorizedException);
+		}
+	}
+
+	@Test
+	public void rateLimitPolicy() throws Exception {
+		twitter.setRateLimitPolicy(RateLimitPolicy.REJECT);
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("x-rate-limit-limit", "180");
+		headers.set("x-rate-limit-remaining", "0");
+		headers.set("x-rate-limit-reset", String.valueOf(System.currentTimeMillis() / 1000 + 60));
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON).headers(headers));
+		asyncTwitter.timelineOperations().getHomeTimeline().get();
+		try {
+			asyncTwitter.timelineOperations().getHomeTimeline().get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RateLimitExceededException);
+		}
+		mockServer.verify();
+	}
+
+	@Test
+	public void callsOverlap() throws Exception {
+		final CountDownLatch allStarted = new CountDownLatch(4);
+		AsyncTwitter overlapping = new AsyncTwitterTemplate(twitterWithHomeTimeline(new Answer<List<Tweet>>() {
+			public List<Tweet> answer(InvocationOnMock invocation) throws Exception {
+				allStarted.countDown();
+				assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+				return Collections.emptyList();
+			}
+		}), 4);
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[4];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = overlapping.timelineOperations().getHomeTimeline();
+		}
+		CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void executorBoundsConcurrentCalls() throws Exception {
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		AsyncTwitter bounded = new AsyncTwitterTemplate(twitterWithHomeTimeline(new Answer<List<Tweet>>() {
+			public List<Tweet> answer(InvocationOnMock invocation) throws Exception {
+				int calls = inFlight.incrementAndGet();
+				if (calls > maxInFlight.get()) {
+					maxInFlight.set(calls);
+				}
+				Thread.sleep(20);
+				inFlight.decrementAndGet();
+				return Collections.emptyList();
+			}
+		}), 2);
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[6];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = bounded.timelineOperations().getHomeTimeline();
+		}
+		CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+		assertTrue(maxInFlight.get() <= 2);
+	}
+
+	@Test
+	public void close_leavesGivenExecutorRunning() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			new AsyncTwitterTemplate(twitter, executor).close();
+			assertFalse(executor.isShutdown());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void close_failsLaterCalls() throws Exception {
+		asyncTwitter.close();
+		CompletableFuture<List<Tweet>> timeline = asyncTwitter.timelineOperations().getHomeTimeline();
+		try {
+			timeline.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RejectedExecutionException);
+		}
+	}
+
+	private Twitter twitterWithHomeTimeline(Answer<List<Tweet>> answer) {
+		TimelineOperations timelineOperations = mock(TimelineOperations.class);
+		when(timelineOperations.getHomeTimeline()).thenAnswer(answer);
+		Twitter twitter = mock(Twitter.class);
+		when(twitter.timelineOperations()).thenReturn(timelineOperations);
+		return twitter;
+	}
+
+}
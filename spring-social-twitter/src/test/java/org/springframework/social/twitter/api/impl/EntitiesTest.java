@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Entities;
+import org.springframework.social.twitter.api.HashTagEntity;
+import org.springframework.social.twitter.api.MediaEntity;
+import org.springframework.social.twitter.api.MentionEntity;
+import org.springframework.social.twitter.api.TickerSymbolEntity;
+import org.springframework.social.twitter.api.UrlEntity;
+
+public class EntitiesTest {
+
+	@Test
+	public void emptyListsShared() throws Exception {
+		Entities entities = TwitterObjectReaders.ENTITIES.readValue("{\"urls\":[],\"hashtags\":[],\"user_mentions\":[]}");
+		assertSame(Collections.emptyList(), entities.getUrls());
+		assertSame(Collections.emptyList(), entities.getHashTags());
+		assertSame(Collections.emptyList(), entities.getMentions());
+		assertSame(Collections.emptyList(), entities.getMedia());
+		assertSame(Collections.emptyList(), entities.getTickerSymbols());
+		assertFalse(entities.hasUrls());
+		assertEquals(new Entities(null, null, null, null), entities);
+		assertEquals(new Entities(null, null, null, null).hashCode(), entities.hashCode());
+	}
+
+	@Test
+	public void readEntities() throws Exception {
+		Entities entities = TwitterObjectReaders.ENTITIES.readValue(
+				"{\"hashtags\":[{\"text\":\"spring\",\"indices\":[5,12]}],\"user_mentions\":[{\"id\":1,\"id_str\":\"1\",\"screen_name\":\"habuma\",\"name\":\"Craig\",\"indices\":[0,7]}]}");
+		HashTagEntity tag = entities.getHashTags().get(0);
+		assertEquals("spring", tag.getText());
+		assertArrayEquals(new int[] { 5, 12 }, tag.getIndices());
+		assertEquals(new HashTagEntity("spring", new int[] { 5, 12 }), tag);
+		assertFalse(tag.equals(new HashTagEntity("spring", new int[] { 5, 13 })));
+		MentionEntity mention = entities.getMentions().get(0);
+		assertEquals("habuma", mention.getScreenName());
+		assertArrayEquals(new int[] { 0, 7 }, mention.getIndices());
+		assertTrue(entities.getExtraData().isEmpty());
+		assertTrue(tag.getExtraData().isEmpty());
+		assertTrue(mention.getExtraData().isEmpty());
+	}
+
+	@Test
+	public void extraDataOnlyForUnknownFields() throws Exception {
+		Entities entities = TwitterObjectReaders.ENTITIES.readValue("{\"hashtags\":[],\"symbols\":[],\"polls\":[]}");
+		assertEquals(1, entities.getExtraData().size());
+		assertTrue(entities.getExtraData().containsKey("polls"));
+	}
+
+	@Test
+	public void missingIndices() {
+		assertEquals(0, new UrlEntity("t.co", "http://t.co", "http://t.co/x", null).getIndices().length);
+		assertEquals(0, new UrlEntity("t.co", "http://t.co", "http://t.co/x", new int[0]).getIndices().length);
+		assertEquals(new UrlEntity("t.co", "http://t.co", "http://t.co/x", null), new UrlEntity("t.co", "http://t.co", "http://t.co/x", new int[0]));
+	}
+
+	@Test
+	public void serializedIndicesStayIntArrays() throws Exception {
+		Class<?>[] entityClasses = { HashTagEntity.class, MentionEntity.class, UrlEntity.class, MediaEntity.class, TickerSymbolEntity.class };
+		for (Class<?> entityClass : entityClasses) {
+			assertEquals(int[].class, ObjectStreamClass.lookup(entityClass).getField("indices").getType());
+		}
+		assertEquals(new HashTagEntity("spring", new int[] { 5, 12 }), serializeAndRead(new HashTagEntity("spring", new int[] { 5, 12 })));
+		assertEquals(new MentionEntity(1, "habuma", "Craig", new int[] { 0, 7 }), serializeAndRead(new MentionEntity(1, "habuma", "Craig", new int[] { 0, 7 })));
+		assertEquals(new UrlEntity("t.co", "http://t.co", "http://t.co/x", null), serializeAndRead(new UrlEntity("t.co", "http://t.co", "http://t.co/x", null)));
+		MediaEntity media = new MediaEntity(2, "http://pbs.twimg.com/a.jpg", "https://pbs.twimg.com/a.jpg", "http://t.co/a", "pic.twitter.com/a", "http://twitter.com/a", "photo", new int[] { 20, 40 });
+		assertEquals(media, serializeAndRead(media));
+		TickerSymbolEntity tickerSymbol = serializeAndRead(new TickerSymbolEntity("SPR", new int[] { 3, 7 }));
+		assertEquals("SPR", tickerSymbol.getTickerSymbol());
+		assertArrayEquals(new int[] { 3, 7 }, tickerSymbol.getIndices());
+	}
+
+	@Test
+	public void listsCopiedToArrays() {
+		List<UrlEntity> urls = new LinkedList<UrlEntity>();
+		urls.add(new UrlEntity("t.co", "http://t.co", "http://t.co/x", new int[] { 0, 1 }));
+		Entities entities = new Entities(urls, null, null, null);
+		assertEquals(urls, entities.getUrls());
+		assertFalse(entities.getUrls() instanceof LinkedList);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T serializeAndRead(T entity) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(entity);
+		out.close();
+		return (T) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Entities;
+import org.springframework.social.twitter.api.FilterStreamParameters;
+import org.springframework.social.twitter.api.HashTagEntity;
+import org.springframework.social.twitter.api.MediaEntity;
+import org.springframework.social.twitter.api.MentionEntity;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.UrlEntity;
+
+public class FilterMatcherTest {
+
+	@Test
+	public void track() {
+		Matcher matcher = new Matcher((FilterStreamParameters) new FilterStreamParameters().track("spring social,dallas"));
+		assertTrue(matcher.matches(tweet("Heading to Dallas!", 1)));
+		assertTrue(matcher.matches(tweet("#Spring is here, and so is social", 1)));
+		assertFalse(matcher.matches(tweet("Spring is here", 1)));
+		assertFalse(matcher.matches(tweet("Dallasite", 1)));
+	}
+
+	@Test
+	public void follow() {
+		Matcher matcher = new Matcher(new FilterStreamParameters().follow(42));
+		assertTrue(matcher.matches(tweet("Hello", 42)));
+		assertFalse(matcher.matches(tweet("Hello", 43)));
+		Tweet reply = tweet("Hello", 43);
+		reply.setInReplyToUserId(42L);
+		assertTrue(matcher.matches(reply));
+		Tweet retweet = tweet("RT Hello", 43);
+		retweet.setRetweetedStatus(tweet("Hello", 42));
+		assertTrue(matcher.matches(retweet));
+	}
+
+	@Test
+	public void locations() {
+		FilterStreamParameters parameters = new FilterStreamParameters();
+		parameters.addLocation(-122.75f, 36.8f, -121.75f, 37.8f);
+		parameters.addLocation(-74f, 40f, -73f, 41f);
+		Matcher matcher = new Matcher(parameters);
+		assertTrue(matcher.matches(geotagged(37.5, -122.0)));
+		assertTrue(matcher.matches(geotagged(40.7, -73.9)));
+		assertFalse(matcher.matches(geotagged(51.5, -0.1)));
+		assertFalse(matcher.matches(tweet("Not geotagged", 1)));
+	}
+
+	@Test
+	public void language() {
+		FilterStreamParameters parameters = new FilterStreamParameters();
+		parameters.track("dallas");
+		parameters.language("en");
+		Matcher matcher = new Matcher(parameters);
+		assertTrue(matcher.matches(tweet("Dallas", 1)));
+		Tweet spanish = tweet("Dallas", 1);
+		spanish.setLanguageCode("es");
+		assertFalse(matcher.matches(spanish));
+	}
+
+	@Test
+	public void withoutText() {
+		Matcher matcher = new Matcher(((FilterStreamParameters) new FilterStreamParameters().track("dallas")).follow(42));
+		assertFalse(matcher.matches(tweet(null, 1)));
+		assertTrue(matcher.matches(tweet(null, 42)));
+	}
+
+	@Test
+	public void routesToEverySubscriptionThatMatches() {
+		Map<String, FilterStreamParameters> subscriptions = new LinkedHashMap<String, FilterStreamParameters>();
+		subscriptions.put("spring", (FilterStreamParameters) new FilterStreamParameters().track("spring"));
+		subscriptions.put("springsocial", (FilterStreamParameters) new FilterStreamParameters().track("springsocial,spring social"));
+		subscriptions.put("social", (FilterStreamParameters) new FilterStreamParameters().track("social"));
+		subscriptions.put("author", new FilterStreamParameters().follow(42));
+		FilterMatcher<String> matcher = new FilterMatcher<String>(subscriptions);
+		assertEquals(Arrays.asList("spring", "springsocial", "social"), matcher.match(tweet("Spring Social 2.0 is out", 1)));
+		assertEquals(Arrays.asList("springsocial", "author"), matcher.match(tweet("Released #springsocial", 42)));
+		assertEquals(Arrays.asList("spring"), matcher.match(tweet("spring, and springtime", 1)));
+		assertTrue(matcher.match(tweet("Nothing to see here", 1)).isEmpty());
+	}
+
+	@Test
+	public void track_mentionsAndUrls() {
+		Matcher matcher = new Matcher((FilterStreamParameters) new FilterStreamParameters().track("habuma,springsource.org"));
+		Tweet tweet = tweet("Have you seen this?", 1);
+		Entities entities = new Entities(Arrays.asList(new UrlEntity("springsource.org", "http://springsource.org", "http://t.co/x", new int[] { 0, 1 })),
+				new ArrayList<HashTagEntity>(), Arrays.asList(new MentionEntity(1, "habuma", "Craig Walls", new int[] { 0, 1 })), new ArrayList<MediaEntity>());
+		tweet.setEntities(entities);
+		assertTrue(matcher.matches(tweet));
+	}
+
+	private Tweet tweet(String text, long fromUserId) {
+		return new Tweet("1", text, new Date(), "someone", null, null, fromUserId, "en", "web");
+	}
+
+	private static class Matcher {
+
+		private final FilterMatcher<String> matcher;
+
+		Matcher(FilterStreamParameters parameters) {
+			this.matcher = new FilterMatcher<String>(Collections.singletonMap("subscription", parameters));
+		}
+
+		boolean matches(Tweet tweet) {
+			return matcher.match(tweet).contains("subscription");
+		}
+
+	}
+
+	private Tweet geotagged(double latitude, double longitude) {
+		Tweet tweet = tweet("Here", 1);
+		tweet.setLatitude(latitude);
+		tweet.setLongitude(longitude);
+		return tweet;
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.social.twitter.api.FilterStreamParameters;
+import org.springframework.social.twitter.api.Stream;
+import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.StreamListener;
+import org.springframework.social.twitter.api.Tweet;
+
+public class FilterStreamMultiplexerTest {
+
+	@Test
+	public void routesTweetsToMatchingSubscriptions() throws Exception {
+		RecordingMultiplexer multiplexer = new RecordingMultiplexer(0);
+		StreamListener dallas = mock(StreamListener.class);
+		StreamListener austin = mock(StreamListener.class);
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("dallas"), Arrays.asList(dallas));
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().follow(42).track("austin"), Arrays.asList(austin));
+		Thread.sleep(200);
+		assertEquals("dallas,austin", multiplexer.lastParameters().getTrackParameterValue());
+		assertEquals("42", multiplexer.lastParameters().getFollowParameterValue());
+
+		StreamListener router = multiplexer.lastListener();
+		Tweet dallasTweet = tweet("Hello Dallas", 1);
+		Tweet austinTweet = tweet("Hello from user 42", 42);
+		router.onTweet(dallasTweet);
+		router.onTweet(austinTweet);
+		verify(dallas).onTweet(dallasTweet);
+		verify(dallas, never()).onTweet(austinTweet);
+		verify(austin).onTweet(austinTweet);
+		verify(austin, never()).onTweet(dallasTweet);
+
+		router.onLimit(10);
+		verify(dallas).onLimit(10);
+		verify(austin).onLimit(10);
+	}
+
+	@Test
+	public void coalescesReconnects() throws Exception {
+		RecordingMultiplexer multiplexer = new RecordingMultiplexer(300);
+		StreamListener listener = mock(StreamListener.class);
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("one"), Arrays.asList(listener));
+		Thread.sleep(100);
+		assertEquals(1, multiplexer.connections.size());
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("two"), Arrays.asList(listener));
+		Stream three = multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("three"), Arrays.asList(listener));
+		three.close();
+		Thread.sleep(100);
+		assertEquals(1, multiplexer.connections.size());
+		Thread.sleep(300);
+		assertEquals(2, multiplexer.connections.size());
+		assertEquals("one,two", multiplexer.lastParameters().getTrackParameterValue());
+		verify(multiplexer.streams.get(0)).close();
+	}
+
+	@Test
+	public void closedSubscriptionStopsReceiving() throws Exception {
+		RecordingMultiplexer multiplexer = new RecordingMultiplexer(0);
+		StreamListener listener = mock(StreamListener.class);
+		Stream subscription = multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("dallas"), Arrays.asList(listener));
+		Thread.sleep(100);
+		StreamListener router = multiplexer.lastListener();
+		subscription.close();
+		router.onTweet(tweet("Dallas", 1));
+		router.onDelete(new StreamDeleteEvent(1, 1));
+		verifyZeroInteractions(listener);
+		Thread.sleep(100);
+		verify(multiplexer.streams.get(0)).close();
+		assertEquals(1, multiplexer.connections.size());
+	}
+
+	@Test
+	public void mergeParameters_languages() {
+		RecordingMultiplexer multiplexer = new RecordingMultiplexer(0);
+		StreamListener listener = mock(StreamListener.class);
+		multiplexer.subscribe(track("a", "en"), Arrays.asList(listener));
+		multiplexer.subscribe(track("b", "fr"), Arrays.asList(listener));
+		sleepQuietly(100);
+		assertEquals("en,fr", multiplexer.lastParameters().toParameterMap().getFirst("language"));
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("c"), Arrays.asList(listener));
+		sleepQuietly(100);
+		assertNull(multiplexer.lastParameters().toParameterMap().getFirst("language"));
+	}
+
+	@Test
+	public void reconnect_waitsForPreviousConnectionToClose() throws Exception {
+		final List<Long> opened = new CopyOnWriteArrayList<Long>();
+		final List<Long> closed = new CopyOnWriteArrayList<Long>();
+		final AtomicInteger connects = new AtomicInteger();
+		FilterStreamMultiplexer multiplexer = new FilterStreamMultiplexer(0) {
+			protected Stream connect(FilterStreamParameters parameters, StreamListener listener) {
+				final boolean first = connects.getAndIncrement() == 0;
+				Stream stream = new ThreadedStreamConsumer() {
+					protected StreamReader getStreamReader() throws StreamCreationException {
+						if (first) {
+							// a slow connect, which the close can't cut short
+							sleepQuietly(300);
+						}
+						opened.add(System.nanoTime());
+						StreamReader streamReader = mock(StreamReader.class);
+						doAnswer(new Answer<Void>() {
+							public Void answer(InvocationOnMock invocation) {
+								sleepQuietly(10);
+								return null;
+							}
+						}).when(streamReader).next();
+						doAnswer(new Answer<Void>() {
+							public Void answer(InvocationOnMock invocation) {
+								closed.add(System.nanoTime());
+								return null;
+							}
+						}).when(streamReader).close();
+						return streamReader;
+					}
+				};
+				stream.open();
+				return stream;
+			}
+		};
+		StreamListener listener = mock(StreamListener.class);
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("one"), Arrays.asList(listener));
+		sleepQuietly(100);
+		Stream two = multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("two"), Arrays.asList(listener));
+		sleepQuietly(1000);
+		assertEquals(2, opened.size());
+		assertEquals(1, closed.size());
+		assertTrue(opened.get(1) > closed.get(0));
+		two.close();
+	}
+
+	@Test
+	public void rejectsSubscriptionPastLimits() throws Exception {
+		RecordingMultiplexer multiplexer = new RecordingMultiplexer(0);
+		StreamListener listener = mock(StreamListener.class);
+		FilterStreamParameters first = new FilterStreamParameters();
+		for (int i = 0; i < FilterStreamMultiplexer.MAX_TRACK_TERMS; i++) {
+			first.track("term" + i);
+		}
+		multiplexer.subscribe(first, Arrays.asList(listener));
+		// terms already tracked don't count again
+		multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("term0"), Arrays.asList(listener));
+		try {
+			multiplexer.subscribe((FilterStreamParameters) new FilterStreamParameters().track("one too many"), Arrays.asList(listener));
+			fail("Expected the subscription to be rejected");
+		} catch (IllegalStateException expected) {}
+		FilterStreamParameters locations = new FilterStreamParameters();
+		for (int i = 0; i <= FilterStreamMultiplexer.MAX_LOCATIONS; i++) {
+			locations.addLocation(-100 + i, 30, -99 + i, 31);
+		}
+		try {
+			multiplexer.subscribe(locations, Arrays.asList(listener));
+			fail("Expected the subscription to be rejected");
+		} catch (IllegalStateException expected) {}
+		sleepQuietly(100);
+		assertEquals(FilterStreamMultiplexer.MAX_TRACK_TERMS, multiplexer.lastParameters().getTrackParameterValue().split(",").length);
+		assertNull(multiplexer.lastParameters().toParameterMap().getFirst("locations"));
+	}
+
+	private FilterStreamParameters track(String track, String language) {
+		FilterStreamParameters parameters = new FilterStreamParameters();
+		parameters.track(track);
+		parameters.language(language);
+		return parameters;
+	}
+
+	private Tweet tweet(String text, long fromUserId) {
+		return new Tweet("1", text, new Date(), "someone", null, null, fromUserId, "en", "web");
+	}
+
+	private void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ignore) {}
+	}
+
+	private static class RecordingMultiplexer extends FilterStreamMultiplexer {
+
+		final List<FilterStreamParameters> connections = new CopyOnWriteArrayList<FilterStreamParameters>();
+
+		final List<StreamListener> listeners = new CopyOnWriteArrayList<StreamListener>();
+
+		final List<Stream> streams = new CopyOnWriteArrayList<Stream>();
+
+		RecordingMultiplexer(long reconnectInterval) {
+			super(reconnectInterval);
+		}
+
+		protected Stream connect(FilterStreamParameters parameters, StreamListener listener) {
+			connections.add(parameters);
+			listeners.add(listener);
+			Stream stream = mock(Stream.class);
+			streams.add(stream);
+			return stream;
+		}
+
+		FilterStreamParameters lastParameters() {
+			return connections.get(connections.size() - 1);
+		}
+
+		StreamListener lastListener() {
+			return listeners.get(listeners.size() - 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.social.twitter.api.StreamUserEvent;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.util.FileCopyUtils;
+
+public class LazyTweetTest {
+
+	private final StreamMessageParser eagerParser = new StreamMessageParser();
+
+	private final StreamMessageParser lazyParser = new StreamMessageParser(true, null);
+
+	@Test
+	public void decodesSameValuesAsTweetDeserializer() throws Exception {
+		int tweets = 0;
+		for (String resource : Arrays.asList("filter-stream-track.json", "user-stream.json")) {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource(resource, getClass()).getInputStream(), StandardCharsets.UTF_8));
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				byte[] raw = line.getBytes(StandardCharsets.UTF_8);
+				Object eager = eagerParser.parse(raw);
+				Object lazy = lazyParser.parse(raw);
+				if (eager instanceof Tweet) {
+					assertTrue(lazy instanceof LazyTweet);
+					assertEquals(eager, ((LazyTweet) lazy).toTweet());
+					tweets++;
+				} else {
+					assertEquals(eager == null ? null : eager.getClass(), lazy == null ? null : lazy.getClass());
+				}
+			}
+			reader.close();
+		}
+		assertEquals(4, tweets);
+	}
+
+	@Test
+	public void decodesEachPropertyOnFirstUse() throws Exception {
+		Tweet tweet = parseResource("filter-stream-track.json");
+		assertEquals("73115209899835392", tweet.getId());
+		assertEquals("XFactorUsa", tweet.getEntities().getHashTags().get(0).getText());
+		assertTrue(tweet.hasTags());
+		assertTrue(tweet.isRetweet());
+		assertTrue(tweet.getRetweetedStatus() instanceof LazyTweet);
+		assertEquals("Heading to Dallas #XFactorUsa (@ 1907 Bar @ Will Rogers Airport) http://4sq.com/mI8u9V", tweet.getUnmodifiedText());
+		assertEquals("Karmyk_Li8erati", tweet.getRetweetedStatus().getFromUser());
+	}
+
+	@Test
+	public void tickerSymbols() throws Exception {
+		Tweet tweet = lazyParse(FileCopyUtils.copyToByteArray(new ClassPathResource("status_with_tickers.json", getClass()).getInputStream()));
+		assertEquals(3, tweet.getEntities().getTickerSymbols().size());
+		assertEquals("VMW", tweet.getEntities().getTickerSymbols().get(0).getTickerSymbol());
+	}
+
+	@Test
+	public void setterReplacesDecodedValue() throws Exception {
+		Tweet tweet = parseResource("filter-stream-track.json");
+		tweet.setFromUser("habuma");
+		tweet.setRetweetCount(42);
+		assertEquals("habuma", tweet.getFromUser());
+		assertEquals(Integer.valueOf(42), tweet.getRetweetCount());
+		assertNotNull(tweet.getUser());
+	}
+
+	@Test
+	public void userEvent() throws Exception {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource("user-stream.json", getClass()).getInputStream(), StandardCharsets.UTF_8));
+		reader.readLine();
+		reader.readLine();
+		assertTrue(lazyParser.parse(reader.readLine().getBytes(StandardCharsets.UTF_8)) instanceof StreamUserEvent);
+		reader.close();
+	}
+
+	@Test
+	public void emptyText() throws Exception {
+		assertNull(lazyParser.parse("{\"id\":1,\"text\":\"\",\"user\":{\"id\":2}}".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void partOfBuffer() throws Exception {
+		byte[] raw = "{\"id\":1,\"text\":\"hello\"}".getBytes(StandardCharsets.UTF_8);
+		byte[] buffer = Arrays.copyOf(raw, 100);
+		Tweet tweet = (Tweet) lazyParser.parse(buffer, raw.length);
+		Arrays.fill(buffer, (byte) ' ');
+		assertEquals("hello", tweet.getText());
+		assertEquals("1", tweet.getId());
+	}
+
+	@Test
+	public void serializesAsTweet() throws Exception {
+		Tweet tweet = parseResource("filter-stream-track.json");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(tweet);
+		out.close();
+		Object copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		assertEquals(Tweet.class, copy.getClass());
+		assertEquals(((LazyTweet) tweet).toTweet(), copy);
+	}
+
+	private Tweet parseResource(String resource) throws Exception {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource(resource, getClass()).getInputStream(), StandardCharsets.UTF_8));
+		try {
+			return lazyParse(reader.readLine().getBytes(StandardCharsets.UTF_8));
+		} finally {
+			reader.close();
+		}
+	}
+
+	private Tweet lazyParse(byte[] raw) throws Exception {
+		Object message = lazyParser.parse(raw);
+		assertTrue(message instanceof LazyTweet);
+		return (Tweet) message;
+	}
+
+}
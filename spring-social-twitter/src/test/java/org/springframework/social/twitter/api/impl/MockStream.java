@@ -32,6 +32,18 @@ public class MockStream implements StreamReader {
 		messagesInStream--;
 	}
 
+	public int getQueueDepth() {
+		return 0;
+	}
+
+	public double getPercentFull() {
+		return 0;
+	}
+
+	public int getListenerBacklog() {
+		return 0;
+	}
+
 	public void close() {
 		open = false;
 	}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+import static org.springframework.http.HttpMethod.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.client.ExpectedCount.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import java.net.URI;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.social.RateLimitExceededException;
+import org.springframework.social.twitter.api.RateLimitPolicy;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+
+public class RateLimitInterceptorTest extends AbstractTwitterApiTest {
+
+	private static final String HOME_TIMELINE = "https://api.twitter.com/1.1/statuses/home_timeline.json?count=20&include_entities=true";
+
+	@Test
+	public void ignore() {
+		mockServer.expect(times(2), requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(timeline(0, inSeconds(60)));
+		twitter.timelineOperations().getHomeTimeline();
+		twitter.timelineOperations().getHomeTimeline();
+		mockServer.verify();
+	}
+
+	@Test
+	public void reject() {
+		twitter.setRateLimitPolicy(RateLimitPolicy.REJECT);
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(timeline(0, inSeconds(60)));
+		mockServer.expect(requestTo("https://api.twitter.com/1.1/statuses/mentions_timeline.json?count=20&include_entities=true"))
+				.andExpect(method(GET)).andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON));
+		twitter.timelineOperations().getHomeTimeline();
+		try {
+			twitter.timelineOperations().getHomeTimeline();
+			fail();
+		} catch (RateLimitExceededException e) {
+			// expected
+		}
+		twitter.timelineOperations().getMentions();
+		mockServer.verify();
+	}
+
+	@Test
+	public void reject_countsCallsSinceLastResponse() {
+		twitter.setRateLimitPolicy(RateLimitPolicy.REJECT);
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(timeline(1, inSeconds(60)));
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON));
+		twitter.timelineOperations().getHomeTimeline();
+		twitter.timelineOperations().getHomeTimeline();
+		try {
+			twitter.timelineOperations().getHomeTimeline();
+			fail();
+		} catch (RateLimitExceededException e) {
+			// expected
+		}
+		mockServer.verify();
+	}
+
+	@Test
+	public void reject_windowReset() {
+		twitter.setRateLimitPolicy(RateLimitPolicy.REJECT);
+		mockServer.expect(times(2), requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(timeline(0, inSeconds(-1)));
+		twitter.timelineOperations().getHomeTimeline();
+		twitter.timelineOperations().getHomeTimeline();
+		mockServer.verify();
+	}
+
+	@Test
+	public void pace() {
+		twitter.setRateLimitPolicy(RateLimitPolicy.PACE);
+		long reset = inSeconds(1);
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(timeline(0, reset));
+		mockServer.expect(requestTo(HOME_TIMELINE)).andExpect(method(GET)).andRespond(timeline(180, reset + 900));
+		twitter.timelineOperations().getHomeTimeline();
+		twitter.timelineOperations().getHomeTimeline();
+		assertTrue(System.currentTimeMillis() >= reset * 1000);
+		mockServer.verify();
+	}
+
+	@Test
+	public void endpoint() {
+		assertEquals("/statuses/home_timeline", RateLimitInterceptor.endpoint(URI.create(HOME_TIMELINE)));
+		assertEquals("/statuses/show/:id", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/statuses/show/12345.json")));
+		assertEquals("/statuses/retweets/:id", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/statuses/retweets/12345.json?count=5")));
+		assertEquals("/users/show", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/users/show.json?screen_name=habuma")));
+		assertEquals("/statuses/filter", RateLimitInterceptor.endpoint(URI.create("https://stream.twitter.com/1.1/statuses/filter.json")));
+		assertEquals("/users/12a", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/users/12a")));
+		assertEquals("/geo/id/:place_id", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/geo/id/df51dec6f4ee2b2c.json")));
+		assertEquals("/users/suggestions/:slug", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/users/suggestions/twitter.json")));
+		assertEquals("/users/suggestions/:slug/members", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/users/suggestions/twitter/members.json")));
+		assertEquals("/users/suggestions", RateLimitInterceptor.endpoint(URI.create("https://api.twitter.com/1.1/users/suggestions.json")));
+	}
+
+	private DefaultResponseCreator timeline(int remaining, long reset) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("x-rate-limit-limit", "180");
+		headers.set("x-rate-limit-remaining", String.valueOf(remaining));
+		headers.set("x-rate-limit-reset", String.valueOf(reset));
+		return withSuccess(jsonResource("timeline"), APPLICATION_JSON).headers(headers);
+	}
+
+	private long inSeconds(int seconds) {
+		return System.currentTimeMillis() / 1000 + seconds;
+	}
+
+}
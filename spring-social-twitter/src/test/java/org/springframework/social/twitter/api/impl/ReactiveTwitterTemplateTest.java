@@ -0,0 +1,258 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.social.DuplicateStatusException;
+import org.springframework.social.MissingAuthorizationException;
+import org.springframework.social.twitter.api.CursoredList;
+import org.springframework.social.twitter.api.DirectMessage;
+import org.springframework.social.twitter.api.ReactiveTwitter;
+import org.springframework.social.twitter.api.SearchResults;
+import org.springframework.social.twitter.api.SimilarPlaces;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetData;
+import org.springframework.social.twitter.api.TwitterProfile;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveTwitterTemplateTest extends AbstractTwitterApiTest {
+
+	private final List<ClientRequest> requests = new ArrayList<ClientRequest>();
+
+	private final List<ClientResponse> responses = new ArrayList<ClientResponse>();
+
+	private ReactiveTwitter reactiveTwitter;
+
+	private ReactiveTwitter appAuthReactiveTwitter;
+
+	@Before
+	public void setupWebClient() {
+		WebClient webClient = WebClient.builder().exchangeFunction(new ExchangeFunction() {
+			public Mono<ClientResponse> exchange(ClientRequest request) {
+				requests.add(request);
+				return Mono.just(responses.remove(0));
+			}
+		}).build();
+		reactiveTwitter = new ReactiveTwitterTemplate(webClient, "API_KEY", "API_SECRET", "ACCESS_TOKEN", "ACCESS_TOKEN_SECRET");
+		appAuthReactiveTwitter = new ReactiveTwitterTemplate(webClient, "APP_ACCESS_TOKEN");
+	}
+
+	@Test
+	public void getHomeTimeline() throws IOException {
+		respond(HttpStatus.OK, "timeline");
+		List<Tweet> timeline = reactiveTwitter.timelineOperations().getHomeTimeline().collectList().block();
+		assertEquals(2, timeline.size());
+		assertSingleTweet(timeline.get(0));
+		ClientRequest request = requests.get(0);
+		assertEquals(HttpMethod.GET, request.method());
+		assertEquals("https://api.twitter.com/1.1/statuses/home_timeline.json?count=20&include_entities=true", request.url().toString());
+		assertTrue(request.headers().getFirst(HttpHeaders.AUTHORIZATION).startsWith("OAuth oauth_consumer_key=\"API_KEY\""));
+	}
+
+	@Test
+	public void getHomeTimeline_isLazy() throws IOException {
+		respond(HttpStatus.OK, "timeline");
+		reactiveTwitter.timelineOperations().getHomeTimeline();
+		assertTrue(requests.isEmpty());
+	}
+
+	@Test
+	public void getHomeTimeline_appAuthorization() {
+		Flux<Tweet> timeline = appAuthReactiveTwitter.timelineOperations().getHomeTimeline();
+		try {
+			timeline.collectList().block();
+			fail("Expected MissingAuthorizationException");
+		} catch (MissingAuthorizationException e) {
+			assertTrue(requests.isEmpty());
+		}
+	}
+
+	@Test
+	public void getUserProfile_appAuthorization() throws IOException {
+		respond(HttpStatus.OK, "twitter-profile");
+		TwitterProfile profile = appAuthReactiveTwitter.userOperations().getUserProfile("habuma").block();
+		assertEquals("artnames", profile.getScreenName());
+		ClientRequest request = requests.get(0);
+		assertEquals("https://api.twitter.com/1.1/users/show.json?screen_name=habuma", request.url().toString());
+		assertEquals("Bearer APP_ACCESS_TOKEN", request.headers().getFirst(HttpHeaders.AUTHORIZATION));
+	}
+
+	@Test
+	public void search() throws IOException {
+		respond(HttpStatus.OK, "search");
+		SearchResults results = reactiveTwitter.searchOperations().search("#spring").block();
+		assertEquals(2, results.getTweets().size());
+		assertEquals("https://api.twitter.com/1.1/search/tweets.json?q=%23spring&count=50", requests.get(0).url().toString());
+	}
+
+	@Test
+	public void updateStatus() throws IOException {
+		respond(HttpStatus.OK, "status");
+		Tweet tweet = reactiveTwitter.timelineOperations().updateStatus("Test Message").block();
+		assertSingleTweet(tweet);
+		ClientRequest request = requests.get(0);
+		assertEquals(HttpMethod.POST, request.method());
+		assertEquals(MediaType.APPLICATION_FORM_URLENCODED, request.headers().getContentType());
+	}
+
+	@Test(expected = DuplicateStatusException.class)
+	public void updateStatus_duplicate() {
+		responses.add(response(HttpStatus.FORBIDDEN, "{\"errors\":[{\"code\":187,\"message\":\"Status is a duplicate.\"}]}"));
+		reactiveTwitter.timelineOperations().updateStatus("Test Message").block();
+	}
+
+	@Test
+	public void deleteStatus() {
+		responses.add(response(HttpStatus.OK, null));
+		assertNull(reactiveTwitter.timelineOperations().deleteStatus(12345).block());
+		assertEquals("https://api.twitter.com/1.1/statuses/destroy/12345.json", requests.get(0).url().toString());
+	}
+
+	@Test
+	public void updateStatus_withImage() throws IOException {
+		respond(HttpStatus.OK, "media-upload");
+		respond(HttpStatus.OK, "status");
+		Resource photo = new ByteArrayResource("PHOTO DATA".getBytes()) {
+			@Override
+			public String getFilename() {
+				return "photo.jpg";
+			}
+		};
+		Tweet tweet = reactiveTwitter.timelineOperations().updateStatus(new TweetData("Test Message").withMedia(photo)).block();
+		assertSingleTweet(tweet);
+		assertEquals("https://upload.twitter.com/1.1/media/upload.json", requests.get(0).url().toString());
+		assertEquals(MediaType.MULTIPART_FORM_DATA, requests.get(0).headers().getContentType());
+		assertEquals("https://api.twitter.com/1.1/statuses/update.json", requests.get(1).url().toString());
+	}
+
+	@Test
+	public void follow() throws IOException {
+		respond(HttpStatus.OK, "follow");
+		assertEquals("oizik2", reactiveTwitter.friendOperations().follow(98765).block());
+		assertEquals(HttpMethod.POST, requests.get(0).method());
+		assertEquals("https://api.twitter.com/1.1/friendships/create.json?user_id=98765", requests.get(0).url().toString());
+	}
+
+	@Test
+	public void getFriendIds_appAuthorization() throws IOException {
+		respond(HttpStatus.OK, "friend-or-follower-ids");
+		CursoredList<Long> friendIds = appAuthReactiveTwitter.friendOperations().getFriendIds("habuma").block();
+		assertEquals(2, friendIds.size());
+		assertEquals("https://api.twitter.com/1.1/friends/ids.json?cursor=-1&screen_name=habuma", requests.get(0).url().toString());
+	}
+
+	@Test(expected = MissingAuthorizationException.class)
+	public void getFriendIds_currentUser_appAuthorization() {
+		appAuthReactiveTwitter.friendOperations().getFriendIds().block();
+	}
+
+	@Test
+	public void getListMembers() throws IOException {
+		respond(HttpStatus.OK, "list-members");
+		CursoredList<TwitterProfile> members = reactiveTwitter.listOperations().getListMembers(40841803).block();
+		assertEquals(2, members.size());
+		assertEquals("royclarkson", members.get(0).getScreenName());
+		assertEquals("https://api.twitter.com/1.1/lists/members.json?list_id=40841803", requests.get(0).url().toString());
+	}
+
+	@Test
+	public void isMember() throws IOException {
+		respond(HttpStatus.OK, "list-of-lists");
+		responses.add(response(HttpStatus.NOT_FOUND, "{}"));
+		assertTrue(reactiveTwitter.listOperations().isMember(40841803, 123456).block());
+		assertFalse(reactiveTwitter.listOperations().isMember(40841803, 987654).block());
+		assertEquals("https://api.twitter.com/1.1/lists/members/show.json?list_id=40841803&user_id=987654", requests.get(1).url().toString());
+	}
+
+	@Test
+	public void sendDirectMessage() throws IOException {
+		respond(HttpStatus.OK, "directMessage");
+		DirectMessage message = reactiveTwitter.directMessageOperations().sendDirectMessage("habuma", "Hello there!").block();
+		assertEquals("https://api.twitter.com/1.1/direct_messages/new.json", requests.get(0).url().toString());
+		assertEquals(MediaType.APPLICATION_FORM_URLENCODED, requests.get(0).headers().getContentType());
+		assertNotNull(message.getText());
+	}
+
+	@Test
+	public void findSimilarPlaces() throws IOException {
+		respond(HttpStatus.OK, "similar-places");
+		SimilarPlaces similarPlaces = reactiveTwitter.geoOperations().findSimilarPlaces(37.7821120598956, -122.400612831116, "Twitter HQ").block();
+		assertEquals("9c8072b2a6788ee530e8c8cbb487107c", similarPlaces.getPlacePrototype().getCreateToken());
+		assertEquals("Twitter HQ", similarPlaces.getPlacePrototype().getName());
+		assertEquals(2, similarPlaces.size());
+	}
+
+	@Test
+	public void getBlockedUserIds() throws IOException {
+		respond(HttpStatus.OK, "blocked-user-ids");
+		assertEquals(2, reactiveTwitter.blockOperations().getBlockedUserIds().block().size());
+		assertEquals("https://api.twitter.com/1.1/blocks/ids.json?cursor=-1", requests.get(0).url().toString());
+	}
+
+	@Test
+	public void encodeForm() throws IOException {
+		assertEquals("status=Hello+Ladies+%2B+Gentlemen%2C+%2A%21&x=", new String(ReactiveTwitterClient.encodeForm("status", "Hello Ladies + Gentlemen, *!", "x", ""), "UTF-8"));
+	}
+
+	@Test
+	public void encodeForm_multiValueMap() throws IOException {
+		MultiValueMap<String, Object> data = new TweetData("Test Message").atLocation(123.1f, -111.2f).toTweetParameters();
+		data.set("media_ids", "553639437322563584");
+		data.add("description", null);
+		assertEquals("status=Test+Message&lat=-111.2&long=123.1&media_ids=553639437322563584&description", new String(ReactiveTwitterClient.encodeForm(data), "UTF-8"));
+	}
+
+	private void respond(HttpStatus status, String resource) throws IOException {
+		responses.add(response(status, StreamUtils.copyToString(jsonResource(resource).getInputStream(), StandardCharsets.UTF_8)));
+	}
+
+	private ClientResponse response(HttpStatus status, String body) {
+		ClientResponse response = mock(ClientResponse.class);
+		ClientResponse.Headers headers = mock(ClientResponse.Headers.class);
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+		when(headers.asHttpHeaders()).thenReturn(httpHeaders);
+		when(response.statusCode()).thenReturn(status);
+		when(response.headers()).thenReturn(headers);
+		Mono<byte[]> bytes = body != null ? Mono.just(body.getBytes(StandardCharsets.UTF_8)) : Mono.<byte[]>empty();
+		when(response.<byte[]>bodyToMono(byte[].class)).thenReturn(bytes);
+		return response;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.social.twitter.api.DecorrelatedJitterReconnectPolicy;
+import org.springframework.social.twitter.api.DefaultReconnectPolicy;
+import org.springframework.social.twitter.api.ReconnectPolicy;
+import org.springframework.social.twitter.api.StatusCodeReconnectPolicy;
+
+public class ReconnectPolicyTest {
+
+	@Test
+	public void defaultPolicy_httpError() {
+		ReconnectPolicy policy = new DefaultReconnectPolicy();
+		long delay = 0;
+		for (int attempt = 1; attempt <= 7; attempt++) {
+			delay = policy.reconnectDelay(HttpStatus.SERVICE_UNAVAILABLE, attempt, delay);
+			assertEquals(5000L << (attempt - 1), delay);
+		}
+		assertEquals(320000, delay);
+		assertTrue(policy.reconnectDelay(HttpStatus.SERVICE_UNAVAILABLE, 8, delay) < 0);
+	}
+
+	@Test
+	public void defaultPolicy_networkError() {
+		ReconnectPolicy policy = new DefaultReconnectPolicy();
+		assertEquals(250, policy.reconnectDelay(null, 1, 0));
+		assertEquals(500, policy.reconnectDelay(null, 2, 250));
+		assertEquals(16000, policy.reconnectDelay(null, 100, 16000));
+	}
+
+	@Test
+	public void decorrelatedJitter() {
+		ReconnectPolicy policy = new DecorrelatedJitterReconnectPolicy(1000, 60000);
+		long delay = 0;
+		boolean varied = false;
+		for (int attempt = 1; attempt <= 1000; attempt++) {
+			long next = policy.reconnectDelay(null, attempt, delay);
+			assertTrue(next >= 1000);
+			assertTrue(next <= Math.min(60000, Math.max(1000, delay) * 3));
+			varied |= next != 1000 && next != 60000;
+			delay = next;
+		}
+		assertTrue(varied);
+	}
+
+	@Test
+	public void decorrelatedJitter_maxAttempts() {
+		ReconnectPolicy policy = new DecorrelatedJitterReconnectPolicy(1000, 60000, 3);
+		assertTrue(policy.reconnectDelay(null, 3, 1000) >= 1000);
+		assertTrue(policy.reconnectDelay(null, 4, 1000) < 0);
+	}
+
+	@Test
+	public void statusCode() {
+		ReconnectPolicy policy = new StatusCodeReconnectPolicy(new FixedPolicy(1), new FixedPolicy(2))
+				.on(420, new FixedPolicy(3))
+				.on(503, new FixedPolicy(4));
+		assertEquals(1, policy.reconnectDelay(null, 1, 0));
+		assertEquals(2, policy.reconnectDelay(HttpStatus.UNAUTHORIZED, 1, 0));
+		assertEquals(3, policy.reconnectDelay(HttpStatus.valueOf(420), 1, 0));
+		assertEquals(4, policy.reconnectDelay(HttpStatus.SERVICE_UNAVAILABLE, 1, 0));
+	}
+
+	@Test
+	public void statusCode_defaults() {
+		ReconnectPolicy policy = new StatusCodeReconnectPolicy();
+		assertTrue(policy.reconnectDelay(HttpStatus.valueOf(420), 1, 0) >= 60000);
+		assertTrue(policy.reconnectDelay(HttpStatus.TOO_MANY_REQUESTS, 1, 0) >= 60000);
+		long unavailable = policy.reconnectDelay(HttpStatus.SERVICE_UNAVAILABLE, 1, 0);
+		assertTrue(unavailable >= 5000 && unavailable < 60000);
+		long network = policy.reconnectDelay(null, 1, 0);
+		assertTrue(network >= 250 && network <= 750);
+	}
+
+	private static class FixedPolicy implements ReconnectPolicy {
+
+		private final long delay;
+
+		FixedPolicy(long delay) {
+			this.delay = delay;
+		}
+
+		public long reconnectDelay(HttpStatus httpStatus, int attempt, long previousDelay) {
+			return delay;
+		}
+
+	}
+
+}
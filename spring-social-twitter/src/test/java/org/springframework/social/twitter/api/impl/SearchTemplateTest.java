@@ -21,14 +21,17 @@ import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
+import java.util.EnumSet;
 import java.util.List;
 
 import org.junit.Test;
 import org.springframework.social.twitter.api.SavedSearch;
+import org.springframework.social.twitter.api.SearchParameters;
 import org.springframework.social.twitter.api.SearchResults;
 import org.springframework.social.twitter.api.Trend;
 import org.springframework.social.twitter.api.Trends;
 import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
 
 
 /**
@@ -48,6 +51,24 @@ public class SearchTemplateTest extends AbstractTwitterApiTest {
 		assertSearchTweets(tweets);
 	}
 	
+	@Test
+	public void search_projected() {
+		mockServer.expect(requestTo("https://api.twitter.com/1.1/search/tweets.json?q=%23spring&count=50"))
+				.andExpect(method(GET))
+				.andRespond(withSuccess(jsonResource("search"), APPLICATION_JSON));
+		SearchParameters parameters = new SearchParameters("#spring").fields(EnumSet.of(TweetField.TEXT));
+		SearchResults searchResults = twitter.searchOperations().search(parameters);
+		assertEquals(10, searchResults.getSearchMetadata().getSinceId());
+		assertEquals(999, searchResults.getSearchMetadata().getMaxId());
+		List<Tweet> tweets = searchResults.getTweets();
+		assertEquals(2, tweets.size());
+		assertEquals("12345", tweets.get(0).getId());
+		assertEquals("Tweet 1", tweets.get(0).getText());
+		assertNull(tweets.get(0).getCreatedAt());
+		assertNull(tweets.get(0).getUser());
+		assertEquals("Tweet 2", tweets.get(1).getText());
+	}
+
 	@Test
 	public void search_pageAndResultsPerPage() {
 		mockServer.expect(requestTo("https://api.twitter.com/1.1/search/tweets.json?q=%23spring&count=10"))
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SegmentJournalTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void appendAndTake() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 4096, 0);
+		journal.append(bytes("one"));
+		journal.append(bytes("two"));
+		assertEquals(2, journal.size());
+		assertEquals("one", string(journal.take()));
+		assertEquals("two", string(journal.take()));
+		assertEquals(0, journal.size());
+		journal.close();
+	}
+
+	@Test
+	public void resumesFromCommittedOffset() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 4096, 0);
+		journal.append(bytes("one"));
+		journal.append(bytes("two"));
+		journal.append(bytes("three"));
+		journal.take();
+		journal.take(); // commits "one"; "two" may not have been dispatched
+		journal.close();
+		journal = new SegmentJournal(folder.getRoot(), 4096, 0);
+		assertEquals(2, journal.size());
+		assertEquals("two", string(journal.take()));
+		journal.append(bytes("four"));
+		assertEquals("three", string(journal.take()));
+		assertEquals("four", string(journal.take()));
+		journal.close();
+	}
+
+	@Test
+	public void rollsAndDeletesConsumedSegments() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 256, 0);
+		for (int i = 0; i < 50; i++) {
+			journal.append(bytes("message " + i + " padded out to fill up the segments"));
+			assertEquals("message " + i + " padded out to fill up the segments", string(journal.take()));
+		}
+		assertTrue(segmentCount() < 5);
+		for (int i = 0; i < 20; i++) {
+			journal.append(bytes("unconsumed message " + i + " padded out to fill up the segments"));
+		}
+		assertTrue(segmentCount() >= 5);
+		for (int i = 0; i < 20; i++) {
+			assertEquals("unconsumed message " + i + " padded out to fill up the segments", string(journal.take()));
+		}
+		journal.close();
+	}
+
+	@Test
+	public void keepsSegmentsWithinRetention() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 256, 60000);
+		for (int i = 0; i < 50; i++) {
+			journal.append(bytes("message " + i + " padded out to fill up the segments"));
+			journal.take();
+		}
+		final List<String> read = new ArrayList<String>();
+		journal.read(0, Long.MAX_VALUE, new SegmentJournal.RecordHandler() {
+			public void handle(byte[] message, long timestamp) {
+				read.add(string(message));
+			}
+		});
+		assertEquals(50, read.size());
+		assertEquals("message 0 padded out to fill up the segments", read.get(0));
+		journal.close();
+	}
+
+	@Test
+	public void readByTime() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 4096, 0);
+		journal.append(bytes("before"));
+		Thread.sleep(20);
+		long from = System.currentTimeMillis();
+		journal.append(bytes("during"));
+		long to = System.currentTimeMillis();
+		Thread.sleep(20);
+		journal.append(bytes("after"));
+		final List<String> read = new ArrayList<String>();
+		journal.read(from, to, new SegmentJournal.RecordHandler() {
+			public void handle(byte[] message, long timestamp) {
+				read.add(string(message));
+			}
+		});
+		assertEquals(1, read.size());
+		assertEquals("during", read.get(0));
+		journal.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void lockedWhileOpen() throws Exception {
+		new SegmentJournal(folder.getRoot(), 4096, 0);
+		new SegmentJournal(folder.getRoot(), 4096, 0);
+	}
+
+	@Test
+	public void oneStreamAtATime() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 4096, 0);
+		journal.attach();
+		try {
+			journal.attach();
+			fail("Expected the journal to be in use");
+		} catch (IllegalStateException expected) {}
+		journal.detach();
+		journal.attach();
+		journal.close();
+	}
+
+	private int segmentCount() {
+		int count = 0;
+		for (File file : folder.getRoot().listFiles()) {
+			if (file.getName().endsWith(".segment")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static byte[] bytes(String message) {
+		return message.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String string(byte[] message) {
+		return new String(message, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.StreamListener;
+import org.springframework.social.twitter.api.StreamingException;
+import org.springframework.social.twitter.api.StreamingOptions;
+
+public class StallWatchdogTest {
+
+	@Test
+	public void stalledStreamIsClosed() throws Exception {
+		StallWatchdog watchdog = new StallWatchdog(Executors.defaultThreadFactory(), 50);
+		SilentInputStream inputStream = new SilentInputStream();
+		// the stall clock starts when the reader is created
+		long start = System.nanoTime();
+		StreamReaderImpl reader = new StreamReaderImpl(inputStream, Arrays.asList(mock(StreamListener.class)),
+				new StreamingOptions().stallTimeout(200), watchdog);
+		try {
+			reader.next();
+			fail("Expected the stalled stream to be closed");
+		} catch (StreamingException e) {
+			assertTrue(e.getMessage().contains("stalled"));
+		}
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+		assertTrue(inputStream.closed.getCount() == 0);
+	}
+
+	@Test
+	public void stallCheckDisabled() throws Exception {
+		StallWatchdog watchdog = new StallWatchdog(Executors.defaultThreadFactory(), 50);
+		SilentInputStream inputStream = new SilentInputStream();
+		StreamReaderImpl reader = new StreamReaderImpl(inputStream, Arrays.asList(mock(StreamListener.class)),
+				new StreamingOptions().stallTimeout(0), watchdog);
+		assertFalse(inputStream.closed.await(400, TimeUnit.MILLISECONDS));
+		reader.close();
+	}
+
+	/**
+	 * An input stream that never produces a byte, like a half-open connection, until it is closed.
+	 */
+	private static class SilentInputStream extends InputStream {
+
+		final CountDownLatch closed = new CountDownLatch(1);
+
+		public int read() throws IOException {
+			try {
+				closed.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IOException("Socket closed");
+		}
+
+		public void close() {
+			closed.countDown();
+		}
+
+	}
+
+}
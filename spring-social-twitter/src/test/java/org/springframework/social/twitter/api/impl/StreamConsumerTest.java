@@ -16,11 +16,18 @@
 package org.springframework.social.twitter.api.impl;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.social.twitter.api.DecorrelatedJitterReconnectPolicy;
 
 public class StreamConsumerTest {
 	
@@ -66,6 +73,70 @@ public class StreamConsumerTest {
 		consumer.run();
 	}
 	
+	@Test
+	public void run_reconnectPolicyGivesUp() {
+		final List<Long> sleeps = new ArrayList<Long>();
+		ThreadedStreamConsumer consumer = new ThreadedStreamConsumer(Executors.defaultThreadFactory(), new DecorrelatedJitterReconnectPolicy(100, 1000, 3)) {
+			@Override
+			protected StreamReader getStreamReader() throws StreamCreationException {
+				return createStream(new StreamCreationException("Unable to create stream", HttpStatus.SERVICE_UNAVAILABLE));
+			}
+
+			@Override
+			protected void sleepBeforeRetry(long timeToSleep) {
+				sleeps.add(timeToSleep);
+			}
+		};
+
+		consumer.run();
+		assertEquals(3, sleeps.size());
+		assertEquals(2, consumer.getStats().getReconnects());
+		assertEquals(4, consumer.getStats().getConnectionFailures());
+		for (long sleep : sleeps) {
+			assertTrue(sleep >= 100 && sleep <= 1000);
+		}
+	}
+
+	@Test
+	public void close_whileConnecting() throws Exception {
+		final CountDownLatch connecting = new CountDownLatch(1);
+		final CountDownLatch connected = new CountDownLatch(1);
+		final StreamReader streamReader = mock(StreamReader.class);
+		ThreadedStreamConsumer consumer = new ThreadedStreamConsumer() {
+			@Override
+			protected StreamReader getStreamReader() throws StreamCreationException {
+				connecting.countDown();
+				try {
+					connected.await();
+				} catch (InterruptedException e) {}
+				return streamReader;
+			}
+		};
+		consumer.open();
+		assertTrue(connecting.await(1, TimeUnit.SECONDS));
+		consumer.close();
+		assertFalse(consumer.awaitTermination(100));
+		connected.countDown();
+		assertTrue(consumer.awaitTermination(1000));
+		verify(streamReader).close();
+	}
+
+	@Test
+	public void close_whileWaitingToRetry() throws Exception {
+		final CountDownLatch failed = new CountDownLatch(1);
+		ThreadedStreamConsumer consumer = new ThreadedStreamConsumer() {
+			@Override
+			protected StreamReader getStreamReader() throws StreamCreationException {
+				failed.countDown();
+				throw new StreamCreationException("Unable to create stream", HttpStatus.valueOf(420));
+			}
+		};
+		consumer.open();
+		assertTrue(failed.await(1, TimeUnit.SECONDS));
+		consumer.close();
+		assertTrue(consumer.awaitTermination(1000));
+	}
+
 	private void assertSleepWithExponentialBackOff(long timeToSleep) {
 		assertEquals(expectedTimeToSleep, timeToSleep);
 		expectedTimeToSleep = expectedTimeToSleep * 2;
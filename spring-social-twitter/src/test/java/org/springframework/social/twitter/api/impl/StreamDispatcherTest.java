@@ -15,40 +15,91 @@
  */
 package org.springframework.social.twitter.api.impl;
 
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.Arrays;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.social.twitter.api.BatchStreamListener;
+import org.springframework.social.twitter.api.DirectMessage;
+import org.springframework.social.twitter.api.ListenerDispatchMode;
 import org.springframework.social.twitter.api.StreamDeleteEvent;
+import org.springframework.social.twitter.api.StreamDisconnectEvent;
 import org.springframework.social.twitter.api.StreamListener;
+import org.springframework.social.twitter.api.StreamOverflowPolicy;
+import org.springframework.social.twitter.api.StreamScrubGeoEvent;
+import org.springframework.social.twitter.api.StreamStats;
+import org.springframework.social.twitter.api.StreamStatusWithheldEvent;
+import org.springframework.social.twitter.api.StreamUserEvent;
+import org.springframework.social.twitter.api.StreamUserWithheldEvent;
 import org.springframework.social.twitter.api.StreamWarningEvent;
+import org.springframework.social.twitter.api.StreamingOptions;
 import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
 
-@Ignore
 public class StreamDispatcherTest {
 
 	@Test
 	public void activeWithItemsInQueue() throws Exception {
 		StreamListener mockListener = mock(StreamListener.class);		
-		Queue<String> queue = createQueueWithItems();
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
 		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
 		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
 //		dispatcher.stop();
 	}
 
+	@Test
+	public void percentFullOfLastWarning() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
+		assertEquals(0, dispatcher.getPercentFull(), 0);
+		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
+		assertEquals(80, dispatcher.getPercentFull(), 0);
+	}
+
+	@Test
+	public void dropsTweetsDeliveredBeforeReconnect() throws Exception {
+		StreamPosition position = new StreamPosition(10);
+		StreamListener firstListener = mock(StreamListener.class);
+		StreamDispatcher first = new StreamDispatcher(createQueueWithItems("filter-stream-track.json"), Arrays.asList(firstListener), new StreamingOptions(), position, new StreamMetrics());
+		runAndAssert(firstListener, first, 4, 2, 1, 3);
+		first.stop();
+		assertTrue(position.hasDelivered());
+		StreamListener secondListener = mock(StreamListener.class);
+		StreamDispatcher second = new StreamDispatcher(createQueueWithItems("filter-stream-track.json"), Arrays.asList(secondListener), new StreamingOptions(), position, new StreamMetrics());
+		runAndAssert(secondListener, second, 0, 2, 1, 3);
+	}
+
+	@Test
+	public void metrics() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMetrics metrics = new StreamMetrics();
+		StreamDispatcher dispatcher = new StreamDispatcher(createQueueWithItems("filter-stream-track.json"), Arrays.asList(mockListener), new StreamingOptions(), null, metrics);
+		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
+		StreamStats stats = metrics.snapshot(null);
+		assertEquals(10, stats.getParseCount());
+		assertTrue(stats.getParseTime() > 0);
+		assertEquals(4, stats.getTweets());
+		assertEquals(1, stats.getLimitNotices());
+		assertEquals(369, stats.getLimitedTweets());
+	}
+
 	@Test
 	public void activeWithEmptyQueue() throws Exception {
 		StreamListener mockListener = mock(StreamListener.class);		
-		Queue<String> queue = new ConcurrentLinkedQueue<String>();
+		StreamMessageQueue queue = new StreamMessageQueue(100, StreamOverflowPolicy.BLOCK);
 		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
 		runAndAssert(mockListener, dispatcher, 0, 0, 0, 0);
 //		dispatcher.stop();
@@ -57,7 +108,7 @@ public class StreamDispatcherTest {
 	@Test
 	public void stoppedWithItemsInQueue() throws Exception {
 		StreamListener mockListener = mock(StreamListener.class);		
-		Queue<String> queue = createQueueWithItems();
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
 		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
 //		dispatcher.stop();
 		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
@@ -66,7 +117,7 @@ public class StreamDispatcherTest {
 	@Test
 	public void stoppedWithEmptyQueue() throws Exception {
 		StreamListener mockListener = mock(StreamListener.class);		
-		Queue<String> queue = new ConcurrentLinkedQueue<String>();
+		StreamMessageQueue queue = new StreamMessageQueue(100, StreamOverflowPolicy.BLOCK);
 		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
 //		dispatcher.stop();
 		runAndAssert(mockListener, dispatcher, 0, 0, 0, 0);
@@ -75,16 +126,183 @@ public class StreamDispatcherTest {
 	@Test
 	public void ignoreUnrecognizedEvent() throws Exception {
 		StreamListener mockListener = mock(StreamListener.class);		
-		Queue<String> queue = new ConcurrentLinkedQueue<String>();
-		queue.add("BOGUS LINE");
-		queue.add("{\"unrecognized\":\"event\"}");
+		StreamMessageQueue queue = new StreamMessageQueue(100, StreamOverflowPolicy.BLOCK);
+		queue.put("BOGUS LINE".getBytes("UTF-8"));
+		queue.put("{\"unrecognized\":\"event\"}".getBytes("UTF-8"));
 		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
 		runAndAssert(mockListener, dispatcher, 0, 0, 0, 0);		
 //		dispatcher.stop();
 	}
 
+	@Test
+	public void orderedDispatch() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
+		StreamingOptions options = new StreamingOptions().listenerDispatchMode(ListenerDispatchMode.ORDERED).listenerBatchSize(3);
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener), options);
+		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
+		InOrder inOrder = inOrder(mockListener);
+		inOrder.verify(mockListener).onTweet(argThat(hasId("73115209899835392")));
+		inOrder.verify(mockListener).onTweet(argThat(hasId("73115210814193664")));
+		inOrder.verify(mockListener).onDelete(any(StreamDeleteEvent.class));
+		inOrder.verify(mockListener).onTweet(argThat(hasId("73115221161541632")));
+		inOrder.verify(mockListener).onLimit(369);
+		inOrder.verify(mockListener).onTweet(argThat(hasId("73115255005384704")));
+		dispatcher.stop();
+	}
+
+	@Test
+	public void batchDispatch() throws Exception {
+		BatchStreamListener mockListener = mock(BatchStreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
+		StreamingOptions options = new StreamingOptions().batchListenerMaxSize(10).batchListenerMaxLatency(100);
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.<StreamListener>asList(mockListener), options);
+		runAndAssert(mockListener, dispatcher, 0, 0, 0, 3);
+		ArgumentCaptor<List<Tweet>> tweets = listCaptor();
+		verify(mockListener, atLeastOnce()).onTweets(tweets.capture());
+		assertEquals(4, countBatched(tweets));
+		ArgumentCaptor<List<StreamDeleteEvent>> deletes = listCaptor();
+		verify(mockListener, atLeastOnce()).onDeletes(deletes.capture());
+		assertEquals(2, countBatched(deletes));
+		verify(mockListener).onLimits(Arrays.asList(369));
+		dispatcher.stop();
+	}
+
+	@Test
+	public void batchDispatch_listenerThrows() throws Exception {
+		BatchStreamListener mockListener = mock(BatchStreamListener.class);
+		doThrow(new RuntimeException("Bad listener")).when(mockListener).onTweets(anyListOf(Tweet.class));
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
+		StreamingOptions options = new StreamingOptions().batchListenerMaxSize(10).batchListenerMaxLatency(100);
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.<StreamListener>asList(mockListener), options);
+		runAndAssert(mockListener, dispatcher, 0, 0, 0, 3);
+		// the first flush holds two tweets and a delete, and the delete gets through though the tweets failed
+		ArgumentCaptor<List<StreamDeleteEvent>> deletes = listCaptor();
+		verify(mockListener, atLeastOnce()).onDeletes(deletes.capture());
+		assertEquals(1, deletes.getAllValues().get(0).size());
+		assertEquals(2, countBatched(deletes));
+		verify(mockListener).onLimits(Arrays.asList(369));
+		dispatcher.stop();
+	}
+
+	@Test
+	public void threadFactory() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
+		final AtomicInteger threadsCreated = new AtomicInteger();
+		ThreadFactory threadFactory = new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				threadsCreated.incrementAndGet();
+				Thread thread = new Thread(runnable);
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+		StreamingOptions options = new StreamingOptions().listenerDispatchMode(ListenerDispatchMode.ORDERED).threadFactory(threadFactory);
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener, mock(StreamListener.class)), options);
+		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
+		assertEquals(2, threadsCreated.get());
+		dispatcher.stop();
+	}
+
+	@Test
+	public void virtualThreads() throws Exception {
+		StreamingOptions options;
+		try {
+			options = new StreamingOptions().virtualThreads();
+		} catch (IllegalStateException e) {
+			return; // running on a JVM without virtual threads
+		}
+		Thread thread = options.getThreadFactory().newThread(mock(Runnable.class));
+		assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+	}
+
+	@Test
+	public void userStreamMessages() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("user-stream.json");
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener));
+		runAndAssert(mockListener, dispatcher, 0, 0, 0, 0);
+		verify(mockListener).onFriends(Arrays.asList(1497L, 169686021L, 790205L, 15211564L));
+		verify(mockListener).onFriends(Arrays.asList(1497L, 169686021L));
+		ArgumentCaptor<StreamUserEvent> userEvent = ArgumentCaptor.forClass(StreamUserEvent.class);
+		verify(mockListener).onUserEvent(userEvent.capture());
+		assertEquals("follow", userEvent.getValue().getEvent());
+		assertEquals("kdonald", userEvent.getValue().getSource().getScreenName());
+		assertEquals("habuma", userEvent.getValue().getTarget().getScreenName());
+		assertNull(userEvent.getValue().getTargetTweet());
+		ArgumentCaptor<StreamScrubGeoEvent> scrubGeo = ArgumentCaptor.forClass(StreamScrubGeoEvent.class);
+		verify(mockListener).onScrubGeo(scrubGeo.capture());
+		assertEquals(14090452L, scrubGeo.getValue().getUserId());
+		assertEquals(23260136625L, scrubGeo.getValue().getUpToStatusId());
+		ArgumentCaptor<StreamStatusWithheldEvent> statusWithheld = ArgumentCaptor.forClass(StreamStatusWithheldEvent.class);
+		verify(mockListener).onStatusWithheld(statusWithheld.capture());
+		assertEquals(1234567890L, statusWithheld.getValue().getTweetId());
+		assertEquals(Arrays.asList("DE", "AR"), statusWithheld.getValue().getWithheldInCountries());
+		ArgumentCaptor<StreamUserWithheldEvent> userWithheld = ArgumentCaptor.forClass(StreamUserWithheldEvent.class);
+		verify(mockListener).onUserWithheld(userWithheld.capture());
+		assertEquals(123456L, userWithheld.getValue().getUserId());
+		ArgumentCaptor<StreamDisconnectEvent> disconnect = ArgumentCaptor.forClass(StreamDisconnectEvent.class);
+		verify(mockListener).onDisconnect(disconnect.capture());
+		assertEquals(4, disconnect.getValue().getCode());
+		assertEquals("Duplicate stream connected", disconnect.getValue().getReason());
+		ArgumentCaptor<DirectMessage> directMessage = ArgumentCaptor.forClass(DirectMessage.class);
+		verify(mockListener).onDirectMessage(directMessage.capture());
+		assertEquals("Hello there", directMessage.getValue().getText());
+	}
+
+	@Test
+	public void tweetFields() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("filter-stream-track.json");
+		StreamingOptions options = new StreamingOptions().tweetFields(EnumSet.of(TweetField.TEXT, TweetField.SOURCE));
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener), options);
+		runAndAssert(mockListener, dispatcher, 4, 2, 1, 3);
+		ArgumentCaptor<Tweet> tweets = ArgumentCaptor.forClass(Tweet.class);
+		verify(mockListener, times(4)).onTweet(tweets.capture());
+		// tweets reach a pooled listener concurrently, so they're captured in no particular order
+		Tweet tweet = null;
+		for (Tweet captured : tweets.getAllValues()) {
+			if ("73115209899835392".equals(captured.getId())) {
+				tweet = captured;
+			}
+		}
+		assertNotNull(tweet);
+		assertTrue(tweet.getText().startsWith("RT @Karmyk_Li8erati"));
+		assertNotNull(tweet.getSource());
+		assertNull(tweet.getCreatedAt());
+		assertNull(tweet.getUser());
+		assertNull(tweet.getEntities());
+		assertNull(tweet.getRetweetedStatus());
+		dispatcher.stop();
+	}
+
+	@Test
+	public void tweetFields_userStream() throws Exception {
+		StreamListener mockListener = mock(StreamListener.class);
+		StreamMessageQueue queue = createQueueWithItems("user-stream.json");
+		StreamingOptions options = new StreamingOptions().tweetFields(EnumSet.of(TweetField.TEXT, TweetField.SOURCE));
+		StreamDispatcher dispatcher = new StreamDispatcher(queue, Arrays.asList(mockListener), options);
+		runAndAssert(mockListener, dispatcher, 0, 0, 0, 0);
+		ArgumentCaptor<StreamUserEvent> userEvent = ArgumentCaptor.forClass(StreamUserEvent.class);
+		verify(mockListener).onUserEvent(userEvent.capture());
+		assertEquals("kdonald", userEvent.getValue().getSource().getScreenName());
+		verify(mockListener).onDirectMessage(any(DirectMessage.class));
+		dispatcher.stop();
+	}
+
+	private ArgumentMatcher<Tweet> hasId(final String id) {
+		return new ArgumentMatcher<Tweet>() {
+			public boolean matches(Tweet tweet) {
+				return tweet != null && id.equals(tweet.getId());
+			}
+		};
+	}
+
 	private void runAndAssert(StreamListener mockListener, StreamDispatcher dispatcher, int tweetEvents, int deleteEvents, int limitEvents, int warningEvents) throws Exception {
-		new Thread(dispatcher).start();
+		Thread thread = new Thread(dispatcher);
+		thread.setDaemon(true);
+		thread.start();
 		Thread.sleep(1000); // pause to give thread opportunity to do its job
 		verify(mockListener, times(tweetEvents)).onTweet(any(Tweet.class));
 		verify(mockListener, times(deleteEvents)).onDelete(any(StreamDeleteEvent.class));
@@ -92,14 +310,27 @@ public class StreamDispatcherTest {
 		verify(mockListener, times(warningEvents)).onWarning(any(StreamWarningEvent.class));
 	}
 
-	private Queue<String> createQueueWithItems() {
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> ArgumentCaptor<List<T>> listCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+	}
+
+	private int countBatched(ArgumentCaptor<? extends List<?>> batches) {
+		int count = 0;
+		for (List<?> batch : batches.getAllValues()) {
+			count += batch.size();
+		}
+		return count;
+	}
+
+	private StreamMessageQueue createQueueWithItems(String resource) throws InterruptedException {
 		InputStream inputStream = null;
-		Queue<String> queue = new ConcurrentLinkedQueue<String>();
+		StreamMessageQueue queue = new StreamMessageQueue(100, StreamOverflowPolicy.BLOCK);
 		try {
-			inputStream = new ClassPathResource("filter-stream-track.json", getClass()).getInputStream();
-			BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-			while (reader.ready()) {
-				queue.add(reader.readLine());
+			inputStream = new ClassPathResource(resource, getClass()).getInputStream();
+			StreamMessageReader reader = new StreamMessageReader(inputStream, false);
+			while (reader.next()) {
+				queue.put(reader.copyMessage());
 			}
 		} catch (IOException e) {
 			try {
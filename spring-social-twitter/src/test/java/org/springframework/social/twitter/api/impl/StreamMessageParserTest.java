@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.StreamUserEvent;
+import org.springframework.social.twitter.api.Tweet;
+
+public class StreamMessageParserTest {
+
+	private final StreamMessageParser eagerParser = new StreamMessageParser();
+
+	private final StreamMessageParser lazyParser = new StreamMessageParser(true, null);
+
+	@Test
+	public void userEvent_eventFieldLast() throws Exception {
+		String json = "{\"target\":{\"id\":1497,\"screen_name\":\"habuma\"},\"source\":{\"id\":790205,\"screen_name\":\"kdonald\"}," +
+				"\"created_at\":\"Tue Mar 12 15:11:43 +0000 2013\",\"event\":\"follow\"}";
+		for (StreamMessageParser parser : new StreamMessageParser[] { eagerParser, lazyParser }) {
+			StreamUserEvent event = (StreamUserEvent) parser.parse(json.getBytes(StandardCharsets.UTF_8));
+			assertEquals("follow", event.getEvent());
+			assertEquals("kdonald", event.getSource().getScreenName());
+			assertEquals("habuma", event.getTarget().getScreenName());
+			assertNotNull(event.getCreatedAt());
+			assertNull(event.getTargetTweet());
+		}
+	}
+
+	@Test
+	public void userEvent_targetTweet() throws Exception {
+		String json = "{\"event\":\"favorite\",\"source\":{\"id\":790205,\"screen_name\":\"kdonald\"},\"target\":{\"id\":1497,\"screen_name\":\"habuma\"}," +
+				"\"target_object\":{\"id\":12345,\"text\":\"Hello\",\"source\":\"web\",\"created_at\":\"Tue Mar 12 15:11:43 +0000 2013\"}}";
+		for (StreamMessageParser parser : new StreamMessageParser[] { eagerParser, lazyParser }) {
+			StreamUserEvent event = (StreamUserEvent) parser.parse(json.getBytes(StandardCharsets.UTF_8));
+			assertEquals("favorite", event.getEvent());
+			assertEquals("12345", event.getTargetTweet().getId());
+			assertEquals("Hello", event.getTargetTweet().getText());
+			assertNull(event.getCreatedAt());
+		}
+	}
+
+	@Test
+	public void userEvent_targetList() throws Exception {
+		String json = "{\"event\":\"list_member_added\",\"source\":{\"id\":790205,\"screen_name\":\"kdonald\"},\"target\":{\"id\":1497,\"screen_name\":\"habuma\"}," +
+				"\"target_object\":{\"id\":42,\"name\":\"team\",\"full_name\":\"@kdonald/team\",\"uri\":\"/kdonald/team\",\"slug\":\"team\",\"mode\":\"public\"}}";
+		StreamUserEvent event = (StreamUserEvent) eagerParser.parse(json.getBytes(StandardCharsets.UTF_8));
+		assertEquals(42, event.getTargetList().getId());
+		assertNull(event.getTargetTweet());
+	}
+
+	@Test
+	public void tweet() throws Exception {
+		String json = "{\"id\":12345,\"text\":\"Hello\",\"source\":\"web\",\"created_at\":\"Tue Mar 12 15:11:43 +0000 2013\"}";
+		for (StreamMessageParser parser : new StreamMessageParser[] { eagerParser, lazyParser }) {
+			Tweet tweet = (Tweet) parser.parse(json.getBytes(StandardCharsets.UTF_8));
+			assertEquals("12345", tweet.getId());
+			assertEquals("web", tweet.getSource());
+			assertNotNull(tweet.getCreatedAt());
+		}
+	}
+
+}
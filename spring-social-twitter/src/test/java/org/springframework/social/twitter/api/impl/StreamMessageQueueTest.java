@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.social.twitter.api.StreamOverflowPolicy;
+
+public class StreamMessageQueueTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void take_blocksUntilMessageArrives() throws Exception {
+		final StreamMessageQueue queue = new StreamMessageQueue(2, StreamOverflowPolicy.BLOCK);
+		final CountDownLatch taken = new CountDownLatch(1);
+		Thread consumer = new Thread(new Runnable() {
+			public void run() {
+				try {
+					if ("A".equals(text(queue.take()))) {
+						taken.countDown();
+					}
+				} catch (InterruptedException ignore) {}
+			}
+		});
+		consumer.start();
+		assertFalse(taken.await(100, TimeUnit.MILLISECONDS));
+		queue.put(bytes("A"));
+		assertTrue(taken.await(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void journal_keepsUndispatchedMessagesForNextConnection() throws Exception {
+		SegmentJournal journal = new SegmentJournal(folder.getRoot(), 65536, 0);
+		StreamMessageQueue queue = new StreamMessageQueue(2, StreamOverflowPolicy.DROP_NEWEST, null, journal);
+		queue.put(bytes("A"));
+		queue.put(bytes("B"));
+		queue.put(bytes("C"));
+		assertEquals(3, queue.size());
+		assertEquals(0, queue.getDroppedCount());
+		assertEquals("A", text(queue.take()));
+		queue.close();
+		queue = new StreamMessageQueue(2, StreamOverflowPolicy.DROP_NEWEST, null, journal);
+		assertEquals("A", text(queue.take())); // taken, but not known to have been dispatched
+		assertEquals("B", text(queue.take()));
+		assertEquals("C", text(queue.take()));
+		queue.close();
+		journal.close();
+	}
+
+	@Test
+	public void put_dropNewest() throws Exception {
+		StreamMessageQueue queue = new StreamMessageQueue(2, StreamOverflowPolicy.DROP_NEWEST);
+		queue.put(bytes("A"));
+		queue.put(bytes("B"));
+		queue.put(bytes("C"));
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.getDroppedCount());
+		assertEquals("A", text(queue.take()));
+		assertEquals("B", text(queue.take()));
+	}
+
+	@Test
+	public void put_dropOldest() throws Exception {
+		StreamMessageQueue queue = new StreamMessageQueue(2, StreamOverflowPolicy.DROP_OLDEST);
+		queue.put(bytes("A"));
+		queue.put(bytes("B"));
+		queue.put(bytes("C"));
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.getDroppedCount());
+		assertEquals("B", text(queue.take()));
+		assertEquals("C", text(queue.take()));
+	}
+
+	@Test
+	public void put_spillToDisk_preservesOrder() throws Exception {
+		StreamMessageQueue queue = new StreamMessageQueue(2, StreamOverflowPolicy.SPILL_TO_DISK);
+		queue.put(bytes("A"));
+		queue.put(bytes("B"));
+		queue.put(bytes("C"));
+		queue.put(bytes("D"));
+		assertEquals(4, queue.size());
+		assertEquals(0, queue.getDroppedCount());
+		assertEquals("A", text(queue.take()));
+		queue.put(bytes("E")); // spill not yet drained, so this must follow D
+		assertEquals("B", text(queue.take()));
+		assertEquals("C", text(queue.take()));
+		assertEquals("D", text(queue.take()));
+		assertEquals("E", text(queue.take()));
+		assertEquals(0, queue.size());
+		queue.put(bytes("F"));
+		assertEquals("F", text(queue.take()));
+		queue.close();
+	}
+
+	private static byte[] bytes(String message) {
+		return message.getBytes(UTF8);
+	}
+
+	private static String text(byte[] message) {
+		return new String(message, UTF8);
+	}
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+}
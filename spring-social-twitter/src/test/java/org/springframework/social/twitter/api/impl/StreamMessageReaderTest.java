@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+public class StreamMessageReaderTest {
+
+	@Test
+	public void next_newlineDelimited() throws Exception {
+		StreamMessageReader reader = new StreamMessageReader(stream("{\"a\":1}\r\n\r\n\r\n{\"b\":\"caf\u00E9\"}\r\n"), false);
+		assertTrue(reader.next());
+		assertEquals("{\"a\":1}", message(reader));
+		assertTrue(reader.next());
+		assertEquals("{\"b\":\"caf\u00E9\"}", message(reader));
+		assertFalse(reader.next());
+	}
+
+	@Test
+	public void next_lengthDelimited() throws Exception {
+		String first = "{\"a\":1}\r\n";
+		String second = "{\"text\":\"line\\nbreak \u00E9\"}\r\n";
+		String body = first.length() + "\r\n" + first + "\r\n" + (second.getBytes("UTF-8").length) + "\r\n" + second;
+		StreamMessageReader reader = new StreamMessageReader(stream(body), true);
+		assertTrue(reader.next());
+		assertEquals("{\"a\":1}", message(reader));
+		assertTrue(reader.next());
+		assertEquals("{\"text\":\"line\\nbreak \u00E9\"}", message(reader));
+		assertFalse(reader.next());
+	}
+
+	@Test
+	public void next_messageLargerThanBuffer() throws Exception {
+		StringBuilder large = new StringBuilder("{\"text\":\"");
+		for (int i = 0; i < 20000; i++) {
+			large.append('x');
+		}
+		large.append("\"}");
+		StreamMessageReader reader = new StreamMessageReader(stream(large + "\r\n"), false);
+		assertTrue(reader.next());
+		assertEquals(large.toString(), message(reader));
+		assertEquals(large.length(), reader.copyMessage().length);
+	}
+
+	@Test
+	public void next_truncatedLengthDelimitedMessage() throws Exception {
+		StreamMessageReader reader = new StreamMessageReader(stream("100\r\n{\"a\":1}"), true);
+		assertFalse(reader.next());
+	}
+
+	@Test(expected = IOException.class)
+	public void next_invalidLengthDelimiter() throws Exception {
+		new StreamMessageReader(stream("{\"a\":1}\r\n"), true).next();
+	}
+
+	private InputStream stream(String content) throws Exception {
+		return new ByteArrayInputStream(content.getBytes("UTF-8"));
+	}
+
+	private String message(StreamMessageReader reader) throws Exception {
+		return new String(reader.getBuffer(), 0, reader.getLength(), "UTF-8");
+	}
+
+}
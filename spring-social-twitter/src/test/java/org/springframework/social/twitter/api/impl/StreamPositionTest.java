@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.Tweet;
+
+public class StreamPositionTest {
+
+	@Test
+	public void dropsTweetsAlreadyDelivered() {
+		StreamPosition position = new StreamPosition(10);
+		assertFalse(position.hasDelivered());
+		assertTrue(position.advance(tweet(100)));
+		assertTrue(position.advance(tweet(200)));
+		assertTrue(position.hasDelivered());
+		// reconnected with a backfill
+		assertFalse(position.advance(tweet(100)));
+		assertFalse(position.advance(tweet(200)));
+		assertTrue(position.advance(tweet(300)));
+		assertEquals(300, position.getLastTweetId());
+	}
+
+	@Test
+	public void deliversOutOfOrderTweetAfterReconnect() {
+		StreamPosition position = new StreamPosition(10);
+		assertTrue(position.advance(tweet(200)));
+		assertFalse(position.advance(tweet(200)));
+		assertTrue(position.advance(tweet(300)));
+		// a tweet arriving late, with an id below those already delivered, is new
+		assertTrue(position.advance(tweet(150)));
+		assertFalse(position.advance(tweet(150)));
+		assertEquals(300, position.getLastTweetId());
+	}
+
+	@Test
+	public void keepsOnlyBackfillManyIds() {
+		StreamPosition position = new StreamPosition(2);
+		assertTrue(position.advance(tweet(100)));
+		assertTrue(position.advance(tweet(200)));
+		assertTrue(position.advance(tweet(300)));
+		assertFalse(position.advance(tweet(300)));
+		assertTrue(position.advance(tweet(100)));
+	}
+
+	private Tweet tweet(long id) {
+		return new Tweet(id, "tweet", null, "habuma", null, null, 1L, "en", null);
+	}
+
+}
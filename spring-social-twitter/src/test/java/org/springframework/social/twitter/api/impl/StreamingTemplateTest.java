@@ -21,23 +21,41 @@ import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
+import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.social.twitter.api.FilterStreamParameters;
 import org.springframework.social.twitter.api.StreamDeleteEvent;
 import org.springframework.social.twitter.api.StreamListener;
 import org.springframework.social.twitter.api.StreamWarningEvent;
+import org.springframework.social.twitter.api.StreamingOptions;
 import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.TweetField;
+import org.springframework.test.web.client.ExpectedCount;
 
 /**
  * @author Craig Walls
  */
 public class StreamingTemplateTest extends AbstractTwitterApiTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Test
 	@Ignore
 	public void filter() throws Exception {
@@ -82,6 +100,118 @@ public class StreamingTemplateTest extends AbstractTwitterApiTest {
 		assertEquals(3, listener.limitsReceived.size());
 	}
 	
+	@Test
+	public void replay() throws Exception {
+		File directory = journal("filter-stream-track.json");
+		MockStreamListener listener = new MockStreamListener(Integer.MAX_VALUE) {
+			protected void shutdown() {}
+		};
+		int replayed = twitter.streamingOperations().replay(directory, new Date(0), new Date(), Arrays.<StreamListener>asList(listener));
+		assertEquals(10, replayed);
+		assertEquals(4, listener.tweetsReceived.size());
+		assertEquals(2, listener.deletesReceived.size());
+		assertEquals(1, listener.limitsReceived.size());
+	}
+
+	@Test
+	public void replay_tweetIds() throws Exception {
+		File directory = journal("filter-stream-track.json");
+		MockStreamListener listener = new MockStreamListener(Integer.MAX_VALUE) {
+			protected void shutdown() {}
+		};
+		int replayed = twitter.streamingOperations().replay(directory, "73115209899835392", "73115210814193664", Arrays.<StreamListener>asList(listener));
+		assertEquals(2, replayed);
+		assertEquals("73115209899835392", listener.tweetsReceived.get(0).getId());
+		assertEquals("73115210814193664", listener.tweetsReceived.get(1).getId());
+		assertEquals(0, listener.deletesReceived.size());
+	}
+
+	@Test
+	public void filter_journal() throws Exception {
+		mockServer.expect(ExpectedCount.manyTimes(), requestTo("https://stream.twitter.com/1.1/statuses/filter.json"))
+			.andExpect(method(POST))
+			.andRespond(withSuccess(new ClassPathResource("filter-stream-track.json", getClass()), APPLICATION_JSON));
+		File directory = temporaryFolder.newFolder();
+		FilterStreamParameters parameters = (FilterStreamParameters) new FilterStreamParameters().track("dallas");
+		MockStreamListener listener = new MockStreamListener(Integer.MAX_VALUE) {
+			protected void shutdown() {}
+		};
+		List<StreamListener> listeners = Arrays.<StreamListener>asList(listener);
+		ThreadedStreamConsumer stream = (ThreadedStreamConsumer) twitter.streamingOperations().filter(parameters, listeners, directory);
+		try {
+			twitter.streamingOperations().filter(parameters, listeners, directory);
+			fail("Expected the journal to be in use");
+		} catch (IllegalStateException expected) {}
+		// each response ends after 4 tweets, so the stream keeps reconnecting with the same journal
+		long deadline = System.currentTimeMillis() + 5000;
+		while (listener.tweetsReceived.size() < 8 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		stream.close();
+		assertTrue(listener.tweetsReceived.size() >= 8);
+		assertTrue(stream.awaitTermination(5000));
+		stream = (ThreadedStreamConsumer) twitter.streamingOperations().filter(parameters, listeners, directory);
+		stream.close();
+		assertTrue(stream.awaitTermination(5000));
+		// the closed stream has let go of the journal
+		new SegmentJournal(directory, 65536, 0).close();
+	}
+
+	@Test
+	public void replay_releasesJournal() throws Exception {
+		File directory = journal("filter-stream-track.json");
+		MockStreamListener listener = new MockStreamListener(Integer.MAX_VALUE) {
+			protected void shutdown() {}
+		};
+		twitter.streamingOperations().replay(directory, new Date(0), new Date(), Arrays.<StreamListener>asList(listener));
+		new SegmentJournal(directory, 65536, 0).close();
+	}
+
+	@Test
+	public void filterPublisher_tweetFields() throws Exception {
+		mockServer.expect(requestTo("https://stream.twitter.com/1.1/statuses/filter.json"))
+			.andExpect(method(POST))
+			.andRespond(withSuccess(new ClassPathResource("filter-stream-track.json", getClass()), APPLICATION_JSON));
+		twitter.setStreamingOptions(new StreamingOptions().tweetFields(EnumSet.of(TweetField.TEXT)));
+		final List<Tweet> tweets = new CopyOnWriteArrayList<Tweet>();
+		final CountDownLatch done = new CountDownLatch(1);
+		twitter.streamingOperations().filter("dallas").subscribe(new Subscriber<Tweet>() {
+			public void onSubscribe(Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			public void onNext(Tweet tweet) {
+				tweets.add(tweet);
+			}
+
+			public void onError(Throwable error) {
+				done.countDown();
+			}
+
+			public void onComplete() {
+				done.countDown();
+			}
+		});
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(4, tweets.size());
+		assertTrue(tweets.get(0).getText().startsWith("RT @Karmyk_Li8erati"));
+		assertNull(tweets.get(0).getCreatedAt());
+		assertNull(tweets.get(0).getUser());
+	}
+
+	private File journal(String resource) throws Exception {
+		File directory = temporaryFolder.newFolder();
+		SegmentJournal journal = new SegmentJournal(directory, 65536, 0);
+		InputStream inputStream = new ClassPathResource(resource, getClass()).getInputStream();
+		StreamMessageReader reader = new StreamMessageReader(inputStream, false);
+		while (reader.next()) {
+			journal.append(reader.copyMessage());
+		}
+		inputStream.close();
+		journal.close();
+		return directory;
+	}
+
 	private abstract static class MockStreamListener implements StreamListener {
 
 		List<Tweet> tweetsReceived = new ArrayList<Tweet>();
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.springframework.social.twitter.api.TickerSymbolEntity;
+
+public class TickerSymbolScannerTest {
+
+	@Test
+	public void findsCashtags() {
+		List<TickerSymbolEntity> symbols = scan("Stocks to watch: $VMW, $FB, $AAPL");
+		assertEquals(3, symbols.size());
+		assertEquals("VMW", symbols.get(0).getTickerSymbol());
+		assertArrayEquals(new int[] { 17, 21 }, symbols.get(0).getIndices());
+		assertEquals("https://twitter.com/search?q=%24VMW&src=ctag", symbols.get(0).getUrl());
+		assertEquals("AAPL", symbols.get(2).getTickerSymbol());
+		assertArrayEquals(new int[] { 28, 33 }, symbols.get(2).getIndices());
+	}
+
+	@Test
+	public void matchesRegularExpression() {
+		String[] texts = { "", "$", "$$", "$1", "no cashtags", "US$AAPL", "$AB$CD", "$ab1$cd", "tail $XYZ", "$\u00E9t\u00E9 $ok", "\uD83D\uDE00$GOOG" };
+		Pattern pattern = Pattern.compile("\\$[A-Za-z]+");
+		for (String text : texts) {
+			List<String> expected = new ArrayList<String>();
+			Matcher matcher = pattern.matcher(text);
+			while (matcher.find()) {
+				expected.add(matcher.group().substring(1) + "@" + matcher.start() + "-" + matcher.end());
+			}
+			List<String> actual = new ArrayList<String>();
+			for (TickerSymbolEntity symbol : scan(text)) {
+				actual.add(symbol.getTickerSymbol() + "@" + symbol.getIndices()[0] + "-" + symbol.getIndices()[1]);
+			}
+			assertEquals(text, expected, actual);
+		}
+	}
+
+	@Test
+	public void lazyUrlEqualsEagerUrl() {
+		TickerSymbolEntity lazy = new TickerSymbolEntity("VMW", new int[] { 0, 4 });
+		TickerSymbolEntity eager = new TickerSymbolEntity("VMW", "https://twitter.com/search?q=%24VMW&src=ctag", new int[] { 0, 4 });
+		assertEquals(eager, lazy);
+		assertEquals(eager.hashCode(), lazy.hashCode());
+		assertNull(new TickerSymbolEntity("VMW", null, new int[] { 0, 4 }).getUrl());
+	}
+
+	private List<TickerSymbolEntity> scan(String text) {
+		return TickerSymbolScanner.findTickerSymbols(text);
+	}
+
+}
@@ -22,6 +22,7 @@ import static org.springframework.http.MediaType.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
+import java.util.EnumSet;
 import java.util.List;
 
 import org.junit.Test;
@@ -36,6 +37,7 @@ import org.springframework.social.twitter.api.OEmbedTweet;
 import org.springframework.social.twitter.api.TickerSymbolEntity;
 import org.springframework.social.twitter.api.Tweet;
 import org.springframework.social.twitter.api.TweetData;
+import org.springframework.social.twitter.api.TweetField;
 
 
 /**
@@ -70,6 +72,35 @@ public class TimelineTemplateTest extends AbstractTwitterApiTest {
 		assertTimelineTweets(timeline);
 	}
 
+	@Test
+	public void getHomeTimeline_projected() {
+		mockServer.expect(requestTo("https://api.twitter.com/1.1/statuses/home_timeline.json?count=100&since_id=1234567&max_id=7654321&include_entities=false&trim_user=true"))
+				.andExpect(method(GET))
+				.andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON));
+		List<Tweet> timeline = twitter.timelineOperations().getHomeTimeline(100, 1234567, 7654321, EnumSet.of(TweetField.CREATED_AT));
+		assertEquals(2, timeline.size());
+		Tweet tweet = timeline.get(0);
+		assertEquals("12345", tweet.getId());
+		assertEquals(1279042701000L, tweet.getCreatedAt().getTime());
+		assertNull(tweet.getText());
+		assertNull(tweet.getFromUser());
+		assertNull(tweet.getUser());
+		assertNull(tweet.getSource());
+		assertNull(tweet.getRetweetCount());
+		assertNull(tweet.getEntities());
+		assertEquals("54321", timeline.get(1).getId());
+		assertEquals(1279654701000L, timeline.get(1).getCreatedAt().getTime());
+	}
+
+	@Test
+	public void getUserTimeline_projectedToAllFields() {
+		mockServer.expect(requestTo("https://api.twitter.com/1.1/statuses/user_timeline.json?count=20&screen_name=habuma&include_entities=true"))
+				.andExpect(method(GET))
+				.andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON));
+		List<Tweet> timeline = twitter.timelineOperations().getUserTimeline("habuma", 20, 0, 0, TweetField.ALL);
+		assertTimelineTweets(timeline);
+	}
+
 	@Test
 	public void getUserTimeline() {
 		mockServer.expect(requestTo("https://api.twitter.com/1.1/statuses/user_timeline.json?count=20&include_entities=true"))
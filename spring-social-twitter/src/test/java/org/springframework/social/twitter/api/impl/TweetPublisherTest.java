@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.social.twitter.api.StreamingException;
+import org.springframework.social.twitter.api.Tweet;
+
+public class TweetPublisherTest {
+
+	@Test
+	public void publishesOnlyWhatIsRequested() throws Exception {
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		createPublisher("filter-stream-track.json").subscribe(subscriber);
+		subscriber.subscription.request(2);
+		Thread.sleep(200);
+		assertEquals(2, subscriber.tweets.size());
+		assertEquals("73115209899835392", subscriber.tweets.get(0).getId());
+		assertEquals("73115210814193664", subscriber.tweets.get(1).getId());
+		assertEquals(1, subscriber.done.getCount());
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertTrue(subscriber.done.await(1, TimeUnit.SECONDS));
+		assertEquals(4, subscriber.tweets.size());
+		assertTrue(subscriber.completed);
+		assertNull(subscriber.error);
+	}
+
+	@Test
+	public void invalidRequest() throws Exception {
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		createPublisher("filter-stream-track.json").subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertTrue(subscriber.done.await(1, TimeUnit.SECONDS));
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertEquals(0, subscriber.tweets.size());
+	}
+
+	@Test
+	public void cancel() throws Exception {
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		createPublisher("filter-stream-track.json").subscribe(subscriber);
+		subscriber.subscription.request(1);
+		Thread.sleep(200);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(10);
+		Thread.sleep(200);
+		assertEquals(1, subscriber.tweets.size());
+		assertFalse(subscriber.completed);
+		assertNull(subscriber.error);
+	}
+
+	@Test
+	public void connectionFailure() throws Exception {
+		TweetPublisher publisher = new TweetPublisher(new TweetPublisher.Connector() {
+			public InputStream connect() throws StreamCreationException {
+				throw new StreamCreationException("Unable to create stream.", new IOException("Connection refused"));
+			}
+		}, false, new StreamMessageParser(), Executors.defaultThreadFactory());
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertTrue(subscriber.done.await(1, TimeUnit.SECONDS));
+		assertTrue(subscriber.error instanceof StreamingException);
+	}
+
+	private TweetPublisher createPublisher(final String resource) {
+		return new TweetPublisher(new TweetPublisher.Connector() {
+			public InputStream connect() throws StreamCreationException {
+				try {
+					return new ClassPathResource(resource, getClass()).getInputStream();
+				} catch (IOException e) {
+					throw new StreamCreationException("Unable to create stream.", e);
+				}
+			}
+		}, false, new StreamMessageParser(), Executors.defaultThreadFactory());
+	}
+
+	private static class RecordingSubscriber implements Subscriber<Tweet> {
+
+		final List<Tweet> tweets = new CopyOnWriteArrayList<Tweet>();
+
+		final CountDownLatch done = new CountDownLatch(1);
+
+		volatile Subscription subscription;
+
+		volatile boolean completed;
+
+		volatile Throwable error;
+
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		public void onNext(Tweet tweet) {
+			tweets.add(tweet);
+		}
+
+		public void onError(Throwable error) {
+			this.error = error;
+			done.countDown();
+		}
+
+		public void onComplete() {
+			completed = true;
+			done.countDown();
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+public class TwitterDatesTest {
+
+	@Test
+	public void parseTimelineDate() {
+		assertEquals(1279042701000L, TwitterDates.parseTimelineDate("Tue Jul 13 17:38:21 +0000 2010").getTime());
+		assertEquals(1279042701000L, TwitterDates.parseTimelineDate("Tue Jul 13 12:38:21 -0500 2010").getTime());
+	}
+
+	@Test
+	public void parseTimelineDate_cached() {
+		Date first = TwitterDates.parseTimelineDate("Tue Jul 20 19:38:21 +0000 2010");
+		Date second = TwitterDates.parseTimelineDate("Tue Jul 20 19:38:21 +0000 2010");
+		assertEquals(1279654701000L, second.getTime());
+		assertEquals(first, second);
+		assertNotSame(first, second);
+		first.setTime(0L);
+		assertEquals(1279654701000L, TwitterDates.parseTimelineDate("Tue Jul 20 19:38:21 +0000 2010").getTime());
+	}
+
+	@Test
+	public void parseTimelineDate_wrongDayOfWeek() {
+		assertEquals(1279042701000L, TwitterDates.parseTimelineDate("Mon Jul 13 17:38:21 +0000 2010").getTime());
+	}
+
+	@Test
+	public void parseTimelineDate_invalid() {
+		assertNull(TwitterDates.parseTimelineDate(null));
+		assertNull(TwitterDates.parseTimelineDate("null"));
+		assertNull(TwitterDates.parseTimelineDate("2010-07-13T17:38:21Z"));
+		assertNull(TwitterDates.parseTimelineDate("Tue Jul 32 17:38:21 +0000 2010"));
+	}
+
+	@Test
+	public void parseIsoDate() {
+		assertEquals(1300466733000L, TwitterDates.parseIsoDate("2011-03-18T16:45:33Z").getTime());
+		assertNull(TwitterDates.parseIsoDate(null));
+		assertNull(TwitterDates.parseIsoDate("Tue Jul 13 17:38:21 +0000 2010"));
+	}
+
+}
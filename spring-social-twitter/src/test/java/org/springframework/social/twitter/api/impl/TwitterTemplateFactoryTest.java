@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.api.impl;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.http.HttpMethod.*;
+import static org.springframework.http.MediaType.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.social.NotAuthorizedException;
+import org.springframework.social.twitter.api.Tweet;
+import org.springframework.social.twitter.api.Twitter;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+public class TwitterTemplateFactoryTest extends AbstractTwitterApiTest {
+
+	private final TwitterTemplateFactory factory = new TwitterTemplateFactory("API_KEY", "API_SECRET");
+
+	@Test
+	public void getTwitter() {
+		Twitter userTwitter = factory.getTwitter("ACCESS_TOKEN", "ACCESS_TOKEN_SECRET");
+		assertTrue(userTwitter.isAuthorized());
+		MockRestServiceServer server = MockRestServiceServer.createServer((RestTemplate) userTwitter.restOperations());
+		server.expect(requestTo("https://api.twitter.com/1.1/statuses/home_timeline.json?count=20&include_entities=true"))
+				.andExpect(method(GET))
+				.andExpect(header("Authorization", startsWith("OAuth oauth_consumer_key=\"API_KEY\"")))
+				.andExpect(header("Authorization", containsString("oauth_token=\"ACCESS_TOKEN\"")))
+				.andRespond(withSuccess(jsonResource("timeline"), APPLICATION_JSON));
+		List<Tweet> timeline = userTwitter.timelineOperations().getHomeTimeline();
+		assertEquals(2, timeline.size());
+		assertSingleTweet(timeline.get(0));
+		server.verify();
+	}
+
+	@Test(expected = NotAuthorizedException.class)
+	public void getTwitter_errorHandler() {
+		Twitter userTwitter = factory.getTwitter("ACCESS_TOKEN", "ACCESS_TOKEN_SECRET");
+		MockRestServiceServer server = MockRestServiceServer.createServer((RestTemplate) userTwitter.restOperations());
+		server.expect(requestTo("https://api.twitter.com/1.1/statuses/home_timeline.json?count=20&include_entities=true"))
+				.andRespond(withStatus(HttpStatus.UNAUTHORIZED).body("{\"errors\":[{\"code\":89,\"message\":\"Invalid or expired token\"}]}").contentType(APPLICATION_JSON));
+		userTwitter.timelineOperations().getHomeTimeline();
+	}
+
+	@Test
+	public void getAppTwitter() {
+		CountingTemplateFactory factory = new CountingTemplateFactory();
+		Twitter appTwitter = factory.getAppTwitter();
+		assertFalse(appTwitter.isAuthorized());
+		assertSame(appTwitter, factory.getAppTwitter());
+		assertEquals(1, factory.created);
+	}
+
+	@Test
+	public void getAppTwitter_evictedWhenTokenRejected() {
+		CountingTemplateFactory factory = new CountingTemplateFactory();
+		Twitter appTwitter = factory.getAppTwitter();
+		MockRestServiceServer server = MockRestServiceServer.createServer((RestTemplate) appTwitter.restOperations());
+		server.expect(requestTo("https://api.twitter.com/1.1/users/show.json?screen_name=habuma"))
+				.andRespond(withStatus(HttpStatus.UNAUTHORIZED).body("{\"errors\":[{\"code\":89,\"message\":\"Invalid or expired token\"}]}").contentType(APPLICATION_JSON));
+		try {
+			appTwitter.userOperations().getUserProfile("habuma");
+			fail("Expected NotAuthorizedException");
+		} catch (NotAuthorizedException expected) {}
+		assertNotSame(appTwitter, factory.getAppTwitter());
+		assertEquals(2, factory.created);
+	}
+
+	@Test
+	public void evictAppTwitter() {
+		CountingTemplateFactory factory = new CountingTemplateFactory();
+		Twitter appTwitter = factory.getAppTwitter();
+		factory.evictAppTwitter();
+		assertNotSame(appTwitter, factory.getAppTwitter());
+		assertEquals(2, factory.created);
+	}
+
+	@Test
+	public void getTwitter_sharesInfrastructure() {
+		RestTemplate first = (RestTemplate) factory.getTwitter("TOKEN_1", "SECRET_1").restOperations();
+		RestTemplate second = (RestTemplate) factory.getTwitter("TOKEN_2", "SECRET_2").restOperations();
+		assertNotSame(first, second);
+		assertEquals(first.getMessageConverters().size(), second.getMessageConverters().size());
+		for (int i = 0; i < first.getMessageConverters().size(); i++) {
+			assertSame(first.getMessageConverters().get(i), second.getMessageConverters().get(i));
+		}
+		assertSame(first.getErrorHandler(), second.getErrorHandler());
+		assertNotSame(first.getInterceptors().get(0), second.getInterceptors().get(0));
+	}
+
+	@Test
+	public void signature_matchesTwitterDocumentation() throws Exception {
+		// the example from Twitter's "Creating a signature" documentation
+		OAuth1SigningInterceptor interceptor = new OAuth1SigningInterceptor("xvz1evFS4wEEPTGEFPHBog", "kAcSOqF21Fu85e7zjz7ZN2U4ZRhfV3WpwPAoE3Z7kBw",
+				"370773112-GmHxMAgYyLbNEtIKZeRNFsMKPR9EyMZeS9weJAEb", "LswwdoUaIvS8ltyTt5jkRh4J50vUPVVHtR2YPi5kE");
+		URI uri = new URI("https://api.twitter.com/1.1/statuses/update.json?include_entities=true");
+		byte[] form = "status=Hello%20Ladies%20%2b%20Gentlemen%2c%20a%20signed%20OAuth%20request%21".getBytes("UTF-8");
+		String header = interceptor.authorizationHeader(HttpMethod.POST, uri, form, "kYjzVBB8Y0ZFabxSWbWovY3uYSQ2pTgmZeNu2VS4cg", 1318622958);
+		assertThat(header, containsString("oauth_signature=\"hCtSmYh%2BiHYCEqBWrE7C7hYmtUk%3D\""));
+	}
+
+	private static class CountingTemplateFactory extends TwitterTemplateFactory {
+
+		int created;
+
+		CountingTemplateFactory() {
+			super("API_KEY", "API_SECRET");
+		}
+
+		@Override
+		TwitterTemplate createAppTwitter() {
+			created++;
+			// rather than exchanging the consumer key and secret for a client token
+			return new TwitterTemplate("APP_ACCESS_TOKEN_" + created);
+		}
+
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.http;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.pool.PoolStats;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class TwitterHttpTransportTest {
+
+	private HttpServer server;
+
+	private final Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+
+	private TwitterHttpTransport transport;
+
+	@Before
+	public void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/endless", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				// a chunked response that never ends, like a stream
+				exchange.sendResponseHeaders(200, 0);
+				OutputStream out = exchange.getResponseBody();
+				try {
+					while (true) {
+						out.write("{}\r\n".getBytes("UTF-8"));
+						out.flush();
+						Thread.sleep(10);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (IOException e) {
+					// the client went away
+				}
+			}
+		});
+		server.createContext("/", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				clients.add(exchange.getRemoteAddress());
+				byte[] body = "{}".getBytes("UTF-8");
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(body);
+				out.close();
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		transport = new TwitterHttpTransport(new HttpTransportOptions().maxConnections(10).maxConnectionsPerHost(4));
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		transport.close();
+		server.stop(0);
+	}
+
+	@Test
+	public void appliesPoolOptions() {
+		assertEquals(10, transport.getConnectionManager().getMaxTotal());
+		assertEquals(4, transport.getConnectionManager().getDefaultMaxPerRoute());
+	}
+
+	@Test
+	public void reusesConnections() throws IOException {
+		for (int i = 0; i < 3; i++) {
+			get(transport.getRestRequestFactory().createRequest(uri("/1.1/statuses/home_timeline.json"), HttpMethod.GET).execute());
+		}
+		get(transport.getStreamRequestFactory().createRequest(uri("/1.1/statuses/filter.json"), HttpMethod.GET).execute());
+		assertEquals(1, clients.size());
+		PoolStats stats = transport.getConnectionManager().getTotalStats();
+		assertEquals(0, stats.getLeased());
+		assertEquals(1, stats.getAvailable());
+	}
+
+	@Test
+	public void separatesRestAndStreamRequestFactories() {
+		assertNotSame(transport.getRestRequestFactory(), transport.getStreamRequestFactory());
+	}
+
+	@Test(timeout = 5000)
+	public void closesEndlessStreamBody() throws IOException {
+		ClientHttpResponse response = transport.getStreamRequestFactory().createRequest(uri("/endless"), HttpMethod.GET).execute();
+		InputStream body = response.getBody();
+		assertEquals('{', body.read());
+		body.close();
+		response.close();
+		assertEquals(0, transport.getConnectionManager().getTotalStats().getLeased());
+	}
+
+	@Test(timeout = 5000)
+	public void closesEndlessStreamResponse() throws IOException {
+		ClientHttpResponse response = transport.getStreamRequestFactory().createRequest(uri("/endless"), HttpMethod.GET).execute();
+		assertEquals('{', response.getBody().read());
+		response.close();
+		assertEquals(0, transport.getConnectionManager().getTotalStats().getLeased());
+	}
+
+	@Test(timeout = 5000)
+	public void closeUnblocksStreamReader() throws Exception {
+		ClientHttpResponse response = transport.getStreamRequestFactory().createRequest(uri("/endless"), HttpMethod.GET).execute();
+		final InputStream body = response.getBody();
+		final CountDownLatch readerDone = new CountDownLatch(1);
+		Thread reader = new Thread(new Runnable() {
+			public void run() {
+				try {
+					while (body.read() != -1) {
+					}
+				} catch (IOException e) {
+					// closed
+				}
+				readerDone.countDown();
+			}
+		});
+		reader.start();
+		Thread.sleep(50);
+		body.close();
+		assertTrue(readerDone.await(2, TimeUnit.SECONDS));
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+	}
+
+	private void get(ClientHttpResponse response) throws IOException {
+		try {
+			assertEquals("{}", StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+		} finally {
+			response.close();
+		}
+	}
+
+}
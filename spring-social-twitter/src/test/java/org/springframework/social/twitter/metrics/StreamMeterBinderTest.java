@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.social.twitter.metrics;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.social.twitter.api.Stream;
+import org.springframework.social.twitter.api.StreamStats;
+
+public class StreamMeterBinderTest {
+
+	@Test
+	public void bindTo() {
+		Stream stream = mock(Stream.class);
+		when(stream.getStats()).thenReturn(new StreamStats(60000, 1200, 4800000, 1000, 1200, 36000000, 3, 150, 2, 5, 0, 0, 0));
+		when(stream.getQueueDepth()).thenReturn(42);
+		when(stream.getPercentFull()).thenReturn(60.0);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new StreamMeterBinder(stream, Tags.of("stream", "mentions")).bindTo(registry);
+		assertEquals(1200, registry.get("twitter.stream.messages").tag("stream", "mentions").functionCounter().count(), 0);
+		assertEquals(4800000, registry.get("twitter.stream.bytes").functionCounter().count(), 0);
+		assertEquals(1000, registry.get("twitter.stream.tweets").functionCounter().count(), 0);
+		assertEquals(150, registry.get("twitter.stream.limited.tweets").functionCounter().count(), 0);
+		assertEquals(2, registry.get("twitter.stream.reconnects").functionCounter().count(), 0);
+		FunctionTimer parse = registry.get("twitter.stream.parse").functionTimer();
+		assertEquals(1200, parse.count(), 0);
+		assertEquals(36, parse.totalTime(TimeUnit.MILLISECONDS), 0.001);
+		assertEquals(42, registry.get("twitter.stream.queue.depth").gauge().value(), 0);
+		assertEquals(60, registry.get("twitter.stream.percent.full").gauge().value(), 0);
+	}
+
+	@Test
+	public void bindTo_streamWithoutStats() {
+		Stream stream = new Stream() {
+			public void open() {
+			}
+
+			public void close() {
+			}
+		};
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new StreamMeterBinder(stream, Tags.empty()).bindTo(registry);
+		assertEquals(0, registry.get("twitter.stream.messages").functionCounter().count(), 0);
+		assertEquals(0, registry.get("twitter.stream.queue.depth").gauge().value(), 0);
+	}
+
+}